@@ -0,0 +1,469 @@
+package com.cyberowl.snake.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Multiplayer arena: up to {@code maxSnakes} snakes and a fixed number of fruits on one grid, advancing in
+ * synchronous ticks with the single game rules of {@link SnakeRules} and {@link SnakeGame}.
+ * <p>
+ * A tick moves every head at once: tails of snakes that do not eat leave their cell first (so a head may
+ * follow any tail), a head entering a body cell dies, and heads meeting on one cell are resolved by length
+ * (the longest survives, equal lengths all die). Dead snakes leave the board at the end of the tick.
+ * <p>
+ * The board is split into vertical strips of columns, each with its own {@link Occupancy} and spatial hash
+ * of incoming heads. Snakes are bucketed by the strip of their tail and of their next head, and strips are
+ * processed in parallel once enough snakes are alive. Ticks only visit a dense list of the alive snakes, so
+ * one costs O(alive snakes) whatever the grid area and {@code maxSnakes}.
+ * Fruits respawn by rejection sampling and are left empty for the tick if the board is too crowded.
+ */
+public final class Arena {
+    public static final int MOVED = SnakeGame.MOVED;
+    public static final int ATE_FRUIT = SnakeGame.ATE_FRUIT;
+    public static final int REVERSE_DIRECTION = SnakeGame.REVERSE_DIRECTION;
+    public static final int OUT_OF_BOUNDS = SnakeGame.OUT_OF_BOUNDS;
+    public static final int BODY_COLLISION = SnakeGame.SELF_COLLISION;
+    public static final int HEAD_COLLISION = -4;
+    public static final int DEAD = -5;
+    public static final int NO_SNAKE = -1;
+
+    private static final long NO_FRUIT = -1L;
+    private static final int PARALLEL_MIN_SNAKES = 256;
+    private static final int FRUIT_PLACEMENT_ATTEMPTS = 64;
+
+    private final int width;
+    private final int height;
+    private final long stride;
+    private final long cells;
+    private final int regionWidth;
+    private final int regionCount;
+    private final Occupancy[] occupancies;
+    private final CellTable[] incomingHeads;
+
+    private final SnakeBody[] bodies;
+    private final boolean[] alive;
+    private final int[] velX;
+    private final int[] velY;
+    private final int[] score;
+    private final int[] freeSlots;
+    private int freeSlotCount;
+    // Alive ids in liveIds[0, aliveCount), livePositions[id] their index there
+    private final int[] liveIds;
+    private final int[] livePositions;
+    private int aliveCount;
+    // Removed on the last tick, their outcome turns to DEAD on the next one
+    private final int[] removedIds;
+    private int removedCount;
+
+    // Per tick scratch, indexed by snake or region; the caller's actions, read during the tick only
+    private byte[] actions;
+    private final long[] next;
+    private final int[] outcomes;
+    private final int[] lengths;
+    private final int[] tailOrder;
+    private final int[] tailStart;
+    private final int[] tailFill;
+    private final int[] headOrder;
+    private final int[] headStart;
+    private final int[] headFill;
+
+    private final long[] fruits;
+    private final CellTable fruitIndex;
+    private final SplittableRandom random;
+
+    public Arena(int width, int height, int maxSnakes, int fruitCount, int regions, long seed) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Width and height must be positive integers. Provided width = %d, height = %d", width, height));
+        }
+        if (maxSnakes <= 0 || fruitCount < 0 || regions <= 0) {
+            throw new IllegalArgumentException("Snakes and regions must be positive, fruits non-negative");
+        }
+        this.width = width;
+        this.height = height;
+        this.stride = (long) width + 1;
+        this.cells = stride * ((long) height + 1);
+        this.regionCount = Math.min(regions, width + 1);
+        this.regionWidth = (width + regionCount) / regionCount;
+        this.occupancies = new Occupancy[regionCount];
+        this.incomingHeads = new CellTable[regionCount];
+        for (int region = 0; region < regionCount; region++) {
+            occupancies[region] = Occupancy.forGrid((long) regionWidth * ((long) height + 1),
+                    (long) maxSnakes * 8 / regionCount + 16);
+            incomingHeads[region] = new CellTable(maxSnakes / regionCount + 16);
+        }
+
+        this.bodies = new SnakeBody[maxSnakes];
+        this.alive = new boolean[maxSnakes];
+        this.velX = new int[maxSnakes];
+        this.velY = new int[maxSnakes];
+        this.score = new int[maxSnakes];
+        this.freeSlots = new int[maxSnakes];
+        this.liveIds = new int[maxSnakes];
+        this.livePositions = new int[maxSnakes];
+        this.removedIds = new int[maxSnakes];
+        for (int id = 0; id < maxSnakes; id++) {
+            bodies[id] = new SnakeBody(16);
+            freeSlots[id] = maxSnakes - 1 - id;
+        }
+        this.freeSlotCount = maxSnakes;
+
+        this.next = new long[maxSnakes];
+        this.outcomes = new int[maxSnakes];
+        Arrays.fill(outcomes, DEAD);
+        this.lengths = new int[maxSnakes];
+        this.tailOrder = new int[maxSnakes];
+        this.tailStart = new int[regionCount + 1];
+        this.tailFill = new int[regionCount + 1];
+        this.headOrder = new int[maxSnakes];
+        this.headStart = new int[regionCount + 1];
+        this.headFill = new int[regionCount + 1];
+
+        this.fruits = new long[fruitCount];
+        this.fruitIndex = new CellTable(fruitCount);
+        this.random = new SplittableRandom(seed);
+        for (int fruit = 0; fruit < fruitCount; fruit++) {
+            fruits[fruit] = NO_FRUIT;
+            placeFruit(fruit);
+        }
+    }
+
+    /**
+     * Adds a snake of one segment
+     *
+     * @return its id, or {@link #NO_SNAKE} if the arena is full or the cell is out of bounds, taken or a fruit
+     */
+    public int spawn(int x, int y, int velX, int velY) {
+        if (freeSlotCount == 0 || SnakeRules.isOutOfBounds(width, height, x, y)) {
+            return NO_SNAKE;
+        }
+        long cell = y * stride + x;
+        if (isOccupied(cell) || fruitIndex.get(cell) != CellTable.ABSENT) {
+            return NO_SNAKE;
+        }
+        int id = freeSlots[--freeSlotCount];
+        bodies[id].pushHead(cell);
+        occupy(cell);
+        alive[id] = true;
+        this.velX[id] = velX;
+        this.velY[id] = velY;
+        score[id] = 0;
+        outcomes[id] = MOVED;
+        liveIds[aliveCount] = id;
+        livePositions[id] = aliveCount;
+        aliveCount++;
+        return id;
+    }
+
+    /**
+     * Moves a fruit to the given cell
+     *
+     * @return false if the cell is out of bounds, taken by a snake or by another fruit
+     */
+    public boolean setFruit(int fruit, int x, int y) {
+        if (SnakeRules.isOutOfBounds(width, height, x, y)) {
+            return false;
+        }
+        long cell = y * stride + x;
+        if (isOccupied(cell) || fruitIndex.get(cell) != CellTable.ABSENT) {
+            return false;
+        }
+        if (fruits[fruit] != NO_FRUIT) {
+            fruitIndex.remove(fruits[fruit]);
+        }
+        fruits[fruit] = cell;
+        fruitIndex.put(cell, fruit);
+        return true;
+    }
+
+    /**
+     * Advances every alive snake one tick
+     *
+     * @param actions one {@link SnakeEnvironment} action per snake id, ignored for dead snakes
+     */
+    public void tick(byte[] actions) {
+        this.actions = actions;
+        for (int k = 0; k < removedCount; k++) {
+            int id = removedIds[k];
+            if (!alive[id]) {
+                outcomes[id] = DEAD;
+            }
+        }
+        removedCount = 0;
+        boolean parallel = regionCount > 1 && aliveCount >= PARALLEL_MIN_SNAKES;
+        if (parallel) {
+            IntStream.range(0, aliveCount).parallel().forEach(k -> plan(liveIds[k]));
+        } else {
+            for (int k = 0; k < aliveCount; k++) {
+                plan(liveIds[k]);
+            }
+        }
+        bucket();
+        forEachRegion(parallel, this::releaseTails);
+        forEachRegion(parallel, this::advanceHeads);
+        settle();
+    }
+
+    public int capacity() {
+        return bodies.length;
+    }
+
+    public int aliveCount() {
+        return aliveCount;
+    }
+
+    public boolean isAlive(int id) {
+        return alive[id];
+    }
+
+    /**
+     * @return the outcome of the snake's last tick: {@link #MOVED}, {@link #ATE_FRUIT}, the reason it died,
+     * or {@link #DEAD} if it was not alive during that tick
+     */
+    public int outcome(int id) {
+        return outcomes[id];
+    }
+
+    public int length(int id) {
+        return bodies[id].length();
+    }
+
+    public int score(int id) {
+        return score[id];
+    }
+
+    public int headX(int id) {
+        return cellX(bodies[id].head());
+    }
+
+    public int headY(int id) {
+        return cellY(bodies[id].head());
+    }
+
+    public int velX(int id) {
+        return velX[id];
+    }
+
+    public int velY(int id) {
+        return velY[id];
+    }
+
+    /**
+     * @param index 0 for the head, length - 1 for the tail
+     */
+    public int segmentX(int id, int index) {
+        return cellX(bodies[id].get(index));
+    }
+
+    public int segmentY(int id, int index) {
+        return cellY(bodies[id].get(index));
+    }
+
+    public int fruitCount() {
+        return fruits.length;
+    }
+
+    public boolean hasFruit(int fruit) {
+        return fruits[fruit] != NO_FRUIT;
+    }
+
+    public int fruitX(int fruit) {
+        return cellX(fruits[fruit]);
+    }
+
+    public int fruitY(int fruit) {
+        return cellY(fruits[fruit]);
+    }
+
+    public boolean isOccupied(int x, int y) {
+        return isOccupied(y * stride + x);
+    }
+
+    // Phase 1, per snake and read only on shared state: legality, next head cell and whether it eats
+    private void plan(int id) {
+        SnakeBody body = bodies[id];
+        lengths[id] = body.length();
+        int action = actions[id];
+        int tickVelX = SnakeEnvironment.actionVelX(action);
+        int tickVelY = SnakeEnvironment.actionVelY(action);
+        if (SnakeRules.isReverseDirection(velX[id], velY[id], tickVelX, tickVelY)) {
+            outcomes[id] = REVERSE_DIRECTION;
+            return;
+        }
+        long head = body.head();
+        int nextX = SnakeRules.nextX(cellX(head), tickVelX);
+        int nextY = SnakeRules.nextY(cellY(head), tickVelY);
+        if (SnakeRules.isOutOfBounds(width, height, nextX, nextY)) {
+            outcomes[id] = OUT_OF_BOUNDS;
+            return;
+        }
+        long cell = nextY * stride + nextX;
+        next[id] = cell;
+        outcomes[id] = fruitIndex.get(cell) != CellTable.ABSENT ? ATE_FRUIT : MOVED;
+    }
+
+    // Counting sort of moving snakes by the region of their tail (non eaters only) and of their next head
+    private void bucket() {
+        Arrays.fill(tailStart, 0);
+        Arrays.fill(headStart, 0);
+        for (int k = 0; k < aliveCount; k++) {
+            int id = liveIds[k];
+            int outcome = outcomes[id];
+            if (outcome == MOVED) {
+                tailStart[region(bodies[id].tail()) + 1]++;
+            }
+            if (outcome >= 0) {
+                headStart[region(next[id]) + 1]++;
+            }
+        }
+        for (int region = 0; region < regionCount; region++) {
+            tailStart[region + 1] += tailStart[region];
+            headStart[region + 1] += headStart[region];
+        }
+        System.arraycopy(tailStart, 0, tailFill, 0, tailStart.length);
+        System.arraycopy(headStart, 0, headFill, 0, headStart.length);
+        for (int k = 0; k < aliveCount; k++) {
+            int id = liveIds[k];
+            int outcome = outcomes[id];
+            if (outcome == MOVED) {
+                tailOrder[tailFill[region(bodies[id].tail())]++] = id;
+            }
+            if (outcome >= 0) {
+                headOrder[headFill[region(next[id])]++] = id;
+            }
+        }
+    }
+
+    // Phase 2, per region: tails of snakes that do not eat leave their cell
+    private void releaseTails(int region) {
+        Occupancy occupancy = occupancies[region];
+        for (int k = tailStart[region]; k < tailStart[region + 1]; k++) {
+            occupancy.free(local(bodies[tailOrder[k]].popTail()));
+        }
+    }
+
+    // Phase 3, per region: head to body and head to head collisions, then survivors move in
+    private void advanceHeads(int region) {
+        Occupancy occupancy = occupancies[region];
+        CellTable heads = incomingHeads[region];
+        int from = headStart[region];
+        int to = headStart[region + 1];
+        for (int k = from; k < to; k++) {
+            int id = headOrder[k];
+            long cell = next[id];
+            if (occupancy.isOccupied(local(cell))) {
+                outcomes[id] = BODY_COLLISION;
+                continue;
+            }
+            int holder = heads.get(cell);
+            if (holder == CellTable.ABSENT) {
+                heads.put(cell, id);
+            } else if (lengths[id] > lengths[holder]) {
+                outcomes[holder] = HEAD_COLLISION;
+                heads.put(cell, id);
+            } else {
+                outcomes[id] = HEAD_COLLISION;
+                if (lengths[id] == lengths[holder]) {
+                    outcomes[holder] = HEAD_COLLISION;
+                }
+            }
+        }
+        for (int k = from; k < to; k++) {
+            int id = headOrder[k];
+            long cell = next[id];
+            heads.remove(cell);
+            if (outcomes[id] >= 0) {
+                bodies[id].pushHead(cell);
+                occupancy.occupy(local(cell));
+                velX[id] = SnakeEnvironment.actionVelX(actions[id]);
+                velY[id] = SnakeEnvironment.actionVelY(actions[id]);
+            }
+        }
+    }
+
+    // Phase 4, sequential: dead snakes leave the board, eaten fruits respawn. Backwards, as a removal moves the
+    // last alive snake into the removed one's place
+    private void settle() {
+        for (int k = aliveCount - 1; k >= 0; k--) {
+            int id = liveIds[k];
+            int outcome = outcomes[id];
+            if (outcome < 0) {
+                remove(id);
+            } else if (outcome == ATE_FRUIT) {
+                score[id]++;
+                int fruit = fruitIndex.get(next[id]);
+                fruitIndex.remove(next[id]);
+                fruits[fruit] = NO_FRUIT;
+            }
+        }
+        for (int fruit = 0; fruit < fruits.length; fruit++) {
+            if (fruits[fruit] == NO_FRUIT) {
+                placeFruit(fruit);
+            }
+        }
+    }
+
+    private void remove(int id) {
+        SnakeBody body = bodies[id];
+        for (int i = 0; i < body.length(); i++) {
+            long cell = body.get(i);
+            occupancies[region(cell)].free(local(cell));
+        }
+        body.clear();
+        alive[id] = false;
+        int last = liveIds[--aliveCount];
+        liveIds[livePositions[id]] = last;
+        livePositions[last] = livePositions[id];
+        removedIds[removedCount++] = id;
+        freeSlots[freeSlotCount++] = id;
+    }
+
+    private void placeFruit(int fruit) {
+        for (int attempt = 0; attempt < FRUIT_PLACEMENT_ATTEMPTS; attempt++) {
+            long cell = random.nextLong(cells);
+            if (!isOccupied(cell) && fruitIndex.get(cell) == CellTable.ABSENT) {
+                fruits[fruit] = cell;
+                fruitIndex.put(cell, fruit);
+                return;
+            }
+        }
+    }
+
+    private void forEachRegion(boolean parallel, IntConsumer phase) {
+        if (parallel) {
+            IntStream.range(0, regionCount).parallel().forEach(phase);
+        } else {
+            for (int region = 0; region < regionCount; region++) {
+                phase.accept(region);
+            }
+        }
+    }
+
+    private boolean isOccupied(long cell) {
+        return occupancies[region(cell)].isOccupied(local(cell));
+    }
+
+    private void occupy(long cell) {
+        occupancies[region(cell)].occupy(local(cell));
+    }
+
+    private int region(long cell) {
+        return (int) (cell % stride) / regionWidth;
+    }
+
+    // Cell index within its region, rows of regionWidth columns
+    private long local(long cell) {
+        long x = cell % stride;
+        return (cell / stride) * regionWidth + (x % regionWidth);
+    }
+
+    private int cellX(long cell) {
+        return (int) (cell % stride);
+    }
+
+    private int cellY(long cell) {
+        return (int) (cell / stride);
+    }
+}
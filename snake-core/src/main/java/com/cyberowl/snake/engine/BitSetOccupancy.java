@@ -0,0 +1,135 @@
+package com.cyberowl.snake.engine;
+
+import java.util.Arrays;
+
+/**
+ * One bit per grid cell in a long[].
+ * <p>
+ * Optionally maintains a Fenwick tree of free cells per word ({@link #enableFreeCellIndex()}), which turns
+ * selecting the k-th free cell into an O(log n) rank/select instead of a scan of the grid.
+ */
+public final class BitSetOccupancy implements Occupancy {
+    private final long[] words;
+    private final long cells;
+    private long occupied;
+    private int[] freeTree;  // 1-based Fenwick tree of free cell counts per word, null until enabled
+
+    public BitSetOccupancy(long cells) {
+        if (cells <= 0 || cells > DENSE_HARD_LIMIT_CELLS) {
+            throw new IllegalArgumentException("Unsupported dense grid size: " + cells);
+        }
+        this.cells = cells;
+        this.words = new long[(int) ((cells + 63) >>> 6)];
+    }
+
+    @Override
+    public boolean isOccupied(long cell) {
+        return (words[(int) (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    @Override
+    public void occupy(long cell) {
+        int index = (int) (cell >>> 6);
+        long word = words[index];
+        long bit = 1L << cell;
+        if ((word & bit) == 0) {
+            words[index] = word | bit;
+            occupied++;
+            if (freeTree != null) {
+                addFree(index, -1);
+            }
+        }
+    }
+
+    @Override
+    public void free(long cell) {
+        int index = (int) (cell >>> 6);
+        long word = words[index];
+        long bit = 1L << cell;
+        if ((word & bit) != 0) {
+            words[index] = word & ~bit;
+            occupied--;
+            if (freeTree != null) {
+                addFree(index, 1);
+            }
+        }
+    }
+
+    @Override
+    public long occupiedCount() {
+        return occupied;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0L);
+        occupied = 0;
+        if (freeTree != null) {
+            buildFreeTree();
+        }
+    }
+
+    public long cells() {
+        return cells;
+    }
+
+    public boolean hasFreeCellIndex() {
+        return freeTree != null;
+    }
+
+    /**
+     * Builds the free cell index in O(n / 64), later updates keep it current in O(log n)
+     */
+    public void enableFreeCellIndex() {
+        if (freeTree == null) {
+            freeTree = new int[words.length + 1];
+            buildFreeTree();
+        }
+    }
+
+    /**
+     * @param rank 0-based rank among free cells, lower than {@code cells() - occupiedCount()}
+     * @return the free cell of that rank, in cell order
+     */
+    public long selectFree(long rank) {
+        enableFreeCellIndex();
+        int position = 0;
+        long remaining = rank;
+        for (int step = Integer.highestOneBit(words.length); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= words.length && freeTree[next] <= remaining) {
+                position = next;
+                remaining -= freeTree[next];
+            }
+        }
+        // position is now the 0-based index of the word holding the free cell
+        long free = ~words[position] & validBits(position);
+        for (long i = 0; i < remaining; i++) {
+            free &= free - 1;
+        }
+        return ((long) position << 6) + Long.numberOfTrailingZeros(free);
+    }
+
+    private void buildFreeTree() {
+        Arrays.fill(freeTree, 0);
+        for (int i = 0; i < words.length; i++) {
+            freeTree[i + 1] += Long.bitCount(~words[i] & validBits(i));
+            int parent = i + 1 + ((i + 1) & -(i + 1));
+            if (parent <= words.length) {
+                freeTree[parent] += freeTree[i + 1];
+            }
+        }
+    }
+
+    private void addFree(int wordIndex, int delta) {
+        for (int i = wordIndex + 1; i <= words.length; i += i & -i) {
+            freeTree[i] += delta;
+        }
+    }
+
+    // Bits of the last word past the grid are never free
+    private long validBits(int wordIndex) {
+        long remainder = cells - ((long) wordIndex << 6);
+        return remainder >= 64 ? -1L : (1L << remainder) - 1;
+    }
+}
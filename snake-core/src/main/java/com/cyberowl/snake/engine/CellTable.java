@@ -0,0 +1,108 @@
+package com.cyberowl.snake.engine;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing (linear probing) map from cells to non-negative ints, same layout and backward shift
+ * deletion as {@link HashOccupancy}. Used as a spatial hash of snake heads and fruits.
+ */
+final class CellTable {
+    static final int ABSENT = -1;
+
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    CellTable(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * expectedSize && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    int get(long cell) {
+        for (int slot = slot(cell); ; slot = (slot + 1) & mask) {
+            long key = keys[slot];
+            if (key == cell) {
+                return values[slot];
+            }
+            if (key == EMPTY) {
+                return ABSENT;
+            }
+        }
+    }
+
+    void put(long cell, int value) {
+        int slot = slot(cell);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == cell) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = cell;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    void remove(long cell) {
+        int slot = slot(cell);
+        while (keys[slot] != cell) {
+            if (keys[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        size--;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long cell) {
+        long hash = cell * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+}
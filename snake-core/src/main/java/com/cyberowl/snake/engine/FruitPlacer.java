@@ -0,0 +1,39 @@
+package com.cyberowl.snake.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Uniform fruit placement among free cells.
+ * <p>
+ * While at most half the grid is occupied, rejection sampling needs fewer than two draws on average.
+ * Beyond that, a bitset occupancy switches to rank/select over its free cell index, so a late game on a
+ * crowded board costs O(log n) per fruit instead of an ever longer retry loop. Huge grids backed by a hash
+ * occupancy can never be crowded (the snake would not fit in memory) and always use rejection sampling.
+ */
+public final class FruitPlacer {
+    public static final long NO_FREE_CELL = -1L;
+
+    private FruitPlacer() {
+        throw new IllegalStateException("This is a utility class and should not be instantiated.");
+    }
+
+    /**
+     * @param cells number of cells of the grid, cell indexes range over [0, cells)
+     * @return a uniformly drawn free cell, or {@link #NO_FREE_CELL} if the grid is full
+     */
+    public static long place(Occupancy occupancy, long cells, SplittableRandom random) {
+        long free = cells - occupancy.occupiedCount();
+        if (free <= 0) {
+            return NO_FREE_CELL;
+        }
+        if (occupancy instanceof BitSetOccupancy bitSet && (free * 2 < cells || bitSet.hasFreeCellIndex())) {
+            return bitSet.selectFree(random.nextLong(free));
+        }
+        while (true) {
+            long cell = random.nextLong(cells);
+            if (!occupancy.isOccupied(cell)) {
+                return cell;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.cyberowl.snake.engine;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic fruit sequence per game.
+ * <p>
+ * The game seed is an HMAC of the gameId keyed by a server secret, so clients cannot predict
+ * fruits while any instance sharing the secret can re-derive them. Fruit N is drawn from its own
+ * stream, seeded by the SplitMix64 finaliser of the game seed and of N, so it is computed in O(1)
+ * without replaying 0..N-1 and tells nothing of fruit N+1.
+ */
+public final class FruitSequence {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public FruitSequence(byte[] secret) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("Fruit sequence secret must not be empty");
+        }
+        this.key = new SecretKeySpec(secret.clone(), HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public long gameSeed(String gameId) {
+        byte[] digest = macs.get().doFinal(gameId.getBytes(StandardCharsets.UTF_8));
+        long seed = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            seed = (seed << 8) | (digest[i] & 0xFF);
+        }
+        return seed;
+    }
+
+    /**
+     * Random stream of fruit {@code index}, for placers that need more than one draw (e.g. rejection sampling)
+     */
+    public SplittableRandom random(long gameSeed, long index) {
+        return new SplittableRandom(mix64(gameSeed ^ mix64(index)));
+    }
+
+    // Streams seeded a constant step apart overlap, seed + (N + 1) * gamma drew fruit N's y as fruit N+1's x
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Fruit drawn anywhere on the grid, snake or not: x in [start, width], y in [start, height]
+     *
+     * @return the fruit coordinate packed with {@link PackedCoordinate}
+     */
+    public long fruitAt(long gameSeed, long index, int width, int height, int start) {
+        if (width < start || height < start) {
+            throw new IllegalArgumentException(String.format(
+                    "Width and height must be positive integers. Provided width = %d, height = %d", width, height));
+        }
+        SplittableRandom random = random(gameSeed, index);
+        int x = (width == start) ? start : random.nextInt(start, width + 1);
+        int y = (height == start) ? start : random.nextInt(start, height + 1);
+        return PackedCoordinate.pack(x, y);
+    }
+
+    public long fruitAt(String gameId, long index, int width, int height, int start) {
+        return fruitAt(gameSeed(gameId), index, width, height, start);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + HMAC_ALGORITHM, e);
+        }
+    }
+}
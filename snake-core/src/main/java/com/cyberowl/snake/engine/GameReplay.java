@@ -0,0 +1,65 @@
+package com.cyberowl.snake.engine;
+
+/**
+ * Rules of a validation on a loaded {@link SnakeGame}: ticks are stepped one by one and every fruit eaten
+ * is replaced by the next one of the game's {@link FruitSequence}, drawn among the cells left free.
+ * <p>
+ * Fruit N of a game is the one on the grid after N fruits were eaten, so a replay only needs the number
+ * eaten before it to carry on the sequence, whoever replayed the earlier moves.
+ */
+public final class GameReplay {
+    private final SnakeGame game;
+    private final FruitSequence fruitSequence;
+    private final String gameId;
+    private long gameSeed;
+    private boolean seeded;
+    private int fruitsEaten;
+    private boolean gridFilled;
+
+    /**
+     * @param fruitsEaten fruits eaten in the game before this replay
+     */
+    public GameReplay(SnakeGame game, FruitSequence fruitSequence, String gameId, int fruitsEaten) {
+        this.game = game;
+        this.fruitSequence = fruitSequence;
+        this.gameId = gameId;
+        this.fruitsEaten = fruitsEaten;
+    }
+
+    /**
+     * Moves the snake one tick and places the next fruit when it ate one
+     *
+     * @return the outcome of {@link SnakeGame#step}, the game is unchanged on a game over
+     */
+    public int step(int velX, int velY) {
+        int outcome = game.step(velX, velY);
+        if (outcome == SnakeGame.ATE_FRUIT) {
+            // The seed is an HMAC, only worth computing once a fruit is eaten
+            if (!seeded) {
+                gameSeed = fruitSequence.gameSeed(gameId);
+                seeded = true;
+            }
+            fruitsEaten++;
+            gridFilled = !game.placeFruit(fruitSequence.random(gameSeed, fruitsEaten));
+        }
+        return outcome;
+    }
+
+    public SnakeGame game() {
+        return game;
+    }
+
+    /**
+     * Fruits eaten in the game, before and during this replay
+     */
+    public int fruitsEaten() {
+        return fruitsEaten;
+    }
+
+    /**
+     * Whether the snake covered the whole grid when it ate its last fruit, which was then left in place
+     */
+    public boolean gridFilled() {
+        return gridFilled;
+    }
+}
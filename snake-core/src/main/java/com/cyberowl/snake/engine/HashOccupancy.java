@@ -0,0 +1,112 @@
+package com.cyberowl.snake.engine;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing (linear probing) set of cells for grids too large for a bitset.
+ * Removal uses backward shift deletion, so there are no tombstones and probe lengths stay short
+ * while the snake keeps pushing its head and popping its tail.
+ */
+public final class HashOccupancy implements Occupancy {
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+    private int mask;
+    private long occupied;
+
+    public HashOccupancy(long expectedOccupied) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * expectedOccupied && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    @Override
+    public boolean isOccupied(long cell) {
+        for (int slot = slot(cell); ; slot = (slot + 1) & mask) {
+            long value = table[slot];
+            if (value == cell) {
+                return true;
+            }
+            if (value == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void occupy(long cell) {
+        int slot = slot(cell);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == cell) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = cell;
+        // Keep the load factor at or below one half
+        if (++occupied * 2 > table.length) {
+            rehash(table.length << 1);
+        }
+    }
+
+    @Override
+    public void free(long cell) {
+        int slot = slot(cell);
+        while (table[slot] != cell) {
+            if (table[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        occupied--;
+        // Shift back following entries whose home slot is not between the hole and themselves
+        int hole = slot;
+        for (int next = (hole + 1) & mask; table[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(table[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = EMPTY;
+    }
+
+    @Override
+    public long occupiedCount() {
+        return occupied;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        occupied = 0;
+    }
+
+    private int slot(long cell) {
+        long hash = cell * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        allocate(capacity);
+        for (long cell : old) {
+            if (cell != EMPTY) {
+                int slot = slot(cell);
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = cell;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        mask = capacity - 1;
+    }
+}
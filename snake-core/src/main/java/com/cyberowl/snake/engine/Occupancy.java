@@ -0,0 +1,34 @@
+package com.cyberowl.snake.engine;
+
+/**
+ * Set of occupied grid cells, cells being packed as {@code y * (width + 1) + x}.
+ */
+public interface Occupancy {
+    // Dense grids up to this many cells are always backed by a bitset (512 KiB)
+    long DENSE_MAX_CELLS = 1L << 22;
+    // Never allocate more than this many cells (128 MiB) for a bitset
+    long DENSE_HARD_LIMIT_CELLS = 1L << 30;
+    // A bitset is worth it beyond small grids once it is at most this many bits per occupied cell
+    long DENSE_BITS_PER_OCCUPIED_CELL = 32;
+
+    boolean isOccupied(long cell);
+
+    void occupy(long cell);
+
+    void free(long cell);
+
+    long occupiedCount();
+
+    void clear();
+
+    /**
+     * Bitset for small or crowded grids, open addressing hash set for huge sparse grids
+     */
+    static Occupancy forGrid(long cells, long expectedOccupied) {
+        if (cells <= DENSE_MAX_CELLS ||
+                (cells <= DENSE_HARD_LIMIT_CELLS && cells <= expectedOccupied * DENSE_BITS_PER_OCCUPIED_CELL)) {
+            return new BitSetOccupancy(cells);
+        }
+        return new HashOccupancy(expectedOccupied);
+    }
+}
@@ -0,0 +1,23 @@
+package com.cyberowl.snake.engine;
+
+/**
+ * Packs an (x, y) pair of non-negative ints into a single long so the engine can pass
+ * coordinates around without allocating.
+ */
+public final class PackedCoordinate {
+    private PackedCoordinate() {
+        throw new IllegalStateException("This is a utility class and should not be instantiated.");
+    }
+
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int x(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    public static int y(long packed) {
+        return (int) packed;
+    }
+}
@@ -0,0 +1,282 @@
+package com.cyberowl.snake.engine;
+
+import java.util.Arrays;
+
+/**
+ * Shortest legal tick sequence from the snake head to the fruit, as {@link SnakeEnvironment} actions.
+ * <p>
+ * The king-move distance to the fruit is a lower bound, so when a monotone path of that length (plus the
+ * detour a forbidden reversal forces) crosses no body cell it is optimal and built in O(distance) with no
+ * search, whatever the grid size. Otherwise a breadth-first search runs over (cell, direction) states with
+ * a primitive queue, body segments blocking their cell until the tail has moved off it. The snake cannot
+ * wait, so until the last segment is released a state reached later may get past a segment an earlier
+ * arrival could not: states are told apart by tick until then, by a bitset per tick parity, and only
+ * afterwards kept to their first arrival by a visited bitset. The search is limited to
+ * {@link #MAX_SEARCH_CELLS} cells and {@link #MAX_SEARCH_STATES} queued states.
+ * <p>
+ * The search does not track the cells its own path leaves behind, callers should replay the result.
+ * Instances reuse their buffers between calls, grown to the largest search run, and are not thread-safe.
+ */
+public final class PathSolver {
+    public static final int NO_PATH = -1;
+    public static final int SEARCH_LIMIT_EXCEEDED = -2;
+    public static final long MAX_SEARCH_CELLS = 1L << 20;
+    public static final int MAX_SEARCH_STATES = (int) MAX_SEARCH_CELLS * SnakeEnvironment.ACTIONS;
+
+    private static final int DIRECTIONS = SnakeEnvironment.ACTIONS;
+    private static final boolean[] REVERSALS = new boolean[DIRECTIONS * DIRECTIONS];
+
+    static {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            for (int action = 0; action < DIRECTIONS; action++) {
+                REVERSALS[direction * DIRECTIONS + action] = SnakeRules.isReverseDirection(
+                        SnakeEnvironment.actionVelX(direction), SnakeEnvironment.actionVelY(direction),
+                        SnakeEnvironment.actionVelX(action), SnakeEnvironment.actionVelY(action));
+            }
+        }
+    }
+
+    private byte[] moves = new byte[16];
+    private long[] visited = new long[0];
+    private long[] seenEven = new long[0];
+    private long[] seenOdd = new long[0];
+    private int[] queue = new int[16];
+    private int[] parents = new int[16];
+    private int[] releases = new int[0];
+
+    /**
+     * @return the number of moves of the path, readable with {@link #move(int)}, or {@link #NO_PATH} /
+     * {@link #SEARCH_LIMIT_EXCEEDED}
+     */
+    public int solve(SnakeGame game) {
+        int closedForm = closedForm(game);
+        if (closedForm >= 0) {
+            return closedForm;
+        }
+        long cells = ((long) game.width() + 1) * ((long) game.height() + 1);
+        if (cells > MAX_SEARCH_CELLS) {
+            return SEARCH_LIMIT_EXCEEDED;
+        }
+        return search(game, (int) cells);
+    }
+
+    /**
+     * Approximate heap held by the buffers, which only grow: the largest search run so far
+     */
+    public long bufferBytes() {
+        return moves.length + (visited.length + seenEven.length + seenOdd.length) * (long) Long.BYTES
+                + (queue.length + parents.length + releases.length) * (long) Integer.BYTES;
+    }
+
+    /**
+     * @return the action of move {@code index} of the last solved path
+     */
+    public int move(int index) {
+        return moves[index];
+    }
+
+    // Monotone path: diagonal moves then straight ones, or a two-move detour around a forbidden reversal
+    private int closedForm(SnakeGame game) {
+        int headX = game.headX();
+        int headY = game.headY();
+        int dx = game.fruitX() - headX;
+        int dy = headY - game.fruitY();
+        int distance = Math.max(Math.abs(dx), Math.abs(dy));
+        if (distance == 0) {
+            return NO_PATH;
+        }
+        int signX = Integer.signum(dx);
+        int signY = Integer.signum(dy);
+        int diagonals = Math.min(Math.abs(dx), Math.abs(dy));
+        ensureMoves(distance + 1);
+
+        if (diagonals > 0 || !SnakeRules.isReverseDirection(game.velX(), game.velY(), signX, signY)) {
+            int straightX = Math.abs(dx) > Math.abs(dy) ? signX : 0;
+            int straightY = Math.abs(dx) > Math.abs(dy) ? 0 : signY;
+            for (int i = 0; i < diagonals; i++) {
+                moves[i] = (byte) SnakeEnvironment.action(signX, signY);
+            }
+            for (int i = diagonals; i < distance; i++) {
+                moves[i] = (byte) SnakeEnvironment.action(straightX, straightY);
+            }
+            return isClear(game, distance) ? distance : NO_PATH;
+        }
+
+        // Fruit straight behind: step aside diagonally, then come back onto the line
+        int perpendicularX = signY;
+        int perpendicularY = signX;
+        for (int side = 1; side >= -1; side -= 2) {
+            int asideX = signX + side * perpendicularX;
+            int asideY = signY + side * perpendicularY;
+            int length = distance == 1 ? 2 : distance;
+            moves[0] = (byte) SnakeEnvironment.action(asideX, asideY);
+            moves[1] = distance == 1
+                    ? (byte) SnakeEnvironment.action(-side * perpendicularX, -side * perpendicularY)
+                    : (byte) SnakeEnvironment.action(signX - side * perpendicularX, signY - side * perpendicularY);
+            for (int i = 2; i < length; i++) {
+                moves[i] = (byte) SnakeEnvironment.action(signX, signY);
+            }
+            if (isClear(game, length)) {
+                return length;
+            }
+        }
+        return NO_PATH;
+    }
+
+    // Conservative check: any body cell on the path rejects it, even one the tail would have left in time
+    private boolean isClear(SnakeGame game, int length) {
+        int x = game.headX();
+        int y = game.headY();
+        for (int i = 0; i < length; i++) {
+            x = SnakeRules.nextX(x, SnakeEnvironment.actionVelX(moves[i]));
+            y = SnakeRules.nextY(y, SnakeEnvironment.actionVelY(moves[i]));
+            if (SnakeRules.isOutOfBounds(game.width(), game.height(), x, y)
+                    || game.occupancy().isOccupied(game.cell(x, y))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int search(SnakeGame game, int cells) {
+        int states = cells * DIRECTIONS;
+        prepareSearch(cells, states);
+        int snakeLength = game.length();
+        // Segment i (0 for the head) is left by the tail after snakeLength - i ticks
+        for (int i = 0; i < snakeLength; i++) {
+            releases[(int) game.cell(game.segmentX(i), game.segmentY(i))] = snakeLength - i;
+        }
+        try {
+            return breadthFirst(game);
+        } finally {
+            for (int i = 0; i < snakeLength; i++) {
+                releases[(int) game.cell(game.segmentX(i), game.segmentY(i))] = 0;
+            }
+        }
+    }
+
+    private int breadthFirst(SnakeGame game) {
+        int width = game.width();
+        int height = game.height();
+        int stride = width + 1;
+        int fruit = (int) game.cell(game.fruitX(), game.fruitY());
+        // From this tick on every segment is released, an arrival is then no better than an earlier one
+        int released = game.length();
+        int start = (int) game.cell(game.headX(), game.headY()) * DIRECTIONS
+                + SnakeEnvironment.action(game.velX(), game.velY());
+        markSeen(seenEven, start);
+        queue[0] = start;
+        parents[0] = -1;
+        int head = 0;
+        int tail = 1;
+        int tick = 0;
+
+        while (head < tail) {
+            int layerEnd = tail;
+            tick++;
+            // Entries of this layer arrived a tick ago, the bitset of that parity is refilled by the next layer
+            long[] arrived = (tick & 1) == 0 ? seenOdd : seenEven;
+            long[] arriving = (tick & 1) == 0 ? seenEven : seenOdd;
+            while (head < layerEnd) {
+                int entry = head++;
+                int state = queue[entry];
+                if (tick - 1 < released) {
+                    clearSeen(arrived, state);
+                }
+                int cell = state / DIRECTIONS;
+                int direction = state % DIRECTIONS;
+                int x = cell % stride;
+                int y = cell / stride;
+                for (int action = 0; action < DIRECTIONS; action++) {
+                    if (REVERSALS[direction * DIRECTIONS + action]) {
+                        continue;
+                    }
+                    int nextX = SnakeRules.nextX(x, SnakeEnvironment.actionVelX(action));
+                    int nextY = SnakeRules.nextY(y, SnakeEnvironment.actionVelY(action));
+                    if (SnakeRules.isOutOfBounds(width, height, nextX, nextY)) {
+                        continue;
+                    }
+                    int next = nextY * stride + nextX;
+                    // Eating keeps the tail in place, so the fruit cell must have been left one tick earlier
+                    if (next == fruit && (releases[next] == 0 || tick > releases[next])) {
+                        return reconstruct(entry, action, tick);
+                    }
+                    int nextState = next * DIRECTIONS + action;
+                    if (tick < releases[next]) {
+                        continue;
+                    }
+                    long[] seen = tick < released ? arriving : visited;
+                    if (isSeen(seen, nextState)) {
+                        continue;
+                    }
+                    markSeen(seen, nextState);
+                    if (tail == queue.length && !growQueue()) {
+                        return SEARCH_LIMIT_EXCEEDED;
+                    }
+                    queue[tail] = nextState;
+                    parents[tail] = entry;
+                    tail++;
+                }
+            }
+        }
+        return NO_PATH;
+    }
+
+    private int reconstruct(int lastEntry, int lastAction, int length) {
+        ensureMoves(length);
+        moves[length - 1] = (byte) lastAction;
+        int entry = lastEntry;
+        for (int i = length - 2; i >= 0; i--) {
+            moves[i] = (byte) (queue[entry] % DIRECTIONS);
+            entry = parents[entry];
+        }
+        if (entry != 0) {
+            throw new IllegalStateException("Path reconstruction did not end on the snake head");
+        }
+        return length;
+    }
+
+    private void prepareSearch(int cells, int states) {
+        int words = (states + 63) >>> 6;
+        if (visited.length < words) {
+            visited = new long[words];
+            seenEven = new long[words];
+            seenOdd = new long[words];
+        } else {
+            Arrays.fill(visited, 0, words, 0L);
+            Arrays.fill(seenEven, 0, words, 0L);
+            Arrays.fill(seenOdd, 0, words, 0L);
+        }
+        if (releases.length < cells) {
+            releases = new int[cells];
+        }
+    }
+
+    private boolean growQueue() {
+        if (queue.length >= MAX_SEARCH_STATES) {
+            return false;
+        }
+        int length = (int) Math.min((long) queue.length * 2, MAX_SEARCH_STATES);
+        queue = Arrays.copyOf(queue, length);
+        parents = Arrays.copyOf(parents, length);
+        return true;
+    }
+
+    private void ensureMoves(int length) {
+        if (moves.length < length) {
+            moves = new byte[Math.max(length, moves.length * 2)];
+        }
+    }
+
+    private static boolean isSeen(long[] seen, int state) {
+        return (seen[state >>> 6] & (1L << state)) != 0;
+    }
+
+    private static void markSeen(long[] seen, int state) {
+        seen[state >>> 6] |= 1L << state;
+    }
+
+    private static void clearSeen(long[] seen, int state) {
+        seen[state >>> 6] &= ~(1L << state);
+    }
+}
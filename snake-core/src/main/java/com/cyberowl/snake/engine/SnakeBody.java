@@ -0,0 +1,72 @@
+package com.cyberowl.snake.engine;
+
+/**
+ * Ring buffer of packed cells, index 0 being the head. Pushing the head and popping the tail are O(1)
+ * and only allocate when the snake outgrows the buffer (capacity doubles).
+ * Cells are longs rather than ints so grids beyond 2^31 cells are supported.
+ */
+public final class SnakeBody {
+    private long[] cells;
+    private int head;   // Buffer index of the head
+    private int length;
+
+    public SnakeBody(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 2) - 1) << 1;
+        this.cells = new long[capacity];
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public long head() {
+        return cells[head];
+    }
+
+    public long tail() {
+        return cells[(head + length - 1) & (cells.length - 1)];
+    }
+
+    /**
+     * @param index 0 for the head, length - 1 for the tail
+     */
+    public long get(int index) {
+        return cells[(head + index) & (cells.length - 1)];
+    }
+
+    public void pushHead(long cell) {
+        ensureCapacity(length + 1);
+        head = (head - 1) & (cells.length - 1);
+        cells[head] = cell;
+        length++;
+    }
+
+    public void pushTail(long cell) {
+        ensureCapacity(length + 1);
+        cells[(head + length) & (cells.length - 1)] = cell;
+        length++;
+    }
+
+    public long popTail() {
+        long tail = tail();
+        length--;
+        return tail;
+    }
+
+    public void clear() {
+        head = 0;
+        length = 0;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= cells.length) {
+            return;
+        }
+        long[] grown = new long[cells.length << 1];
+        for (int i = 0; i < length; i++) {
+            grown[i] = get(i);
+        }
+        cells = grown;
+        head = 0;
+    }
+}
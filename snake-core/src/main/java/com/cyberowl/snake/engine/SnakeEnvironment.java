@@ -0,0 +1,350 @@
+package com.cyberowl.snake.engine;
+
+import java.util.Arrays;
+
+/**
+ * Vectorised headless environment for bot training: {@code envs} independent games on a shared grid size,
+ * stepped together with the same rules as the HTTP service ({@link SnakeRules}, growth and fruit handling
+ * of {@link SnakeGame}).
+ * <p>
+ * State is laid out as struct-of-arrays on primitives (one slice of the body ring and occupancy words per
+ * game), so {@link #step} and {@link #observe} never allocate. Games start like a new HTTP game: head at
+ * (0,0) moving right, first fruit in [1, width] x [1, height]. Later fruits are drawn uniformly among free
+ * cells from a per-game SplitMix64 stream seeded by the environment seed; training games are not tied to
+ * the server's fruit secret.
+ * <p>
+ * A game that ends (game over or grid filled) is reset within the same step, its outcome tells the caller
+ * the episode ended. Disjoint env ranges may be stepped concurrently from different threads.
+ */
+public final class SnakeEnvironment {
+    /**
+     * Extra outcome next to the {@link SnakeGame} ones: the snake ate the last fruit the grid had room for
+     */
+    public static final int GRID_FILLED = 2;
+
+    public static final int ACTIONS = 8;
+    public static final byte EMPTY = 0;
+    public static final byte BODY = 1;
+    public static final byte HEAD = 2;
+    public static final byte FRUIT = 3;
+
+    private static final int[] ACTION_VEL_X = {-1, -1, -1, 0, 0, 1, 1, 1};
+    private static final int[] ACTION_VEL_Y = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int MAX_TOTAL_CELLS = Integer.MAX_VALUE - 8;
+
+    private final int envs;
+    private final int width;
+    private final int height;
+    private final int stride;
+    private final int cells;
+    private final int wordsPerEnv;
+
+    private final int[] body;        // ring buffer of cells per game, envs * cells
+    private final long[] occupied;   // occupancy bits per game, envs * wordsPerEnv
+    private final int[] headPos;
+    private final int[] tailPos;
+    private final int[] length;
+    private final int[] headX;
+    private final int[] headY;
+    private final int[] velX;
+    private final int[] velY;
+    private final int[] fruit;
+    private final int[] fruitsEaten;
+    private final long[] rng;
+
+    public SnakeEnvironment(int envs, int width, int height, long seed) {
+        if (envs <= 0) {
+            throw new IllegalArgumentException("Number of environments must be positive: " + envs);
+        }
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Width and height must be positive integers. Provided width = %d, height = %d", width, height));
+        }
+        long gridCells = ((long) width + 1) * ((long) height + 1);
+        if (gridCells * envs > MAX_TOTAL_CELLS) {
+            throw new IllegalArgumentException("Too many cells for one environment: " + gridCells + " x " + envs);
+        }
+        this.envs = envs;
+        this.width = width;
+        this.height = height;
+        this.stride = width + 1;
+        this.cells = (int) gridCells;
+        this.wordsPerEnv = (cells + 63) >>> 6;
+        this.body = new int[envs * cells];
+        this.occupied = new long[envs * wordsPerEnv];
+        this.headPos = new int[envs];
+        this.tailPos = new int[envs];
+        this.length = new int[envs];
+        this.headX = new int[envs];
+        this.headY = new int[envs];
+        this.velX = new int[envs];
+        this.velY = new int[envs];
+        this.fruit = new int[envs];
+        this.fruitsEaten = new int[envs];
+        this.rng = new long[envs];
+        for (int env = 0; env < envs; env++) {
+            rng[env] = FruitSequence.mix64(seed + (env + 1) * GOLDEN_GAMMA);
+        }
+        resetAll();
+    }
+
+    /**
+     * @return the action moving with the given velocity, -1 if the velocity is not a legal one
+     */
+    public static int action(int velX, int velY) {
+        for (int action = 0; action < ACTIONS; action++) {
+            if (ACTION_VEL_X[action] == velX && ACTION_VEL_Y[action] == velY) {
+                return action;
+            }
+        }
+        return -1;
+    }
+
+    public static int actionVelX(int action) {
+        return ACTION_VEL_X[action];
+    }
+
+    public static int actionVelY(int action) {
+        return ACTION_VEL_Y[action];
+    }
+
+    public void resetAll() {
+        for (int env = 0; env < envs; env++) {
+            reset(env);
+        }
+    }
+
+    public void reset(int env) {
+        Arrays.fill(occupied, env * wordsPerEnv, (env + 1) * wordsPerEnv, 0L);
+        headPos[env] = 0;
+        tailPos[env] = 0;
+        length[env] = 1;
+        headX[env] = 0;
+        headY[env] = 0;
+        velX[env] = 1;
+        velY[env] = 0;
+        fruitsEaten[env] = 0;
+        body[env * cells] = 0;
+        occupy(env, 0);
+        int x = 1 + nextInt(env, width);
+        int y = 1 + nextInt(env, height);
+        fruit[env] = y * stride + x;
+    }
+
+    /**
+     * Steps every game with its action
+     *
+     * @param actions  one action in [0, {@link #ACTIONS}) per game
+     * @param outcomes receives each game's {@link SnakeGame} outcome or {@link #GRID_FILLED}
+     */
+    public void step(byte[] actions, int[] outcomes) {
+        step(actions, outcomes, 0, envs);
+    }
+
+    /**
+     * Steps the games in [fromEnv, toEnv), indexes of {@code actions} and {@code outcomes} are env indexes
+     */
+    public void step(byte[] actions, int[] outcomes, int fromEnv, int toEnv) {
+        for (int env = fromEnv; env < toEnv; env++) {
+            int outcome = stepOne(env, actions[env]);
+            outcomes[env] = outcome;
+            if (outcome < 0 || outcome == GRID_FILLED) {
+                reset(env);
+            }
+        }
+    }
+
+    /**
+     * Writes the grid of a game as {@link #EMPTY}, {@link #BODY}, {@link #HEAD} and {@link #FRUIT} cells,
+     * row by row from y = 0, {@link #cells()} bytes starting at {@code offset}
+     */
+    public void observe(int env, byte[] grid, int offset) {
+        int wordBase = env * wordsPerEnv;
+        for (int w = 0; w < wordsPerEnv; w++) {
+            long word = occupied[wordBase + w];
+            int cellBase = offset + (w << 6);
+            int end = Math.min(64, cells - (w << 6));
+            for (int bit = 0; bit < end; bit++) {
+                grid[cellBase + bit] = (byte) ((word >>> bit) & 1L);
+            }
+        }
+        grid[offset + fruit[env]] = FRUIT;
+        grid[offset + headY[env] * stride + headX[env]] = HEAD;
+    }
+
+    /**
+     * Writes every game's grid back to back, {@code envs() * cells()} bytes
+     */
+    public void observe(byte[] grids) {
+        for (int env = 0; env < envs; env++) {
+            observe(env, grids, env * cells);
+        }
+    }
+
+    public int envs() {
+        return envs;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int cells() {
+        return cells;
+    }
+
+    public int headX(int env) {
+        return headX[env];
+    }
+
+    public int headY(int env) {
+        return headY[env];
+    }
+
+    public int velX(int env) {
+        return velX[env];
+    }
+
+    public int velY(int env) {
+        return velY[env];
+    }
+
+    public int fruitX(int env) {
+        return fruit[env] % stride;
+    }
+
+    public int fruitY(int env) {
+        return fruit[env] / stride;
+    }
+
+    public int length(int env) {
+        return length[env];
+    }
+
+    /**
+     * @return fruits eaten this episode, not the points the HTTP service counts for them
+     */
+    public int fruitsEaten(int env) {
+        return fruitsEaten[env];
+    }
+
+    /**
+     * @param index 0 for the head, length - 1 for the tail
+     */
+    public int segmentX(int env, int index) {
+        return segment(env, index) % stride;
+    }
+
+    public int segmentY(int env, int index) {
+        return segment(env, index) / stride;
+    }
+
+    private int stepOne(int env, int action) {
+        int tickVelX = ACTION_VEL_X[action];
+        int tickVelY = ACTION_VEL_Y[action];
+        if (SnakeRules.isReverseDirection(velX[env], velY[env], tickVelX, tickVelY)) {
+            return SnakeGame.REVERSE_DIRECTION;
+        }
+        int nextX = SnakeRules.nextX(headX[env], tickVelX);
+        int nextY = SnakeRules.nextY(headY[env], tickVelY);
+        if (SnakeRules.isOutOfBounds(width, height, nextX, nextY)) {
+            return SnakeGame.OUT_OF_BOUNDS;
+        }
+
+        int base = env * cells;
+        int next = nextY * stride + nextX;
+        boolean eats = next == fruit[env];
+        // Same rule as SnakeGame: the head may follow into the tail cell unless the snake grows this tick
+        if (isOccupied(env, next) && (eats || next != body[base + tailPos[env]])) {
+            return SnakeGame.SELF_COLLISION;
+        }
+        if (!eats) {
+            int tail = tailPos[env];
+            free(env, body[base + tail]);
+            tailPos[env] = tail + 1 == cells ? 0 : tail + 1;
+        } else {
+            length[env]++;
+        }
+        int head = headPos[env] + 1 == cells ? 0 : headPos[env] + 1;
+        headPos[env] = head;
+        body[base + head] = next;
+        occupy(env, next);
+        headX[env] = nextX;
+        headY[env] = nextY;
+        velX[env] = tickVelX;
+        velY[env] = tickVelY;
+        if (!eats) {
+            return SnakeGame.MOVED;
+        }
+
+        fruitsEaten[env]++;
+        return placeFruit(env) ? SnakeGame.ATE_FRUIT : GRID_FILLED;
+    }
+
+    // Rejection sampling while at most half the grid is taken, otherwise select the k-th free cell
+    private boolean placeFruit(int env) {
+        int free = cells - length[env];
+        if (free == 0) {
+            return false;
+        }
+        if (free * 2 >= cells) {
+            int cell;
+            do {
+                cell = nextInt(env, cells);
+            } while (isOccupied(env, cell));
+            fruit[env] = cell;
+            return true;
+        }
+        int rank = nextInt(env, free);
+        int wordBase = env * wordsPerEnv;
+        for (int w = 0; w < wordsPerEnv; w++) {
+            long freeBits = ~occupied[wordBase + w];
+            int valid = cells - (w << 6);
+            if (valid < 64) {
+                freeBits &= (1L << valid) - 1;
+            }
+            int count = Long.bitCount(freeBits);
+            if (rank < count) {
+                for (int i = 0; i < rank; i++) {
+                    freeBits &= freeBits - 1;
+                }
+                fruit[env] = (w << 6) + Long.numberOfTrailingZeros(freeBits);
+                return true;
+            }
+            rank -= count;
+        }
+        throw new IllegalStateException("Free cell count out of sync with occupancy");
+    }
+
+    private int segment(int env, int index) {
+        if (index < 0 || index >= length[env]) {
+            throw new IndexOutOfBoundsException("Segment " + index + " of a snake of length " + length[env]);
+        }
+        int position = headPos[env] - index;
+        return body[env * cells + (position < 0 ? position + cells : position)];
+    }
+
+    private boolean isOccupied(int env, int cell) {
+        return (occupied[env * wordsPerEnv + (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    private void occupy(int env, int cell) {
+        occupied[env * wordsPerEnv + (cell >>> 6)] |= 1L << cell;
+    }
+
+    private void free(int env, int cell) {
+        occupied[env * wordsPerEnv + (cell >>> 6)] &= ~(1L << cell);
+    }
+
+    // SplitMix64 step, bounded by multiply-shift on the high 32 bits
+    private int nextInt(int env, int bound) {
+        long state = rng[env] + GOLDEN_GAMMA;
+        rng[env] = state;
+        return (int) (((FruitSequence.mix64(state) >>> 32) * bound) >>> 32);
+    }
+}
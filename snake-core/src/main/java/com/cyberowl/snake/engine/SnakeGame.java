@@ -0,0 +1,194 @@
+package com.cyberowl.snake.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Mutable single-game state on primitives: the snake body in a {@link SnakeBody} ring buffer plus an
+ * {@link Occupancy} of its cells, so each step's self-collision check, head push and tail pop are O(1)
+ * and allocation free.
+ * <p>
+ * Scoring and fruit placement are left to the caller, {@link #step} only reports that the fruit was eaten.
+ * A snake grows by one segment on the step it eats a fruit (its tail stays in place).
+ */
+public final class SnakeGame {
+    public static final int MOVED = 0;
+    public static final int ATE_FRUIT = 1;
+    public static final int REVERSE_DIRECTION = -1;
+    public static final int OUT_OF_BOUNDS = -2;
+    public static final int SELF_COLLISION = -3;
+
+    private final int width;
+    private final int height;
+    private final long stride;
+    private final long cells;
+    private final SnakeBody body;
+    private final Occupancy occupancy;
+
+    private int velX;
+    private int velY;
+    private int fruitX;
+    private int fruitY;
+
+    public SnakeGame(int width, int height, int expectedLength, Occupancy occupancy) {
+        this.width = width;
+        this.height = height;
+        this.stride = (long) width + 1;
+        this.cells = stride * ((long) height + 1);
+        this.body = new SnakeBody(expectedLength);
+        this.occupancy = occupancy;
+    }
+
+    /**
+     * Coordinates range over [0, width] x [0, height], hence (width + 1) * (height + 1) cells
+     */
+    public static SnakeGame create(int width, int height, int expectedLength) {
+        long cells = ((long) width + 1) * ((long) height + 1);
+        return new SnakeGame(width, height, expectedLength, Occupancy.forGrid(cells, expectedLength));
+    }
+
+    public void reset(int headX, int headY, int velX, int velY) {
+        body.clear();
+        occupancy.clear();
+        this.velX = velX;
+        this.velY = velY;
+        long cell = cell(headX, headY);
+        body.pushHead(cell);
+        occupancy.occupy(cell);
+    }
+
+    /**
+     * Appends a segment behind the current tail
+     *
+     * @return false if the segment is out of bounds, already part of the snake or not adjacent to the tail
+     */
+    public boolean appendTail(int x, int y) {
+        if (SnakeRules.isOutOfBounds(width, height, x, y)) {
+            return false;
+        }
+        long tail = body.tail();
+        if (Math.abs(x - cellX(tail)) > 1 || Math.abs(y - cellY(tail)) > 1) {
+            return false;
+        }
+        long cell = cell(x, y);
+        if (occupancy.isOccupied(cell)) {
+            return false;
+        }
+        body.pushTail(cell);
+        occupancy.occupy(cell);
+        return true;
+    }
+
+    public void setFruit(int x, int y) {
+        this.fruitX = x;
+        this.fruitY = y;
+    }
+
+    /**
+     * Places the fruit on a cell drawn uniformly among the cells not covered by the snake
+     *
+     * @return false if the snake covers the whole grid, the fruit is left where it was
+     */
+    public boolean placeFruit(SplittableRandom random) {
+        long cell = FruitPlacer.place(occupancy, cells, random);
+        if (cell == FruitPlacer.NO_FREE_CELL) {
+            return false;
+        }
+        setFruit(cellX(cell), cellY(cell));
+        return true;
+    }
+
+    /**
+     * Moves the snake one tick with the given velocity.
+     *
+     * @return {@link #MOVED}, {@link #ATE_FRUIT} or a negative game over reason, the game is unchanged in that case
+     */
+    public int step(int tickVelX, int tickVelY) {
+        if (SnakeRules.isReverseDirection(velX, velY, tickVelX, tickVelY)) {
+            return REVERSE_DIRECTION;
+        }
+        long head = body.head();
+        int nextX = SnakeRules.nextX(cellX(head), tickVelX);
+        int nextY = SnakeRules.nextY(cellY(head), tickVelY);
+        if (SnakeRules.isOutOfBounds(width, height, nextX, nextY)) {
+            return OUT_OF_BOUNDS;
+        }
+
+        long next = cell(nextX, nextY);
+        boolean eats = nextX == fruitX && nextY == fruitY;
+        // The tail moves away this tick unless the snake grows, so the head may follow into it
+        if (occupancy.isOccupied(next) && (eats || next != body.tail())) {
+            return SELF_COLLISION;
+        }
+        if (!eats) {
+            occupancy.free(body.popTail());
+        }
+        body.pushHead(next);
+        occupancy.occupy(next);
+        velX = tickVelX;
+        velY = tickVelY;
+        return eats ? ATE_FRUIT : MOVED;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int length() {
+        return body.length();
+    }
+
+    public int velX() {
+        return velX;
+    }
+
+    public int velY() {
+        return velY;
+    }
+
+    public int fruitX() {
+        return fruitX;
+    }
+
+    public int fruitY() {
+        return fruitY;
+    }
+
+    public int headX() {
+        return cellX(body.head());
+    }
+
+    public int headY() {
+        return cellY(body.head());
+    }
+
+    /**
+     * @param index 0 for the head, length - 1 for the tail
+     */
+    public int segmentX(int index) {
+        return cellX(body.get(index));
+    }
+
+    public int segmentY(int index) {
+        return cellY(body.get(index));
+    }
+
+    public Occupancy occupancy() {
+        return occupancy;
+    }
+
+    public long cell(int x, int y) {
+        return y * stride + x;
+    }
+
+    public int cellX(long cell) {
+        return (int) (cell % stride);
+    }
+
+    public int cellY(long cell) {
+        return (int) (cell / stride);
+    }
+}
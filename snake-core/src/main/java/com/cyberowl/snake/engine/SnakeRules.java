@@ -0,0 +1,38 @@
+package com.cyberowl.snake.engine;
+
+/**
+ * Move legality shared by every entry point (HTTP service, simulations, solvers) on primitive values.
+ */
+public final class SnakeRules {
+    private SnakeRules() {
+        throw new IllegalStateException("This is a utility class and should not be instantiated.");
+    }
+
+    // Negates tickVelocity to check if it's the opposite of snake velocity, preventing reversal
+    public static boolean isReverseDirection(int snakeVelX, int snakeVelY, int tickVelX, int tickVelY) {
+        // Check for L-movement
+        if ((snakeVelX == -1 && snakeVelY == 1 && tickVelX == 1 && tickVelY == -1) ||
+                (snakeVelX == 1 && snakeVelY == -1 && tickVelX == -1 && tickVelY == 1) ||
+                (snakeVelX == -1 && snakeVelY == -1 && tickVelX == 1 && tickVelY == 1) ||
+                (snakeVelX == 1 && snakeVelY == 1 && tickVelX == -1 && tickVelY == -1)) {
+            return false;
+        }
+
+        // Check for reverse direction
+        return snakeVelX == -(tickVelX) && snakeVelY == -(tickVelY);
+    }
+
+    public static boolean isOutOfBounds(int width, int height, int x, int y) {
+        return x < 0 || x > width ||
+                y < 0 || y > height;
+    }
+
+    // Invert y velocity: positive y is downward in grid coordinate system
+    public static int nextX(int x, int velX) {
+        return x + velX;
+    }
+
+    public static int nextY(int y, int velY) {
+        return y + -(velY);
+    }
+}
@@ -0,0 +1,65 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.engine.Arena;
+import com.cyberowl.snake.engine.SnakeEnvironment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arena tick cost for 100 to 10,000 snakes on grids from 1,000 to 100,000 wide. Snakes mostly keep their
+ * direction and dead ones are respawned, so the population stays constant. The cost must follow the number
+ * of snakes, not the grid area.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArenaBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int snakes;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"8"})
+    private int regions;
+
+    private Arena arena;
+    private SplittableRandom random;
+    private byte[] actions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        arena = new Arena(size, size, snakes, snakes / 4, regions, 42);
+        random = new SplittableRandom(7);
+        actions = new byte[snakes];
+        respawn();
+    }
+
+    @Benchmark
+    public int tick() {
+        for (int id = 0; id < snakes; id++) {
+            if (arena.isAlive(id)) {
+                int keep = SnakeEnvironment.action(arena.velX(id), arena.velY(id));
+                actions[id] = (byte) (random.nextInt(8) == 0 ? random.nextInt(SnakeEnvironment.ACTIONS) : keep);
+            }
+        }
+        arena.tick(actions);
+        respawn();
+        return arena.aliveCount();
+    }
+
+    private void respawn() {
+        while (arena.aliveCount() < snakes) {
+            // Spawn away from the edges, moving towards the centre
+            int x = 1 + random.nextInt(size - 1);
+            int y = 1 + random.nextInt(size - 1);
+            arena.spawn(x, y, x < size / 2 ? 1 : -1, y < size / 2 ? -1 : 1);
+        }
+    }
+}
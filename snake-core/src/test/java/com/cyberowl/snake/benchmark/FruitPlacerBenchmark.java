@@ -0,0 +1,47 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.engine.BitSetOccupancy;
+import com.cyberowl.snake.engine.FruitPlacer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one fruit placement on a 10,000 x 10,000 grid occupied at 10% to 99%. Rejection sampling alone
+ * degrades as 1 / free fraction; with the free cell index the crowded cases must stay in the same range.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Thread)
+public class FruitPlacerBenchmark {
+    private static final long CELLS = 10_000L * 10_000L;
+
+    @Param({"0.1", "0.5", "0.9", "0.99"})
+    private double fill;
+
+    private BitSetOccupancy occupancy;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        occupancy = new BitSetOccupancy(CELLS);
+        SplittableRandom layout = new SplittableRandom(42);
+        for (long cell = 0; cell < CELLS; cell++) {
+            if (layout.nextDouble() < fill) {
+                occupancy.occupy(cell);
+            }
+        }
+        random = new SplittableRandom(7);
+        // Builds the free cell index outside the measurement when the grid is crowded
+        FruitPlacer.place(occupancy, CELLS, random);
+    }
+
+    @Benchmark
+    public long place() {
+        return FruitPlacer.place(occupancy, CELLS, random);
+    }
+}
@@ -0,0 +1,55 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.engine.PathSolver;
+import com.cyberowl.snake.engine.SnakeGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solver cost across board sizes: corner to corner on an empty board (closed form, O(distance)) and around
+ * a body wall spanning all but one row of the board (breadth-first search over the whole grid).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PathSolverBenchmark {
+
+    @Param({"32", "256", "1000"})
+    private int size;
+
+    private PathSolver solver;
+    private SnakeGame emptyBoard;
+    private SnakeGame walledBoard;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        solver = new PathSolver();
+
+        emptyBoard = SnakeGame.create(size, size, 1);
+        emptyBoard.reset(0, 0, 1, 0);
+        emptyBoard.setFruit(size, size);
+
+        // Body in column size / 2 from y = 0 to size - 1, head on its right, fruit in the top left corner
+        int wall = size / 2;
+        walledBoard = SnakeGame.create(size, size, size + 1);
+        walledBoard.reset(wall + 1, 0, 1, 0);
+        for (int y = 0; y < size; y++) {
+            walledBoard.appendTail(wall, y);
+        }
+        walledBoard.setFruit(0, 0);
+    }
+
+    @Benchmark
+    public int closedForm() {
+        return solver.solve(emptyBoard);
+    }
+
+    @Benchmark
+    public int search() {
+        return solver.solve(walledBoard);
+    }
+}
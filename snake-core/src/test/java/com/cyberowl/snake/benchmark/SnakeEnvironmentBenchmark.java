@@ -0,0 +1,51 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.engine.SnakeEnvironment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Environment steps per second of 4096 games on a 20 x 20 grid driven by random actions, including the
+ * resets after each game over. Scores are per game step (one invocation steps every game once).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnakeEnvironmentBenchmark {
+    private static final int ENVS = 4096;
+    private static final int ROUNDS = 64;
+
+    @Param({"20"})
+    private int size;
+
+    private SnakeEnvironment environment;
+    private byte[][] actions;
+    private int[] outcomes;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = new SnakeEnvironment(ENVS, size, size, 42);
+        SplittableRandom random = new SplittableRandom(7);
+        actions = new byte[ROUNDS][ENVS];
+        for (byte[] roundActions : actions) {
+            for (int env = 0; env < ENVS; env++) {
+                roundActions[env] = (byte) random.nextInt(SnakeEnvironment.ACTIONS);
+            }
+        }
+        outcomes = new int[ENVS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENVS)
+    public int[] step() {
+        environment.step(actions[round], outcomes);
+        round = (round + 1) & (ROUNDS - 1);
+        return outcomes;
+    }
+}
@@ -0,0 +1,92 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.engine.BitSetOccupancy;
+import com.cyberowl.snake.engine.HashOccupancy;
+import com.cyberowl.snake.engine.Occupancy;
+import com.cyberowl.snake.engine.SnakeGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick cost of a snake of 10 to 1,000,000 segments following a Hamiltonian cycle of a square grid,
+ * so every tick does a full collision check, head push and tail pop. The cost must stay flat with length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnakeGameBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int length;
+
+    @Param({"bitset", "hash"})
+    private String occupancy;
+
+    private SnakeGame game;
+    private int[] cycleX;
+    private int[] cycleY;
+    private int position;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Even side so the grid has a Hamiltonian cycle, with room for the snake plus a gap
+        int side = (int) Math.ceil(Math.sqrt(length + 2.0));
+        side += side & 1;
+        buildCycle(side);
+
+        long cells = (long) side * side;
+        Occupancy cellSet = occupancy.equals("bitset") ? new BitSetOccupancy(cells) : new HashOccupancy(length);
+        game = new SnakeGame(side - 1, side - 1, length, cellSet);
+
+        // Lay the snake on the cycle, head at index length - 1 and tail at index 0
+        game.reset(cycleX[length - 1], cycleY[length - 1], velX(length - 2), velY(length - 2));
+        for (int i = length - 2; i >= 0; i--) {
+            game.appendTail(cycleX[i], cycleY[i]);
+        }
+        game.setFruit(-1, -1);
+        position = length - 1;
+    }
+
+    @Benchmark
+    public int step() {
+        int velX = velX(position);
+        int velY = velY(position);
+        position = (position + 1) % cycleX.length;
+        return game.step(velX, velY);
+    }
+
+    // Row 0 left to right, then rows 1..side-1 back and forth over columns 1..side-1, back up column 0
+    private void buildCycle(int side) {
+        cycleX = new int[side * side];
+        cycleY = new int[side * side];
+        int i = 0;
+        for (int x = 0; x < side; x++) {
+            cycleX[i] = x;
+            cycleY[i++] = 0;
+        }
+        for (int y = 1; y < side; y++) {
+            boolean leftward = (y & 1) == 1;
+            for (int step = 0; step < side - 1; step++) {
+                cycleX[i] = leftward ? side - 1 - step : 1 + step;
+                cycleY[i++] = y;
+            }
+        }
+        for (int y = side - 1; y >= 1; y--) {
+            cycleX[i] = 0;
+            cycleY[i++] = y;
+        }
+    }
+
+    // Tick velocity moving from cycle index i to i + 1, velocity y pointing up
+    private int velX(int i) {
+        return cycleX[(i + 1) % cycleX.length] - cycleX[i];
+    }
+
+    private int velY(int i) {
+        return cycleY[i] - cycleY[(i + 1) % cycleY.length];
+    }
+}
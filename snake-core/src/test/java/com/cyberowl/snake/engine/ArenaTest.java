@@ -0,0 +1,179 @@
+package com.cyberowl.snake.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArenaTest {
+    private static final byte RIGHT = (byte) SnakeEnvironment.action(1, 0);
+    private static final byte LEFT = (byte) SnakeEnvironment.action(-1, 0);
+    private static final byte DOWN = (byte) SnakeEnvironment.action(0, -1);
+
+    @Test
+    void tick_shouldKillBothSnakesOnHeadToHeadOfEqualLength() {
+        Arena arena = emptyArena(10, 10, 4);
+        int left = arena.spawn(2, 5, 1, 0);
+        int right = arena.spawn(4, 5, -1, 0);
+
+        arena.tick(actions(arena, left, RIGHT, right, LEFT));
+
+        assertEquals(Arena.HEAD_COLLISION, arena.outcome(left));
+        assertEquals(Arena.HEAD_COLLISION, arena.outcome(right));
+        assertEquals(0, arena.aliveCount());
+        assertFalse(arena.isOccupied(2, 5));
+        assertFalse(arena.isOccupied(4, 5));
+    }
+
+    @Test
+    void tick_shouldKeepLongerSnakeOnHeadToHead() {
+        Arena arena = new Arena(10, 10, 4, 1, 2, 1);
+        int left = arena.spawn(1, 5, 1, 0);
+        int right = arena.spawn(5, 5, -1, 0);
+        assertTrue(arena.setFruit(0, 2, 5));
+        arena.tick(actions(arena, left, RIGHT, right, LEFT));
+        assertEquals(Arena.ATE_FRUIT, arena.outcome(left));
+        assertEquals(2, arena.length(left));
+        assertTrue(arena.setFruit(0, 9, 9));
+
+        arena.tick(actions(arena, left, RIGHT, right, LEFT));
+
+        assertEquals(Arena.MOVED, arena.outcome(left));
+        assertEquals(Arena.HEAD_COLLISION, arena.outcome(right));
+        assertEquals(3, arena.headX(left));
+        assertEquals(1, arena.aliveCount());
+    }
+
+    @Test
+    void tick_shouldKillHeadEnteringAnotherBody() {
+        Arena arena = new Arena(10, 10, 4, 1, 3, 1);
+        int horizontal = arena.spawn(3, 5, 1, 0);
+        assertTrue(arena.setFruit(0, 4, 5));
+        arena.tick(actions(arena, horizontal, RIGHT));
+        assertTrue(arena.setFruit(0, 5, 5));
+        arena.tick(actions(arena, horizontal, RIGHT));
+        assertEquals(3, arena.length(horizontal));
+        assertTrue(arena.setFruit(0, 9, 9));
+        // Body now (5,5) (4,5) (3,5), a snake coming down onto (4,5)
+        int vertical = arena.spawn(4, 4, 0, -1);
+
+        arena.tick(actions(arena, horizontal, RIGHT, vertical, DOWN));
+
+        assertEquals(Arena.BODY_COLLISION, arena.outcome(vertical));
+        assertFalse(arena.isAlive(vertical));
+        assertFalse(arena.isOccupied(4, 4));
+        assertEquals(Arena.MOVED, arena.outcome(horizontal));
+    }
+
+    @Test
+    void tick_shouldLetHeadFollowAnotherTail() {
+        Arena arena = emptyArena(10, 10, 2);
+        int leader = arena.spawn(3, 5, 1, 0);
+        int follower = arena.spawn(2, 5, 1, 0);
+
+        arena.tick(actions(arena, leader, RIGHT, follower, RIGHT));
+
+        assertEquals(Arena.MOVED, arena.outcome(leader));
+        assertEquals(Arena.MOVED, arena.outcome(follower));
+        assertEquals(3, arena.headX(follower));
+    }
+
+    @Test
+    void tick_shouldApplySingleGameRules() {
+        Arena arena = emptyArena(5, 5, 2);
+        int reversing = arena.spawn(2, 2, 1, 0);
+        int leaving = arena.spawn(5, 0, 1, 0);
+
+        arena.tick(actions(arena, reversing, LEFT, leaving, RIGHT));
+
+        assertEquals(Arena.REVERSE_DIRECTION, arena.outcome(reversing));
+        assertEquals(Arena.OUT_OF_BOUNDS, arena.outcome(leaving));
+        assertEquals(0, arena.aliveCount());
+        assertEquals(Arena.DEAD, nextOutcome(arena, reversing));
+    }
+
+    @Test
+    void tick_shouldMoveOnlyAliveSnakes_acrossRemovalsAndRespawns() {
+        Arena arena = emptyArena(5, 5, 4);
+        int first = arena.spawn(0, 0, 1, 0);
+        int removed = arena.spawn(0, 2, 1, 0);
+        int last = arena.spawn(0, 4, 1, 0);
+        arena.tick(actions(arena, first, RIGHT, removed, LEFT, last, RIGHT));
+        int respawned = arena.spawn(3, 3, 1, 0);
+
+        arena.tick(actions(arena, first, RIGHT, respawned, RIGHT, last, RIGHT));
+
+        assertEquals(removed, respawned);
+        assertEquals(3, arena.aliveCount());
+        for (int id : new int[]{first, respawned, last}) {
+            assertEquals(Arena.MOVED, arena.outcome(id));
+        }
+        assertEquals(2, arena.headX(first));
+        assertEquals(4, arena.headX(respawned));
+        assertEquals(2, arena.headX(last));
+        assertEquals(Arena.DEAD, arena.outcome(3));
+    }
+
+    @Test
+    void spawn_shouldRejectTakenCellsAndFullArena() {
+        Arena arena = emptyArena(5, 5, 2);
+        assertNotEquals(Arena.NO_SNAKE, arena.spawn(1, 1, 1, 0));
+
+        assertEquals(Arena.NO_SNAKE, arena.spawn(1, 1, 1, 0));
+        assertEquals(Arena.NO_SNAKE, arena.spawn(6, 1, 1, 0));
+        assertNotEquals(Arena.NO_SNAKE, arena.spawn(2, 2, 1, 0));
+        assertEquals(Arena.NO_SNAKE, arena.spawn(3, 3, 1, 0));
+    }
+
+    @Test
+    void tick_shouldGiveSameResultsWhateverTheRegionCount() {
+        Arena sequential = new Arena(200, 200, 1000, 300, 1, 9);
+        Arena parallel = new Arena(200, 200, 1000, 300, 8, 9);
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < 1000; i++) {
+            int x = random.nextInt(201);
+            int y = random.nextInt(201);
+            assertEquals(sequential.spawn(x, y, 1, 0), parallel.spawn(x, y, 1, 0));
+        }
+        byte[] actions = new byte[1000];
+
+        for (int tick = 0; tick < 200; tick++) {
+            for (int id = 0; id < actions.length; id++) {
+                // Mostly keep going, sometimes turn
+                int keep = SnakeEnvironment.action(sequential.velX(id), sequential.velY(id));
+                actions[id] = (byte) (random.nextInt(4) == 0 || keep < 0 ? random.nextInt(SnakeEnvironment.ACTIONS) : keep);
+            }
+            sequential.tick(actions);
+            parallel.tick(actions);
+
+            assertEquals(sequential.aliveCount(), parallel.aliveCount(), "tick " + tick);
+            for (int id = 0; id < actions.length; id++) {
+                assertEquals(sequential.outcome(id), parallel.outcome(id));
+                if (sequential.isAlive(id)) {
+                    assertEquals(sequential.length(id), parallel.length(id));
+                    assertEquals(sequential.headX(id), parallel.headX(id));
+                    assertEquals(sequential.headY(id), parallel.headY(id));
+                }
+            }
+        }
+        assertTrue(sequential.aliveCount() > 0);
+    }
+
+    private static Arena emptyArena(int width, int height, int maxSnakes) {
+        return new Arena(width, height, maxSnakes, 0, 2, 1);
+    }
+
+    private static byte[] actions(Arena arena, int... idAndAction) {
+        byte[] actions = new byte[arena.capacity()];
+        for (int i = 0; i < idAndAction.length; i += 2) {
+            actions[idAndAction[i]] = (byte) idAndAction[i + 1];
+        }
+        return actions;
+    }
+
+    private static int nextOutcome(Arena arena, int id) {
+        arena.tick(new byte[arena.capacity()]);
+        return arena.outcome(id);
+    }
+}
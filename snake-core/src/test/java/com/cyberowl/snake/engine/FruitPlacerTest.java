@@ -0,0 +1,102 @@
+package com.cyberowl.snake.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FruitPlacerTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 63, 64, 65, 1000, 4096})
+    void selectFree_shouldMatchLinearScan(long cells) {
+        BitSetOccupancy occupancy = new BitSetOccupancy(cells);
+        SplittableRandom random = new SplittableRandom(cells);
+        for (long cell = 0; cell < cells; cell++) {
+            if (random.nextInt(3) != 0) {
+                occupancy.occupy(cell);
+            }
+        }
+        occupancy.enableFreeCellIndex();
+        // Updates after the index is built must keep it current
+        for (int i = 0; i < cells / 4; i++) {
+            long cell = random.nextLong(cells);
+            if (occupancy.isOccupied(cell)) {
+                occupancy.free(cell);
+            } else {
+                occupancy.occupy(cell);
+            }
+        }
+
+        long rank = 0;
+        for (long cell = 0; cell < cells; cell++) {
+            if (!occupancy.isOccupied(cell)) {
+                assertEquals(cell, occupancy.selectFree(rank++));
+            }
+        }
+        assertEquals(cells - occupancy.occupiedCount(), rank);
+    }
+
+    @Test
+    void place_shouldBeUniformAmongFreeCellsOnCrowdedGrid() {
+        long cells = 1000;
+        BitSetOccupancy occupancy = new BitSetOccupancy(cells);
+        for (long cell = 0; cell < cells; cell++) {
+            if (cell % 100 != 7) {
+                occupancy.occupy(cell);
+            }
+        }
+        int[] hits = new int[(int) cells];
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 100_000; i++) {
+            hits[(int) FruitPlacer.place(occupancy, cells, random)]++;
+        }
+
+        assertTrue(occupancy.hasFreeCellIndex());
+        for (int cell = 0; cell < cells; cell++) {
+            if (cell % 100 == 7) {
+                // 10 free cells, 10,000 expected hits each
+                assertTrue(hits[cell] > 9_000 && hits[cell] < 11_000, "cell " + cell + " hit " + hits[cell]);
+            } else {
+                assertEquals(0, hits[cell]);
+            }
+        }
+    }
+
+    @Test
+    void place_shouldUseRejectionSamplingOnSparseGrid() {
+        BitSetOccupancy occupancy = new BitSetOccupancy(1000);
+        occupancy.occupy(0);
+
+        long cell = FruitPlacer.place(occupancy, 1000, new SplittableRandom(3));
+
+        assertNotEquals(0, cell);
+        assertFalse(occupancy.hasFreeCellIndex());
+    }
+
+    @Test
+    void place_shouldSupportHashOccupancy() {
+        HashOccupancy occupancy = new HashOccupancy(2);
+        occupancy.occupy(0);
+        occupancy.occupy(1);
+
+        for (int seed = 0; seed < 100; seed++) {
+            long cell = FruitPlacer.place(occupancy, 3, new SplittableRandom(seed));
+            assertEquals(2, cell);
+        }
+    }
+
+    @Test
+    void place_shouldReportFullGrid() {
+        BitSetOccupancy occupancy = new BitSetOccupancy(4);
+        for (long cell = 0; cell < 4; cell++) {
+            occupancy.occupy(cell);
+        }
+
+        assertEquals(FruitPlacer.NO_FREE_CELL, FruitPlacer.place(occupancy, 4, new SplittableRandom(0)));
+    }
+}
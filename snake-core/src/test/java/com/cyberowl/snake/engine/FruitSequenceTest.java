@@ -0,0 +1,96 @@
+package com.cyberowl.snake.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FruitSequenceTest {
+
+    private static final String GAME_ID = "3f1c2a4e-7b1d-4a8e-9c55-2f6f0d7f3a11";
+
+    private final FruitSequence fruitSequence = new FruitSequence("secret".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void fruitAt_shouldBeReproducibleAcrossInstancesSharingSecret() {
+        FruitSequence other = new FruitSequence("secret".getBytes(StandardCharsets.UTF_8));
+
+        for (int index = 0; index < 100; index++) {
+            assertEquals(fruitSequence.fruitAt(GAME_ID, index, 50, 50, 0), other.fruitAt(GAME_ID, index, 50, 50, 0));
+        }
+    }
+
+    @Test
+    void fruitAt_shouldNotDependOnEvaluationOrder() {
+        long gameSeed = fruitSequence.gameSeed(GAME_ID);
+        long forward = fruitSequence.fruitAt(gameSeed, 999_999, 1000, 1000, 0);
+
+        for (int index = 0; index < 10; index++) {
+            fruitSequence.fruitAt(gameSeed, index, 1000, 1000, 0);
+        }
+
+        assertEquals(forward, fruitSequence.fruitAt(gameSeed, 999_999, 1000, 1000, 0));
+    }
+
+    @Test
+    void fruitAt_shouldDifferBetweenSecretsAndGames() {
+        FruitSequence otherSecret = new FruitSequence("other".getBytes(StandardCharsets.UTF_8));
+
+        assertNotEquals(fruitSequence.gameSeed(GAME_ID), otherSecret.gameSeed(GAME_ID));
+        assertNotEquals(fruitSequence.gameSeed(GAME_ID), fruitSequence.gameSeed(UUID.randomUUID().toString()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1, 1", "1, 1, 0", "5, 5, 1", "5, 5, 0", "10, 3, 0", "1000, 1000, 1"})
+    void fruitAt_shouldStayWithinBounds(int width, int height, int start) {
+        long gameSeed = fruitSequence.gameSeed(GAME_ID);
+
+        for (int index = 0; index < 1000; index++) {
+            long fruit = fruitSequence.fruitAt(gameSeed, index, width, height, start);
+            assertTrue(PackedCoordinate.x(fruit) >= start && PackedCoordinate.x(fruit) <= width);
+            assertTrue(PackedCoordinate.y(fruit) >= start && PackedCoordinate.y(fruit) <= height);
+        }
+    }
+
+    @Test
+    void fruitAt_shouldCoverGrid() {
+        long gameSeed = fruitSequence.gameSeed(GAME_ID);
+        Set<Long> positions = new HashSet<>();
+
+        for (int index = 0; index < 1000; index++) {
+            positions.add(fruitSequence.fruitAt(gameSeed, index, 5, 5, 0));
+        }
+
+        assertEquals(36, positions.size());
+    }
+
+    @Test
+    void fruitAt_shouldNotCorrelateAdjacentIndices() {
+        long gameSeed = fruitSequence.gameSeed(GAME_ID);
+        int yEqualsNextX = 0;
+        int xEqualsNextX = 0;
+        long previous = fruitSequence.fruitAt(gameSeed, 0, 20, 20, 0);
+
+        for (int index = 1; index <= 1000; index++) {
+            long fruit = fruitSequence.fruitAt(gameSeed, index, 20, 20, 0);
+            yEqualsNextX += PackedCoordinate.y(previous) == PackedCoordinate.x(fruit) ? 1 : 0;
+            xEqualsNextX += PackedCoordinate.x(previous) == PackedCoordinate.x(fruit) ? 1 : 0;
+            previous = fruit;
+        }
+
+        // 1000 / 21 ≈ 48 expected by chance
+        assertTrue(yEqualsNextX < 100, "y of fruit N equals x of fruit N+1 " + yEqualsNextX + " times");
+        assertTrue(xEqualsNextX < 100, "x of fruit N equals x of fruit N+1 " + xEqualsNextX + " times");
+    }
+
+    @Test
+    void constructor_shouldRejectEmptySecret() {
+        assertThrows(IllegalArgumentException.class, () -> new FruitSequence(new byte[0]));
+    }
+}
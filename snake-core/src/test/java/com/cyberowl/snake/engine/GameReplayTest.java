@@ -0,0 +1,57 @@
+package com.cyberowl.snake.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameReplayTest {
+    private static final FruitSequence fruitSequence = new FruitSequence("test-secret".getBytes(StandardCharsets.UTF_8));
+    private static final String GAME_ID = "game";
+
+    @Test
+    void step_shouldPlaceNextFruitOfSequence_whenFruitIsEaten() {
+        SnakeGame game = game(10, 10, 1, 0);
+        GameReplay replay = new GameReplay(game, fruitSequence, GAME_ID, 3);
+
+        assertEquals(SnakeGame.ATE_FRUIT, replay.step(1, 0));
+
+        SnakeGame expected = game(10, 10, 1, 0);
+        expected.step(1, 0);
+        expected.placeFruit(fruitSequence.random(fruitSequence.gameSeed(GAME_ID), 4));
+        assertEquals(4, replay.fruitsEaten());
+        assertFalse(replay.gridFilled());
+        assertEquals(expected.fruitX(), game.fruitX());
+        assertEquals(expected.fruitY(), game.fruitY());
+    }
+
+    @Test
+    void step_shouldLeaveFruit_whenSnakeFillsGrid() {
+        SnakeGame game = SnakeGame.create(0, 1, 2);
+        game.reset(0, 0, 0, -1);
+        game.setFruit(0, 1);
+        GameReplay replay = new GameReplay(game, fruitSequence, GAME_ID, 0);
+
+        assertEquals(SnakeGame.ATE_FRUIT, replay.step(0, -1));
+        assertTrue(replay.gridFilled());
+        assertEquals(1, replay.fruitsEaten());
+    }
+
+    @Test
+    void step_shouldLeaveGameUnchanged_onGameOver() {
+        SnakeGame game = game(10, 10, 5, 5);
+        GameReplay replay = new GameReplay(game, fruitSequence, GAME_ID, 0);
+
+        assertEquals(SnakeGame.REVERSE_DIRECTION, replay.step(-1, 0));
+        assertEquals(0, replay.fruitsEaten());
+        assertEquals(0, game.headX());
+    }
+
+    private static SnakeGame game(int width, int height, int fruitX, int fruitY) {
+        SnakeGame game = SnakeGame.create(width, height, 1);
+        game.reset(0, 0, 1, 0);
+        game.setFruit(fruitX, fruitY);
+        return game;
+    }
+}
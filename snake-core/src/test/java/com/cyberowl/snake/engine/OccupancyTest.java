@@ -0,0 +1,91 @@
+package com.cyberowl.snake.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyTest {
+
+    private static final long CELLS = 4096;
+
+    private static Stream<Arguments> implementations() {
+        return Stream.of(
+                Arguments.of("bitset", (Supplier<Occupancy>) () -> new BitSetOccupancy(CELLS)),
+                Arguments.of("hash", (Supplier<Occupancy>) () -> new HashOccupancy(4))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("implementations")
+    void shouldMatchReferenceSetUnderRandomOperations(String name, Supplier<Occupancy> factory) {
+        Occupancy occupancy = factory.get();
+        Set<Long> reference = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long cell = random.nextLong(CELLS);
+            if (random.nextInt(3) == 0) {
+                occupancy.free(cell);
+                reference.remove(cell);
+            } else {
+                occupancy.occupy(cell);
+                reference.add(cell);
+            }
+            long probe = random.nextLong(CELLS);
+            assertEquals(reference.contains(probe), occupancy.isOccupied(probe));
+        }
+
+        assertEquals(reference.size(), occupancy.occupiedCount());
+        for (long cell = 0; cell < CELLS; cell++) {
+            assertEquals(reference.contains(cell), occupancy.isOccupied(cell));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("implementations")
+    void clear_shouldFreeEveryCell(String name, Supplier<Occupancy> factory) {
+        Occupancy occupancy = factory.get();
+        for (long cell = 0; cell < CELLS; cell += 3) {
+            occupancy.occupy(cell);
+        }
+
+        occupancy.clear();
+
+        assertEquals(0, occupancy.occupiedCount());
+        assertFalse(occupancy.isOccupied(0));
+        assertFalse(occupancy.isOccupied(3));
+    }
+
+    @Test
+    void forGrid_shouldUseBitsetForSmallOrCrowdedGrids() {
+        assertInstanceOf(BitSetOccupancy.class, Occupancy.forGrid(36, 1));
+        assertInstanceOf(BitSetOccupancy.class, Occupancy.forGrid(Occupancy.DENSE_MAX_CELLS, 1));
+        assertInstanceOf(BitSetOccupancy.class, Occupancy.forGrid(100_000_000L, 10_000_000));
+    }
+
+    @Test
+    void forGrid_shouldFallBackToHashForHugeSparseGrids() {
+        assertInstanceOf(HashOccupancy.class, Occupancy.forGrid(100_000_000L, 10));
+        assertInstanceOf(HashOccupancy.class, Occupancy.forGrid(Long.MAX_VALUE, 1_000_000));
+    }
+
+    @Test
+    void hashOccupancy_shouldHandleHugeCellIndexes() {
+        HashOccupancy occupancy = new HashOccupancy(1);
+        long cell = (long) Integer.MAX_VALUE * Integer.MAX_VALUE;
+
+        occupancy.occupy(cell);
+
+        assertTrue(occupancy.isOccupied(cell));
+        assertFalse(occupancy.isOccupied(cell - 1));
+    }
+}
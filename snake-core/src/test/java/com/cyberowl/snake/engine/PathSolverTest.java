@@ -0,0 +1,201 @@
+package com.cyberowl.snake.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathSolverTest {
+
+    private final PathSolver solver = new PathSolver();
+
+    @ParameterizedTest
+    @CsvSource({
+            "0,0,1,0,5,3,5",    // diagonals then straight
+            "0,0,1,0,0,4,4",    // straight down
+            "4,4,-1,-1,0,0,4",  // pure diagonal
+            "3,0,1,0,0,0,3",    // straight behind, detour of the same length
+            "3,0,1,0,2,0,2",    // adjacent behind, one extra move
+            "2,2,0,1,2,3,2"     // adjacent behind vertically
+    })
+    void solve_shouldReturnShortestPathOnEmptyBoard(int headX, int headY, int velX, int velY, int fruitX, int fruitY,
+                                                    int expectedLength) {
+        SnakeGame game = game(5, 5, headX, headY, velX, velY, fruitX, fruitY);
+
+        int length = solver.solve(game);
+
+        assertEquals(expectedLength, length);
+        assertReachesFruit(game, length);
+    }
+
+    @Test
+    void solve_shouldSearchAroundBody() {
+        // Wall of body in column 2 from y = 0 to 3, head on its right at (3,0), fruit on its left
+        SnakeGame game = SnakeGame.create(4, 4, 5);
+        game.reset(3, 0, 1, 0);
+        for (int y = 0; y <= 3; y++) {
+            assertTrue(game.appendTail(2, y));
+        }
+        game.setFruit(0, 0);
+
+        int length = solver.solve(game);
+
+        assertTrue(length > 3);
+        assertReachesFruit(game, length);
+    }
+
+    @Test
+    void solve_shouldMatchExhaustiveSearchOnSmallGrids() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int round = 0; round < 200; round++) {
+            SnakeGame game = randomGame(random, 4, 3);
+            int expected = exhaustive(game, 7);
+
+            int length = solver.solve(game);
+
+            if (expected < 0) {
+                assertTrue(length < 0 || length > 7, "round " + round);
+            } else {
+                assertEquals(expected, length, "round " + round);
+                assertReachesFruit(copy(game), length);
+            }
+        }
+    }
+
+    @Test
+    void solve_shouldReportNoPathWhenFruitIsWalledOff() {
+        // Fruit in the corner behind a long body that is released too late
+        SnakeGame game = SnakeGame.create(2, 2, 6);
+        game.reset(2, 0, 0, 1);
+        int[][] body = {{1, 0}, {1, 1}, {0, 1}, {0, 2}, {1, 2}};
+        for (int[] segment : body) {
+            assertTrue(game.appendTail(segment[0], segment[1]));
+        }
+        game.setFruit(0, 0);
+
+        assertEquals(PathSolver.NO_PATH, solver.solve(game));
+    }
+
+    @Test
+    void solve_shouldFindPathThroughCellsReleasedLater() {
+        // Every way to the fruit corner crosses segments the tail leaves late, the first arrival at a cell
+        // is blocked where a later one passes
+        SnakeGame game = SnakeGame.create(3, 3, 9);
+        game.reset(1, 0, -1, 0);
+        int[][] body = {{1, 1}, {2, 1}, {1, 2}, {1, 3}, {2, 3}, {2, 2}, {3, 1}, {3, 2}};
+        for (int[] segment : body) {
+            assertTrue(game.appendTail(segment[0], segment[1]));
+        }
+        game.setFruit(3, 3);
+
+        int length = solver.solve(game);
+
+        assertEquals(exhaustive(copy(game), 9), length);
+        assertReachesFruit(game, length);
+    }
+
+    @Test
+    void solve_shouldUseClosedFormOnHugeEmptyBoard() {
+        SnakeGame game = game(1_000_000, 1_000_000, 0, 0, 1, 0, 1_000_000, 999_999);
+
+        assertEquals(1_000_000, solver.solve(game));
+    }
+
+    @Test
+    void solve_shouldRefuseSearchBeyondLimit() {
+        // Fruit behind a body bend on the grid edge, no closed-form detour is clear
+        SnakeGame game = SnakeGame.create(10_000, 10_000, 3);
+        game.reset(2, 0, 1, 0);
+        assertTrue(game.appendTail(1, 0));
+        assertTrue(game.appendTail(1, 1));
+        game.setFruit(0, 0);
+
+        assertEquals(PathSolver.SEARCH_LIMIT_EXCEEDED, solver.solve(game));
+    }
+
+    @Test
+    void solve_shouldReuseBuffersAcrossGridSizes() {
+        for (int size : new int[]{30, 3, 60, 3}) {
+            SnakeGame game = SnakeGame.create(size, size, 3);
+            game.reset(1, 0, -1, 0);
+            assertTrue(game.appendTail(1, 1));
+            assertTrue(game.appendTail(0, 1));
+            game.setFruit(0, 2);
+
+            int length = solver.solve(game);
+
+            assertTrue(length > 0);
+            assertReachesFruit(game, length);
+        }
+    }
+
+    private void assertReachesFruit(SnakeGame game, int length) {
+        for (int i = 0; i < length; i++) {
+            int outcome = game.step(SnakeEnvironment.actionVelX(solver.move(i)), SnakeEnvironment.actionVelY(solver.move(i)));
+            assertEquals(i == length - 1 ? SnakeGame.ATE_FRUIT : SnakeGame.MOVED, outcome, "tick " + i);
+        }
+    }
+
+    private static SnakeGame game(int width, int height, int headX, int headY, int velX, int velY, int fruitX, int fruitY) {
+        SnakeGame game = SnakeGame.create(width, height, 1);
+        game.reset(headX, headY, velX, velY);
+        game.setFruit(fruitX, fruitY);
+        return game;
+    }
+
+    // Random self-avoiding snake of up to 6 segments and a fruit on a free cell
+    private static SnakeGame randomGame(SplittableRandom random, int width, int height) {
+        SnakeGame game = SnakeGame.create(width, height, 6);
+        int action = random.nextInt(SnakeEnvironment.ACTIONS);
+        game.reset(random.nextInt(width + 1), random.nextInt(height + 1),
+                SnakeEnvironment.actionVelX(action), SnakeEnvironment.actionVelY(action));
+        int segments = random.nextInt(6);
+        for (int attempt = 0; attempt < 50 && game.length() <= segments; attempt++) {
+            int tail = game.length() - 1;
+            game.appendTail(game.segmentX(tail) + random.nextInt(-1, 2), game.segmentY(tail) + random.nextInt(-1, 2));
+        }
+        long fruit;
+        do {
+            fruit = random.nextLong(((long) width + 1) * (height + 1));
+        } while (game.occupancy().isOccupied(fruit));
+        game.setFruit(game.cellX(fruit), game.cellY(fruit));
+        return game;
+    }
+
+    // Depth-first search over every move sequence, shortest first
+    private static int exhaustive(SnakeGame game, int maxDepth) {
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            if (reachable(game, depth)) {
+                return depth;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean reachable(SnakeGame game, int depth) {
+        for (int action = 0; action < SnakeEnvironment.ACTIONS; action++) {
+            SnakeGame next = copy(game);
+            int outcome = next.step(SnakeEnvironment.actionVelX(action), SnakeEnvironment.actionVelY(action));
+            if (outcome == SnakeGame.ATE_FRUIT && depth == 1) {
+                return true;
+            }
+            if (outcome == SnakeGame.MOVED && depth > 1 && reachable(next, depth - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SnakeGame copy(SnakeGame game) {
+        SnakeGame copy = SnakeGame.create(game.width(), game.height(), game.length());
+        copy.reset(game.headX(), game.headY(), game.velX(), game.velY());
+        for (int i = 1; i < game.length(); i++) {
+            copy.appendTail(game.segmentX(i), game.segmentY(i));
+        }
+        copy.setFruit(game.fruitX(), game.fruitY());
+        return copy;
+    }
+}
@@ -0,0 +1,52 @@
+package com.cyberowl.snake.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SnakeBodyTest {
+
+    @Test
+    void shouldBehaveLikeDequeWhileWrappingAndGrowing() {
+        SnakeBody body = new SnakeBody(2);
+        Deque<Long> reference = new ArrayDeque<>();
+        SplittableRandom random = new SplittableRandom(7);
+
+        body.pushHead(0);
+        reference.addFirst(0L);
+        for (long cell = 1; cell < 50_000; cell++) {
+            body.pushHead(cell);
+            reference.addFirst(cell);
+            // Grow one segment in four ticks, otherwise pop the tail
+            if (random.nextInt(4) != 0) {
+                assertEquals(reference.removeLast(), body.popTail());
+            }
+            assertEquals(reference.getFirst(), body.head());
+            assertEquals(reference.getLast(), body.tail());
+        }
+
+        assertEquals(reference.size(), body.length());
+        Iterator<Long> iterator = reference.iterator();
+        for (int i = 0; i < body.length(); i++) {
+            assertEquals(iterator.next(), body.get(i));
+        }
+    }
+
+    @Test
+    void pushTail_shouldAppendBehindTail() {
+        SnakeBody body = new SnakeBody(1);
+        body.pushHead(5);
+        body.pushTail(6);
+        body.pushTail(7);
+
+        assertEquals(3, body.length());
+        assertEquals(5, body.head());
+        assertEquals(7, body.tail());
+        assertEquals(6, body.get(1));
+    }
+}
@@ -0,0 +1,146 @@
+package com.cyberowl.snake.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnakeEnvironmentTest {
+
+    @Test
+    void step_shouldFollowSameRulesAsSnakeGame() {
+        int envs = 16;
+        SnakeEnvironment environment = new SnakeEnvironment(envs, 6, 4, 1);
+        SnakeGame[] games = new SnakeGame[envs];
+        for (int env = 0; env < envs; env++) {
+            games[env] = SnakeGame.create(6, 4, 1);
+            games[env].reset(0, 0, 1, 0);
+        }
+        byte[] actions = new byte[envs];
+        int[] outcomes = new int[envs];
+        SplittableRandom random = new SplittableRandom(2);
+
+        for (int round = 0; round < 5_000; round++) {
+            for (int env = 0; env < envs; env++) {
+                actions[env] = (byte) random.nextInt(SnakeEnvironment.ACTIONS);
+                games[env].setFruit(environment.fruitX(env), environment.fruitY(env));
+            }
+            environment.step(actions, outcomes);
+
+            for (int env = 0; env < envs; env++) {
+                SnakeGame game = games[env];
+                int expected = game.step(SnakeEnvironment.actionVelX(actions[env]), SnakeEnvironment.actionVelY(actions[env]));
+                if (expected < 0) {
+                    assertEquals(expected, outcomes[env]);
+                    game.reset(0, 0, 1, 0);
+                    continue;
+                }
+                if (outcomes[env] == SnakeEnvironment.GRID_FILLED) {
+                    assertEquals(SnakeGame.ATE_FRUIT, expected);
+                    game.reset(0, 0, 1, 0);
+                    continue;
+                }
+                assertEquals(expected, outcomes[env]);
+                assertEquals(game.length(), environment.length(env));
+                assertEquals(game.length() - 1, environment.fruitsEaten(env));
+                for (int i = 0; i < game.length(); i++) {
+                    assertEquals(game.segmentX(i), environment.segmentX(env, i));
+                    assertEquals(game.segmentY(i), environment.segmentY(env, i));
+                }
+                assertFalse(game.occupancy().isOccupied(game.cell(environment.fruitX(env), environment.fruitY(env))));
+            }
+        }
+    }
+
+    @Test
+    void reset_shouldStartLikeNewGame() {
+        SnakeEnvironment environment = new SnakeEnvironment(100, 3, 2, 7);
+
+        for (int env = 0; env < environment.envs(); env++) {
+            assertEquals(0, environment.headX(env));
+            assertEquals(0, environment.headY(env));
+            assertEquals(1, environment.velX(env));
+            assertEquals(0, environment.velY(env));
+            assertEquals(1, environment.length(env));
+            assertEquals(0, environment.fruitsEaten(env));
+            assertTrue(environment.fruitX(env) >= 1 && environment.fruitX(env) <= 3);
+            assertTrue(environment.fruitY(env) >= 1 && environment.fruitY(env) <= 2);
+        }
+    }
+
+    @Test
+    void step_shouldResetGameAfterGameOver() {
+        SnakeEnvironment environment = new SnakeEnvironment(1, 5, 5, 3);
+        int[] outcomes = new int[1];
+
+        environment.step(new byte[]{(byte) SnakeEnvironment.action(-1, 0)}, outcomes);
+
+        assertEquals(SnakeGame.REVERSE_DIRECTION, outcomes[0]);
+        assertEquals(0, environment.headX(0));
+        assertEquals(1, environment.velX(0));
+    }
+
+    @Test
+    void step_shouldReportFilledGrid() {
+        // 2 x 2 cells, every cell is adjacent to the head so the snake can chase each fruit in one tick
+        SnakeEnvironment environment = new SnakeEnvironment(1, 1, 1, 5);
+        int[] outcomes = new int[1];
+        byte[] actions = new byte[1];
+        int lastOutcome = SnakeGame.MOVED;
+
+        for (int tick = 0; tick < 3 && lastOutcome != SnakeEnvironment.GRID_FILLED; tick++) {
+            int fruitX = environment.fruitX(0);
+            int fruitY = environment.fruitY(0);
+            actions[0] = (byte) SnakeEnvironment.action(fruitX - environment.headX(0), environment.headY(0) - fruitY);
+            environment.step(actions, outcomes);
+            lastOutcome = outcomes[0];
+            assertTrue(lastOutcome == SnakeGame.ATE_FRUIT || lastOutcome == SnakeEnvironment.GRID_FILLED);
+        }
+
+        assertEquals(SnakeEnvironment.GRID_FILLED, lastOutcome);
+        assertEquals(1, environment.length(0));
+    }
+
+    @Test
+    void observe_shouldWriteGridCells() {
+        SnakeEnvironment environment = new SnakeEnvironment(2, 2, 2, 11);
+        int[] outcomes = new int[2];
+        environment.step(new byte[]{(byte) SnakeEnvironment.action(1, 0), (byte) SnakeEnvironment.action(0, -1)}, outcomes);
+        byte[] grids = new byte[2 * environment.cells()];
+
+        environment.observe(grids);
+
+        for (int env = 0; env < 2; env++) {
+            int offset = env * environment.cells();
+            int head = offset + environment.headY(env) * 3 + environment.headX(env);
+            int fruit = offset + environment.fruitY(env) * 3 + environment.fruitX(env);
+            assertEquals(SnakeEnvironment.HEAD, grids[head]);
+            assertEquals(SnakeEnvironment.FRUIT, grids[fruit]);
+            int bodyCells = 0;
+            for (int cell = offset; cell < offset + environment.cells(); cell++) {
+                if (grids[cell] == SnakeEnvironment.BODY) {
+                    bodyCells++;
+                }
+            }
+            assertEquals(environment.length(env) - 1, bodyCells);
+        }
+    }
+
+    @Test
+    void constructor_shouldBeDeterministicForSeed() {
+        SnakeEnvironment first = new SnakeEnvironment(50, 10, 10, 99);
+        SnakeEnvironment second = new SnakeEnvironment(50, 10, 10, 99);
+
+        for (int env = 0; env < 50; env++) {
+            assertEquals(first.fruitX(env), second.fruitX(env));
+            assertEquals(first.fruitY(env), second.fruitY(env));
+        }
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new SnakeEnvironment(1, 0, 5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SnakeEnvironment(0, 5, 5, 0));
+    }
+}
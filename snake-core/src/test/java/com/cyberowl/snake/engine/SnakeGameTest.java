@@ -0,0 +1,101 @@
+package com.cyberowl.snake.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnakeGameTest {
+
+    @Test
+    void step_shouldGrowByOneSegmentWhenEatingFruit() {
+        SnakeGame game = SnakeGame.create(5, 5, 1);
+        game.reset(0, 0, 1, 0);
+        game.setFruit(1, 0);
+
+        assertEquals(SnakeGame.ATE_FRUIT, game.step(1, 0));
+        assertEquals(2, game.length());
+        game.setFruit(5, 5);
+        assertEquals(SnakeGame.MOVED, game.step(1, 0));
+
+        assertEquals(2, game.length());
+        assertEquals(2, game.headX());
+        assertEquals(1, game.segmentX(1));
+        assertEquals(2, game.occupancy().occupiedCount());
+    }
+
+    @Test
+    void step_shouldDetectSelfCollision() {
+        SnakeGame game = SnakeGame.create(5, 5, 5);
+        game.reset(2, 2, 0, 1);
+        // Body curling around the head: (2,3) (1,3) (1,2) (1,1) (2,1)
+        assertTrue(game.appendTail(2, 3));
+        assertTrue(game.appendTail(1, 3));
+        assertTrue(game.appendTail(1, 2));
+        assertTrue(game.appendTail(1, 1));
+        assertTrue(game.appendTail(2, 1));
+        game.setFruit(5, 5);
+
+        assertEquals(SnakeGame.SELF_COLLISION, game.step(-1, 0));
+        assertEquals(2, game.headX());
+        assertEquals(6, game.length());
+    }
+
+    @Test
+    void step_shouldAllowHeadToFollowTail() {
+        SnakeGame game = SnakeGame.create(5, 5, 4);
+        // Square loop: head (1,1), body (2,1) (2,2) (1,2), tail adjacent to head from below
+        game.reset(1, 1, -1, 0);
+        assertTrue(game.appendTail(2, 1));
+        assertTrue(game.appendTail(2, 2));
+        assertTrue(game.appendTail(1, 2));
+        game.setFruit(5, 5);
+
+        assertEquals(SnakeGame.MOVED, game.step(0, -1));
+        assertEquals(1, game.headX());
+        assertEquals(2, game.headY());
+    }
+
+    @Test
+    void step_shouldCollideWithTailWhenGrowing() {
+        SnakeGame game = SnakeGame.create(5, 5, 4);
+        game.reset(1, 1, -1, 0);
+        assertTrue(game.appendTail(2, 1));
+        assertTrue(game.appendTail(2, 2));
+        assertTrue(game.appendTail(1, 2));
+        game.setFruit(1, 2);
+
+        assertEquals(SnakeGame.SELF_COLLISION, game.step(0, -1));
+    }
+
+    @Test
+    void step_shouldRejectReverseAndOutOfBoundsMoves() {
+        SnakeGame game = SnakeGame.create(5, 5, 1);
+        game.reset(0, 0, 1, 0);
+        game.setFruit(5, 5);
+
+        assertEquals(SnakeGame.REVERSE_DIRECTION, game.step(-1, 0));
+        assertEquals(SnakeGame.OUT_OF_BOUNDS, game.step(0, 1));
+        assertEquals(SnakeGame.MOVED, game.step(1, -1));
+    }
+
+    @Test
+    void appendTail_shouldRejectInvalidSegments() {
+        SnakeGame game = SnakeGame.create(5, 5, 3);
+        game.reset(0, 0, 1, 0);
+
+        assertFalse(game.appendTail(2, 0), "not adjacent");
+        assertFalse(game.appendTail(0, 0), "already occupied");
+        assertFalse(game.appendTail(-1, 0), "out of bounds");
+        assertTrue(game.appendTail(1, 1));
+    }
+
+    @Test
+    void create_shouldSupportHugeGrids() {
+        SnakeGame game = SnakeGame.create(Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 1, 1);
+        game.reset(Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 2, 1, 0);
+        game.setFruit(Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 3);
+
+        assertEquals(SnakeGame.ATE_FRUIT, game.step(1, 1));
+        assertInstanceOf(HashOccupancy.class, game.occupancy());
+    }
+}
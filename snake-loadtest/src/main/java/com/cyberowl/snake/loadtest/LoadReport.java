@@ -0,0 +1,116 @@
+package com.cyberowl.snake.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Results of the runs of a load test: a table per run on the console, then in the report directory
+ * {@code report.json} with every run and, per run and scenario, the HdrHistogram percentile distribution of
+ * the response times as {@code <rate>rps-<scenario>.hgrm}, in milliseconds, for the HdrHistogram plotter.
+ * <p>
+ * Comparing the p99 of successive rates gives the rate an instance sustains within a latency objective, the
+ * figure to size a cluster from; errors, drops and an achieved rate below the target mark saturation.
+ */
+public class LoadReport {
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final String[] PERCENTILE_KEYS = {"p50", "p90", "p99", "p999", "p9999"};
+
+    private final URI url;
+    private final Settings settings;
+    private final List<OpenLoadGenerator.Run> runs = new ArrayList<>();
+
+    public LoadReport(URI url, Settings settings) {
+        this.url = url;
+        this.settings = settings;
+    }
+
+    public void add(OpenLoadGenerator.Run run, PrintStream out) {
+        runs.add(run);
+        out.printf(Locale.ROOT, "%nrate %.1f/s for %ds: sent %d, dropped %d, achieved %.1f/s%n",
+                run.rate(), run.duration().toSeconds(), run.sent(), run.dropped(), run.achievedRate());
+        out.printf(Locale.ROOT, "%-17s %9s %7s %9s %9s %9s %9s %9s %11s%n", "scenario", "requests", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        for (ScenarioRecorder.Result result : run.scenarios()) {
+            Histogram histogram = result.responseTime();
+            out.printf(Locale.ROOT, "%-17s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f%n", result.scenario(),
+                    result.requests(), result.errors() + result.dropped(), millis(histogram, 50),
+                    millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / NANOS_PER_MILLI, millis(result.serviceTime(), 99));
+        }
+    }
+
+    /**
+     * @return the JSON report
+     */
+    public Path write() throws IOException {
+        Path directory = Files.createDirectories(settings.reportDirectory());
+        StringBuilder json = new StringBuilder("{\"url\":\"").append(url).append("\",\"seed\":").append(settings.seed())
+                .append(",\"mix\":{");
+        appendEntries(json, settings.mix());
+        json.append("},\"runs\":[");
+        for (int i = 0; i < runs.size(); i++) {
+            OpenLoadGenerator.Run run = runs.get(i);
+            json.append(i == 0 ? "" : ",").append(String.format(Locale.ROOT,
+                    "{\"rate\":%.1f,\"seconds\":%d,\"sent\":%d,\"dropped\":%d,\"achievedRate\":%.1f,\"scenarios\":{",
+                    run.rate(), run.duration().toSeconds(), run.sent(), run.dropped(), run.achievedRate()));
+            for (int j = 0; j < run.scenarios().size(); j++) {
+                ScenarioRecorder.Result result = run.scenarios().get(j);
+                json.append(j == 0 ? "" : ",").append("\"").append(result.scenario()).append("\":{")
+                        .append("\"requests\":").append(result.requests())
+                        .append(",\"errors\":").append(result.errors())
+                        .append(",\"failures\":").append(result.failures())
+                        .append(",\"timeouts\":").append(result.timeouts())
+                        .append(",\"dropped\":").append(result.dropped())
+                        .append(",\"statuses\":{");
+                appendEntries(json, result.statuses());
+                json.append("},\"responseTimeMs\":");
+                appendPercentiles(json, result.responseTime());
+                json.append(",\"serviceTimeMs\":");
+                appendPercentiles(json, result.serviceTime());
+                json.append("}");
+                writeDistribution(directory.resolve(String.format(Locale.ROOT, "%.0frps-%s.hgrm", run.rate(), result.scenario())),
+                        result.responseTime());
+            }
+            json.append("}}");
+        }
+        Path report = directory.resolve("report.json");
+        Files.writeString(report, json.append("]}\n"));
+        return report;
+    }
+
+    private static void appendEntries(StringBuilder json, Map<?, ?> entries) {
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+            json.append(first ? "" : ",").append("\"").append(entry.getKey()).append("\":").append(entry.getValue());
+            first = false;
+        }
+    }
+
+    private static void appendPercentiles(StringBuilder json, Histogram histogram) {
+        json.append(String.format(Locale.ROOT, "{\"mean\":%.3f", histogram.getMean() / NANOS_PER_MILLI));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            json.append(String.format(Locale.ROOT, ",\"%s\":%.3f", PERCENTILE_KEYS[i], millis(histogram, PERCENTILES[i])));
+        }
+        json.append(String.format(Locale.ROOT, ",\"max\":%.3f}", histogram.getMaxValue() / NANOS_PER_MILLI));
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
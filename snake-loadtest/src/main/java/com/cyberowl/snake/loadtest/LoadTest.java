@@ -0,0 +1,51 @@
+package com.cyberowl.snake.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * End-to-end HTTP load test of the snake API, e.g. {@code mvn -Phttp-loadtest verify -DskipTests} from the
+ * root, options in {@link Settings}.
+ * <p>
+ * The packaged service is started, or {@code loadtest.url} used, then loaded by an {@link OpenLoadGenerator}
+ * with the {@link Scenario} mix: a warm-up at the first rate, not reported, then every rate in turn. Each run
+ * is printed as it ends and all of them written by the {@link LoadReport}.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        ServerProcess server = settings.url() == null ? ServerProcess.start(settings) : null;
+        try {
+            URI url = server != null ? server.url() : settings.url();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            List<Scenario> scenarios = Scenario.of(url, settings);
+            OpenLoadGenerator generator = new OpenLoadGenerator(client, scenarios, settings);
+            System.out.printf("url=%s rates=%s seconds=%d warmup-seconds=%d mix=%s short-ticks=%d long-ticks=%d%n",
+                    url, settings.rates(), settings.duration().toSeconds(), settings.warmup().toSeconds(),
+                    settings.mix(), settings.shortTicks(), settings.longTicks());
+
+            if (!settings.warmup().isZero()) {
+                generator.run(settings.rates().get(0), settings.warmup());
+            }
+            LoadReport report = new LoadReport(url, settings);
+            for (double rate : settings.rates()) {
+                report.add(generator.run(rate, settings.duration()), System.out);
+            }
+            Path written = report.write();
+            System.out.println("\nReport written to " + written);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+        // Client threads outlive the runs
+        System.exit(0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.cyberowl.snake.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive at a constant rate whatever the service answers, the i-th due at
+ * {@code start + i / rate}, its scenario drawn by weight from a seeded sequence. A closed loop would slow
+ * down with the service and hide its queueing; here a slow service accumulates requests in flight, up to
+ * {@code maxInFlight} past which arrivals are dropped and counted.
+ * <p>
+ * Requests are sent asynchronously from the pacing thread, their outcome recorded by the client threads
+ * against the time they were due.
+ */
+public class OpenLoadGenerator {
+    private final HttpClient client;
+    private final List<ScenarioRecorder> recorders;
+    private final int[] cumulativeWeights;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final Random random;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenLoadGenerator(HttpClient client, List<Scenario> scenarios, Settings settings) {
+        this.client = client;
+        this.recorders = scenarios.stream().map(ScenarioRecorder::new).toList();
+        this.cumulativeWeights = new int[scenarios.size()];
+        Map<String, Integer> mix = settings.mix();
+        int total = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            total += mix.get(scenarios.get(i).name());
+            cumulativeWeights[i] = total;
+        }
+        this.maxInFlight = settings.maxInFlight();
+        this.timeout = settings.timeout();
+        this.random = new Random(settings.seed());
+    }
+
+    /**
+     * One run at a constant arrival rate
+     */
+    public record Run(double rate, Duration duration, long sent, long dropped, double achievedRate,
+                      List<ScenarioRecorder.Result> scenarios) {
+    }
+
+    /**
+     * Sends requests at {@code rate} per second for {@code duration}, then waits for those in flight
+     */
+    public Run run(double rate, Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        long dropped = 0;
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * 1e9 / rate);
+            if (due - end >= 0) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (send(pick(), due)) {
+                sent++;
+            } else {
+                dropped++;
+            }
+        }
+        awaitInFlight();
+        long elapsed = System.nanoTime() - start;
+        List<ScenarioRecorder.Result> results = recorders.stream().map(ScenarioRecorder::result).toList();
+        long completed = results.stream().mapToLong(ScenarioRecorder.Result::requests).sum();
+        return new Run(rate, duration, sent, dropped, completed * 1e9 / elapsed, results);
+    }
+
+    private ScenarioRecorder pick() {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (draw >= cumulativeWeights[i]) {
+            i++;
+        }
+        return recorders.get(i);
+    }
+
+    private boolean send(ScenarioRecorder recorder, long due) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            recorder.dropped();
+            return false;
+        }
+        long sentNanos = System.nanoTime();
+        client.sendAsync(recorder.scenario().request(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long endNanos = System.nanoTime();
+                    if (error == null) {
+                        recorder.completed(due, sentNanos, endNanos, response.statusCode());
+                    } else {
+                        recorder.failed(due, sentNanos, endNanos, error);
+                    }
+                    inFlight.decrementAndGet();
+                });
+        return true;
+    }
+
+    // Requests time out on their own, the extra second covers the completion of the last ones
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+    }
+}
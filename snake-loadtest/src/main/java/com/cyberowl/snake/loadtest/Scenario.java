@@ -0,0 +1,102 @@
+package com.cyberowl.snake.loadtest;
+
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.engine.PackedCoordinate;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One kind of request of the load and the status it should answer, its request built once and sent as is:
+ * <ul>
+ *     <li>{@code new}: a 10x10 game</li>
+ *     <li>{@code validate-short} and {@code validate-long}: replays of {@code shortTicks} and {@code longTicks}
+ *     ticks reaching the fruit on the last one, the long ones past the service's heavy-ticks threshold</li>
+ *     <li>{@code validate-failing}: a short replay reversing on its last tick, answered game over</li>
+ * </ul>
+ * The validate scenarios are stateless games whose fruit is the first of their sequence, drawn with the
+ * service's fruit secret as {@code /new} does, or the service would reject it.
+ */
+public record Scenario(String name, HttpRequest request, int expectedStatus) {
+    public static final String NEW = "new";
+    public static final String VALIDATE_SHORT = "validate-short";
+    public static final String VALIDATE_LONG = "validate-long";
+    public static final String VALIDATE_FAILING = "validate-failing";
+
+    private static final int OK = 200;
+    private static final int GAME_OVER = 418;
+
+    /**
+     * @return the scenarios of the mix in its order, those weighted 0 left out
+     */
+    public static List<Scenario> of(URI url, Settings settings) {
+        URI api = url.resolve("/api/v1/snake/");
+        FruitSequence fruits = new FruitSequence(settings.fruitSecret().getBytes(StandardCharsets.UTF_8));
+        List<Scenario> scenarios = new ArrayList<>();
+        for (Map.Entry<String, Integer> weight : settings.mix().entrySet()) {
+            if (weight.getValue() <= 0) {
+                continue;
+            }
+            scenarios.add(switch (weight.getKey()) {
+                case NEW -> new Scenario(NEW, HttpRequest.newBuilder(api.resolve("new?w=10&h=10"))
+                        .timeout(settings.timeout()).GET().build(), OK);
+                case VALIDATE_SHORT -> validate(VALIDATE_SHORT, api, fruits, settings.timeout(), settings.shortTicks(), false, OK);
+                case VALIDATE_LONG -> validate(VALIDATE_LONG, api, fruits, settings.timeout(), settings.longTicks(), false, OK);
+                case VALIDATE_FAILING -> validate(VALIDATE_FAILING, api, fruits, settings.timeout(), settings.shortTicks(), true, GAME_OVER);
+                default -> throw new IllegalArgumentException("Unknown scenario: " + weight.getKey());
+            });
+        }
+        return scenarios;
+    }
+
+    private static Scenario validate(String name, URI api, FruitSequence fruits, Duration timeout, int ticks, boolean failing,
+                                     int expectedStatus) {
+        byte[] body = validation(gameId(fruits, name, ticks), ticks, failing).getBytes(StandardCharsets.UTF_8);
+        return new Scenario(name, HttpRequest.newBuilder(api.resolve("validate"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(), expectedStatus);
+    }
+
+    /**
+     * @return the first of {@code name-0}, {@code name-1}... whose first fruit is the cell {@link #validation}
+     * reaches on its last tick, found in about {@code ticks} draws
+     */
+    static String gameId(FruitSequence fruits, String name, int ticks) {
+        if (ticks < 2) {
+            throw new IllegalArgumentException("A validate scenario needs at least 2 ticks, got " + ticks);
+        }
+        long target = PackedCoordinate.pack(ticks - 1, 1);
+        for (int attempt = 0; ; attempt++) {
+            String gameId = name + "-" + attempt;
+            if (fruits.fruitAt(gameId, 0, ticks - 1, 1, 1) == target) {
+                return gameId;
+            }
+        }
+    }
+
+    // The snake runs along row 0 of a 2-row grid to its last column and steps down onto the fruit there, first
+    // fruits never being on row 0, with a negative velY as y grows downwards; when failing it reverses instead
+    static String validation(String gameId, int ticks, boolean failing) {
+        int width = ticks - 1;
+        StringBuilder body = new StringBuilder(ticks * 36 + 256)
+                .append("{\"state\":{\"gameId\":\"").append(gameId).append("\",\"width\":").append(width)
+                .append(",\"height\":1,\"score\":0,")
+                .append("\"fruit\":{\"coordinate\":{\"x\":").append(width).append(",\"y\":1}},")
+                .append("\"snake\":{\"coordinate\":{\"x\":0,\"y\":0},\"velocity\":{\"velX\":1,\"velY\":0},\"body\":[]}},")
+                .append("\"ticks\":[");
+        for (int i = 0; i < ticks; i++) {
+            boolean last = i == ticks - 1;
+            int velX = last ? (failing ? -1 : 0) : 1;
+            int velY = last && !failing ? -1 : 0;
+            body.append(i == 0 ? "" : ",").append("{\"velocity\":{\"velX\":").append(velX).append(",\"velY\":")
+                    .append(velY).append("}}");
+        }
+        return body.append("]}").toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.cyberowl.snake.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes of the requests of one scenario, recorded from the client threads completing them.
+ * <p>
+ * The response time runs from the time the request was due by the arrival rate, not from the time it was
+ * sent: a request sent late because the generator stalled still counts the wait, which keeps the histogram
+ * free of coordinated omission. The service time, from the send, is kept beside it to show the gap. Answers
+ * other than the expected status, failures and timeouts are errors, requests dropped past the in-flight cap
+ * are counted apart and not sent.
+ */
+public class ScenarioRecorder {
+    static final long HIGHEST_TRACKABLE = 3_600_000_000_000L;
+
+    private final Scenario scenario;
+    private final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE, 3);
+    private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE, 3);
+    private final AtomicLongArray statuses = new AtomicLongArray(600);
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ScenarioRecorder(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * Counts of one run: its histograms hold the requests completed since the previous result
+     */
+    public record Result(String scenario, Histogram responseTime, Histogram serviceTime, Map<Integer, Long> statuses,
+                         long errors, long failures, long timeouts, long dropped) {
+
+        public long requests() {
+            return responseTime.getTotalCount();
+        }
+    }
+
+    public Scenario scenario() {
+        return scenario;
+    }
+
+    void completed(long dueNanos, long sentNanos, long endNanos, int status) {
+        record(dueNanos, sentNanos, endNanos);
+        if (status >= 0 && status < statuses.length()) {
+            statuses.incrementAndGet(status);
+        }
+    }
+
+    void failed(long dueNanos, long sentNanos, long endNanos, Throwable error) {
+        record(dueNanos, sentNanos, endNanos);
+        (isTimeout(error) ? timeouts : failures).increment();
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    /**
+     * @return the counts since the previous call, which are reset
+     */
+    public synchronized Result result() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        long errors = 0;
+        for (int status = 0; status < statuses.length(); status++) {
+            long count = statuses.getAndSet(status, 0);
+            if (count > 0) {
+                counts.put(status, count);
+                errors += status == scenario.expectedStatus() ? 0 : count;
+            }
+        }
+        long failures = this.failures.sumThenReset();
+        long timeouts = this.timeouts.sumThenReset();
+        return new Result(scenario.name(), responseTime.getIntervalHistogram(), serviceTime.getIntervalHistogram(),
+                counts, errors + failures + timeouts, failures, timeouts, dropped.sumThenReset());
+    }
+
+    private void record(long dueNanos, long sentNanos, long endNanos) {
+        responseTime.recordValue(Math.min(Math.max(endNanos - dueNanos, 0), HIGHEST_TRACKABLE));
+        serviceTime.recordValue(Math.min(Math.max(endNanos - sentNanos, 0), HIGHEST_TRACKABLE));
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.cyberowl.snake.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The packaged service run as a child process on a free port, rate limits off since all the load comes from
+ * one client, its output written to {@code server.log} of the report directory. Started once
+ * /actuator/health/readiness is UP, so after its JIT warm-up when enabled.
+ */
+public class ServerProcess implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final URI url;
+
+    private ServerProcess(Process process, URI url) {
+        this.process = process;
+        this.url = url;
+    }
+
+    public static ServerProcess start(Settings settings) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(settings.jar())) {
+            throw new IllegalStateException(settings.jar() + " not found, package snake-web first or set loadtest.url");
+        }
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(settings.serverJvmArgs());
+        command.addAll(List.of("-jar", settings.jar().toString(), "--server.port=" + port,
+                "--snake.fruit.secret=" + settings.fruitSecret(), "--snake.token.secret=load-test", "--snake.rate-limit.enabled=false"));
+        command.addAll(settings.serverArgs());
+        Path log = Files.createDirectories(settings.reportDirectory()).resolve("server.log");
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        ServerProcess server = new ServerProcess(process, URI.create("http://localhost:" + port));
+        try {
+            server.awaitReady(log);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        return server;
+    }
+
+    public URI url() {
+        return url;
+    }
+
+    private void awaitReady(Path log) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest readiness = HttpRequest.newBuilder(url.resolve("/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(1)).build();
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                HttpResponse<String> response = client.send(readiness, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return;
+                }
+            } catch (ConnectException | HttpTimeoutException e) {
+                // Not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Service not ready after " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
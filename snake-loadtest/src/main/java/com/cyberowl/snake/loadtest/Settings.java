@@ -0,0 +1,66 @@
+package com.cyberowl.snake.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test options, read from {@code loadtest.*} system properties:
+ * <ul>
+ *     <li>{@code url}: service to load, blank to start {@code jar} on a free port with rate limits off,
+ *     {@code server-jvm-args} and {@code server-args} (space separated) added to its command line</li>
+ *     <li>{@code fruit-secret}: {@code snake.fruit.secret} of the service, the one it is started with when
+ *     {@code url} is blank, from which the validate scenarios draw their fruits</li>
+ *     <li>{@code rates}: arrival rates in requests per second, run in turn for {@code seconds} each after
+ *     {@code warmup-seconds} at the first one</li>
+ *     <li>{@code mix}: scenario weights, {@code short-ticks} and {@code long-ticks}: replay lengths</li>
+ *     <li>{@code timeout-seconds}: per request, {@code max-in-flight}: requests past it are dropped</li>
+ *     <li>{@code seed}: of the scenario sequence, {@code report-directory}: where reports are written</li>
+ * </ul>
+ */
+public record Settings(URI url, Path jar, List<String> serverJvmArgs, List<String> serverArgs, String fruitSecret,
+                       List<Double> rates,
+                       Duration warmup, Duration duration, Map<String, Integer> mix, int shortTicks, int longTicks,
+                       Duration timeout, int maxInFlight, long seed, Path reportDirectory) {
+
+    public static Settings fromSystemProperties() {
+        String url = System.getProperty("loadtest.url", "");
+        return new Settings(url.isBlank() ? null : URI.create(url),
+                Path.of(System.getProperty("loadtest.jar", "../snake-web/target/snake-web-0.0.1-SNAPSHOT.jar")),
+                words(System.getProperty("loadtest.server-jvm-args", "")),
+                words(System.getProperty("loadtest.server-args", "")),
+                System.getProperty("loadtest.fruit-secret", "load-test"),
+                Arrays.stream(System.getProperty("loadtest.rates", "100,200,400").split(","))
+                        .map(String::trim).map(Double::valueOf).toList(),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 20)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 60)),
+                mix(System.getProperty("loadtest.mix", "new=30,validate-short=50,validate-long=5,validate-failing=15")),
+                Integer.getInteger("loadtest.short-ticks", 16),
+                Integer.getInteger("loadtest.long-ticks", 20_000),
+                Duration.ofSeconds(Integer.getInteger("loadtest.timeout-seconds", 30)),
+                Integer.getInteger("loadtest.max-in-flight", 10_000),
+                Long.getLong("loadtest.seed", 42),
+                Path.of(System.getProperty("loadtest.report-directory", "target/loadtest")));
+    }
+
+    // name=weight pairs, e.g. new=30,validate-short=70
+    static Map<String, Integer> mix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            weights.put(pair[0].trim(), Integer.valueOf(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    private static List<String> words(String value) {
+        return value.isBlank() ? List.of() : List.of(value.trim().split("\\s+"));
+    }
+}
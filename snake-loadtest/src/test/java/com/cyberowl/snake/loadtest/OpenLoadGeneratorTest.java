@@ -0,0 +1,140 @@
+package com.cyberowl.snake.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLoadGeneratorTest {
+    private static final long DELAY_MILLIS = 50;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ExecutorService executor = Executors.newFixedThreadPool(64);
+    private HttpServer server;
+    private URI url;
+    private volatile int newStatus = 200;
+
+    @TempDir
+    Path directory;
+
+    // Answers after DELAY_MILLIS: /new with newStatus, /validate with game over when the body reverses
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/snake/new", exchange -> respond(exchange, newStatus));
+        server.createContext("/api/v1/snake/validate", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            respond(exchange, body.contains("\"velX\":-1") ? 418 : 200);
+        });
+        server.setExecutor(executor);
+        server.start();
+        url = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void run_shouldSendAtArrivalRate_whateverTheResponseTime() throws Exception {
+        Settings settings = settings(Map.of(Scenario.NEW, 1, Scenario.VALIDATE_SHORT, 1, Scenario.VALIDATE_FAILING, 1), 1_000);
+        OpenLoadGenerator generator = new OpenLoadGenerator(client, Scenario.of(url, settings), settings);
+
+        OpenLoadGenerator.Run run = generator.run(100, Duration.ofSeconds(1));
+
+        assertEquals(100, run.sent());
+        assertEquals(0, run.dropped());
+        assertEquals(100, run.scenarios().stream().mapToLong(ScenarioRecorder.Result::requests).sum());
+        for (ScenarioRecorder.Result result : run.scenarios()) {
+            assertTrue(result.requests() > 10, result.scenario());
+            assertEquals(0, result.errors(), result.scenario());
+            assertTrue(result.responseTime().getValueAtPercentile(50) >= TimeUnit.MILLISECONDS.toNanos(DELAY_MILLIS));
+            assertTrue(result.responseTime().getMaxValue() >= result.serviceTime().getMaxValue());
+        }
+        ScenarioRecorder.Result failing = result(run, Scenario.VALIDATE_FAILING);
+        assertEquals(Map.of(418, failing.requests()), failing.statuses());
+    }
+
+    @Test
+    void run_shouldCountUnexpectedStatusesAsErrors() throws Exception {
+        newStatus = 503;
+        Settings settings = settings(Map.of(Scenario.NEW, 1), 1_000);
+
+        OpenLoadGenerator.Run run = new OpenLoadGenerator(client, Scenario.of(url, settings), settings)
+                .run(50, Duration.ofMillis(200));
+
+        ScenarioRecorder.Result result = result(run, Scenario.NEW);
+        assertEquals(10, result.errors());
+        assertEquals(Map.of(503, 10L), result.statuses());
+    }
+
+    @Test
+    void run_shouldDropArrivalsPastMaxInFlight() throws Exception {
+        Settings settings = settings(Map.of(Scenario.NEW, 1), 1);
+
+        OpenLoadGenerator.Run run = new OpenLoadGenerator(client, Scenario.of(url, settings), settings)
+                .run(100, Duration.ofMillis(200));
+
+        assertTrue(run.dropped() > 0);
+        assertEquals(20, run.sent() + run.dropped());
+        assertEquals(run.dropped(), result(run, Scenario.NEW).dropped());
+    }
+
+    @Test
+    void write_shouldWriteReportAndDistributions() throws Exception {
+        Settings settings = settings(Map.of(Scenario.NEW, 1), 1_000);
+        LoadReport report = new LoadReport(url, settings);
+        report.add(new OpenLoadGenerator(client, Scenario.of(url, settings), settings).run(50, Duration.ofMillis(200)),
+                new PrintStream(OutputStream.nullOutputStream()));
+
+        String json = Files.readString(report.write());
+
+        assertTrue(json.contains("\"rate\":50.0"), json);
+        assertTrue(json.contains("\"new\":{\"requests\":10,\"errors\":0"), json);
+        assertTrue(json.contains("\"statuses\":{\"200\":10}"), json);
+        assertTrue(Files.readString(directory.resolve("50rps-new.hgrm")).contains("Value     Percentile"));
+    }
+
+    private Settings settings(Map<String, Integer> mix, int maxInFlight) {
+        return new Settings(url, Path.of("unused.jar"), List.of(), List.of(), "load-test", List.of(100.0),
+                Duration.ZERO, Duration.ofSeconds(1), mix, 4, 64, Duration.ofSeconds(5), maxInFlight, 42, directory);
+    }
+
+    private static ScenarioRecorder.Result result(OpenLoadGenerator.Run run, String scenario) {
+        return run.scenarios().stream().filter(result -> result.scenario().equals(scenario)).findFirst().orElseThrow();
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        try {
+            Thread.sleep(DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // No connection reuse, a connection closed by the stub as the client picks it up would fail a request
+        exchange.getResponseHeaders().set("Connection", "close");
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+}
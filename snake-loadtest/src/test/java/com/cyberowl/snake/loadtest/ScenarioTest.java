@@ -0,0 +1,70 @@
+package com.cyberowl.snake.loadtest;
+
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.engine.PackedCoordinate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioTest {
+    private static final URI URL = URI.create("http://localhost:8080");
+
+    @Test
+    void of_shouldFollowMixOrder_andSkipZeroWeights() {
+        List<Scenario> scenarios = Scenario.of(URL, settings("validate-long=1,new=3,validate-failing=0"));
+
+        assertEquals(List.of(Scenario.VALIDATE_LONG, Scenario.NEW), scenarios.stream().map(Scenario::name).toList());
+        assertEquals(URI.create("http://localhost:8080/api/v1/snake/validate"), scenarios.get(0).request().uri());
+        assertEquals("POST", scenarios.get(0).request().method());
+        assertEquals(URI.create("http://localhost:8080/api/v1/snake/new?w=10&h=10"), scenarios.get(1).request().uri());
+    }
+
+    @Test
+    void of_shouldRejectUnknownScenario() {
+        assertThrows(IllegalArgumentException.class, () -> Scenario.of(URL, settings("new=1,validate-all=1")));
+    }
+
+    @Test
+    void validation_shouldStepDownOntoTheFruitOnLastTick_orReverseWhenFailing() {
+        String body = Scenario.validation("game", 3, false);
+
+        assertTrue(body.startsWith("{\"state\":{\"gameId\":\"game\",\"width\":2,\"height\":1,"), body);
+        assertTrue(body.contains("\"fruit\":{\"coordinate\":{\"x\":2,\"y\":1}}"), body);
+        assertTrue(body.endsWith("\"ticks\":[{\"velocity\":{\"velX\":1,\"velY\":0}},{\"velocity\":{\"velX\":1,\"velY\":0}},"
+                + "{\"velocity\":{\"velX\":0,\"velY\":-1}}]}"), body);
+        assertTrue(Scenario.validation("game", 3, true).endsWith("{\"velocity\":{\"velX\":-1,\"velY\":0}}]}"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 16, 1_000})
+    void gameId_shouldDrawItsFirstFruitWhereTheReplayEnds(int ticks) {
+        FruitSequence fruits = new FruitSequence("load-test".getBytes(StandardCharsets.UTF_8));
+
+        String gameId = Scenario.gameId(fruits, "validate", ticks);
+
+        assertTrue(gameId.startsWith("validate-"), gameId);
+        assertEquals(PackedCoordinate.pack(ticks - 1, 1), fruits.fruitAt(gameId, 0, ticks - 1, 1, 1));
+    }
+
+    @Test
+    void gameId_shouldRejectReplaysTooShortToReachAFruit() {
+        FruitSequence fruits = new FruitSequence("load-test".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> Scenario.gameId(fruits, "validate", 1));
+    }
+
+    private static Settings settings(String mix) {
+        return new Settings(URL, Path.of("unused.jar"), List.of(), List.of(), "load-test", List.of(100.0),
+                Duration.ZERO, Duration.ofSeconds(1), Settings.mix(mix), 4, 64, Duration.ofSeconds(5), 1, 42,
+                Path.of("target"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.cyberowl.snake.async;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs validations off the servlet threads, on a pool chosen by their tick count.
+ * <p>
+ * Replay cost is linear in the ticks, so light and heavy requests get separate bounded pools: a burst of
+ * long replays fills the heavy pool only, and servlet threads stay free for cheap endpoints such as
+ * {@code /new}. A full queue rejects the request at once with a {@link ServiceUnavailableException} carrying
+ * a retry delay, rather than letting it wait longer than it would take to retry.
+ */
+@Slf4j
+@Component
+public class ValidationExecutor {
+    public enum CostClass { LIGHT, HEAVY }
+
+    private final Executor light;
+    private final Executor heavy;
+    private final int heavyTicks;
+    private final Duration retryAfter;
+
+    public ValidationExecutor(@Qualifier("lightValidationExecutor") Executor light,
+                              @Qualifier("heavyValidationExecutor") Executor heavy,
+                              @Value("${snake.async.heavy-ticks:10000}") int heavyTicks,
+                              @Value("${snake.async.retry-after:1s}") Duration retryAfter) {
+        this.light = light;
+        this.heavy = heavy;
+        this.heavyTicks = heavyTicks;
+        this.retryAfter = retryAfter;
+    }
+
+    public CostClass costClass(int ticks) {
+        return ticks >= heavyTicks ? CostClass.HEAVY : CostClass.LIGHT;
+    }
+
+    /**
+     * @throws ServiceUnavailableException if the pool of the request's cost class has no room left
+     */
+    public <T> CompletableFuture<T> submit(int ticks, Supplier<T> validation) {
+        CostClass costClass = costClass(ticks);
+        try {
+            return CompletableFuture.supplyAsync(validation, costClass == CostClass.HEAVY ? heavy : light);
+        } catch (RejectedExecutionException e) {
+            log.warn("Shedding {} validation of {} ticks, queue is full", costClass, ticks);
+            throw new ServiceUnavailableException(SnakeConstants.VALIDATION_QUEUE_FULL, retryAfter);
+        }
+    }
+}
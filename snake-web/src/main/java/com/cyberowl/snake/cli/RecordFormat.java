@@ -0,0 +1,155 @@
+package com.cyberowl.snake.cli;
+
+import com.cyberowl.snake.journal.JournalEntry;
+import com.cyberowl.snake.journal.ValidationJournalReader;
+import com.cyberowl.snake.journal.ValidationJournalVerifier.Outcome;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Layouts of the files {@link RevalidateCommand} reads. A file is cut into chunks of whole records by a
+ * single thread, each chunk is then replayed on its own.
+ */
+enum RecordFormat {
+    /**
+     * One validation per line: the /validate request body, optionally with the state it led to as
+     * {@code expected}
+     */
+    JSONL {
+        @Override
+        int cut(ByteBuffer window, int from, int target, boolean last) {
+            for (int i = Math.max(from, target - 1); i < window.limit(); i++) {
+                if (window.get(i) == '\n') {
+                    return i + 1;
+                }
+            }
+            return last ? window.limit() : NEED_MORE;
+        }
+
+        @Override
+        void replay(ByteBuffer chunk, long offset, Revalidation revalidation) {
+            byte[] line = LINES.get();
+            int start = 0;
+            while (start < chunk.limit()) {
+                int end = start;
+                while (end < chunk.limit() && chunk.get(end) != '\n') {
+                    end++;
+                }
+                int length = end - start;
+                if (length > line.length) {
+                    line = new byte[Math.max(length, 2 * line.length)];
+                    LINES.set(line);
+                }
+                chunk.get(start, line, 0, length);
+                if (!blank(line, length)) {
+                    replayLine(line, length, offset + start, revalidation);
+                }
+                start = end + 1;
+            }
+        }
+
+        private void replayLine(byte[] line, int length, long offset, Revalidation revalidation) {
+            RecordedValidation recorded;
+            try {
+                recorded = RECORDS.readValue(line, 0, length);
+            } catch (IOException e) {
+                revalidation.record(offset, null, Outcome.MALFORMED, false);
+                return;
+            }
+            State state = recorded.state();
+            if (state == null || recorded.ticks() == null) {
+                revalidation.record(offset, null, Outcome.MALFORMED, recorded.expected() != null);
+                return;
+            }
+            Outcome outcome = revalidation.verifier().replay(state, recorded.ticks(), recorded.continuous(), recorded.expected());
+            revalidation.record(offset, state.getGameId(), outcome, recorded.expected() != null);
+        }
+    },
+
+    /**
+     * Segments of the validation journal, every entry expected to replay to its after state
+     */
+    JOURNAL {
+        @Override
+        int cut(ByteBuffer window, int from, int target, boolean last) {
+            int position = from;
+            while (position < target) {
+                int frame = ValidationJournalReader.frameLength(window, position);
+                if (frame < 0) {
+                    if (position > from) {
+                        return position;
+                    }
+                    return frame == ValidationJournalReader.CUT_SHORT && !last ? NEED_MORE : CORRUPT;
+                }
+                position += frame;
+            }
+            return position;
+        }
+
+        @Override
+        void replay(ByteBuffer chunk, long offset, Revalidation revalidation) {
+            int position = 0;
+            while (position < chunk.limit()) {
+                int frame = ValidationJournalReader.frameLength(chunk, position);
+                JournalEntry entry = ValidationJournalReader.entry(chunk, position, frame);
+                if (entry == null) {
+                    revalidation.record(offset + position, null, Outcome.MALFORMED, true);
+                } else {
+                    Outcome outcome = revalidation.verifier().replay(entry.before(), entry.ticks(), true, entry.after());
+                    revalidation.record(offset + position, entry.before().getGameId(), outcome, true);
+                }
+                position += frame;
+            }
+        }
+    };
+
+    static final int NEED_MORE = -1;
+    static final int CORRUPT = -2;
+
+    private static final ObjectReader RECORDS = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(RecordedValidation.class);
+    private static final ThreadLocal<byte[]> LINES = ThreadLocal.withInitial(() -> new byte[4096]);
+
+    /**
+     * Where the chunk starting at {@code from} should end: after the record running past {@code target}, or
+     * the end of the last whole record before it
+     *
+     * @param last whether {@code window} runs to the end of the file
+     * @return the end, {@link #NEED_MORE} when no record ends in the window, {@link #CORRUPT} when none can
+     * start at {@code from}
+     */
+    abstract int cut(ByteBuffer window, int from, int target, boolean last);
+
+    /**
+     * Replays every record of a chunk {@link #cut} returned
+     *
+     * @param offset position of the chunk in its file
+     */
+    abstract void replay(ByteBuffer chunk, long offset, Revalidation revalidation);
+
+    private static boolean blank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if (line[i] != ' ' && line[i] != '\t' && line[i] != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    record RecordedValidation(@JsonProperty("state") State state,
+                              @JsonProperty("ticks") List<Tick> ticks,
+                              @JsonProperty("continuous") boolean continuous,
+                              @JsonProperty("expected") State expected) {
+    }
+}
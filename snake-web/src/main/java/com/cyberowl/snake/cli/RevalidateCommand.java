@@ -0,0 +1,133 @@
+package com.cyberowl.snake.cli;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.journal.ValidationJournalReader;
+import com.cyberowl.snake.journal.ValidationJournalVerifier;
+import com.cyberowl.snake.journal.ValidationJournalVerifier.Outcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Re-validates recorded games offline with the rules of this build, without starting the application.
+ * <p>
+ * {@code RevalidateCommand [--format journal|jsonl] [--threads N] [--chunk-size BYTES] [--max-discrepancies N]
+ * [--secret SECRET] PATH...}
+ * <p>
+ * Paths are validation journal segments, or directories of them, with {@code --format journal} (the
+ * default), or files of one /validate request body per line with {@code --format jsonl}. The fruit secret
+ * of the instances that recorded them comes from {@code --secret} or {@code SNAKE_FRUIT_SECRET}. Prints a
+ * summary of outcomes and the first discrepancies, exits with 1 when any record no longer replays to its
+ * recorded state or a file could not be read to its end, 2 on usage errors.
+ */
+public final class RevalidateCommand {
+    static final int OK = 0;
+    static final int DISCREPANCIES = 1;
+    static final int USAGE = 2;
+
+    private static final String USAGE_LINE = "Usage: RevalidateCommand [--format journal|jsonl] [--threads N] "
+            + "[--chunk-size BYTES] [--max-discrepancies N] [--secret SECRET] PATH...";
+
+    private RevalidateCommand() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        quietLogging();
+        System.exit(run(args, System.getenv("SNAKE_FRUIT_SECRET"), System.out));
+    }
+
+    static int run(String[] args, String environmentSecret, PrintStream out) throws IOException, InterruptedException {
+        RecordFormat format = RecordFormat.JOURNAL;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = 4 << 20;
+        int maxDiscrepancies = 100;
+        String secret = environmentSecret;
+        List<Path> paths = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--format" -> format = RecordFormat.valueOf(value(args, ++i).toUpperCase(Locale.ROOT));
+                    case "--threads" -> threads = positive(value(args, ++i));
+                    case "--chunk-size" -> chunkSize = positive(value(args, ++i));
+                    case "--max-discrepancies" -> maxDiscrepancies = Integer.parseInt(value(args, ++i));
+                    case "--secret" -> secret = value(args, ++i);
+                    default -> {
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option " + args[i]);
+                        }
+                        paths.add(Path.of(args[i]));
+                    }
+                }
+            }
+            if (paths.isEmpty()) {
+                throw new IllegalArgumentException("No file to re-validate");
+            }
+            if (secret == null || secret.isBlank()) {
+                throw new IllegalArgumentException("The fruit secret is required, --secret or SNAKE_FRUIT_SECRET");
+            }
+        } catch (IllegalArgumentException e) {
+            out.println(e.getMessage());
+            out.println(USAGE_LINE);
+            return USAGE;
+        }
+
+        List<Path> files = new ArrayList<>();
+        for (Path path : paths) {
+            files.addAll(Files.isDirectory(path) ? ValidationJournalReader.segments(path) : List.of(path));
+        }
+        ValidationJournalVerifier verifier = new ValidationJournalVerifier(new FruitSequence(secret.getBytes(StandardCharsets.UTF_8)));
+        Revalidation.Summary summary = new Revalidation(format, verifier, threads, chunkSize, maxDiscrepancies).run(files);
+        print(summary, files.size(), threads, out);
+        return summary.discrepancies() == 0 && summary.unreadable().isEmpty() ? OK : DISCREPANCIES;
+    }
+
+    private static void print(Revalidation.Summary summary, int files, int threads, PrintStream out) {
+        double seconds = summary.nanos() / 1e9;
+        out.printf(Locale.ROOT, "Re-validated %d records of %d files in %.2f s on %d threads, %.0f records/s%n",
+                summary.records(), files, seconds, threads, summary.records() / Math.max(seconds, 1e-9));
+        for (Outcome outcome : Outcome.values()) {
+            out.printf(Locale.ROOT, "  %-18s %d%n", outcome, summary.outcomes()[outcome.ordinal()]);
+        }
+        out.printf(Locale.ROOT, "Discrepancies: %d%n", summary.discrepancies());
+        for (Revalidation.Discrepancy discrepancy : summary.listed()) {
+            out.printf(Locale.ROOT, "  %s@%d %s %s%n", discrepancy.file(), discrepancy.offset(),
+                    discrepancy.gameId(), discrepancy.outcome());
+        }
+        for (String unreadable : summary.unreadable()) {
+            out.printf(Locale.ROOT, "Unreadable from %s%n", unreadable);
+        }
+    }
+
+    // Replays log every validation at INFO, which would cost more than the replays themselves
+    private static void quietLogging() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.WARN);
+            context.getLogger("com.cyberowl.snake").setLevel(Level.ERROR);
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value of " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    private static int positive(String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("Not a positive number: " + value);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,169 @@
+package com.cyberowl.snake.cli;
+
+import com.cyberowl.snake.journal.ValidationJournalVerifier;
+import com.cyberowl.snake.journal.ValidationJournalVerifier.Outcome;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One run of {@link RevalidateCommand}: files are mapped window by window and cut into chunks of whole
+ * records on the calling thread, chunks are replayed by {@code threads} workers.
+ * <p>
+ * The work queue holds two chunks per worker and the calling thread replays a chunk itself when it is
+ * full, so at most a few windows are mapped at a time however large the files, and cutting never runs
+ * far ahead of replaying.
+ */
+@Slf4j
+final class Revalidation {
+    private static final int WINDOW = 64 << 20;
+
+    private final RecordFormat format;
+    private final ValidationJournalVerifier verifier;
+    private final int threads;
+    private final int chunkSize;
+    private final int maxDiscrepancies;
+    private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+    private final LongAdder discrepancies = new LongAdder();
+    private final AtomicInteger listed = new AtomicInteger();
+    private final Queue<Discrepancy> listedDiscrepancies = new ConcurrentLinkedQueue<>();
+    private final Queue<String> unreadable = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Path> currentFile = new ThreadLocal<>();
+
+    /**
+     * @param offset  position of the record in its file
+     * @param gameId  null when the record could not be read
+     * @param outcome what the rules make of it now
+     */
+    record Discrepancy(Path file, long offset, String gameId, Outcome outcome) {
+    }
+
+    /**
+     * @param outcomes      records per {@link Outcome}, in its order
+     * @param discrepancies records with an expected state that no longer replay to it
+     * @param listed        the first discrepancies found, at most the configured number
+     * @param unreadable    file@offset of each tail that could not be cut in records and chunk that failed
+     * @param nanos         wall clock time of the run
+     */
+    record Summary(long[] outcomes, long discrepancies, List<Discrepancy> listed, List<String> unreadable, long nanos) {
+        long records() {
+            long records = 0;
+            for (long count : outcomes) {
+                records += count;
+            }
+            return records;
+        }
+    }
+
+    Revalidation(RecordFormat format, ValidationJournalVerifier verifier, int threads, int chunkSize, int maxDiscrepancies) {
+        this.format = format;
+        this.verifier = verifier;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.maxDiscrepancies = maxDiscrepancies;
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    Summary run(List<Path> files) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(2 * threads), task -> {
+            Thread thread = new Thread(task, "revalidate");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            for (Path file : files) {
+                cut(file, workers);
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        long[] counts = new long[outcomes.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = outcomes[i].sum();
+        }
+        List<Discrepancy> sorted = new ArrayList<>(listedDiscrepancies);
+        sorted.sort((a, b) -> a.file().equals(b.file()) ? Long.compare(a.offset(), b.offset()) : a.file().compareTo(b.file()));
+        return new Summary(counts, discrepancies.sum(), sorted, List.copyOf(unreadable), System.nanoTime() - start);
+    }
+
+    ValidationJournalVerifier verifier() {
+        return verifier;
+    }
+
+    void record(long offset, String gameId, Outcome outcome, boolean expected) {
+        outcomes[outcome.ordinal()].increment();
+        if (!expected || outcome == Outcome.VALID) {
+            return;
+        }
+        discrepancies.increment();
+        if (listed.getAndIncrement() < maxDiscrepancies) {
+            listedDiscrepancies.add(new Discrepancy(currentFile.get(), offset, gameId, outcome));
+        }
+    }
+
+    private void cut(Path file, ThreadPoolExecutor workers) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long from = 0;
+            long windowStart = 0;
+            int mapSize = WINDOW;
+            ByteBuffer window = null;
+            while (from < size) {
+                if (window == null || from == windowStart + window.limit()) {
+                    windowStart = from;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(mapSize, size - from));
+                }
+                boolean last = windowStart + window.limit() == size;
+                int start = (int) (from - windowStart);
+                int end = format.cut(window, start, (int) Math.min((long) start + chunkSize, window.limit()), last);
+                if (end == RecordFormat.NEED_MORE) {
+                    // A record longer than what is left of the window, or than the whole window
+                    if (start == 0) {
+                        mapSize = (int) Math.min(2L * mapSize, Integer.MAX_VALUE - 8);
+                    }
+                    window = null;
+                    continue;
+                }
+                if (end == RecordFormat.CORRUPT) {
+                    log.warn("{} cannot be read past byte {} of {}", file, from, size);
+                    unreadable.add(file + "@" + from);
+                    return;
+                }
+                submit(workers, file, window.slice(start, end - start), from);
+                from = windowStart + end;
+            }
+        }
+    }
+
+    private void submit(ThreadPoolExecutor workers, Path file, ByteBuffer chunk, long offset) {
+        workers.execute(() -> {
+            currentFile.set(file);
+            try {
+                format.replay(chunk, offset, this);
+            } catch (RuntimeException e) {
+                log.error("Replaying {} bytes of {} from byte {} failed", chunk.limit(), file, offset, e);
+                unreadable.add(file + "@" + offset);
+            } finally {
+                currentFile.remove();
+            }
+        });
+    }
+}
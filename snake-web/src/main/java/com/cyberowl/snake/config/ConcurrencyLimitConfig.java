@@ -0,0 +1,41 @@
+package com.cyberowl.snake.config;
+
+import com.cyberowl.snake.limit.AdaptiveLimiter;
+import com.cyberowl.snake.limit.ConcurrencyLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "snake.limit.enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    // Ahead of every other filter but the warm-up marker and the rate limit, so a rejected request costs as little as possible
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${snake.limit.new.initial:200}") int newInitial,
+            @Value("${snake.limit.new.min:20}") int newMin,
+            @Value("${snake.limit.new.max:2000}") int newMax,
+            @Value("${snake.limit.validate.initial:20}") int validateInitial,
+            @Value("${snake.limit.validate.min:2}") int validateMin,
+            @Value("${snake.limit.validate.max:500}") int validateMax,
+            @Value("${snake.limit.tolerance:1.5}") double tolerance,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                new AdaptiveLimiter(newInitial, newMin, newMax, tolerance),
+                new AdaptiveLimiter(validateInitial, validateMin, validateMax, tolerance),
+                meterRegistry, objectMapper);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/snake/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
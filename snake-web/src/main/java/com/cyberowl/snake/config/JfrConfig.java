@@ -0,0 +1,19 @@
+package com.cyberowl.snake.config;
+
+import com.cyberowl.snake.jfr.JfrRecordingEndpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+public class JfrConfig {
+
+    @Bean
+    public JfrRecordingEndpoint jfrRecordingEndpoint(@Value("${snake.jfr.max-age:10m}") Duration maxAge,
+                                                     @Value("${snake.jfr.max-size:64MB}") DataSize maxSize) {
+        return new JfrRecordingEndpoint(maxAge, maxSize.toBytes());
+    }
+}
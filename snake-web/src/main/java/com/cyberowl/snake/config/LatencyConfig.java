@@ -0,0 +1,38 @@
+package com.cyberowl.snake.config;
+
+import com.cyberowl.snake.latency.LatencyEndpoint;
+import com.cyberowl.snake.latency.LatencyRecorder;
+import com.cyberowl.snake.latency.RequestTimingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+public class LatencyConfig {
+
+    @Bean
+    public LatencyRecorder latencyRecorder(@Value("${snake.latency.highest-trackable:60s}") Duration highestTrackable,
+                                           @Value("${snake.latency.interval:10s}") Duration interval) {
+        return new LatencyRecorder(highestTrackable, interval);
+    }
+
+    // Last filter: the timings cover the handler, not the waits of the limits
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(LatencyRecorder latencyRecorder) {
+        FilterRegistrationBean<RequestTimingFilter> registration = new FilterRegistrationBean<>(new RequestTimingFilter(latencyRecorder));
+        registration.addUrlPatterns("/api/v1/snake/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public LatencyEndpoint latencyEndpoint(LatencyRecorder latencyRecorder) {
+        return new LatencyEndpoint(latencyRecorder);
+    }
+}
@@ -0,0 +1,41 @@
+package com.cyberowl.snake.config;
+
+import com.cyberowl.snake.limit.RateLimitFilter;
+import com.cyberowl.snake.limit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "snake.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    // First limit, behind the warm-up marker only: a rate limited request takes no concurrency permit and its body is never parsed
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Value("${snake.rate-limit.client.rate:50}") double clientRate,
+            @Value("${snake.rate-limit.client.burst:100}") int clientBurst,
+            @Value("${snake.rate-limit.game.rate:10}") double gameRate,
+            @Value("${snake.rate-limit.game.burst:20}") int gameBurst,
+            @Value("${snake.rate-limit.max-entries:100000}") int maxEntries,
+            @Value("${snake.rate-limit.peek-bytes:1024}") int peekBytes,
+            @Value("${snake.rate-limit.trusted-headers:false}") boolean trustedHeaders,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper) {
+        RateLimitFilter filter = new RateLimitFilter(
+                new RateLimiter(clientRate, clientBurst, maxEntries),
+                new RateLimiter(gameRate, gameBurst, maxEntries),
+                peekBytes, trustedHeaders, meterRegistry, objectMapper);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/snake/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
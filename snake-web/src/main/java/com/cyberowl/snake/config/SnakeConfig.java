@@ -0,0 +1,130 @@
+package com.cyberowl.snake.config;
+
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.journal.ValidationJournal;
+import com.cyberowl.snake.store.DurableGameStore;
+import com.cyberowl.snake.store.GameStore;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import com.cyberowl.snake.store.OffHeapGameStore;
+import com.cyberowl.snake.token.StateTokenCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Configuration
+public class SnakeConfig {
+
+    @Bean
+    public FruitSequence fruitSequence(@Value("${snake.fruit.secret:}") String secret) {
+        return new FruitSequence(secretOrRandom("snake.fruit.secret", secret));
+    }
+
+    @Bean
+    public StateTokenCodec stateTokenCodec(@Value("${snake.token.secret:}") String secret) {
+        return new StateTokenCodec(secretOrRandom("snake.token.secret", secret));
+    }
+
+    // off-heap allocates max-games records up front, worth it from millions of resident games.
+    // With a directory it is snapshotted there and recovered on start
+    @Bean
+    public GameStore gameStore(@Value("${snake.store.type:on-heap}") String type,
+                               @Value("${snake.store.max-games:100000}") int maxGames,
+                               @Value("${snake.store.idle-timeout:30m}") Duration idleTimeout,
+                               @Value("${snake.store.sweep-interval:1m}") Duration sweepInterval,
+                               @Value("${snake.store.directory:}") String directory,
+                               @Value("${snake.store.snapshot-interval:5m}") Duration snapshotInterval) throws IOException {
+        boolean durable = !directory.isBlank();
+        return switch (type) {
+            case "on-heap" -> {
+                if (durable) {
+                    throw new IllegalArgumentException("snake.store.directory requires snake.store.type=off-heap");
+                }
+                yield new InMemoryGameStore(maxGames, idleTimeout.toNanos(), sweepInterval);
+            }
+            case "off-heap" -> {
+                OffHeapGameStore store = new OffHeapGameStore(maxGames, idleTimeout.toNanos(), sweepInterval);
+                yield durable ? new DurableGameStore(store, Path.of(directory), snapshotInterval) : store;
+            }
+            default -> throw new IllegalArgumentException("Unknown snake.store.type: " + type);
+        };
+    }
+
+    // Every successful validation, written off the request threads and closed, so flushed, on shutdown
+    @Bean
+    @ConditionalOnProperty(name = "snake.journal.enabled", havingValue = "true")
+    public ValidationJournal validationJournal(@Value("${snake.journal.directory:journal}") String directory,
+                                               @Value("${snake.journal.capacity:65536}") int capacity,
+                                               @Value("${snake.journal.fsync:batch}") ValidationJournal.Fsync fsync,
+                                               @Value("${snake.journal.fsync-interval:100ms}") Duration fsyncInterval,
+                                               @Value("${snake.journal.segment-size:64MB}") DataSize segmentSize) throws IOException {
+        return new ValidationJournal(Path.of(directory), capacity, fsync, fsyncInterval, segmentSize.toBytes());
+    }
+
+    // With spring.main.lazy-initialization the store still recovers and the journal still starts with the context,
+    // not on the first request
+    @Bean
+    static LazyInitializationExcludeFilter eagerSnakeBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(GameStore.class, ValidationJournal.class);
+    }
+
+    // Drains spectator queues, each subscriber holds at most one task at a time
+    @Bean
+    public ThreadPoolTaskExecutor spectatorExecutor(@Value("${snake.spectator.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("spectator-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Validations below snake.async.heavy-ticks, a short queue keeps their latency close to the replay time
+    @Bean
+    public ThreadPoolTaskExecutor lightValidationExecutor(@Value("${snake.async.light.threads:4}") int threads,
+                                                          @Value("${snake.async.light.queue-capacity:64}") int queueCapacity) {
+        return boundedExecutor("validate-light-", threads, queueCapacity);
+    }
+
+    // Long replays get their own threads so they never wait behind, nor hold up, the light ones
+    @Bean
+    public ThreadPoolTaskExecutor heavyValidationExecutor(@Value("${snake.async.heavy.threads:2}") int threads,
+                                                          @Value("${snake.async.heavy.queue-capacity:8}") int queueCapacity) {
+        return boundedExecutor("validate-heavy-", threads, queueCapacity);
+    }
+
+    // Fixed size pool whose full queue rejects new tasks instead of growing or running them on the caller
+    private static ThreadPoolTaskExecutor boundedExecutor(String threadNamePrefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+
+    // Without a configured secret each instance gets its own, so sequences are not shared across instances
+    static byte[] secretOrRandom(String property, String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("{} is not set, using a random per-instance secret", property);
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
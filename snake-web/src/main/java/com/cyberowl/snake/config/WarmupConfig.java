@@ -0,0 +1,49 @@
+package com.cyberowl.snake.config;
+
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.warmup.JitWarmup;
+import com.cyberowl.snake.warmup.WarmupRequestFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+@Configuration
+public class WarmupConfig {
+
+    // A bean even when disabled, then always up: the readiness group includes it
+    @Bean
+    public JitWarmup warmup(@Value("${snake.warmup.enabled:false}") boolean enabled,
+                            @Value("${snake.warmup.min-iterations:20000}") int minIterations,
+                            @Value("${snake.warmup.round-iterations:1000}") int roundIterations,
+                            @Value("${snake.warmup.quiet-rounds:3}") int quietRounds,
+                            @Value("${snake.warmup.max-duration:60s}") Duration maxDuration,
+                            @Value("${server.address:}") String address,
+                            FruitSequence fruitSequence,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) throws UnknownHostException {
+        return new JitWarmup(fruitSequence, objectMapper, address.isEmpty() ? null : InetAddress.getByName(address),
+                meterRegistry, new JitWarmup.Settings(enabled, minIterations, roundIterations, quietRounds, maxDuration));
+    }
+
+    // First filter, the rate limit lets the warm-up's requests through once marked
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "snake.warmup.enabled")
+    public FilterRegistrationBean<WarmupRequestFilter> warmupRequestFilter(JitWarmup warmup) {
+        FilterRegistrationBean<WarmupRequestFilter> registration =
+                new FilterRegistrationBean<>(new WarmupRequestFilter(warmup));
+        registration.addUrlPatterns("/api/v1/snake/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -17,9 +17,14 @@ public class SnakeConstants {
     public static final int MIN_VELOCITY = -1;
     public static final int MAX_VELOCITY = 1;
     public static final int POINTS_PER_FRUIT = 1;
+    public static final int SOLVER_POOL_SIZE = 4;
+    public static final long POOLED_SOLVER_MAX_BYTES = 4L << 20;
 
     // Generics
     public static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+    public static final String CLIENT_ID_HEADER = "X-Client-ID";
+    public static final String GAME_ID_HEADER = "X-Game-ID";
+    public static final String WARMUP_HEADER = "X-Warmup-Token";
     public static final String UTILITY_CLASS_INSTANTIATION = "This is a utility class and should not be instantiated.";
 
     // Error code
@@ -27,6 +32,10 @@ public class SnakeConstants {
     public static final String FRUIT_NOT_REACHED_CD = "FRUIT_NOT_REACHED";
     public static final String METHOD_NOT_ALLOWED_CD = "METHOD_NOT_ALLOWED";
     public static final String GAME_OVER_CD = "GAME_OVER";
+    public static final String INVALID_STATE_CD = "INVALID_STATE";
+    public static final String SERVICE_UNAVAILABLE_CD = "SERVICE_UNAVAILABLE";
+    public static final String TOO_MANY_REQUESTS_CD = "TOO_MANY_REQUESTS";
+    public static final String VERSION_CONFLICT_CD = "VERSION_CONFLICT";
     public static final String INTERNAL_SERVER_ERROR_CD = "INTERNAL_SERVER_ERROR";
 
     // Error messages
@@ -35,9 +44,23 @@ public class SnakeConstants {
     public static final String INTERNAL_SERVER_ERROR = "An unexpected error occurred. Please try again later.";
     public static final String REVERSE_DIRECTION = "Snake cannot move in reverse direction.";
     public static final String OUT_OF_BOUNDS = "Snake moved out of bounds.";
+    public static final String SELF_COLLISION = "Snake collided with its own body.";
     public static final String GAME_OVER = "Game is over, snake went out of bounds or made an invalid move.";
     public static final String FRUIT_NOT_REACHED = "Fruit not found, the ticks do not lead the snake to the fruit position.";
+    public static final String NO_PATH_TO_FRUIT = "No legal path leads the snake to the fruit position.";
+    public static final String SOLVER_SEARCH_LIMIT = "Grid too large to search a path around the snake body.";
     public static final String INVALID_COORDINATE = "Invalid coordinate: x and y must be non-negative integers.";
     public static final String INVALID_DIMENSIONS = "Width and height must be positive integers. Provided width = %d, height = %d";
+    public static final String INVALID_SNAKE_BODY = "Invalid snake body: segments must be distinct, within bounds and adjacent to each other.";
+    public static final String FRUIT_MISMATCH = "Fruit or score do not match the game, send back the ones of the last response.";
+    public static final String INVALID_STATE_TOKEN = "State token is malformed or its signature does not match.";
+    public static final String VALIDATION_QUEUE_FULL = "Too many validations are in progress, please retry later.";
+    public static final String OVERLOADED = "Server is overloaded, please retry later.";
+    public static final String VERSION_CONFLICT = "Game version is stale, another validation of this game was committed first.";
+    public static final String MISSING_VERSION = "Game version is missing, send back the one of the last response.";
+    public static final String GAME_EXPIRED = "Game is unknown or expired, start a new game.";
+    public static final String UNREADABLE_GAME_ID = "The gameId of the state must be a plain string within the first %d bytes of the body.";
+    public static final String RATE_LIMITED = "Too many requests for this game or client, please slow down.";
+    public static final String TOO_MANY_SPECTATORS = "Too many spectators are watching this game, please try again later.";
     public static final String INVALID_VELOCITY = "Invalid velocity: x and y must be between -1 and 1, and (0,0) is not allowed";
 }
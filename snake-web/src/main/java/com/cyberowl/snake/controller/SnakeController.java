@@ -0,0 +1,138 @@
+package com.cyberowl.snake.controller;
+
+import com.cyberowl.snake.async.ValidationExecutor;
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.dto.NewGameResponse;
+import com.cyberowl.snake.dto.SolveResponse;
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.service.SnakeService;
+import com.cyberowl.snake.util.CorrelationIdUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/snake")
+@Validated
+@RequiredArgsConstructor
+@Tag(name = "Snake Game", description = "APIs for managing Snake game")
+@Slf4j
+public class SnakeController {
+
+    private final SnakeService snakeService;
+    private final ValidationExecutor validationExecutor;
+
+    @Operation(summary = "Start a new game", description = "Creates a new Snake game with specified width and height")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Game created successfully",
+                    content = @Content(schema = @Schema(implementation = NewGameResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request."),
+    })
+    @GetMapping(value = "/new", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<NewGameResponse> newGame(
+            @Parameter(description = "Width of the game board", example = "10")
+            @RequestParam("w") @Min(value = 1, message = "Width must be at least 1") int width,
+            @Parameter(description = "Height of the game board", example = "15")
+            @RequestParam("h") @Min(value = 1, message = "Height must be at least 1") int height,
+            @RequestHeader(value = SnakeConstants.CORRELATION_ID_HEADER, required = false) String correlationId) {
+
+        String requestId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
+        log.info("Creating new game. Width: {}, Height: {}. Request ID: {}", width, height, requestId);
+        NewGameResponse response = snakeService.newGame(width, height);
+        log.info("New game created successfully. Request ID: {}", requestId);
+        return ResponseEntity.ok()
+                .header(SnakeConstants.CORRELATION_ID_HEADER, requestId)
+                .body(response);
+    }
+
+    @Operation(summary = "Validate move", description = "Validates a move in the Snake game")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Valid state & ticks.",
+                    content = @Content(schema = @Schema(implementation = ValidateMoveResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request, or server-side game expired or sent without its version."),
+            @ApiResponse(responseCode = "404", description = "Fruit not found, the ticks do not lead the snake to the fruit position."),
+            @ApiResponse(responseCode = "409", description = "Stale version of a game held server-side."),
+            @ApiResponse(responseCode = "418", description = "Game is over, snake went out of bounds or made an invalid move."),
+    })
+    @PostMapping(value = "/validate", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ValidateMoveResponse> validateMove(
+            @Valid @RequestBody ValidateMoveRequest validateMoveRequest,
+            @RequestHeader(value = SnakeConstants.CORRELATION_ID_HEADER, required = false) String correlationId) {
+
+        String requestId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
+        log.info("Validating move. Request: {}. Request ID: {}", validateMoveRequest, requestId);
+        ValidateMoveResponse response = snakeService.validateMove(validateMoveRequest);
+        log.info("Move validated successfully. Request ID: {}", requestId);
+        return ResponseEntity.ok()
+                .header(SnakeConstants.CORRELATION_ID_HEADER, requestId)
+                .body(response);
+    }
+
+    @Operation(summary = "Validate move asynchronously",
+            description = "Same as /validate, run on a bounded executor sized by tick count instead of the request thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Valid state & ticks.",
+                    content = @Content(schema = @Schema(implementation = ValidateMoveResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request, or server-side game expired or sent without its version."),
+            @ApiResponse(responseCode = "404", description = "Fruit not found, the ticks do not lead the snake to the fruit position."),
+            @ApiResponse(responseCode = "409", description = "Stale version of a game held server-side."),
+            @ApiResponse(responseCode = "418", description = "Game is over, snake went out of bounds or made an invalid move."),
+            @ApiResponse(responseCode = "503", description = "Too many validations in progress, retry after the Retry-After delay."),
+    })
+    @PostMapping(value = "/validate/async", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<ValidateMoveResponse>> validateMoveAsync(
+            @Valid @RequestBody ValidateMoveRequest validateMoveRequest,
+            @RequestHeader(value = SnakeConstants.CORRELATION_ID_HEADER, required = false) String correlationId) {
+
+        String requestId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
+        int ticks = validateMoveRequest.getTicks().size();
+        log.info("Queueing move validation of {} ticks. Request ID: {}", ticks, requestId);
+        return validationExecutor.submit(ticks, () -> snakeService.validateMove(validateMoveRequest))
+                .thenApply(response -> {
+                    log.info("Move validated successfully. Request ID: {}", requestId);
+                    return ResponseEntity.ok()
+                            .header(SnakeConstants.CORRELATION_ID_HEADER, requestId)
+                            .body(response);
+                });
+    }
+
+    @Operation(summary = "Solve", description = "Returns a shortest legal tick sequence leading the snake to the fruit")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Path found, the response can be posted to /validate.",
+                    content = @Content(schema = @Schema(implementation = SolveResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request."),
+            @ApiResponse(responseCode = "404", description = "No legal path leads the snake to the fruit."),
+            @ApiResponse(responseCode = "418", description = "Game is over, the snake is out of bounds."),
+    })
+    @PostMapping(value = "/solve", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SolveResponse> solve(
+            @Valid @RequestBody State state,
+            @RequestHeader(value = SnakeConstants.CORRELATION_ID_HEADER, required = false) String correlationId) {
+
+        String requestId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
+        log.info("Solving path to fruit. State: {}. Request ID: {}", state, requestId);
+        SolveResponse response = snakeService.solve(state);
+        log.info("Path solved successfully. Request ID: {}", requestId);
+        return ResponseEntity.ok()
+                .header(SnakeConstants.CORRELATION_ID_HEADER, requestId)
+                .body(response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.cyberowl.snake.controller;
+
+import com.cyberowl.snake.spectator.SpectatorHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/snake/spectate")
+@RequiredArgsConstructor
+@Tag(name = "Snake Game (spectators)", description = "Live streams of validated game states")
+@Slf4j
+public class SpectatorController {
+
+    private final SpectatorHub spectatorHub;
+
+    @Operation(summary = "Watch a game", description = "Streams every validated state of the game as Server-Sent Events")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened."),
+            @ApiResponse(responseCode = "503", description = "Too many spectators on this game."),
+    })
+    @GetMapping(value = "/{gameId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter spectate(
+            @Parameter(description = "Id of the game to watch") @PathVariable("gameId") String gameId) {
+        log.info("Spectator subscribing to game {}", gameId);
+        return spectatorHub.subscribe(gameId);
+    }
+}
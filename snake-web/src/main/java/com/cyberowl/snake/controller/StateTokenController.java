@@ -1,10 +1,10 @@
 package com.cyberowl.snake.controller;
 
 import com.cyberowl.snake.constants.SnakeConstants;
-import com.cyberowl.snake.dto.NewGameResponse;
-import com.cyberowl.snake.dto.ValidateMoveRequest;
-import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.dto.*;
+import com.cyberowl.snake.model.State;
 import com.cyberowl.snake.service.SnakeService;
+import com.cyberowl.snake.token.StateTokenCodec;
 import com.cyberowl.snake.util.CorrelationIdUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,29 +17,32 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
-@RequestMapping("/api/v1/snake")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/snake/token")
 @Validated
 @RequiredArgsConstructor
-@Tag(name = "Snake Game", description = "APIs for managing Snake game")
+@Tag(name = "Snake Game (state token)", description = "Stateless APIs exchanging a signed state token instead of the JSON state")
 @Slf4j
-public class SnakeController {
+public class StateTokenController {
 
     private final SnakeService snakeService;
+    private final StateTokenCodec stateTokenCodec;
 
-    @Operation(summary = "Start a new game", description = "Creates a new Snake game with specified width and height")
+    @Operation(summary = "Start a new game", description = "Creates a new Snake game and returns its signed state token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Game created successfully",
-                    content = @Content(schema = @Schema(implementation = NewGameResponse.class))),
+                    content = @Content(schema = @Schema(implementation = NewGameTokenResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request."),
     })
     @GetMapping(value = "/new", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<NewGameResponse> newGame(
+    public ResponseEntity<NewGameTokenResponse> newGame(
             @Parameter(description = "Width of the game board", example = "10")
             @RequestParam("w") @Min(value = 1, message = "Width must be at least 1") int width,
             @Parameter(description = "Height of the game board", example = "15")
@@ -47,31 +50,39 @@ public class SnakeController {
             @RequestHeader(value = SnakeConstants.CORRELATION_ID_HEADER, required = false) String correlationId) {
 
         String requestId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
-        log.info("Creating new game. Width: {}, Height: {}. Request ID: {}", width, height, requestId);
-        NewGameResponse response = snakeService.newGame(width, height);
-        log.info("New game created successfully. Request ID: {}", requestId);
+        log.info("Creating new token game. Width: {}, Height: {}. Request ID: {}", width, height, requestId);
+        // The token carries the state, nothing is held server-side
+        State state = snakeService.newGame(width, height, false).state();
+        NewGameTokenResponse response = new NewGameTokenResponse(stateTokenCodec.encode(state), state);
+        log.info("New token game created successfully. Request ID: {}", requestId);
         return ResponseEntity.ok()
                 .header(SnakeConstants.CORRELATION_ID_HEADER, requestId)
                 .body(response);
     }
 
-    @Operation(summary = "Validate move", description = "Validates a move in the Snake game")
+    @Operation(summary = "Validate move", description = "Validates a move against the state carried by a signed token")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Valid state & ticks.",
-                    content = @Content(schema = @Schema(implementation = ValidateMoveResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request."),
+            @ApiResponse(responseCode = "200", description = "Valid token & ticks.",
+                    content = @Content(schema = @Schema(implementation = ValidateTokenResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or state token."),
             @ApiResponse(responseCode = "404", description = "Fruit not found, the ticks do not lead the snake to the fruit position."),
             @ApiResponse(responseCode = "418", description = "Game is over, snake went out of bounds or made an invalid move."),
     })
     @PostMapping(value = "/validate", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ValidateMoveResponse> validateMove(
-            @Valid @RequestBody ValidateMoveRequest validateMoveRequest,
+    public ResponseEntity<ValidateTokenResponse> validateMove(
+            @Valid @RequestBody ValidateTokenRequest validateTokenRequest,
             @RequestHeader(value = SnakeConstants.CORRELATION_ID_HEADER, required = false) String correlationId) {
 
         String requestId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
-        log.info("Validating move. Request: {}. Request ID: {}", validateMoveRequest, requestId);
-        ValidateMoveResponse response = snakeService.validateMove(validateMoveRequest);
-        log.info("Move validated successfully. Request ID: {}", requestId);
+        log.info("Validating token move. Ticks: {}. Request ID: {}", validateTokenRequest.getTicks().size(), requestId);
+        State state = stateTokenCodec.decode(validateTokenRequest.getToken());
+        // The signature vouches for the score and fruit
+        ValidateMoveResponse moveResponse = snakeService.validateMove(
+                new ValidateMoveRequest(state, validateTokenRequest.getTicks(), validateTokenRequest.isContinuous()), true);
+        State next = moveResponse.state();
+        ValidateTokenResponse response = new ValidateTokenResponse(stateTokenCodec.encode(next), next.getScore(),
+                next.getSnake(), next.getFruit(), moveResponse.scoreDelta(), moveResponse.fruitTicks());
+        log.info("Token move validated successfully. Request ID: {}", requestId);
         return ResponseEntity.ok()
                 .header(SnakeConstants.CORRELATION_ID_HEADER, requestId)
                 .body(response);
@@ -0,0 +1,6 @@
+package com.cyberowl.snake.dto;
+
+import com.cyberowl.snake.model.State;
+
+public record NewGameTokenResponse(String token, State state) {
+}
@@ -0,0 +1,13 @@
+package com.cyberowl.snake.dto;
+
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+
+import java.util.List;
+
+/**
+ * Same shape as a {@link ValidateMoveRequest}: the unchanged state and the ticks reaching its fruit,
+ * ready to be posted to /validate.
+ */
+public record SolveResponse(State state, List<Tick> ticks) {
+}
@@ -2,6 +2,7 @@ package com.cyberowl.snake.dto;
 
 import com.cyberowl.snake.model.State;
 import com.cyberowl.snake.model.Tick;
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
@@ -13,7 +14,7 @@ import lombok.ToString;
 import java.util.List;
 
 @Getter
-@AllArgsConstructor
+@AllArgsConstructor(onConstructor_ = @JsonCreator)
 @ToString
 public class ValidateMoveRequest {
     @JsonProperty("state")
@@ -25,4 +26,12 @@ public class ValidateMoveRequest {
     @NotEmpty(message = "Ticks cannot be empty")
     @Valid
     private List<Tick> ticks;
+
+    // Keep replaying after each fruit instead of returning at the first one
+    @JsonProperty("continuous")
+    private boolean continuous;
+
+    public ValidateMoveRequest(State state, List<Tick> ticks) {
+        this(state, ticks, false);
+    }
 }
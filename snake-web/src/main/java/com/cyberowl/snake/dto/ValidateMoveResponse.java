@@ -0,0 +1,20 @@
+package com.cyberowl.snake.dto;
+
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * scoreDelta and fruitTicks are only populated for continuous validation,
+ * fruitTicks holding the index of every tick on which a fruit was eaten.
+ */
+public record ValidateMoveResponse(State state, List<Tick> ticks,
+                                   @JsonInclude(JsonInclude.Include.NON_NULL) Integer scoreDelta,
+                                   @JsonInclude(JsonInclude.Include.NON_NULL) List<Integer> fruitTicks) {
+
+    public ValidateMoveResponse(State state, List<Tick> ticks) {
+        this(state, ticks, null, null);
+    }
+}
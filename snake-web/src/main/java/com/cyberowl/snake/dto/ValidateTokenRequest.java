@@ -0,0 +1,30 @@
+package com.cyberowl.snake.dto;
+
+import com.cyberowl.snake.model.Tick;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor(onConstructor_ = @JsonCreator)
+@ToString
+public class ValidateTokenRequest {
+    @JsonProperty("token")
+    @NotBlank(message = "Token is required")
+    private String token;
+
+    @JsonProperty("ticks")
+    @NotEmpty(message = "Ticks cannot be empty")
+    @Valid
+    private List<Tick> ticks;
+
+    @JsonProperty("continuous")
+    private boolean continuous;
+}
@@ -0,0 +1,15 @@
+package com.cyberowl.snake.dto;
+
+import com.cyberowl.snake.model.Fruit;
+import com.cyberowl.snake.model.Snake;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Ticks are not echoed back, the client already has them and the token carries the rest of the state.
+ */
+public record ValidateTokenResponse(String token, int score, Snake snake, Fruit fruit,
+                                    @JsonInclude(JsonInclude.Include.NON_NULL) Integer scoreDelta,
+                                    @JsonInclude(JsonInclude.Include.NON_NULL) List<Integer> fruitTicks) {
+}
@@ -5,6 +5,8 @@ import com.cyberowl.snake.util.CorrelationIdUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -21,6 +23,7 @@ import java.util.Map;
 
 @Slf4j
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
     @ExceptionHandler({ConstraintViolationException.class, MethodArgumentNotValidException.class,
@@ -75,6 +78,31 @@ public class GlobalExceptionHandler {
         return createErrorResponseEntity(HttpStatus.NOT_FOUND, SnakeConstants.FRUIT_NOT_REACHED_CD, ex, request);
     }
 
+    @ExceptionHandler(InvalidStateException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidStateException(InvalidStateException ex, HttpServletRequest request) {
+        return createErrorResponseEntity(HttpStatus.BAD_REQUEST, SnakeConstants.INVALID_STATE_CD, ex, request);
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflictException(VersionConflictException ex, HttpServletRequest request) {
+        return createErrorResponseEntity(HttpStatus.CONFLICT, SnakeConstants.VERSION_CONFLICT_CD, ex, request);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex, HttpServletRequest request) {
+        ResponseEntity<ErrorResponse> response = createErrorResponseEntity(HttpStatus.SERVICE_UNAVAILABLE,
+                SnakeConstants.SERVICE_UNAVAILABLE_CD, ex, request);
+        if (ex.getRetryAfter() == null) {
+            return response;
+        }
+        // Retry-After is in whole seconds, rounded up so a client never comes back too early
+        long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ErrorResponse> handleMethodNotAllowed(HttpRequestMethodNotSupportedException ex, HttpServletRequest request) {
         return createErrorResponseEntity(HttpStatus.METHOD_NOT_ALLOWED, SnakeConstants.METHOD_NOT_ALLOWED_CD, ex, request,
@@ -0,0 +1,7 @@
+package com.cyberowl.snake.exception;
+
+public class InvalidStateException extends RuntimeException {
+    public InvalidStateException(String message) {
+        super(message);
+    }
+}
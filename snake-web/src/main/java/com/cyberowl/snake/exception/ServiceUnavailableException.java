@@ -0,0 +1,21 @@
+package com.cyberowl.snake.exception;
+
+import java.time.Duration;
+
+public class ServiceUnavailableException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message) {
+        this(message, null);
+    }
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    // Null when the client should not be told when to retry
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package com.cyberowl.snake.exception;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,110 @@
+package com.cyberowl.snake.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One Flight Recorder recording of the JDK events of the given settings and of the snake events:
+ * {@code POST /actuator/jfr} with a JSON body, {@code {}} or {@code {"settings":"profile"}}, starts it and
+ * replaces the previous one, {@code DELETE} stops it and {@code GET} dumps what it holds, running or
+ * stopped, as a .jfr file.
+ * <p>
+ * The recording keeps at most {@code maxAge} and {@code maxSize} of events, the dump is read in memory.
+ */
+@Slf4j
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint implements AutoCloseable {
+    static final String NAME = "snake";
+
+    private final Duration maxAge;
+    private final long maxSize;
+    private Recording recording;
+
+    public JfrRecordingEndpoint(Duration maxAge, long maxSize) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable String settings) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "default");
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown settings: " + settings),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        close();
+        recording = new Recording(configuration);
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize);
+        recording.enable(ValidateRequestEvent.class);
+        recording.enable(ReplayEvent.class);
+        recording.start();
+        log.info("Flight recording {} started with settings {}.", recording.getId(), configuration.getName());
+        return new WebEndpointResponse<>(status());
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Flight recording {} stopped.", recording.getId());
+        }
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile(NAME + "-", ".jfr");
+        try {
+            recording.dump(file);
+            return new WebEndpointResponse<>(new ByteArrayResource(Files.readAllBytes(file)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Map<String, Object> status() {
+        if (recording == null) {
+            return Map.of("state", "NONE");
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("id", recording.getId());
+        status.put("state", recording.getState());
+        status.put("startTime", recording.getStartTime());
+        status.put("size", recording.getSize());
+        return status;
+    }
+}
@@ -0,0 +1,66 @@
+package com.cyberowl.snake.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the replay of a validation, whichever the API that received its ticks. The
+ * outcome is {@link #VALID} or the error code of the response.
+ * <p>
+ * Created only while a recording enables it, so a validation pays a flag read otherwise.
+ */
+@Name("com.cyberowl.snake.Replay")
+@Label("Replay")
+@Category("Snake")
+@Description("Replay of the ticks of a validation")
+@StackTrace(false)
+public class ReplayEvent extends Event {
+    public static final String VALID = "VALID";
+
+    private static final EventType TYPE = EventType.getEventType(ReplayEvent.class);
+
+    @Label("Game ID")
+    private String gameId;
+
+    // Fed one by one, a replay ending early has not received them all
+    @Label("Ticks Received")
+    private int ticks;
+
+    @Label("Ticks Processed")
+    private int ticksProcessed;
+
+    @Label("Fruits")
+    private int fruits;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * @return the started event, null when not recorded
+     */
+    public static ReplayEvent start(String gameId) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        ReplayEvent event = new ReplayEvent();
+        event.gameId = gameId;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String outcome, int ticks, int ticksProcessed, int fruits) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.ticks = ticks;
+            this.ticksProcessed = ticksProcessed;
+            this.fruits = fruits;
+            commit();
+        }
+    }
+}
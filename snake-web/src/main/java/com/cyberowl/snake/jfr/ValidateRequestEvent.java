@@ -0,0 +1,98 @@
+package com.cyberowl.snake.jfr;
+
+import com.cyberowl.snake.latency.Phase;
+import com.cyberowl.snake.latency.RequestTimings;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a servlet /validate request, split in the phases of its {@link RequestTimings}:
+ * binding of the JSON body, validation from the bound body to the replay start (Bean Validation, argument
+ * resolution, token decoding), replay, and serialisation from the response body handed to the converter to
+ * the end of the request.
+ * <p>
+ * Started by the request timing filter only while a recording enables it. A phase the request did not reach
+ * is left at 0, the outcome is {@link ReplayEvent#VALID} or the response error code.
+ */
+@Name("com.cyberowl.snake.ValidateRequest")
+@Label("Validate Request")
+@Category("Snake")
+@Description("Servlet /validate request with the time spent in each phase")
+@StackTrace(false)
+public class ValidateRequestEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(ValidateRequestEvent.class);
+
+    @Label("Path")
+    private String path;
+
+    @Label("Game ID")
+    private String gameId;
+
+    @Label("Ticks")
+    private int ticks;
+
+    @Label("Ticks Processed")
+    private int ticksProcessed;
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Binding")
+    @Timespan
+    private long binding;
+
+    @Label("Validation")
+    @Timespan
+    private long validation;
+
+    @Label("Replay")
+    @Timespan
+    private long replay;
+
+    @Label("Serialization")
+    @Timespan
+    private long serialization;
+
+    /**
+     * @return the started event, null when not recorded
+     */
+    public static ValidateRequestEvent start(String path) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        ValidateRequestEvent event = new ValidateRequestEvent();
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    public void finish(RequestTimings timings, int status) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.status = status;
+        gameId = timings.gameId();
+        ticks = timings.ticks();
+        ticksProcessed = timings.ticksProcessed();
+        outcome = timings.outcome();
+        binding = span(timings, Phase.PARSE);
+        validation = span(timings, Phase.VALIDATE);
+        replay = span(timings, Phase.REPLAY);
+        serialization = span(timings, Phase.SERIALIZE);
+        commit();
+    }
+
+    private static long span(RequestTimings timings, Phase phase) {
+        return Math.max(timings.nanos(phase), 0);
+    }
+}
@@ -0,0 +1,145 @@
+package com.cyberowl.snake.journal;
+
+import com.cyberowl.snake.model.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary form of a {@link JournalEntry}: payload length | payload | CRC32C of the payload.
+ * <p>
+ * Payload: timestamp | state before | tick count, one direction byte per tick | state after. A state is
+ * gameId (length prefixed UTF-8) | width, height, score | version flag and version | fruit x, y |
+ * head x, y | velocity direction | body length, one direction byte per segment relative to the previous
+ * one. A direction is {@code (dx + 1) * 3 + (dy + 1)}.
+ */
+final class JournalCodec {
+    static final int FRAME = 2 * Integer.BYTES;
+    static final int MAX_PAYLOAD = 1 << 30;
+
+    private static final int MAX_GAME_ID = 0xFFFF;
+    private static final int STATE_FIXED = Short.BYTES + 3 * Integer.BYTES + 1 + Long.BYTES
+            + 4 * Integer.BYTES + 1 + Integer.BYTES;
+
+    private JournalCodec() {
+    }
+
+    /**
+     * Upper bound of the framed size of an entry, the gameIds counted at 3 bytes per char
+     */
+    static long maxSize(State before, List<Tick> ticks, State after) {
+        return FRAME + Long.BYTES + maxSize(before) + Integer.BYTES + ticks.size() + maxSize(after);
+    }
+
+    /**
+     * Writes one framed entry to {@code buffer}, which must have room for {@link #maxSize}
+     */
+    static void write(ByteBuffer buffer, long timestamp, State before, List<Tick> ticks, State after) {
+        int start = buffer.position();
+        buffer.position(start + Integer.BYTES);
+        buffer.putLong(timestamp);
+        writeState(buffer, before);
+        buffer.putInt(ticks.size());
+        for (Tick tick : ticks) {
+            buffer.put(direction(tick.getVelocity().velX(), tick.getVelocity().velY()));
+        }
+        writeState(buffer, after);
+        int length = buffer.position() - start - Integer.BYTES;
+        buffer.putInt(start, length);
+        buffer.putInt(checksum(buffer.slice(start + Integer.BYTES, length)));
+    }
+
+    /**
+     * @param payload exactly the payload of one entry, its checksum already verified
+     */
+    static JournalEntry read(ByteBuffer payload) {
+        long timestamp = payload.getLong();
+        State before = readState(payload);
+        int count = payload.getInt();
+        List<Tick> ticks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ticks.add(new Tick(velocity(payload.get())));
+        }
+        return new JournalEntry(timestamp, before, ticks, readState(payload));
+    }
+
+    static int checksum(ByteBuffer bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private static long maxSize(State state) {
+        return STATE_FIXED + 3L * state.getGameId().length() + state.getSnake().getBody().size();
+    }
+
+    private static void writeState(ByteBuffer buffer, State state) {
+        byte[] gameId = state.getGameId().getBytes(StandardCharsets.UTF_8);
+        if (gameId.length > MAX_GAME_ID) {
+            throw new IllegalArgumentException("Game ID of " + gameId.length + " bytes");
+        }
+        buffer.putShort((short) gameId.length).put(gameId);
+        buffer.putInt(state.getWidth()).putInt(state.getHeight()).putInt(state.getScore());
+        buffer.put((byte) (state.getVersion() != null ? 1 : 0));
+        buffer.putLong(state.getVersion() != null ? state.getVersion() : 0);
+        Coordinate fruit = state.getFruit().getCoordinate();
+        buffer.putInt(fruit.x()).putInt(fruit.y());
+        Snake snake = state.getSnake();
+        Coordinate previous = snake.getCoordinate();
+        buffer.putInt(previous.x()).putInt(previous.y());
+        buffer.put(direction(snake.getVelocity().velX(), snake.getVelocity().velY()));
+        buffer.putInt(snake.getBody().size());
+        for (Coordinate segment : snake.getBody()) {
+            buffer.put(direction(segment.x() - previous.x(), segment.y() - previous.y()));
+            previous = segment;
+        }
+    }
+
+    private static State readState(ByteBuffer payload) {
+        byte[] gameId = new byte[Short.toUnsignedInt(payload.getShort())];
+        payload.get(gameId);
+        int width = payload.getInt();
+        int height = payload.getInt();
+        int score = payload.getInt();
+        boolean versioned = payload.get() != 0;
+        long version = payload.getLong();
+        Fruit fruit = Fruit.generateFixedPosition(payload.getInt(), payload.getInt());
+        Coordinate head = new Coordinate(payload.getInt(), payload.getInt());
+        Velocity velocity = velocity(payload.get());
+        int length = payload.getInt();
+        List<Coordinate> body = new ArrayList<>(length);
+        Coordinate previous = head;
+        for (int i = 0; i < length; i++) {
+            Velocity step = velocity(payload.get());
+            previous = new Coordinate(previous.x() + step.velX(), previous.y() + step.velY());
+            body.add(previous);
+        }
+        return State.builder()
+                .gameId(new String(gameId, StandardCharsets.UTF_8))
+                .width(width)
+                .height(height)
+                .score(score)
+                .version(versioned ? version : null)
+                .fruit(fruit)
+                .snake(new Snake(head, velocity, body))
+                .build();
+    }
+
+    // Validated states only: velocities and neighbouring segments are a step of at most one cell apart
+    private static byte direction(int dx, int dy) {
+        if (dx < -1 || dx > 1 || dy < -1 || dy > 1) {
+            throw new IllegalArgumentException("Not a direction: " + dx + "," + dy);
+        }
+        return (byte) ((dx + 1) * 3 + (dy + 1));
+    }
+
+    private static Velocity velocity(byte direction) {
+        if (direction < 0 || direction > 8) {
+            throw new IllegalArgumentException("Not a direction: " + direction);
+        }
+        return new Velocity(direction / 3 - 1, direction % 3 - 1);
+    }
+}
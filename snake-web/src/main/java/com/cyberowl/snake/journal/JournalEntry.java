@@ -0,0 +1,17 @@
+package com.cyberowl.snake.journal;
+
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+
+import java.util.List;
+
+/**
+ * One successful validation as journaled.
+ *
+ * @param timestamp epoch millis at which the journal writer took it
+ * @param before    the state the ticks were applied to
+ * @param ticks     the ticks applied, in order
+ * @param after     the resulting state
+ */
+public record JournalEntry(long timestamp, State before, List<Tick> ticks, State after) {
+}
@@ -0,0 +1,71 @@
+package com.cyberowl.snake.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring of references, any number of producers and a single consumer.
+ * <p>
+ * A producer claims the next sequence with a CAS on {@code tail}, as long as it is less than a ring ahead
+ * of {@code head}, then publishes its element in the slot with a release store. The consumer takes
+ * elements in sequence order, clears their slots and only then moves {@code head}, which is what frees
+ * the slots for the producers. A claimed but not yet published slot stops the consumer until the next
+ * drain: elements always come out in claim order.
+ */
+public final class RingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public RingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return false when the ring is full
+     */
+    public boolean offer(E element) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.setRelease((int) sequence & mask, element);
+        return true;
+    }
+
+    /**
+     * Hands at most {@code limit} published elements to {@code sink}, single consumer thread only
+     *
+     * @return the number of elements taken
+     */
+    public int drain(Consumer<? super E> sink, int limit) {
+        long sequence = head;
+        int taken = 0;
+        while (taken < limit) {
+            int slot = (int) sequence & mask;
+            E element = slots.getAcquire(slot);
+            if (element == null) {
+                break;
+            }
+            slots.setPlain(slot, null);
+            sink.accept(element);
+            sequence++;
+            taken++;
+        }
+        head = sequence;
+        return taken;
+    }
+
+    int size() {
+        return (int) (tail.get() - head);
+    }
+}
@@ -0,0 +1,304 @@
+package com.cyberowl.snake.journal;
+
+import com.cyberowl.snake.model.Snake;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.spectator.StateChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only journal of every successful validation: state before, ticks applied, state after, for audits
+ * and disputes. Entries are re-verified by {@link ValidationJournalVerifier}.
+ * <p>
+ * The validating thread only puts a reference to the states and ticks, which a validation no longer
+ * touches once complete, in a {@link RingBuffer}. A single writer thread drains it, encodes the entries
+ * into one direct buffer and writes them with one {@link FileChannel#write} per batch, so the cost of a
+ * write, and of an fsync, is shared by every validation that completed meanwhile (group commit). Requests
+ * never wait for the disk nor for the writer: when the ring is full the entry is dropped and counted in
+ * {@link #failed()}, the validation itself still succeeds.
+ * <p>
+ * The fsync policy bounds what a machine crash loses: {@link Fsync#BATCH} forces every batch,
+ * {@link Fsync#INTERVAL} at most once per interval, {@link Fsync#NONE} leaves it to the OS. What is still
+ * in the ring or the buffer is lost by a crash of the process whatever the policy.
+ * <p>
+ * Entries go to {@code validations-<id>.log} segments, a new one at each start and once a segment
+ * reaches its size, so a torn tail only ever ends a segment.
+ */
+@Slf4j
+public final class ValidationJournal implements Closeable {
+    static final String PREFIX = "validations-";
+    static final String SUFFIX = ".log";
+
+    private static final int BATCH_ENTRIES = 4096;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    public enum Fsync {
+        NONE, BATCH, INTERVAL
+    }
+
+    private final Path directory;
+    private final RingBuffer<Pending> ring;
+    private final Fsync fsync;
+    private final long fsyncIntervalNanos;
+    private final long segmentBytes;
+    private final AtomicLong journaled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // Writer thread only
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private int buffered;
+    private long segmentId;
+    private FileChannel channel;
+    private long segmentWritten;
+    private boolean unforced;
+    private long lastForce = System.nanoTime();
+
+    /**
+     * @param capacity      ring slots, a power of two
+     * @param fsyncInterval time between fsyncs of {@link Fsync#INTERVAL}
+     * @param segmentBytes  size from which the next segment is started
+     */
+    public ValidationJournal(Path directory, int capacity, Fsync fsync, Duration fsyncInterval, long segmentBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.ring = new RingBuffer<>(capacity);
+        this.fsync = fsync;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.segmentBytes = segmentBytes;
+        List<Path> segments = ValidationJournalReader.segments(directory);
+        this.segmentId = segments.isEmpty() ? 1 : ValidationJournalReader.segmentId(segments.get(segments.size() - 1)) + 1;
+        this.channel = open(segmentId);
+        this.writer = new Thread(this::run, "validation-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // The resulting state goes back to the caller, who may well validate it again in place: journal a copy
+    @EventListener
+    public void onStateChanged(StateChangedEvent event) {
+        State state = event.state();
+        Snake snake = state.getSnake();
+        append(event.before(), event.ticks(),
+                state.toBuilder().snake(new Snake(snake.getCoordinate(), snake.getVelocity(), snake.getBody())).build());
+    }
+
+    /**
+     * Queues one validation, none of its objects may change afterwards
+     *
+     * @return false once the journal is closed, or if the ring is full and the entry dropped
+     */
+    public boolean append(State before, List<Tick> ticks, State after) {
+        if (closed) {
+            return false;
+        }
+        if (!ring.offer(new Pending(before, ticks, after))) {
+            failed.incrementAndGet();
+            log.warn("Validation journal full, validation of game {} not journaled", after.getGameId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Entries written to the current or a previous segment since the start
+     */
+    public long journaled() {
+        return journaled.get();
+    }
+
+    /**
+     * Entries dropped on a full ring or lost to an encoding or write failure since the start
+     */
+    public long failed() {
+        return failed.get();
+    }
+
+    /**
+     * Writes and forces what was queued before, appends racing it may be lost
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the validation journal", e);
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                // Read before draining, so the last drain takes everything queued before close
+                boolean stop = closed;
+                if (ring.drain(this::encode, BATCH_ENTRIES) > 0) {
+                    flush();
+                    continue;
+                }
+                if (stop) {
+                    break;
+                }
+                if (fsync == Fsync.INTERVAL && unforced) {
+                    forceIfDue();
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        } finally {
+            try {
+                flush();
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                log.error("Closing validation journal segment {} failed", segmentId, e);
+            }
+        }
+    }
+
+    private void encode(Pending pending) {
+        long size;
+        try {
+            size = JournalCodec.maxSize(pending.before, pending.ticks, pending.after);
+        } catch (RuntimeException e) {
+            reject(pending, e);
+            return;
+        }
+        if (size > buffer.remaining()) {
+            flush();
+        }
+        ByteBuffer target = buffer;
+        if (size > buffer.capacity()) {
+            if (size > JournalCodec.MAX_PAYLOAD) {
+                reject(pending, new IllegalArgumentException("Entry of " + size + " bytes"));
+                return;
+            }
+            target = ByteBuffer.allocate((int) size);
+        }
+        int start = target.position();
+        try {
+            JournalCodec.write(target, System.currentTimeMillis(), pending.before, pending.ticks, pending.after);
+        } catch (RuntimeException e) {
+            target.position(start);
+            reject(pending, e);
+            return;
+        }
+        if (target == buffer) {
+            buffered++;
+            return;
+        }
+        target.flip();
+        try {
+            write(target);
+            journaled.incrementAndGet();
+        } catch (IOException e) {
+            writeFailed(1, e);
+        }
+    }
+
+    private void flush() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            write(buffer);
+            journaled.addAndGet(buffered);
+        } catch (IOException e) {
+            writeFailed(buffered, e);
+        } finally {
+            buffer.clear();
+            buffered = 0;
+        }
+    }
+
+    private void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            segmentWritten += channel.write(bytes);
+        }
+        unforced = true;
+        if (fsync == Fsync.BATCH) {
+            force();
+        } else if (fsync == Fsync.INTERVAL) {
+            forceIfDue();
+        }
+        if (segmentWritten >= segmentBytes) {
+            roll();
+        }
+    }
+
+    private void forceIfDue() {
+        if (System.nanoTime() - lastForce < fsyncIntervalNanos) {
+            return;
+        }
+        try {
+            force();
+        } catch (IOException e) {
+            log.error("Forcing validation journal segment {} failed", segmentId, e);
+        }
+    }
+
+    private void force() throws IOException {
+        channel.force(false);
+        unforced = false;
+        lastForce = System.nanoTime();
+    }
+
+    private void roll() throws IOException {
+        if (fsync != Fsync.NONE) {
+            force();
+        }
+        next();
+    }
+
+    private void next() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            segmentId++;
+            channel = open(segmentId);
+            segmentWritten = 0;
+            unforced = false;
+        }
+    }
+
+    // A partial write would hide every later entry of the segment from readers, so the next goes to a new one
+    private void writeFailed(int entries, IOException e) {
+        failed.addAndGet(entries);
+        log.error("Writing {} entries to validation journal segment {} failed", entries, segmentId, e);
+        try {
+            next();
+        } catch (IOException rollFailure) {
+            log.error("Starting validation journal segment {} failed", segmentId, rollFailure);
+        }
+    }
+
+    private void reject(Pending pending, RuntimeException e) {
+        failed.incrementAndGet();
+        log.error("Validation of game {} not journaled", pending.after.getGameId(), e);
+    }
+
+    private FileChannel open(long id) throws IOException {
+        return FileChannel.open(ValidationJournalReader.segment(directory, id),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private record Pending(State before, List<Tick> ticks, State after) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.cyberowl.snake.journal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Sequential reader of {@link ValidationJournal} segments. A segment is read up to its first entry cut short
+ * or failing its checksum, the tail a crash mid-write leaves.
+ */
+public final class ValidationJournalReader {
+    public static final int CUT_SHORT = -1;
+    public static final int CORRUPT = -2;
+
+    private static final int READ_BUFFER = 1 << 16;
+
+    private ValidationJournalReader() {
+    }
+
+    /**
+     * @return the segments of {@code directory}, oldest first
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(ValidationJournal.PREFIX) && name.endsWith(ValidationJournal.SUFFIX);
+            }).forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(segmentId(a), segmentId(b)));
+        return segments;
+    }
+
+    /**
+     * Hands every valid entry of {@code segment} to {@code sink}, in the order written
+     *
+     * @return the length of the valid entries, less than the file size when its tail is torn
+     */
+    public static long read(Path segment, Consumer<JournalEntry> sink) throws IOException {
+        long size = Files.size(segment);
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), READ_BUFFER))) {
+            while (position + JournalCodec.FRAME <= size) {
+                int length = in.readInt();
+                if (length <= 0 || length > JournalCodec.MAX_PAYLOAD || position + JournalCodec.FRAME + length > size) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (JournalCodec.checksum(ByteBuffer.wrap(payload)) != in.readInt()) {
+                    break;
+                }
+                sink.accept(JournalCodec.read(ByteBuffer.wrap(payload)));
+                position += JournalCodec.FRAME + length;
+            }
+        } catch (EOFException e) {
+            // Shorter than its size when opened, still being written
+        }
+        return position;
+    }
+
+    /**
+     * Size of the entry framed at {@code position} of a segment's bytes, for readers cutting it in chunks
+     *
+     * @return the size, {@link #CUT_SHORT} when {@code buffer} ends before the entry, {@link #CORRUPT} when
+     * no entry can start there
+     */
+    public static int frameLength(ByteBuffer buffer, int position) {
+        if (position + Integer.BYTES > buffer.limit()) {
+            return CUT_SHORT;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0 || length > JournalCodec.MAX_PAYLOAD) {
+            return CORRUPT;
+        }
+        long frame = (long) JournalCodec.FRAME + length;
+        return position + frame > buffer.limit() ? CUT_SHORT : (int) frame;
+    }
+
+    /**
+     * Decodes the entry framed at {@code position}, whose {@link #frameLength} is known
+     *
+     * @return the entry, null when it fails its checksum
+     */
+    public static JournalEntry entry(ByteBuffer buffer, int position, int frameLength) {
+        int length = frameLength - JournalCodec.FRAME;
+        ByteBuffer payload = buffer.slice(position + Integer.BYTES, length);
+        if (JournalCodec.checksum(payload.duplicate()) != buffer.getInt(position + Integer.BYTES + length)) {
+            return null;
+        }
+        return JournalCodec.read(payload);
+    }
+
+    static Path segment(Path directory, long id) {
+        return directory.resolve(ValidationJournal.PREFIX + id + ValidationJournal.SUFFIX);
+    }
+
+    static long segmentId(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(ValidationJournal.PREFIX.length(), name.length() - ValidationJournal.SUFFIX.length()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.cyberowl.snake.journal;
+
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.exception.FruitNotReachedException;
+import com.cyberowl.snake.exception.GameOverException;
+import com.cyberowl.snake.exception.InvalidStateException;
+import com.cyberowl.snake.model.Snake;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.service.SnakeService;
+import com.cyberowl.snake.service.impl.SnakeServiceImpl;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Replays journaled validations and checks each one still leads to the state journaled after it.
+ * <p>
+ * Replays run on a service of their own, with the fruit secret of the instances that journaled: it holds
+ * no games, so every entry is replayed from its before state alone, trusted as journaled, and publishes nothing, so nothing is
+ * journaled again. The ticks journaled are the ones applied, so a continuous replay of all of them is
+ * the original validation whatever its mode.
+ */
+@Slf4j
+public final class ValidationJournalVerifier {
+    private final SnakeService service;
+
+    public ValidationJournalVerifier(FruitSequence fruitSequence) {
+        this.service = new SnakeServiceImpl(fruitSequence, event -> {
+        }, new InMemoryGameStore(1, 0));
+    }
+
+    public enum Outcome {
+        VALID, MISMATCH, GAME_OVER, FRUIT_NOT_REACHED, INVALID_STATE, MALFORMED
+    }
+
+    /**
+     * @param entries    entries read
+     * @param mismatches entries whose replay failed or led to another state
+     * @param torn       segments whose tail could not be read
+     */
+    public record Result(long entries, long mismatches, long torn) {
+        public Result plus(Result other) {
+            return new Result(entries + other.entries, mismatches + other.mismatches, torn + other.torn);
+        }
+    }
+
+    /**
+     * Verifies every segment of {@code directory}, oldest first
+     */
+    public Result verifyAll(Path directory) throws IOException {
+        Result result = new Result(0, 0, 0);
+        for (Path segment : ValidationJournalReader.segments(directory)) {
+            result = result.plus(verify(segment));
+        }
+        return result;
+    }
+
+    public Result verify(Path segment) throws IOException {
+        long[] counts = new long[2];
+        long valid = ValidationJournalReader.read(segment, entry -> {
+            counts[0]++;
+            if (!verify(entry)) {
+                counts[1]++;
+            }
+        });
+        long size = Files.size(segment);
+        if (valid < size) {
+            log.warn("Validation journal {} torn after {} of {} bytes", segment.getFileName(), valid, size);
+        }
+        return new Result(counts[0], counts[1], valid < size ? 1 : 0);
+    }
+
+    /**
+     * @return whether replaying the entry's ticks from its before state leads to its after state
+     */
+    public boolean verify(JournalEntry entry) {
+        Outcome outcome = replay(entry.before(), entry.ticks(), true, entry.after());
+        if (outcome != Outcome.VALID) {
+            log.warn("Journaled validation of game {} at {} replays as {}", entry.before().getGameId(), entry.timestamp(), outcome);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * What the rules make of a validation now, {@code state} itself is left as is
+     *
+     * @param expected the state the validation led to when recorded, null to only replay it
+     */
+    public Outcome replay(State state, List<Tick> ticks, boolean continuous, State expected) {
+        try {
+            State replayed = service.validateMove(new ValidateMoveRequest(copyOf(state), ticks, continuous), true).state();
+            return expected == null || sameGame(replayed, expected) ? Outcome.VALID : Outcome.MISMATCH;
+        } catch (GameOverException e) {
+            return Outcome.GAME_OVER;
+        } catch (FruitNotReachedException e) {
+            return Outcome.FRUIT_NOT_REACHED;
+        } catch (InvalidStateException e) {
+            return Outcome.INVALID_STATE;
+        } catch (RuntimeException e) {
+            return Outcome.MALFORMED;
+        }
+    }
+
+    // Versions are left out, a game replayed outside its store has none
+    private static boolean sameGame(State a, State b) {
+        return Objects.equals(a.getGameId(), b.getGameId())
+                && a.getWidth() == b.getWidth()
+                && a.getHeight() == b.getHeight()
+                && a.getScore() == b.getScore()
+                && a.getFruit().getCoordinate().equals(b.getFruit().getCoordinate())
+                && a.getSnake().getCoordinate().equals(b.getSnake().getCoordinate())
+                && a.getSnake().getVelocity().equals(b.getSnake().getVelocity())
+                && a.getSnake().getBody().equals(b.getSnake().getBody());
+    }
+
+    // The replay updates its state in place, the caller keeps its own
+    private static State copyOf(State state) {
+        Snake snake = state.getSnake();
+        return state.toBuilder()
+                .snake(new Snake(snake.getCoordinate(), snake.getVelocity(), snake.getBody()))
+                .version(null)
+                .build();
+    }
+}
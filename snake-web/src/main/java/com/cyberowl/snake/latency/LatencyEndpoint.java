@@ -0,0 +1,22 @@
+package com.cyberowl.snake.latency;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Latency percentiles of the validate requests by phase, {@code GET /actuator/latency}: the last complete
+ * interval and everything since startup, in milliseconds.
+ */
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+    private final LatencyRecorder recorder;
+
+    public LatencyEndpoint(LatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public LatencyRecorder.Snapshot latency() {
+        return recorder.snapshot();
+    }
+}
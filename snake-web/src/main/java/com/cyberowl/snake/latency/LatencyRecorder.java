@@ -0,0 +1,138 @@
+package com.cyberowl.snake.latency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms of the validate requests, one HdrHistogram {@link Recorder} per {@link Phase}, in
+ * nanoseconds from 1 µs to {@code highestTrackable} at 3 significant digits. Recording is lock-free and
+ * allocates nothing, the recorders count in preallocated atomic arrays, and longer values are recorded at
+ * {@code highestTrackable}.
+ * <p>
+ * Every {@code interval} the recorders are swapped for the interval histogram, which is kept until the next
+ * one and added to the cumulative histogram since startup. {@link #snapshot()} reads both.
+ */
+@Slf4j
+public class LatencyRecorder implements AutoCloseable {
+    private static final long LOWEST_DISCERNIBLE = 1_000;
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Phase[] PHASES = Phase.values();
+
+    public record Stats(long count, double meanMs, double p50Ms, double p90Ms, double p99Ms, double p999Ms,
+                        double maxMs) {
+
+        static Stats of(Histogram histogram) {
+            return new Stats(histogram.getTotalCount(), millis(histogram.getMean()),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(double nanos) {
+            return Math.round(nanos / 1_000) / 1_000.0;
+        }
+    }
+
+    public record PhaseStats(Stats interval, Stats cumulative) {
+    }
+
+    /**
+     * @param intervalStart start of the last complete interval, null before the first one
+     */
+    public record Snapshot(Duration interval, Instant intervalStart, Instant intervalEnd,
+                           Map<String, PhaseStats> phases) {
+    }
+
+    private final long highestTrackable;
+    private final Duration interval;
+    private final Recorder[] recorders = new Recorder[PHASES.length];
+    private final Histogram[] intervals = new Histogram[PHASES.length];
+    private final Histogram[] cumulative = new Histogram[PHASES.length];
+    private final ScheduledExecutorService scheduler;
+    private boolean rotated;
+
+    /**
+     * @param interval time between two interval histograms, zero for {@link #rotate()} calls only
+     */
+    public LatencyRecorder(Duration highestTrackable, Duration interval) {
+        this.highestTrackable = highestTrackable.toNanos();
+        this.interval = interval;
+        for (int i = 0; i < PHASES.length; i++) {
+            recorders[i] = new Recorder(LOWEST_DISCERNIBLE, this.highestTrackable, SIGNIFICANT_DIGITS);
+            intervals[i] = new Histogram(LOWEST_DISCERNIBLE, this.highestTrackable, SIGNIFICANT_DIGITS);
+            cumulative[i] = new Histogram(LOWEST_DISCERNIBLE, this.highestTrackable, SIGNIFICANT_DIGITS);
+        }
+        if (interval.isZero()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "latency-interval");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::scheduledRotate, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records the phases the request reached
+     */
+    public void record(RequestTimings timings) {
+        for (Phase phase : PHASES) {
+            long nanos = timings.nanos(phase);
+            if (nanos >= 0) {
+                record(phase, nanos);
+            }
+        }
+    }
+
+    public void record(Phase phase, long nanos) {
+        recorders[phase.ordinal()].recordValue(Math.min(nanos, highestTrackable));
+    }
+
+    /**
+     * Ends the current interval: its histograms replace the previous interval ones and add to the cumulative ones
+     */
+    public synchronized void rotate() {
+        for (int i = 0; i < PHASES.length; i++) {
+            recorders[i].getIntervalHistogramInto(intervals[i]);
+            cumulative[i].add(intervals[i]);
+        }
+        rotated = true;
+    }
+
+    public synchronized Snapshot snapshot() {
+        Map<String, PhaseStats> phases = new LinkedHashMap<>();
+        for (int i = 0; i < PHASES.length; i++) {
+            phases.put(PHASES[i].metricName(), new PhaseStats(Stats.of(intervals[i]), Stats.of(cumulative[i])));
+        }
+        Histogram last = intervals[0];
+        return new Snapshot(interval, rotated ? Instant.ofEpochMilli(last.getStartTimeStamp()) : null,
+                rotated ? Instant.ofEpochMilli(last.getEndTimeStamp()) : null, phases);
+    }
+
+    private void scheduledRotate() {
+        try {
+            rotate();
+        } catch (RuntimeException e) {
+            log.error("Latency interval rotation failed.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
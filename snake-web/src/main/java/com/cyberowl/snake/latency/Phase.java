@@ -0,0 +1,23 @@
+package com.cyberowl.snake.latency;
+
+/**
+ * Phases of a validate request as timed by {@link RequestTimings}, named as in the Server-Timing header and
+ * the latency endpoint
+ */
+public enum Phase {
+    PARSE("parse"),
+    VALIDATE("validate"),
+    REPLAY("replay"),
+    SERIALIZE("serialize"),
+    TOTAL("total");
+
+    private final String metricName;
+
+    Phase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
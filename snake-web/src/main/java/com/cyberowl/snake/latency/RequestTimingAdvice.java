@@ -0,0 +1,80 @@
+package com.cyberowl.snake.latency;
+
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.dto.ValidateTokenRequest;
+import com.cyberowl.snake.exception.ErrorResponse;
+import com.cyberowl.snake.jfr.ReplayEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Marks the end of the body binding and the start of the response serialisation of a timed request, and
+ * adds the phases reached so far as its Server-Timing header unless {@code snake.latency.server-timing} is
+ * off. A no-op outside of {@link RequestTimingFilter}.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestTimingAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean serverTiming;
+
+    public RequestTimingAdvice(@Value("${snake.latency.server-timing:true}") boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return RequestTimings.current() != null;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            if (body instanceof ValidateMoveRequest request) {
+                timings.bound(request.getState() != null ? request.getState().getGameId() : null, size(request.getTicks()));
+            } else if (body instanceof ValidateTokenRequest request) {
+                timings.bound(null, size(request.getTicks()));
+            }
+        }
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return RequestTimings.current() != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.writing(body instanceof ErrorResponse error ? error.errorCode() : ReplayEvent.VALID);
+            if (serverTiming) {
+                response.getHeaders().set(SERVER_TIMING, timings.serverTiming());
+            }
+        }
+        return body;
+    }
+
+    private static int size(List<?> ticks) {
+        return ticks != null ? ticks.size() : 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.cyberowl.snake.latency;
+
+import com.cyberowl.snake.jfr.ValidateRequestEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times the /api/v1/snake requests with the {@link RequestTimings} of the serving thread. Synchronous
+ * {@code /validate} requests are then recorded by the {@link LatencyRecorder}, and by a
+ * {@link ValidateRequestEvent} while a recording enables it. The asynchronous ones end on another thread
+ * and are only seen through the replay event of their validation.
+ */
+public class RequestTimingFilter extends OncePerRequestFilter {
+    private final LatencyRecorder recorder;
+
+    public RequestTimingFilter(LatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean validate = HttpMethod.POST.matches(request.getMethod()) && request.getRequestURI().endsWith("/validate");
+        RequestTimings timings = RequestTimings.start();
+        ValidateRequestEvent event = validate ? ValidateRequestEvent.start(request.getRequestURI()) : null;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            timings.finish();
+            if (validate && !request.isAsyncStarted()) {
+                recorder.record(timings);
+                if (event != null) {
+                    event.finish(timings, response.getStatus());
+                }
+            }
+        }
+    }
+}
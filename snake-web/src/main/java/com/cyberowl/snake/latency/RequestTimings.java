@@ -0,0 +1,144 @@
+package com.cyberowl.snake.latency;
+
+/**
+ * Phase marks of the /api/v1/snake request served by the calling thread: started and finished by
+ * {@link RequestTimingFilter}, marked meanwhile by {@link RequestTimingAdvice} once the body is bound and
+ * before the response is written, and by the replay of a validation. Each thread reuses one instance from
+ * request to request, timing a request allocates nothing.
+ * <p>
+ * Parse runs from the start to the bound body, validate from there to the replay start, or to the response
+ * when the request was rejected before replaying, and serialize from the response body handed to the
+ * converter to the end of the request.
+ */
+public final class RequestTimings {
+    static final String HANDLER = "handler";
+
+    private static final ThreadLocal<RequestTimings> THREAD = ThreadLocal.withInitial(RequestTimings::new);
+
+    private final StringBuilder serverTiming = new StringBuilder(96);
+    private boolean active;
+    private long startNanos;
+    private long boundNanos;
+    private long replayStartNanos;
+    private long replayEndNanos;
+    private long writeNanos;
+    private long endNanos;
+    private String gameId;
+    private int ticks;
+    private int ticksProcessed;
+    private String outcome;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings start() {
+        RequestTimings timings = THREAD.get();
+        timings.active = true;
+        timings.startNanos = System.nanoTime();
+        timings.boundNanos = 0;
+        timings.replayStartNanos = 0;
+        timings.replayEndNanos = 0;
+        timings.writeNanos = 0;
+        timings.endNanos = 0;
+        timings.gameId = null;
+        timings.ticks = 0;
+        timings.ticksProcessed = 0;
+        timings.outcome = null;
+        return timings;
+    }
+
+    /**
+     * @return the timings of the request served by the calling thread, null outside of a timed request
+     */
+    public static RequestTimings current() {
+        RequestTimings timings = THREAD.get();
+        return timings.active ? timings : null;
+    }
+
+    void bound(String gameId, int ticks) {
+        this.gameId = gameId;
+        this.ticks = ticks;
+        boundNanos = System.nanoTime();
+    }
+
+    public void replayed(long startNanos, long endNanos, int ticksProcessed) {
+        this.ticksProcessed = ticksProcessed;
+        replayStartNanos = startNanos;
+        replayEndNanos = endNanos;
+    }
+
+    void writing(String outcome) {
+        this.outcome = outcome;
+        writeNanos = System.nanoTime();
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+        active = false;
+    }
+
+    /**
+     * @return the nanoseconds spent in the phase, -1 when the request did not reach it
+     */
+    public long nanos(Phase phase) {
+        return switch (phase) {
+            case PARSE -> span(startNanos, boundNanos);
+            case VALIDATE -> span(boundNanos, replayStartNanos != 0 ? replayStartNanos : writeNanos);
+            case REPLAY -> span(replayStartNanos, replayEndNanos);
+            case SERIALIZE -> span(writeNanos, endNanos);
+            case TOTAL -> span(startNanos, endNanos);
+        };
+    }
+
+    /**
+     * Server-Timing header value of the phases reached before the response is written, in milliseconds. The
+     * header goes out ahead of the body, serialize and total are replaced by handler, the time until the
+     * response body was handed to the converter.
+     */
+    String serverTiming() {
+        StringBuilder value = serverTiming;
+        value.setLength(0);
+        append(value, Phase.PARSE.metricName(), nanos(Phase.PARSE));
+        append(value, Phase.VALIDATE.metricName(), nanos(Phase.VALIDATE));
+        append(value, Phase.REPLAY.metricName(), nanos(Phase.REPLAY));
+        append(value, HANDLER, span(startNanos, writeNanos));
+        return value.toString();
+    }
+
+    public String gameId() {
+        return gameId;
+    }
+
+    public int ticks() {
+        return ticks;
+    }
+
+    public int ticksProcessed() {
+        return ticksProcessed;
+    }
+
+    public String outcome() {
+        return outcome;
+    }
+
+    private static long span(long fromNanos, long toNanos) {
+        return fromNanos != 0 && toNanos != 0 ? toNanos - fromNanos : -1;
+    }
+
+    // Microsecond precision without going through a double and its string
+    private static void append(StringBuilder value, String name, long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        long micros = nanos / 1000;
+        long fraction = micros % 1000;
+        if (!value.isEmpty()) {
+            value.append(", ");
+        }
+        value.append(name).append(";dur=").append(micros / 1000).append('.');
+        if (fraction < 100) {
+            value.append(fraction < 10 ? "00" : "0");
+        }
+        value.append(fraction);
+    }
+}
@@ -0,0 +1,114 @@
+package com.cyberowl.snake.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit driven by request latency, in the style of the gradient limiter of Netflix's
+ * concurrency-limits.
+ * <p>
+ * A long-term average of the round trip time stands for the latency without queueing, a short-term one for
+ * the current latency. While they agree the limit grows by about its square root per sample, the queue it
+ * allows for. Once queueing inflates the short-term latency past {@code tolerance} times the long-term one
+ * the limit is scaled down by their ratio, while the long-term average only creeps towards the inflated
+ * latency so a lasting change of workload is eventually accepted as the new baseline. A dropped request (the handler shed it) cuts it by
+ * {@link #BACKOFF_RATIO}. Samples taken while less than half the limit is in use do not grow it, the limit
+ * would otherwise drift up without ever being tested.
+ * <p>
+ * Acquiring is a lock-free compare-and-set on the in-flight count, only limit updates are synchronized.
+ */
+public final class AdaptiveLimiter {
+    static final double BACKOFF_RATIO = 0.9;
+
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final int QUEUEING_LONG_WINDOW = 6000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format(
+                    "Limits must satisfy 1 <= min <= initial <= max. Provided min = %d, initial = %d, max = %d",
+                    minLimit, initialLimit, maxLimit));
+        }
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("Tolerance must be at least 1: " + tolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return the number of requests in flight including this one, to pass back to {@link #release}, or
+     * 0 if the limit is reached and the request must be rejected
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * @param inFlightAtStart value returned by {@link #tryAcquire()}
+     * @param rttNanos        time the request took
+     * @param dropped         whether the request was shed downstream instead of served
+     */
+    public void release(int inFlightAtStart, long rttNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        onSample(inFlightAtStart, rttNanos, dropped);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(int inFlightAtStart, long rttNanos, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, current * BACKOFF_RATIO);
+            return;
+        }
+        double rtt = Math.max(1, rttNanos);
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt += (rtt - shortRtt) / SHORT_WINDOW;
+        // Queueing samples barely move the baseline, which would otherwise rise with the overload it measures
+        boolean queueing = shortRtt > tolerance * longRtt;
+        longRtt += (rtt - longRtt) / (queueing ? QUEUEING_LONG_WINDOW : LONG_WINDOW);
+        // After a long overload the baseline would stay inflated, let it follow the recovered latency
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double smoothed = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
@@ -0,0 +1,164 @@
+package com.cyberowl.snake.limit;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.exception.ErrorResponse;
+import com.cyberowl.snake.util.CorrelationIdUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Rejects requests beyond the adaptive concurrency limit of their endpoint with 503 and Retry-After.
+ * <p>
+ * {@code /new} requests and {@code /validate} (and {@code /solve}) requests get separate limiters, their
+ * latencies differ by orders of magnitude. Async requests are released when they complete, not when the
+ * servlet thread returns. A 503 from the handler, such as async load shedding, counts as a drop.
+ * Publishes {@code snake.limit.limit}, {@code snake.limit.inflight} and {@code snake.limit.rejected}
+ * tagged by endpoint.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    static final String NEW = "new";
+    static final String VALIDATE = "validate";
+
+    private final AdaptiveLimiter newLimiter;
+    private final AdaptiveLimiter validateLimiter;
+    private final Counter newRejections;
+    private final Counter validateRejections;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AdaptiveLimiter newLimiter, AdaptiveLimiter validateLimiter,
+                                  MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.newLimiter = newLimiter;
+        this.validateLimiter = validateLimiter;
+        this.objectMapper = objectMapper;
+        this.newRejections = register(meterRegistry, NEW, newLimiter);
+        this.validateRejections = register(meterRegistry, VALIDATE, validateLimiter);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return endpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean isNew = NEW.equals(endpoint(request));
+        AdaptiveLimiter limiter = isNew ? newLimiter : validateLimiter;
+        int inFlight = limiter.tryAcquire();
+        if (inFlight == 0) {
+            (isNew ? newRejections : validateRejections).increment();
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new ReleaseListener(limiter, inFlight, start, response));
+            }
+        } finally {
+            if (!async) {
+                release(limiter, inFlight, start, response);
+            }
+        }
+    }
+
+    private static void release(AdaptiveLimiter limiter, int inFlight, long start, HttpServletResponse response) {
+        limiter.release(inFlight, System.nanoTime() - start,
+                response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String correlationId = CorrelationIdUtil.getOrGenerateCorrelationId(
+                request.getHeader(SnakeConstants.CORRELATION_ID_HEADER));
+        // Debug only, a warning per rejection would add to the overload it reports
+        log.debug("CorrelationID: {} | Status: {} | ErrorCode: {} | Concurrency limit reached for {}",
+                correlationId, HttpStatus.SERVICE_UNAVAILABLE, SnakeConstants.SERVICE_UNAVAILABLE_CD, request.getRequestURI());
+        ErrorResponse errorResponse = new ErrorResponse(correlationId,
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                SnakeConstants.SERVICE_UNAVAILABLE_CD,
+                SnakeConstants.OVERLOADED,
+                request.getRequestURI(),
+                Instant.now(),
+                null
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setHeader(SnakeConstants.CORRELATION_ID_HEADER, correlationId);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    // Null for requests that are not limited
+    private static String endpoint(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (!path.startsWith("/api/v1/snake/")) {
+            return null;
+        }
+        if (path.endsWith("/new")) {
+            return NEW;
+        }
+        if (path.contains("/validate") || path.endsWith("/solve")) {
+            return VALIDATE;
+        }
+        return null;
+    }
+
+    private static Counter register(MeterRegistry registry, String endpoint, AdaptiveLimiter limiter) {
+        Gauge.builder("snake.limit.limit", limiter, AdaptiveLimiter::limit)
+                .tag("endpoint", endpoint)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("snake.limit.inflight", limiter, AdaptiveLimiter::inFlight)
+                .tag("endpoint", endpoint)
+                .description("Requests currently holding a permit")
+                .register(registry);
+        return Counter.builder("snake.limit.rejected")
+                .tag("endpoint", endpoint)
+                .description("Requests rejected by the concurrency limit")
+                .register(registry);
+    }
+
+    private record ReleaseListener(AdaptiveLimiter limiter, int inFlight, long start,
+                                   HttpServletResponse response) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(limiter, inFlight, start, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete follows and releases the permit
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows and releases the permit
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
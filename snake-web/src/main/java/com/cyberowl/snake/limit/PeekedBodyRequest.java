@@ -0,0 +1,251 @@
+package com.cyberowl.snake.limit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Request whose first body bytes were read ahead by a filter and are replayed before the rest of the body.
+ */
+final class PeekedBodyRequest extends HttpServletRequestWrapper {
+    private static final int ABSENT = -1;
+    private static final int UNREADABLE = -2;
+
+    private final byte[] prefix;
+    private final int prefixLength;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    private PeekedBodyRequest(HttpServletRequest request, byte[] prefix, int prefixLength) {
+        super(request);
+        this.prefix = prefix;
+        this.prefixLength = prefixLength;
+    }
+
+    /**
+     * Reads up to {@code limit} bytes of the body, fewer if the body ends first
+     */
+    static PeekedBodyRequest peek(HttpServletRequest request, int limit) throws IOException {
+        byte[] prefix = new byte[limit];
+        ServletInputStream in = request.getInputStream();
+        int length = 0;
+        while (length < limit) {
+            int read = in.read(prefix, length, limit - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return new PeekedBodyRequest(request, prefix, length);
+    }
+
+    /**
+     * Raw byte scan of the peeked bytes for the {@code "name": "value"} member of the {@code object} member of
+     * the body, no JSON parsing: the members before them are skipped whole, so the same names elsewhere
+     * are never taken. Duplicate names are rejected by the parser, the first one found is therefore the one
+     * bound.
+     *
+     * @return the value, {@link Field#ABSENT} if either object ends without the member or the value is empty,
+     * {@link Field#UNREADABLE} if the peeked bytes alone cannot tell: cut short, escaped names or value, a
+     * value longer than {@code maxLength} or not a string
+     */
+    Field nestedStringField(String object, String name, int maxLength) {
+        int i = skipWhitespace(0);
+        if (i >= prefixLength || prefix[i] != '{') {
+            return Field.UNREADABLE;
+        }
+        i = member(i, object.getBytes(StandardCharsets.UTF_8));
+        if (i < 0) {
+            return i == ABSENT ? Field.ABSENT : Field.UNREADABLE;
+        }
+        if (prefix[i] != '{') {
+            return Field.UNREADABLE;
+        }
+        i = member(i, name.getBytes(StandardCharsets.UTF_8));
+        if (i < 0) {
+            return i == ABSENT ? Field.ABSENT : Field.UNREADABLE;
+        }
+        if (prefix[i] != '"') {
+            return Field.UNREADABLE;
+        }
+        int end = stringEnd(i, false);
+        if (end == UNREADABLE || end - i - 1 > maxLength) {
+            return Field.UNREADABLE;
+        }
+        return end == i + 1 ? Field.ABSENT : new Field(new String(prefix, i + 1, end - i - 1, StandardCharsets.UTF_8), true);
+    }
+
+    /**
+     * A string member scanned in the peeked bytes, its value null when absent or not readable
+     */
+    record Field(String value, boolean readable) {
+        static final Field ABSENT = new Field(null, true);
+        static final Field UNREADABLE = new Field(null, false);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (reader != null) {
+            throw new IllegalStateException("getReader() has already been called for this request");
+        }
+        if (inputStream == null) {
+            inputStream = new ReplayInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (inputStream != null) {
+            throw new IllegalStateException("getInputStream() has already been called for this request");
+        }
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            reader = new BufferedReader(new InputStreamReader(new ReplayInputStream(super.getInputStream()), charset));
+        }
+        return reader;
+    }
+
+    // Index of the value of member key of the object opening at objectStart, ABSENT or UNREADABLE
+    private int member(int objectStart, byte[] key) {
+        int i = skipWhitespace(objectStart + 1);
+        if (i < prefixLength && prefix[i] == '}') {
+            return ABSENT;
+        }
+        while (i < prefixLength && prefix[i] == '"') {
+            // An escaped name may be the key once decoded
+            int end = stringEnd(i, false);
+            if (end == UNREADABLE) {
+                return UNREADABLE;
+            }
+            boolean found = Arrays.equals(prefix, i + 1, end, key, 0, key.length);
+            i = skipWhitespace(end + 1);
+            if (i >= prefixLength || prefix[i] != ':') {
+                return UNREADABLE;
+            }
+            i = skipWhitespace(i + 1);
+            if (i >= prefixLength) {
+                return UNREADABLE;
+            }
+            if (found) {
+                return i;
+            }
+            i = skipValue(i);
+            if (i == UNREADABLE) {
+                return UNREADABLE;
+            }
+            i = skipWhitespace(i);
+            if (i < prefixLength && prefix[i] == '}') {
+                return ABSENT;
+            }
+            if (i >= prefixLength || prefix[i] != ',') {
+                return UNREADABLE;
+            }
+            i = skipWhitespace(i + 1);
+        }
+        return UNREADABLE;
+    }
+
+    // Index past the value starting at from, UNREADABLE if it is cut short
+    private int skipValue(int from) {
+        int depth = 0;
+        for (int i = from; i < prefixLength; i++) {
+            byte b = prefix[i];
+            if (b == '"') {
+                i = stringEnd(i, true);
+                if (i == UNREADABLE) {
+                    return UNREADABLE;
+                }
+                if (depth == 0) {
+                    return i + 1;
+                }
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                // A scalar ends at the close of its container
+                if (depth == 0) {
+                    return i;
+                }
+                if (--depth == 0) {
+                    return i + 1;
+                }
+            } else if (b == ',' && depth == 0) {
+                return i;
+            }
+        }
+        return UNREADABLE;
+    }
+
+    // Index of the quote closing the string opening at start, UNREADABLE if cut short or escaped unless allowed
+    private int stringEnd(int start, boolean escapes) {
+        for (int i = start + 1; i < prefixLength; i++) {
+            if (prefix[i] == '"') {
+                return i;
+            }
+            if (prefix[i] == '\\') {
+                if (!escapes) {
+                    return UNREADABLE;
+                }
+                i++;
+            }
+        }
+        return UNREADABLE;
+    }
+
+    private int skipWhitespace(int from) {
+        int i = from;
+        while (i < prefixLength && (prefix[i] == ' ' || prefix[i] == '\t' || prefix[i] == '\n' || prefix[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    private final class ReplayInputStream extends ServletInputStream {
+        private final ServletInputStream rest;
+        private int position;
+
+        private ReplayInputStream(ServletInputStream rest) {
+            this.rest = rest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return position < prefixLength ? prefix[position++] & 0xFF : rest.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (position < prefixLength) {
+                int count = Math.min(length, prefixLength - position);
+                System.arraycopy(prefix, position, buffer, offset, count);
+                position += count;
+                return count;
+            }
+            return rest.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position >= prefixLength && rest.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return position < prefixLength || rest.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            rest.setReadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.cyberowl.snake.limit;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.exception.ErrorResponse;
+import com.cyberowl.snake.util.CorrelationIdUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limits of {@code /validate} requests, per client and per game, checked before the body
+ * is parsed.
+ * <p>
+ * The client is the remote address, that of the last hop: behind a proxy or NAT every client shares one
+ * bucket, the filter is therefore only registered once enabled. The game is the {@code gameId} of the
+ * body's {@code state}, found by a raw byte scan of its first {@code peekBytes}, the body is replayed
+ * untouched to the handler. A body the scan cannot tell (escapes, the state past the peeked bytes, a cut
+ * short or unusual body) is rejected with 400 rather than read further, so no body escapes the limit of the
+ * game it validates and none costs more than {@code peekBytes} before it. Token requests carry no readable
+ * gameId and are only limited per client.
+ * <p>
+ * The {@value SnakeConstants#CLIENT_ID_HEADER} and {@value SnakeConstants#GAME_ID_HEADER} headers are
+ * chosen by the caller, a fresh value would get a fresh bucket: they are only used with
+ * {@code trustedHeaders}, behind a gateway that sets them from an authenticated identity. Rejections are 429
+ * with Retry-After, counted by {@code snake.ratelimit.rejected} tagged by key. Requests an earlier filter
+ * marked with {@link #EXEMPT_ATTRIBUTE}, the JIT warm-up's, are not limited.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    public static final String EXEMPT_ATTRIBUTE = RateLimitFilter.class.getName() + ".EXEMPT";
+
+    static final String CLIENT = "client";
+    static final String GAME = "game";
+
+    private static final String TOKEN_PATH = "/api/v1/snake/token/";
+    private static final String STATE = "state";
+    private static final String GAME_ID = "gameId";
+    private static final int MAX_GAME_ID_LENGTH = 64;
+
+    private final RateLimiter clientLimiter;
+    private final RateLimiter gameLimiter;
+    private final int peekBytes;
+    private final boolean trustedHeaders;
+    private final Counter clientRejections;
+    private final Counter gameRejections;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter clientLimiter, RateLimiter gameLimiter, int peekBytes, boolean trustedHeaders,
+                           MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.clientLimiter = clientLimiter;
+        this.gameLimiter = gameLimiter;
+        this.peekBytes = peekBytes;
+        this.trustedHeaders = trustedHeaders;
+        this.objectMapper = objectMapper;
+        this.clientRejections = register(meterRegistry, CLIENT);
+        this.gameRejections = register(meterRegistry, GAME);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getAttribute(EXEMPT_ATTRIBUTE) != null
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/v1/snake/")
+                || !request.getRequestURI().contains("/validate");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = trustedHeaders ? request.getHeader(SnakeConstants.CLIENT_ID_HEADER) : null;
+        long wait = clientLimiter.tryAcquire(client != null ? client : request.getRemoteAddr());
+        if (wait != RateLimiter.ALLOWED) {
+            clientRejections.increment();
+            rejectLimited(request, response, wait);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        String gameId = trustedHeaders ? request.getHeader(SnakeConstants.GAME_ID_HEADER) : null;
+        if (gameId == null && peekBytes > 0 && !request.getRequestURI().startsWith(TOKEN_PATH)) {
+            PeekedBodyRequest peeked = PeekedBodyRequest.peek(request, peekBytes);
+            PeekedBodyRequest.Field field = peeked.nestedStringField(STATE, GAME_ID, MAX_GAME_ID_LENGTH);
+            if (!field.readable()) {
+                reject(request, response, HttpStatus.BAD_REQUEST, SnakeConstants.VALIDATION_ERROR_CD,
+                        String.format(SnakeConstants.UNREADABLE_GAME_ID, peekBytes), 0);
+                return;
+            }
+            gameId = field.value();
+            forwarded = peeked;
+        }
+        if (gameId != null) {
+            wait = gameLimiter.tryAcquire(gameId);
+            if (wait != RateLimiter.ALLOWED) {
+                gameRejections.increment();
+                rejectLimited(request, response, wait);
+                return;
+            }
+        }
+        chain.doFilter(forwarded, response);
+    }
+
+    // The key is told by the tag of the rejection counter
+    private void rejectLimited(HttpServletRequest request, HttpServletResponse response, long waitNanos)
+            throws IOException {
+        reject(request, response, HttpStatus.TOO_MANY_REQUESTS, SnakeConstants.TOO_MANY_REQUESTS_CD,
+                SnakeConstants.RATE_LIMITED, waitNanos);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String errorCode,
+                        String message, long waitNanos) throws IOException {
+        String correlationId = CorrelationIdUtil.getOrGenerateCorrelationId(
+                request.getHeader(SnakeConstants.CORRELATION_ID_HEADER));
+        // Debug only, abusive clients would otherwise flood the log
+        log.debug("CorrelationID: {} | Status: {} | ErrorCode: {} | {} for {}",
+                correlationId, status, errorCode, message, request.getRequestURI());
+        ErrorResponse errorResponse = new ErrorResponse(correlationId,
+                status.value(),
+                errorCode,
+                message,
+                request.getRequestURI(),
+                Instant.now(),
+                null
+        );
+        response.setStatus(status.value());
+        if (status == HttpStatus.TOO_MANY_REQUESTS) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, divideCeil(waitNanos))));
+        }
+        response.setHeader(SnakeConstants.CORRELATION_ID_HEADER, correlationId);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static long divideCeil(long nanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return (nanos + second - 1) / second;
+    }
+
+    private static Counter register(MeterRegistry registry, String key) {
+        return Counter.builder("snake.ratelimit.rejected")
+                .tag("key", key)
+                .description("Requests rejected by the rate limit")
+                .register(registry);
+    }
+}
@@ -0,0 +1,105 @@
+package com.cyberowl.snake.limit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per key, each a single {@code long} updated by compare-and-set.
+ * <p>
+ * A bucket is stored as its theoretical arrival time (GCRA): the instant at which it will be full again.
+ * Taking a token pushes it one emission interval ({@code 1 / rate}) later, and is refused while it lies
+ * more than {@code (burst - 1)} intervals ahead. This is exactly a token bucket of {@code burst} tokens
+ * refilled at {@code rate}, with no separate token count nor refill timestamp to keep consistent.
+ * <p>
+ * A bucket whose arrival time has passed is full, so dropping it changes nothing: once the table holds
+ * {@code maxEntries} keys such idle buckets are swept. If every bucket is busy, new keys are let through
+ * untracked rather than growing the table without bound.
+ */
+@Slf4j
+public final class RateLimiter {
+    public static final long ALLOWED = 0;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public RateLimiter(double permitsPerSecond, int burst, int maxEntries) {
+        this(permitsPerSecond, burst, maxEntries, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, int maxEntries, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1 || maxEntries < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Rate, burst and max entries must be positive. Provided rate = %s, burst = %d, max entries = %d",
+                    permitsPerSecond, burst, maxEntries));
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return {@link #ALLOWED} if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = bucket(key);
+        if (bucket == null) {
+            return ALLOWED;
+        }
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long arrival = bucket.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long wait = start - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, start + intervalNanos)) {
+                return ALLOWED;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // Null when the table is full of busy buckets
+    private AtomicLong bucket(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxEntries) {
+            sweep();
+            if (buckets.size() >= maxEntries) {
+                log.debug("Rate limit table full, {} not tracked", key);
+                return null;
+            }
+        }
+        // A new bucket is full: its arrival time is already in the past
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(nanoClock.getAsLong() - 1));
+    }
+
+    // One sweeping thread at a time, the others go on without waiting for it
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = nanoClock.getAsLong();
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
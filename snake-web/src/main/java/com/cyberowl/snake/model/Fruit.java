@@ -0,0 +1,29 @@
+package com.cyberowl.snake.model;
+
+import com.cyberowl.snake.util.ValidCoordinate;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.ToString;
+
+@ToString
+public class Fruit implements Position {
+    @ValidCoordinate
+    private Coordinate coordinate;
+
+    private Fruit(@ValidCoordinate @JsonProperty("coordinate") Coordinate coordinate) {
+        this.coordinate = coordinate;
+    }
+
+    @Override
+    public Coordinate getCoordinate() {
+        return coordinate;
+    }
+
+    @Override
+    public void updateCoordinate(Coordinate coordinate) {
+        this.coordinate = coordinate;
+    }
+
+    public static Fruit generateFixedPosition(int x, int y) {
+        return new Fruit(new Coordinate(x, y));
+    }
+}
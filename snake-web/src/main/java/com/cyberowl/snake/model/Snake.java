@@ -2,9 +2,14 @@ package com.cyberowl.snake.model;
 
 import com.cyberowl.snake.util.ValidCoordinate;
 import com.cyberowl.snake.util.ValidVelocity;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
 import lombok.ToString;
 
+import java.util.List;
+
 @ToString
 public class Snake implements Position, Movement {
     @ValidCoordinate
@@ -13,10 +18,21 @@ public class Snake implements Position, Movement {
     @ValidVelocity
     private Velocity velocity;  // X and Y velocity of the snake (one of -1, 0, 1)
 
+    // Segments behind the head, neck first. Empty for a snake that has not eaten yet
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<@NotNull(message = "Body segment cannot be null") @ValidCoordinate Coordinate> body;
+
+    public Snake(Coordinate coordinate, Velocity velocity) {
+        this(coordinate, velocity, List.of());
+    }
+
+    @JsonCreator
     public Snake(@ValidCoordinate @JsonProperty("coordinate") Coordinate coordinate,
-                 @ValidVelocity @JsonProperty("velocity") Velocity velocity) {
+                 @ValidVelocity @JsonProperty("velocity") Velocity velocity,
+                 @JsonProperty("body") List<Coordinate> body) {
         this.coordinate = coordinate;
         this.velocity = velocity;
+        this.body = body != null ? body : List.of();
     }
 
     @Override
@@ -39,11 +55,12 @@ public class Snake implements Position, Movement {
         this.velocity = velocity;
     }
 
-    public void move(Tick tick) {
-        updateCoordinate(new Coordinate(
-                coordinate.x() + tick.getVelocity().velX(),
-                coordinate.y() + -(tick.getVelocity().velY()) // Invert y velocity: positive y is downward in grid coordinate system
-        ));
-        updateVelocity(tick.getVelocity());
+    @JsonProperty("body")
+    public List<Coordinate> getBody() {
+        return body;
+    }
+
+    public void updateBody(List<Coordinate> body) {
+        this.body = body;
     }
 }
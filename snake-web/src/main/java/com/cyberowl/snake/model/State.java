@@ -1,5 +1,6 @@
 package com.cyberowl.snake.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
@@ -13,7 +14,7 @@ import lombok.ToString;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @ToString
 public class State {
     @JsonProperty("gameId")
@@ -41,4 +42,9 @@ public class State {
     @NotNull(message = "Snake cannot be null")
     @Valid
     private Snake snake;
+
+    // Server-side version of a game created by /new, to send back unchanged with the next validation
+    @JsonProperty("version")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
 }
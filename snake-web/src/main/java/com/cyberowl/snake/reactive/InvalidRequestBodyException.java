@@ -0,0 +1,22 @@
+package com.cyberowl.snake.reactive;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+
+import java.util.Map;
+
+/**
+ * Request body rejected while it was being decoded, with the same field to message details as a failed
+ * {@code @Valid} binding on the servlet stack
+ */
+public class InvalidRequestBodyException extends RuntimeException {
+    private final Map<String, String> errors;
+
+    public InvalidRequestBodyException(Map<String, String> errors) {
+        super(SnakeConstants.VALIDATION_ERROR);
+        this.errors = errors;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,138 @@
+package com.cyberowl.snake.reactive;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.exception.*;
+import com.cyberowl.snake.util.CorrelationIdUtil;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link GlobalExceptionHandler} of the reactive stack: same statuses, error codes and response body
+ */
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(InvalidRequestBodyException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestBody(InvalidRequestBodyException ex, ServerHttpRequest request) {
+        return createErrorResponseEntity(HttpStatus.BAD_REQUEST, SnakeConstants.VALIDATION_ERROR_CD, ex, request,
+                SnakeConstants.VALIDATION_ERROR, ex.getErrors());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleBindException(WebExchangeBindException ex, ServerHttpRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error ->
+                errors.put(((FieldError) error).getField(), error.getDefaultMessage()));
+        return createErrorResponseEntity(HttpStatus.BAD_REQUEST, SnakeConstants.VALIDATION_ERROR_CD, ex, request,
+                SnakeConstants.VALIDATION_ERROR, errors);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException ex, ServerHttpRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return createErrorResponseEntity(HttpStatus.BAD_REQUEST, SnakeConstants.VALIDATION_ERROR_CD, ex, request,
+                SnakeConstants.VALIDATION_ERROR, errors);
+    }
+
+    // Missing or mistyped parameters and unreadable bodies
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInputException(Exception ex, ServerHttpRequest request) {
+        return createErrorResponseEntity(HttpStatus.BAD_REQUEST, SnakeConstants.VALIDATION_ERROR_CD, ex, request,
+                SnakeConstants.VALIDATION_ERROR, null);
+    }
+
+    @ExceptionHandler(FruitNotReachedException.class)
+    public ResponseEntity<ErrorResponse> handleFruitNotReachedException(FruitNotReachedException ex, ServerHttpRequest request) {
+        return createErrorResponseEntity(HttpStatus.NOT_FOUND, SnakeConstants.FRUIT_NOT_REACHED_CD, ex, request);
+    }
+
+    @ExceptionHandler(InvalidStateException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidStateException(InvalidStateException ex, ServerHttpRequest request) {
+        return createErrorResponseEntity(HttpStatus.BAD_REQUEST, SnakeConstants.INVALID_STATE_CD, ex, request);
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflictException(VersionConflictException ex, ServerHttpRequest request) {
+        return createErrorResponseEntity(HttpStatus.CONFLICT, SnakeConstants.VERSION_CONFLICT_CD, ex, request);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex, ServerHttpRequest request) {
+        ResponseEntity<ErrorResponse> response = createErrorResponseEntity(HttpStatus.SERVICE_UNAVAILABLE,
+                SnakeConstants.SERVICE_UNAVAILABLE_CD, ex, request);
+        if (ex.getRetryAfter() == null) {
+            return response;
+        }
+        long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(MethodNotAllowedException.class)
+    public ResponseEntity<ErrorResponse> handleMethodNotAllowed(MethodNotAllowedException ex, ServerHttpRequest request) {
+        return createErrorResponseEntity(HttpStatus.METHOD_NOT_ALLOWED, SnakeConstants.METHOD_NOT_ALLOWED_CD, ex, request,
+                SnakeConstants.METHOD_NOT_ALLOWED, null);
+    }
+
+    @ExceptionHandler(GameOverException.class)
+    public ResponseEntity<ErrorResponse> handleGameOverException(GameOverException ex, ServerHttpRequest request) {
+        return createErrorResponseEntity(HttpStatus.I_AM_A_TEAPOT, SnakeConstants.GAME_OVER_CD, ex, request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, ServerHttpRequest request) {
+        return createErrorResponseEntity(HttpStatus.INTERNAL_SERVER_ERROR, SnakeConstants.INTERNAL_SERVER_ERROR_CD, ex, request,
+                SnakeConstants.INTERNAL_SERVER_ERROR, null);
+    }
+
+    private ResponseEntity<ErrorResponse> createErrorResponseEntity(HttpStatus status, String errorCode, Exception ex, ServerHttpRequest request) {
+        return createErrorResponseEntity(status, errorCode, ex, request, ex.getMessage(), null);
+    }
+
+    private ResponseEntity<ErrorResponse> createErrorResponseEntity(HttpStatus status, String errorCode, Exception ex, ServerHttpRequest request,
+                                                                    String clientMessage, Map<String, String> details) {
+        String correlationId = CorrelationIdUtil.getOrGenerateCorrelationId(
+                request.getHeaders().getFirst(SnakeConstants.CORRELATION_ID_HEADER)
+        );
+
+        if (status.is4xxClientError()) {
+            log.warn("CorrelationID: {} | Status: {} | ErrorCode: {} | Exception: {}", correlationId, status, errorCode, ex.getMessage());
+        } else {
+            log.error("CorrelationID: {} | Status: {} | ErrorCode: {} | Exception: {}", correlationId, status, errorCode, ex.getMessage(), ex);
+        }
+
+        ErrorResponse errorResponse = new ErrorResponse(correlationId,
+                status.value(),
+                errorCode,
+                clientMessage,
+                request.getPath().value(),
+                Instant.now(),
+                details
+        );
+
+        return ResponseEntity.status(status)
+                .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId)
+                .body(errorResponse);
+    }
+}
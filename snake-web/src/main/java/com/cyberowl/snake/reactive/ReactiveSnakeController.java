@@ -0,0 +1,145 @@
+package com.cyberowl.snake.reactive;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.dto.NewGameResponse;
+import com.cyberowl.snake.dto.SolveResponse;
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.service.SnakeService;
+import com.cyberowl.snake.util.CorrelationIdUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The {@code /api/v1/snake} endpoints on WebFlux, served instead of {@code SnakeController} when the
+ * application runs as a reactive web application (the {@code reactive} profile).
+ * <p>
+ * {@code /validate} decodes its body as it arrives and applies each tick as soon as it is parsed, so a long
+ * replay never holds a whole request body. The replay runs on the bounded elastic scheduler, one worker per
+ * request, so it never holds the event loop either. {@code /solve} can search large grids and runs on the
+ * parallel scheduler.
+ */
+@RestController
+@RequestMapping("/api/v1/snake")
+@Validated
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Snake Game", description = "APIs for managing Snake game")
+@Slf4j
+public class ReactiveSnakeController {
+
+    private final SnakeService snakeService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Operation(summary = "Start a new game", description = "Creates a new Snake game with specified width and height")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Game created successfully",
+                    content = @Content(schema = @Schema(implementation = NewGameResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request."),
+    })
+    @GetMapping(value = "/new", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<NewGameResponse> newGame(
+            @Parameter(description = "Width of the game board", example = "10")
+            @RequestParam("w") @Min(value = 1, message = "Width must be at least 1") int width,
+            @Parameter(description = "Height of the game board", example = "15")
+            @RequestParam("h") @Min(value = 1, message = "Height must be at least 1") int height,
+            @RequestHeader(value = SnakeConstants.CORRELATION_ID_HEADER, required = false) String correlationId) {
+
+        String requestId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
+        log.info("Creating new game. Width: {}, Height: {}. Request ID: {}", width, height, requestId);
+        NewGameResponse response = snakeService.newGame(width, height);
+        log.info("New game created successfully. Request ID: {}", requestId);
+        return ResponseEntity.ok()
+                .header(SnakeConstants.CORRELATION_ID_HEADER, requestId)
+                .body(response);
+    }
+
+    @Operation(summary = "Validate move", description = "Validates a move in the Snake game, replaying ticks as the body streams in")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Valid state & ticks.",
+                    content = @Content(schema = @Schema(implementation = ValidateMoveResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request, or server-side game expired or sent without its version."),
+            @ApiResponse(responseCode = "404", description = "Fruit not found, the ticks do not lead the snake to the fruit position."),
+            @ApiResponse(responseCode = "409", description = "Stale version of a game held server-side."),
+            @ApiResponse(responseCode = "418", description = "Game is over, snake went out of bounds or made an invalid move."),
+    })
+    @PostMapping(value = "/validate", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ValidateMoveResponse>> validateMove(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestHeader(value = SnakeConstants.CORRELATION_ID_HEADER, required = false) String correlationId) {
+
+        String requestId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
+        return Mono.defer(() -> {
+            log.info("Validating streamed move. Request ID: {}", requestId);
+            ValidateMoveStreamDecoder decoder = new ValidateMoveStreamDecoder(objectMapper, validator, snakeService);
+            // One worker per request keeps the ticks in order and the replay off the event loop
+            return body.publishOn(Schedulers.boundedElastic())
+                    .concatMap(buffer -> {
+                        try {
+                            decoder.feed(buffer);
+                            return Mono.empty();
+                        } catch (Exception e) {
+                            return Mono.error(e);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    // Buffers still queued for the worker when the replay fails
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then(Mono.fromCallable(decoder::complete))
+                    .map(response -> {
+                        log.info("Move validated successfully. Request ID: {}", requestId);
+                        return ResponseEntity.ok()
+                                .header(SnakeConstants.CORRELATION_ID_HEADER, requestId)
+                                .body(response);
+                    });
+        });
+    }
+
+    @Operation(summary = "Solve", description = "Returns a shortest legal tick sequence leading the snake to the fruit")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Path found, the response can be posted to /validate.",
+                    content = @Content(schema = @Schema(implementation = SolveResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request."),
+            @ApiResponse(responseCode = "404", description = "No legal path leads the snake to the fruit."),
+            @ApiResponse(responseCode = "418", description = "Game is over, the snake is out of bounds."),
+    })
+    @PostMapping(value = "/solve", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<SolveResponse>> solve(
+            @Valid @RequestBody State state,
+            @RequestHeader(value = SnakeConstants.CORRELATION_ID_HEADER, required = false) String correlationId) {
+
+        String requestId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
+        log.info("Solving path to fruit. State: {}. Request ID: {}", state, requestId);
+        return Mono.fromCallable(() -> snakeService.solve(state))
+                .subscribeOn(Schedulers.parallel())
+                .map(response -> {
+                    log.info("Path solved successfully. Request ID: {}", requestId);
+                    return ResponseEntity.ok()
+                            .header(SnakeConstants.CORRELATION_ID_HEADER, requestId)
+                            .body(response);
+                });
+    }
+}
@@ -0,0 +1,245 @@
+package com.cyberowl.snake.reactive;
+
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.service.MoveValidation;
+import com.cyberowl.snake.service.SnakeService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incremental decoder of a {@code /validate} request body, applying ticks to the game as their bytes arrive.
+ * <p>
+ * Buffers are fed to Jackson's non-blocking parser, each top-level value is collected token by token and
+ * bound once complete. Ticks read before {@code state} are held until it arrives, a {@code continuous} flag
+ * may come anywhere since {@link MoveValidation} applies ticks up to the first fruit in either mode. One
+ * decoder per request, not thread-safe.
+ */
+class ValidateMoveStreamDecoder {
+    private static final String STATE = "state";
+    private static final String TICKS = "ticks";
+    private static final String CONTINUOUS = "continuous";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final SnakeService snakeService;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    private final List<Tick> heldTicks = new ArrayList<>();
+    private MoveValidation validation;
+    private Boolean continuous;
+    private String field;
+    private boolean inTicks;
+    private boolean ended;
+    private int tickCount;
+    private int depth;
+    private TokenBuffer value;
+
+    ValidateMoveStreamDecoder(ObjectMapper objectMapper, Validator validator, SnakeService snakeService) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.snakeService = snakeService;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Parses every complete token of the buffer, which may be released once this returns
+     */
+    void feed(DataBuffer buffer) throws IOException {
+        try (DataBuffer.ByteBufferIterator buffers = buffer.readableByteBuffers()) {
+            while (buffers.hasNext()) {
+                feed(buffers.next());
+            }
+        }
+    }
+
+    void feed(ByteBuffer bytes) throws IOException {
+        feeder.feedInput(bytes);
+        parseAvailable();
+    }
+
+    /**
+     * @throws InvalidRequestBodyException if the body is incomplete or lacks the state or ticks
+     */
+    ValidateMoveResponse complete() throws IOException {
+        feeder.endOfInput();
+        parseAvailable();
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (!ended) {
+            errors.put("body", "Request body is not a complete JSON object");
+        }
+        if (validation == null) {
+            errors.put(STATE, "State cannot be null");
+        }
+        if (tickCount == 0) {
+            errors.put(TICKS, "Ticks cannot be empty");
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidRequestBodyException(errors);
+        }
+        return validation.complete();
+    }
+
+    // Malformed JSON and values of the wrong type are reported like any other invalid body
+    private void parseAvailable() throws IOException {
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                onToken(token);
+            }
+        } catch (JsonProcessingException e) {
+            throw invalid("body", e.getOriginalMessage());
+        }
+    }
+
+    private void onToken(JsonToken token) throws IOException {
+        if (value != null) {
+            collect(token);
+            return;
+        }
+        if (inTicks) {
+            if (token == JsonToken.END_ARRAY) {
+                inTicks = false;
+            } else {
+                startValue(token);
+            }
+            return;
+        }
+        switch (token) {
+            case START_OBJECT -> {
+                if (depth == 0 && !ended) {
+                    depth = 1;
+                } else {
+                    startValue(token);
+                }
+            }
+            case END_OBJECT -> ended = --depth == 0;
+            case FIELD_NAME -> field = parser.currentName();
+            case START_ARRAY -> {
+                if (TICKS.equals(field)) {
+                    inTicks = true;
+                } else {
+                    startValue(token);
+                }
+            }
+            case VALUE_TRUE, VALUE_FALSE -> {
+                if (CONTINUOUS.equals(field)) {
+                    continuous(token == JsonToken.VALUE_TRUE);
+                }
+            }
+            default -> startValue(token);
+        }
+    }
+
+    private void startValue(JsonToken token) throws IOException {
+        if (depth != 1 || ended) {
+            throw invalid("body", "Request body must be a JSON object");
+        }
+        value = new TokenBuffer(parser);
+        collect(token);
+    }
+
+    // Copies the token into the current value, binding the value once its last token is in
+    private void collect(JsonToken token) throws IOException {
+        value.copyCurrentEvent(parser);
+        if (token.isStructStart()) {
+            depth++;
+        } else if (token.isStructEnd()) {
+            depth--;
+        }
+        if (depth == 1) {
+            TokenBuffer complete = value;
+            value = null;
+            bind(complete);
+        }
+    }
+
+    private void bind(TokenBuffer buffer) throws IOException {
+        if (inTicks) {
+            Tick tick = read(buffer, Tick.class);
+            String path = TICKS + "[" + tickCount++ + "]";
+            if (tick == null) {
+                throw invalid(path, "Tick cannot be null");
+            }
+            check(path, tick);
+            if (validation == null) {
+                heldTicks.add(tick);
+            } else {
+                validation.accept(tick);
+            }
+        } else if (STATE.equals(field)) {
+            State state = read(buffer, State.class);
+            if (state == null) {
+                throw invalid(STATE, "State cannot be null");
+            }
+            check(STATE, state);
+            start(state);
+        }
+    }
+
+    private void start(State state) {
+        if (validation != null) {
+            throw invalid(STATE, "State must only be given once");
+        }
+        validation = snakeService.startValidation(state);
+        if (continuous != null) {
+            validation.continuous(continuous);
+        }
+        for (Tick tick : heldTicks) {
+            validation.accept(tick);
+        }
+        heldTicks.clear();
+    }
+
+    private void continuous(boolean flag) {
+        continuous = flag;
+        if (validation != null) {
+            validation.continuous(flag);
+        }
+    }
+
+    private <T> T read(TokenBuffer buffer, Class<T> type) throws IOException {
+        try (JsonParser valueParser = buffer.asParser(objectMapper)) {
+            return objectMapper.readValue(valueParser, type);
+        }
+    }
+
+    private <T> void check(String path, T target) {
+        Set<ConstraintViolation<T>> violations = validator.validate(target);
+        if (!violations.isEmpty()) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            for (ConstraintViolation<T> violation : violations) {
+                String property = violation.getPropertyPath().toString();
+                errors.put(property.isEmpty() ? path : path + "." + property, violation.getMessage());
+            }
+            throw new InvalidRequestBodyException(errors);
+        }
+    }
+
+    private static InvalidRequestBodyException invalid(String field, String message) {
+        return new InvalidRequestBodyException(Map.of(field, message));
+    }
+}
@@ -0,0 +1,28 @@
+package com.cyberowl.snake.service;
+
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.model.Tick;
+
+/**
+ * A move validation fed one tick at a time, so a caller can apply ticks as it reads them.
+ * <p>
+ * Ticks are applied up to the first fruit whatever the mode, later ones only once the validation is known
+ * to be continuous. The mode can therefore be set at any point before {@link #complete()}, ticks held back
+ * are applied when it switches to continuous. Instances are not thread-safe.
+ */
+public interface MoveValidation {
+    /**
+     * @throws com.cyberowl.snake.exception.GameOverException if the tick ends the game
+     */
+    void accept(Tick tick);
+
+    /**
+     * Keep replaying after each fruit instead of stopping at the first one, false unless set
+     */
+    void continuous(boolean continuous);
+
+    /**
+     * @throws com.cyberowl.snake.exception.FruitNotReachedException if no fruit was eaten
+     */
+    ValidateMoveResponse complete();
+}
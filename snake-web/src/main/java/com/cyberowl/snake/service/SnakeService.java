@@ -0,0 +1,50 @@
+package com.cyberowl.snake.service;
+
+import com.cyberowl.snake.dto.NewGameResponse;
+import com.cyberowl.snake.dto.SolveResponse;
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.model.State;
+
+public interface SnakeService {
+    /**
+     * Starts a game held server-side, see {@link #newGame(int, int, boolean)}
+     */
+    default NewGameResponse newGame(int width, int height) {
+        return newGame(width, height, true);
+    }
+
+    /**
+     * @param serverSide hold the game in the game store: validations must then send back the version of the
+     *                   last response, and are replayed from the stored state rather than the one sent. Once the
+     *                   game is no longer held its validations are rejected; a full store starts a stateless game
+     */
+    NewGameResponse newGame(int width, int height, boolean serverSide);
+
+    /**
+     * Validates from a state sent by the client, see {@link #validateMove(ValidateMoveRequest, boolean)}
+     */
+    default ValidateMoveResponse validateMove(ValidateMoveRequest validateMoveRequest) {
+        return validateMove(validateMoveRequest, false);
+    }
+
+    /**
+     * @param trusted the state comes from the server itself (a signed token, a journal): the fruit and score of
+     *                a game not held by the store are then taken as they are instead of checked
+     */
+    ValidateMoveResponse validateMove(ValidateMoveRequest validateMoveRequest, boolean trusted);
+
+    /**
+     * Starts a validation from a state sent by the client, see {@link #startValidation(State, boolean)}
+     */
+    default MoveValidation startValidation(State state) {
+        return startValidation(state, false);
+    }
+
+    /**
+     * Starts a validation from the state, ticks are then fed one by one to the returned validation
+     */
+    MoveValidation startValidation(State state, boolean trusted);
+
+    SolveResponse solve(State state);
+}
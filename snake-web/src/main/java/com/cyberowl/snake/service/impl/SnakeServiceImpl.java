@@ -0,0 +1,372 @@
+package com.cyberowl.snake.service.impl;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.dto.NewGameResponse;
+import com.cyberowl.snake.dto.SolveResponse;
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.engine.GameReplay;
+import com.cyberowl.snake.engine.PackedCoordinate;
+import com.cyberowl.snake.engine.PathSolver;
+import com.cyberowl.snake.engine.SnakeEnvironment;
+import com.cyberowl.snake.engine.SnakeGame;
+import com.cyberowl.snake.engine.SnakeRules;
+import com.cyberowl.snake.exception.FruitNotReachedException;
+import com.cyberowl.snake.exception.GameOverException;
+import com.cyberowl.snake.exception.InvalidStateException;
+import com.cyberowl.snake.exception.VersionConflictException;
+import com.cyberowl.snake.jfr.ReplayEvent;
+import com.cyberowl.snake.latency.RequestTimings;
+import com.cyberowl.snake.model.*;
+import com.cyberowl.snake.service.MoveValidation;
+import com.cyberowl.snake.service.SnakeService;
+import com.cyberowl.snake.spectator.StateChangedEvent;
+import com.cyberowl.snake.store.GameStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SnakeServiceImpl implements SnakeService {
+    // Low 32 bits of the ids of games issued server-side
+    private static final long SERVER_SIDE_TAG = 0xFFFFFFFFL;
+
+    private final FruitSequence fruitSequence;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameStore gameStore;
+    // A search on the largest grids takes tens of MB, only solvers that stayed small are kept for reuse
+    private final BlockingQueue<PathSolver> pathSolvers = new ArrayBlockingQueue<>(SnakeConstants.SOLVER_POOL_SIZE);
+
+    @Override
+    public NewGameResponse newGame(int width, int height, boolean serverSide) {
+        log.info("Starting new game with width: {} and height: {}", width, height);
+        if (serverSide) {
+            State state = newState(serverSideId(), width, height);
+            if (gameStore.create(state)) {
+                return new NewGameResponse(state);
+            }
+        }
+        // Also the fallback of a full store, its id must not claim a game the store never held
+        return new NewGameResponse(newState(statelessId(), width, height));
+    }
+
+    @Override
+    public ValidateMoveResponse validateMove(ValidateMoveRequest validateMoveRequest, boolean trusted) {
+        MoveValidation validation = startValidation(validateMoveRequest.getState(), trusted);
+        validation.continuous(validateMoveRequest.isContinuous());
+        for (Tick tick : validateMoveRequest.getTicks()) {
+            validation.accept(tick);
+        }
+        return validation.complete();
+    }
+
+    @Override
+    public MoveValidation startValidation(State state, boolean trusted) {
+        State stored = gameStore.load(state.getGameId());
+        if (stored == null) {
+            // A server-side game no longer held would otherwise replay whatever state the client sends
+            if (!trusted && isServerSideId(state.getGameId())) {
+                log.info("Game {} issued server-side is unknown or expired.", state.getGameId());
+                throw new InvalidStateException(SnakeConstants.GAME_EXPIRED);
+            }
+            SnakeGame game = loadGame(state);
+            if (!trusted) {
+                verifyFruit(state, game);
+            }
+            return new Validation(state, game, null);
+        }
+        if (state.getVersion() == null) {
+            log.info("Missing version of game {}, latest is {}.", state.getGameId(), stored.getVersion());
+            throw new InvalidStateException(SnakeConstants.MISSING_VERSION);
+        }
+        // Fails fast on a stale version, the commit catches the races started from the same one
+        if (!stored.getVersion().equals(state.getVersion())) {
+            log.info("Stale version {} of game {}, latest is {}.", state.getVersion(), state.getGameId(), stored.getVersion());
+            throw new VersionConflictException(SnakeConstants.VERSION_CONFLICT);
+        }
+        return new Validation(stored, loadGame(stored), stored.getVersion());
+    }
+
+    @Override
+    public SolveResponse solve(State state) {
+        SnakeGame game = loadGame(state);
+        PathSolver pooled = pathSolvers.poll();
+        PathSolver solver = pooled != null ? pooled : new PathSolver();
+        try {
+            return solve(state, game, solver);
+        } finally {
+            if (solver.bufferBytes() <= SnakeConstants.POOLED_SOLVER_MAX_BYTES) {
+                pathSolvers.offer(solver);
+            }
+        }
+    }
+
+    private SolveResponse solve(State state, SnakeGame game, PathSolver solver) {
+        int length = solver.solve(game);
+        if (length == PathSolver.SEARCH_LIMIT_EXCEEDED) {
+            log.warn("Path search skipped, grid of {}x{} exceeds the search limit.", state.getWidth(), state.getHeight());
+            throw new FruitNotReachedException(SnakeConstants.SOLVER_SEARCH_LIMIT);
+        }
+        if (length < 0) {
+            log.info("No path to the fruit.");
+            throw new FruitNotReachedException(SnakeConstants.NO_PATH_TO_FRUIT);
+        }
+
+        // Replay the path so only ticks /validate accepts are returned
+        List<Tick> ticks = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            int velX = SnakeEnvironment.actionVelX(solver.move(i));
+            int velY = SnakeEnvironment.actionVelY(solver.move(i));
+            int outcome = game.step(velX, velY);
+            if (outcome < 0 || (outcome == SnakeGame.ATE_FRUIT) != (i == length - 1)) {
+                log.warn("Solved path rejected at tick {} with outcome {}.", i, outcome);
+                throw new FruitNotReachedException(SnakeConstants.NO_PATH_TO_FRUIT);
+            }
+            ticks.add(new Tick(new Velocity(velX, velY)));
+        }
+        log.info("Path to the fruit found in {} ticks.", length);
+        return new SolveResponse(state, ticks);
+    }
+
+    private State newState(String gameId, int width, int height) {
+        return State.builder()
+                .gameId(gameId)
+                .width(width)
+                .height(height)
+                .score(SnakeConstants.INITIAL_SCORE)
+                .fruit(fruitAt(fruitSequence.gameSeed(gameId), 0, width, height, 1))
+                .snake(new Snake(SnakeConstants.INITIAL_SNAKE_POSITION, SnakeConstants.INITIAL_SNAKE_VELOCITY))
+                .build();
+    }
+
+    // A random UUID whose low bits are a keyed tag of the rest, so only this server's secret can mint one
+    private String serverSideId() {
+        UUID random = UUID.randomUUID();
+        long untagged = random.getLeastSignificantBits() & ~SERVER_SIDE_TAG;
+        return new UUID(random.getMostSignificantBits(), untagged | serverSideTag(random.getMostSignificantBits(), untagged))
+                .toString();
+    }
+
+    // Redrawn in the rare case it carries the tag by chance
+    private String statelessId() {
+        String gameId;
+        do {
+            gameId = UUID.randomUUID().toString();
+        } while (isServerSideId(gameId));
+        return gameId;
+    }
+
+    private boolean isServerSideId(String gameId) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(gameId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        long bits = uuid.getLeastSignificantBits();
+        return uuid.toString().equals(gameId)
+                && (bits & SERVER_SIDE_TAG) == serverSideTag(uuid.getMostSignificantBits(), bits & ~SERVER_SIDE_TAG);
+    }
+
+    private long serverSideTag(long mostSignificantBits, long untaggedBits) {
+        return fruitSequence.gameSeed(new UUID(mostSignificantBits, untaggedBits).toString()) & SERVER_SIDE_TAG;
+    }
+
+    private SnakeGame loadGame(State state) {
+        Snake snake = state.getSnake();
+        Coordinate head = snake.getCoordinate();
+        if (SnakeRules.isOutOfBounds(state.getWidth(), state.getHeight(), head.x(), head.y())) {
+            log.warn(SnakeConstants.OUT_OF_BOUNDS);
+            throw new GameOverException(SnakeConstants.GAME_OVER);
+        }
+
+        SnakeGame game = SnakeGame.create(state.getWidth(), state.getHeight(), snake.getBody().size() + 1);
+        game.reset(head.x(), head.y(), snake.getVelocity().velX(), snake.getVelocity().velY());
+        for (Coordinate segment : snake.getBody()) {
+            if (!game.appendTail(segment.x(), segment.y())) {
+                throw new InvalidStateException(SnakeConstants.INVALID_SNAKE_BODY);
+            }
+        }
+        game.setFruit(state.getFruit().getCoordinate().x(), state.getFruit().getCoordinate().y());
+        return game;
+    }
+
+    // Score and fruit of a game not held by the store come from the client: fruit N must be the one the
+    // sequence draws for the snake sent, so neither can be picked. A continuous validation may leave the snake
+    // off the cells it covered when its last fruit was drawn, such a state is resumed from a held game or a token
+    private void verifyFruit(State state, SnakeGame game) {
+        int score = state.getScore();
+        if (score < SnakeConstants.INITIAL_SCORE || score % SnakeConstants.POINTS_PER_FRUIT != 0) {
+            log.warn("Score {} of game {} is not a number of fruits.", score, state.getGameId());
+            throw new InvalidStateException(SnakeConstants.FRUIT_MISMATCH);
+        }
+        int fruitIndex = score / SnakeConstants.POINTS_PER_FRUIT;
+        long gameSeed = fruitSequence.gameSeed(state.getGameId());
+        int x;
+        int y;
+        if (fruitIndex == 0) {
+            long fruit = fruitSequence.fruitAt(gameSeed, 0, state.getWidth(), state.getHeight(), 1);
+            x = PackedCoordinate.x(fruit);
+            y = PackedCoordinate.y(fruit);
+        } else if (game.placeFruit(fruitSequence.random(gameSeed, fruitIndex))) {
+            x = game.fruitX();
+            y = game.fruitY();
+        } else {
+            // The snake covers the whole grid, its fruit was left in place
+            return;
+        }
+        Coordinate fruit = state.getFruit().getCoordinate();
+        if (fruit.x() != x || fruit.y() != y) {
+            log.warn("Fruit {} of game {} is not fruit {} of its sequence.", fruit, state.getGameId(), fruitIndex);
+            throw new InvalidStateException(SnakeConstants.FRUIT_MISMATCH);
+        }
+    }
+
+    private void storeSnake(State state, SnakeGame game) {
+        Snake snake = state.getSnake();
+        snake.updateCoordinate(new Coordinate(game.headX(), game.headY()));
+        snake.updateVelocity(new Velocity(game.velX(), game.velY()));
+        List<Coordinate> body = new ArrayList<>(game.length() - 1);
+        for (int i = 1; i < game.length(); i++) {
+            body.add(new Coordinate(game.segmentX(i), game.segmentY(i)));
+        }
+        snake.updateBody(body);
+    }
+
+    private String gameOverReason(int outcome) {
+        return switch (outcome) {
+            case SnakeGame.REVERSE_DIRECTION -> SnakeConstants.REVERSE_DIRECTION;
+            case SnakeGame.OUT_OF_BOUNDS -> SnakeConstants.OUT_OF_BOUNDS;
+            default -> SnakeConstants.SELF_COLLISION;
+        };
+    }
+
+    // The replay already placed the next fruit, unless the snake covers the whole grid
+    private void updateGameState(State state, GameReplay replay) {
+        state.setScore(state.getScore() + SnakeConstants.POINTS_PER_FRUIT);
+        if (replay.gridFilled()) {
+            log.info("Snake covers the whole grid, no cell left for a fruit.");
+            return;
+        }
+        SnakeGame game = replay.game();
+        state.setFruit(Fruit.generateFixedPosition(game.fruitX(), game.fruitY()));
+    }
+
+    // Snake and fruit objects are replaced, never updated, by a validation, so sharing the rest is enough
+    private static State copyOf(State state) {
+        Snake snake = state.getSnake();
+        return state.toBuilder().snake(new Snake(snake.getCoordinate(), snake.getVelocity(), snake.getBody())).build();
+    }
+
+    private final class Validation implements MoveValidation {
+        private final State before;
+        private final State state;
+        private final GameReplay replay;
+        private final Long version;
+        private final RequestTimings timings;
+        private final long startNanos;
+        private final ReplayEvent event;
+        private final List<Tick> ticks = new ArrayList<>();
+        private final List<Integer> fruitTicks = new ArrayList<>();
+        private final List<Coordinate> fruits = new ArrayList<>();
+        private boolean continuous;
+        private int applied;
+
+        // Null version for a game not held by the store
+        private Validation(State state, SnakeGame game, Long version) {
+            this.before = copyOf(state);
+            this.state = state;
+            this.replay = new GameReplay(game, fruitSequence, state.getGameId(), state.getScore() / SnakeConstants.POINTS_PER_FRUIT);
+            this.version = version;
+            this.timings = RequestTimings.current();
+            this.startNanos = System.nanoTime();
+            this.event = ReplayEvent.start(state.getGameId());
+        }
+
+        @Override
+        public void accept(Tick tick) {
+            ticks.add(tick);
+            if (continuous || fruitTicks.isEmpty()) {
+                applyPending();
+            }
+        }
+
+        @Override
+        public void continuous(boolean continuous) {
+            this.continuous = continuous;
+            if (continuous) {
+                applyPending();
+            }
+        }
+
+        @Override
+        public ValidateMoveResponse complete() {
+            if (fruitTicks.isEmpty()) {
+                log.info("All ticks processed. Fruit not reached.");
+                recorded(SnakeConstants.FRUIT_NOT_REACHED_CD);
+                throw new FruitNotReachedException(SnakeConstants.FRUIT_NOT_REACHED);
+            }
+
+            storeSnake(state, replay.game());
+            if (version != null && !gameStore.commit(state, version)) {
+                log.info("Validation of game {} lost the commit of version {}.", state.getGameId(), version + 1);
+                recorded(SnakeConstants.VERSION_CONFLICT_CD);
+                throw new VersionConflictException(SnakeConstants.VERSION_CONFLICT);
+            }
+            eventPublisher.publishEvent(new StateChangedEvent(before, state, ticks.subList(0, applied), fruits));
+            recorded(ReplayEvent.VALID);
+            if (!continuous) {
+                log.info("Fruit reached. Updated game state.");
+                return new ValidateMoveResponse(state, ticks);
+            }
+            log.info("All ticks processed. Fruits reached: {}.", fruitTicks.size());
+            return new ValidateMoveResponse(state, ticks, fruitTicks.size() * SnakeConstants.POINTS_PER_FRUIT, fruitTicks);
+        }
+
+        // Null timings off a timed request and null event unless a recording is on,
+        // the ticks processed include the one that ended the game
+        private void recorded(String outcome) {
+            if (timings != null) {
+                timings.replayed(startNanos, System.nanoTime(), applied);
+            }
+            if (event != null) {
+                event.finish(outcome, ticks.size(), applied, fruitTicks.size());
+            }
+        }
+
+        // Without continuous mode the ticks after the first fruit are only kept for the response
+        private void applyPending() {
+            while (applied < ticks.size() && (continuous || fruitTicks.isEmpty())) {
+                int i = applied++;
+                Velocity velocity = ticks.get(i).getVelocity();
+                int outcome = replay.step(velocity.velX(), velocity.velY());
+                if (outcome < 0) {
+                    log.warn(gameOverReason(outcome));
+                    log.warn("Invalid move detected at tick {}. Game over.", i);
+                    recorded(SnakeConstants.GAME_OVER_CD);
+                    throw new GameOverException(SnakeConstants.GAME_OVER);
+                }
+                if (outcome == SnakeGame.ATE_FRUIT) {
+                    updateGameState(state, replay);
+                    fruitTicks.add(i);
+                    fruits.add(state.getFruit().getCoordinate());
+                }
+            }
+        }
+    }
+
+    private Fruit fruitAt(long gameSeed, int fruitIndex, int width, int height, int start) {
+        long fruit = fruitSequence.fruitAt(gameSeed, fruitIndex, width, height, start);
+        return Fruit.generateFixedPosition(PackedCoordinate.x(fruit), PackedCoordinate.y(fruit));
+    }
+}
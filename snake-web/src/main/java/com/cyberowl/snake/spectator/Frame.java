@@ -0,0 +1,17 @@
+package com.cyberowl.snake.spectator;
+
+/**
+ * One encoded spectator frame, shared by every subscriber it is sent to
+ *
+ * @param seq   position of the frame in the game's stream, starting at 1
+ * @param event {@link #KEY} for a full state, {@link #DELTA} for changes since the previous frame
+ * @param data  JSON payload
+ */
+public record Frame(long seq, String event, byte[] data) {
+    public static final String KEY = "key";
+    public static final String DELTA = "delta";
+
+    public boolean isKey() {
+        return KEY.equals(event);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cyberowl.snake.spectator;
+
+import com.cyberowl.snake.engine.SnakeEnvironment;
+import com.cyberowl.snake.model.Coordinate;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.model.Velocity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Spectator frame payloads.
+ * <p>
+ * Key frame: {@code {"seq":12,"state":{...}}}, the full state.
+ * <p>
+ * Delta frame: {@code {"seq":13,"moves":"5563","score":4,"fruits":[[3,1]]}}. {@code moves} holds one digit per
+ * tick applied, the {@link SnakeEnvironment} action of its velocity. {@code score} and {@code fruits} are only
+ * present when fruits were eaten, {@code fruits} listing the fruit spawned after each of them in order. A
+ * client replays the moves with the game rules: the snake grows on the tick its head reaches the current
+ * fruit, which is then replaced by the next listed one.
+ */
+@RequiredArgsConstructor
+class FrameEncoder {
+    private final ObjectMapper objectMapper;
+
+    Frame key(long seq, State state) {
+        try {
+            return new Frame(seq, Frame.KEY, objectMapper.writeValueAsBytes(new KeyFrame(seq, state)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode key frame of game " + state.getGameId(), e);
+        }
+    }
+
+    Frame delta(long seq, StateChangedEvent event) {
+        List<Tick> ticks = event.ticks();
+        StringBuilder json = new StringBuilder(32 + ticks.size())
+                .append("{\"seq\":").append(seq)
+                .append(",\"moves\":\"");
+        for (Tick tick : ticks) {
+            Velocity velocity = tick.getVelocity();
+            json.append((char) ('0' + SnakeEnvironment.action(velocity.velX(), velocity.velY())));
+        }
+        json.append('"');
+        List<Coordinate> fruits = event.fruits();
+        if (!fruits.isEmpty()) {
+            json.append(",\"score\":").append(event.state().getScore()).append(",\"fruits\":[");
+            for (int i = 0; i < fruits.size(); i++) {
+                Coordinate fruit = fruits.get(i);
+                json.append(i == 0 ? "[" : ",[").append(fruit.x()).append(',').append(fruit.y()).append(']');
+            }
+            json.append(']');
+        }
+        json.append('}');
+        return new Frame(seq, Frame.DELTA, json.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    record KeyFrame(long seq, State state) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.cyberowl.snake.spectator;
+
+import java.io.IOException;
+
+/**
+ * Connection of one spectator, receiving already encoded frames
+ */
+public interface FrameSink {
+    void send(Frame frame) throws IOException;
+
+    void close();
+}
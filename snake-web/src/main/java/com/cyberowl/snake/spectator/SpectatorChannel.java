@@ -0,0 +1,134 @@
+package com.cyberowl.snake.spectator;
+
+import com.cyberowl.snake.model.State;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Spectators of one game, its frame sequence and latest state.
+ * <p>
+ * State changes are queued by the thread that made them and encoded and fanned out by at most one executor
+ * task at a time, in order. Every {@code keyFrameInterval}-th frame is a key frame, the others are deltas,
+ * only encoded while there are subscribers. The key frame of the latest state is encoded at most once, when
+ * first needed by a late joiner or a subscriber resynchronising.
+ */
+class SpectatorChannel {
+    private final FrameEncoder encoder;
+    private final int keyFrameInterval;
+    private final Executor executor;
+    private final LongSupplier nanoClock;
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<StateChangedEvent> events = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private long seq;  // only touched by the single fan-out task
+    private volatile Snapshot latest;
+    private volatile long lastActiveNanos;
+
+    SpectatorChannel(FrameEncoder encoder, int keyFrameInterval, Executor executor, LongSupplier nanoClock) {
+        this.encoder = encoder;
+        this.keyFrameInterval = keyFrameInterval;
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+        this.lastActiveNanos = nanoClock.getAsLong();
+    }
+
+    void add(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        lastActiveNanos = nanoClock.getAsLong();
+    }
+
+    void remove(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        lastActiveNanos = nanoClock.getAsLong();
+    }
+
+    void publish(StateChangedEvent event) {
+        events.add(event);
+        lastActiveNanos = nanoClock.getAsLong();
+        schedule();
+    }
+
+    /**
+     * @return the key frame of the latest state, null before the first state
+     */
+    Frame keyFrame() {
+        Snapshot snapshot = latest;
+        return snapshot == null ? null : snapshot.keyFrame(encoder);
+    }
+
+    int size() {
+        return subscribers.size();
+    }
+
+    /**
+     * @return true without subscribers nor state change since {@code idleBeforeNanos}
+     */
+    boolean isIdle(long idleBeforeNanos) {
+        return subscribers.isEmpty() && events.isEmpty() && lastActiveNanos - idleBeforeNanos <= 0;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::fanOut);
+            } catch (RejectedExecutionException e) {
+                // Events stay queued, the next state change tries again
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void fanOut() {
+        try {
+            StateChangedEvent event;
+            while ((event = events.poll()) != null) {
+                fanOut(event);
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // An event queued after the last poll but before the flag was cleared would otherwise wait for the next one
+        if (!events.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void fanOut(StateChangedEvent event) {
+        long next = ++seq;
+        Snapshot snapshot = new Snapshot(next, event.state());
+        latest = snapshot;
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Frame frame = (next - 1) % keyFrameInterval == 0 ? snapshot.keyFrame(encoder) : encoder.delta(next, event);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    private static final class Snapshot {
+        private final long seq;
+        private final State state;
+        private volatile Frame keyFrame;
+
+        private Snapshot(long seq, State state) {
+            this.seq = seq;
+            this.state = state;
+        }
+
+        // Concurrent first calls may both encode, either result is the same frame
+        private Frame keyFrame(FrameEncoder encoder) {
+            Frame frame = keyFrame;
+            if (frame == null) {
+                frame = encoder.key(seq, state);
+                keyFrame = frame;
+            }
+            return frame;
+        }
+    }
+}
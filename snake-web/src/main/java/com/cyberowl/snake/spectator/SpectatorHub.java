@@ -0,0 +1,174 @@
+package com.cyberowl.snake.spectator;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Fans state changes out to the spectators of each game.
+ * <p>
+ * A state change is encoded once into a {@link Frame} shared by every subscriber of the game: a compact
+ * delta, or a full key frame every {@code snake.spectator.key-frame-interval} frames and for resyncs (see
+ * {@link FrameEncoder}). The request that changed the state only queues it on the game's channel: encoding
+ * and fan-out run on the spectator executor, where each subscriber then drains its own bounded queue, so a
+ * slow connection never holds up the others nor that request.
+ * <p>
+ * A channel outlives its last spectator until idle for {@code snake.spectator.idle-timeout}: the next one
+ * joining meanwhile gets its latest key frame, and the frame sequence carries on. A background sweep drops
+ * idle channels that often, so one lingers up to twice the timeout.
+ */
+@Slf4j
+@Component
+public class SpectatorHub implements AutoCloseable {
+    private final FrameEncoder encoder;
+    private final Executor executor;
+    private final int keyFrameInterval;
+    private final int queueCapacity;
+    private final int maxDroppedFrames;
+    private final int maxSubscribersPerGame;
+    private final Duration timeout;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, SpectatorChannel> channels = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SpectatorHub(ObjectMapper objectMapper,
+                        @Qualifier("spectatorExecutor") Executor executor,
+                        @Value("${snake.spectator.key-frame-interval:32}") int keyFrameInterval,
+                        @Value("${snake.spectator.queue-capacity:16}") int queueCapacity,
+                        @Value("${snake.spectator.max-dropped-frames:64}") int maxDroppedFrames,
+                        @Value("${snake.spectator.max-subscribers-per-game:10000}") int maxSubscribersPerGame,
+                        @Value("${snake.spectator.timeout:30m}") Duration timeout,
+                        @Value("${snake.spectator.idle-timeout:30m}") Duration idleTimeout) {
+        this(objectMapper, executor, keyFrameInterval, queueCapacity, maxDroppedFrames, maxSubscribersPerGame, timeout,
+                idleTimeout, System::nanoTime, idleTimeout);
+    }
+
+    SpectatorHub(ObjectMapper objectMapper, Executor executor, int keyFrameInterval, int queueCapacity,
+                 int maxDroppedFrames, int maxSubscribersPerGame, Duration timeout, Duration idleTimeout,
+                 LongSupplier nanoClock, Duration sweepInterval) {
+        this.encoder = new FrameEncoder(objectMapper);
+        this.executor = executor;
+        this.keyFrameInterval = keyFrameInterval;
+        this.queueCapacity = queueCapacity;
+        this.maxDroppedFrames = maxDroppedFrames;
+        this.maxSubscribersPerGame = maxSubscribersPerGame;
+        this.timeout = timeout;
+        this.idleNanos = idleTimeout.toNanos();
+        this.nanoClock = nanoClock;
+        if (sweepInterval.isZero()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "spectator-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = sweepInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledSweep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(String gameId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = subscribe(gameId, new SseFrameSink(emitter));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        return emitter;
+    }
+
+    /**
+     * Queues the change for the spectators of the game, a no-op unless the game has a channel
+     */
+    @EventListener
+    public void onStateChanged(StateChangedEvent event) {
+        SpectatorChannel channel = channels.get(event.state().getGameId());
+        if (channel != null) {
+            channel.publish(event);
+        }
+    }
+
+    public int subscriberCount(String gameId) {
+        SpectatorChannel channel = channels.get(gameId);
+        return channel == null ? 0 : channel.size();
+    }
+
+    /**
+     * Stops the background sweep
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    Subscriber subscribe(String gameId, FrameSink sink) {
+        Subscriber[] created = new Subscriber[1];
+        SpectatorChannel joined = channels.compute(gameId, (id, channel) -> {
+            SpectatorChannel target = channel == null
+                    ? new SpectatorChannel(encoder, keyFrameInterval, executor, nanoClock) : channel;
+            if (target.size() >= maxSubscribersPerGame) {
+                throw new ServiceUnavailableException(SnakeConstants.TOO_MANY_SPECTATORS);
+            }
+            Subscriber subscriber = new Subscriber(sink, queueCapacity, maxDroppedFrames, executor,
+                    target::keyFrame, () -> unsubscribe(gameId, created[0]));
+            created[0] = subscriber;
+            target.add(subscriber);
+            return target;
+        });
+        // Encoded outside the map's lock, which would otherwise block every other game hashed to the same bin
+        Frame key = joined.keyFrame();
+        if (key != null) {
+            created[0].offer(key);
+        }
+        log.info("Spectator joined game {}", gameId);
+        return created[0];
+    }
+
+    // Drops the channels without spectators nor state change for idleNanos, atomically with a joining spectator
+    void sweep() {
+        long idleBefore = nanoClock.getAsLong() - idleNanos;
+        for (String gameId : channels.keySet()) {
+            channels.computeIfPresent(gameId, (id, channel) -> channel.isIdle(idleBefore) ? null : channel);
+        }
+    }
+
+    int channelCount() {
+        return channels.size();
+    }
+
+    private void scheduledSweep() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("Spectator channel sweep failed, retried on the next schedule", e);
+        }
+    }
+
+    private void unsubscribe(String gameId, Subscriber subscriber) {
+        SpectatorChannel channel = channels.get(gameId);
+        if (channel != null) {
+            channel.remove(subscriber);
+        }
+        log.info("Spectator left game {}", gameId);
+    }
+}
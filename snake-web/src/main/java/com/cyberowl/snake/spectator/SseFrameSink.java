@@ -0,0 +1,30 @@
+package com.cyberowl.snake.spectator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Writes frames as Server-Sent Events named after the frame type, with the sequence number as event id.
+ * The frame bytes go through the byte array message converter as is, so they are never serialised again
+ * per subscriber.
+ */
+@RequiredArgsConstructor
+public class SseFrameSink implements FrameSink {
+    private final SseEmitter emitter;
+
+    @Override
+    public void send(Frame frame) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(frame.seq()))
+                .name(frame.event())
+                .data(frame.data(), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,18 @@
+package com.cyberowl.snake.spectator;
+
+import com.cyberowl.snake.model.Coordinate;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+
+import java.util.List;
+
+/**
+ * Published once a move has been validated.
+ *
+ * @param before the state the ticks were applied to, a shallow copy taken before the replay
+ * @param state  the resulting state
+ * @param ticks  the ticks actually applied, in order
+ * @param fruits the fruit spawned after each fruit eaten along those ticks, in order
+ */
+public record StateChangedEvent(State before, State state, List<Tick> ticks, List<Coordinate> fruits) {
+}
@@ -0,0 +1,119 @@
+package com.cyberowl.snake.spectator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * One spectator: a bounded queue of frames drained by at most one executor task at a time.
+ * <p>
+ * When the queue is full the oldest frame is dropped. Deltas after a gap cannot be applied, so the next
+ * drain first sends the channel's current key frame and skips queued frames it already covers. A subscriber
+ * that keeps falling behind is closed once it has dropped {@code maxDroppedFrames} frames.
+ */
+@Slf4j
+class Subscriber {
+    private final FrameSink sink;
+    private final ArrayBlockingQueue<Frame> frames;
+    private final int maxDroppedFrames;
+    private final Executor executor;
+    private final Supplier<Frame> keyFrames;
+    private final Runnable onClose;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean resync = new AtomicBoolean();
+    private final AtomicInteger droppedFrames = new AtomicInteger();
+    private long lastSentSeq;  // only touched by the single drain task
+
+    Subscriber(FrameSink sink, int queueCapacity, int maxDroppedFrames, Executor executor,
+               Supplier<Frame> keyFrames, Runnable onClose) {
+        this.sink = sink;
+        this.frames = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxDroppedFrames = maxDroppedFrames;
+        this.executor = executor;
+        this.keyFrames = keyFrames;
+        this.onClose = onClose;
+    }
+
+    /**
+     * @return false if the subscriber is closed, as a slow consumer or after a failed write
+     */
+    boolean offer(Frame frame) {
+        if (closed.get()) {
+            return false;
+        }
+        while (!frames.offer(frame)) {
+            if (frames.poll() != null) {
+                resync.set(true);
+                if (droppedFrames.incrementAndGet() > maxDroppedFrames) {
+                    log.warn("Closing slow spectator after {} dropped frames", maxDroppedFrames);
+                    close();
+                    return false;
+                }
+            }
+        }
+        schedule();
+        return true;
+    }
+
+    int droppedFrames() {
+        return droppedFrames.get();
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            frames.clear();
+            sink.close();
+            onClose.run();
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Frames stay queued, the next offer tries again
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Frame frame;
+            while (!closed.get() && (frame = frames.poll()) != null) {
+                if (resync.getAndSet(false)) {
+                    send(keyFrames.get());
+                }
+                send(frame);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Spectator disconnected: {}", e.getMessage());
+            close();
+        } finally {
+            scheduled.set(false);
+        }
+        // A frame offered after the last poll but before the flag was cleared would otherwise wait for the next one
+        if (!closed.get() && !frames.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void send(Frame frame) throws IOException {
+        if (frame != null && frame.seq() > lastSentSeq) {
+            sink.send(frame);
+            lastSentSeq = frame.seq();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.cyberowl.snake.store;
+
+import com.cyberowl.snake.model.State;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link OffHeapGameStore} surviving restarts: a snapshot of the whole table in a memory-mapped file plus a
+ * journal of the games created and committed since.
+ * <p>
+ * Every create and commit appends the game's new record to the current journal once the store accepted it.
+ * A snapshot first rolls the journal, then copies the table segment by segment (see
+ * {@link OffHeapGameStore#forEachRecord}) into {@code snapshot-<id>.tmp} through mapped windows, forces it
+ * and renames it to {@code snapshot-<id>.snap}; journals and snapshots before {@code id} are then deleted.
+ * Commits keep flowing while it runs: the ones it misses are in journal {@code id}, the ones it also
+ * caught are replayed harmlessly, since restoring never goes back to an older version.
+ * <p>
+ * On start the latest snapshot is mapped and its records restored, then the journals from its id onwards
+ * replayed up to their first torn entry; a snapshot that does not read to its end fails the start. Journal
+ * appends are written by the journal's own thread and not forced: the few still queued when the process
+ * crashes are lost, and what the page cache lost since the last snapshot when the machine does.
+ */
+@Slf4j
+public final class DurableGameStore implements GameStore, Closeable {
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".snap";
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final long MAGIC = 0x534E414B45534E50L; // "SNAKESNP"
+    private static final int FORMAT = 1;
+    private static final int HEADER = 16;
+    private static final long WINDOW = 64L << 20;
+
+    private final OffHeapGameStore store;
+    private final Path directory;
+    private final GameJournal journal;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param snapshotInterval time between background snapshots, zero for {@link #snapshot()} calls only
+     */
+    public DurableGameStore(OffHeapGameStore store, Path directory, Duration snapshotInterval) throws IOException {
+        this.store = store;
+        this.directory = Files.createDirectories(directory);
+        this.journal = new GameJournal(directory, recover() + 1);
+        if (snapshotInterval.isZero()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "game-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean create(State state) {
+        if (!store.create(state)) {
+            return false;
+        }
+        append(state);
+        return true;
+    }
+
+    @Override
+    public State load(String gameId) {
+        return store.load(gameId);
+    }
+
+    @Override
+    public boolean commit(State state, long expectedVersion) {
+        if (!store.commit(state, expectedVersion)) {
+            return false;
+        }
+        append(state);
+        return true;
+    }
+
+    /**
+     * Writes a snapshot of the store and drops the journals it makes redundant
+     *
+     * @return the snapshot file
+     */
+    public synchronized Path snapshot() throws IOException {
+        long start = System.nanoTime();
+        long id = journal.roll();
+        Path temporary = directory.resolve(SNAPSHOT_PREFIX + id + TEMPORARY_SUFFIX);
+        long games;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedWriter writer = new MappedWriter(channel);
+            store.forEachRecord(writer);
+            games = writer.finish();
+        }
+        Path snapshot = directory.resolve(SNAPSHOT_PREFIX + id + SNAPSHOT_SUFFIX);
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE);
+        deleteBefore(id);
+        log.info("Snapshot {} of {} games written in {} ms", snapshot.getFileName(), games,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return snapshot;
+    }
+
+    /**
+     * Stops background snapshots and reclaims and writes a last snapshot, so the next start has no journal to replay
+     */
+    @Override
+    public void close() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        store.close();
+        snapshot();
+        journal.close();
+    }
+
+    /**
+     * Waits for the journal to write every create and commit made so far
+     */
+    void flush() {
+        journal.flush();
+    }
+
+    private void append(State state) {
+        if (!journal.append(OffHeapGameStore.encode(state))) {
+            // The game is committed in memory, only its durability until the next snapshot is lost
+            log.warn("Journal full, game {} is durable from the next snapshot only", state.getGameId());
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Snapshot failed, games stay recoverable from the journals", e);
+        }
+    }
+
+    // Returns the id of the last file read, journals continue after it
+    private long recover() throws IOException {
+        long start = System.nanoTime();
+        List<Path> temporaries = list(SNAPSHOT_PREFIX, TEMPORARY_SUFFIX);
+        for (Path temporary : temporaries) {
+            Files.delete(temporary);
+        }
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long snapshotId = snapshots.isEmpty() ? 0 : id(snapshots.get(snapshots.size() - 1), SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long lastId = snapshotId;
+        long[] restored = new long[1];
+        OffHeapGameStore.RecordSink sink = (records, base, overflowBody) -> {
+            if (store.restore(records, base, overflowBody)) {
+                restored[0]++;
+            }
+        };
+
+        if (!snapshots.isEmpty()) {
+            try (FileChannel channel = FileChannel.open(snapshots.get(snapshots.size() - 1), StandardOpenOption.READ)) {
+                ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+                if (header.getLong(0) != MAGIC || header.getInt(8) != FORMAT) {
+                    throw new IOException("Not a game snapshot: " + snapshots.get(snapshots.size() - 1));
+                }
+                long valid = GameJournal.read(channel, HEADER, sink);
+                // Snapshots are forced before their rename, a short one lost games the journals no longer hold
+                if (valid < channel.size()) {
+                    throw new IOException(String.format("Snapshot %s corrupt after %d of %d bytes, move it away to start "
+                            + "from the previous one or an empty store", snapshots.get(snapshots.size() - 1).getFileName(),
+                            valid, channel.size()));
+                }
+            }
+        }
+        long snapshotGames = restored[0];
+        for (Path path : list(GameJournal.PREFIX, GameJournal.SUFFIX)) {
+            long id = id(path, GameJournal.PREFIX, GameJournal.SUFFIX);
+            if (id < snapshotId) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long valid = GameJournal.read(channel, 0, sink);
+                if (valid < channel.size()) {
+                    log.warn("Journal {} torn after {} of {} bytes, truncated", path.getFileName(), valid, channel.size());
+                    channel.truncate(valid);
+                }
+            }
+            lastId = Math.max(lastId, id);
+        }
+        log.info("Recovered {} games from snapshot {} and {} journal entries in {} ms", snapshotGames, snapshotId,
+                restored[0] - snapshotGames, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return lastId;
+    }
+
+    private void deleteBefore(long id) throws IOException {
+        for (Path path : list(GameJournal.PREFIX, GameJournal.SUFFIX)) {
+            if (id(path, GameJournal.PREFIX, GameJournal.SUFFIX) < id) {
+                Files.delete(path);
+            }
+        }
+        for (Path path : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (id(path, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < id) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    // Sorted by id
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).forEach(paths::add);
+        }
+        paths.sort((a, b) -> Long.compare(id(a, prefix, suffix), id(b, prefix, suffix)));
+        return paths;
+    }
+
+    private static long id(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    // Entries through READ_WRITE mapped windows, the file is truncated to its content once done
+    private static final class MappedWriter implements OffHeapGameStore.RecordSink {
+        private final FileChannel channel;
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long games;
+
+        private MappedWriter(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.window = channel.map(FileChannel.MapMode.READ_WRITE, 0, WINDOW);
+            window.putLong(MAGIC).putInt(FORMAT).putInt(0);
+        }
+
+        @Override
+        public void accept(ByteBuffer records, int base, byte[] overflowBody) throws IOException {
+            int size = GameJournal.entrySize(overflowBody);
+            if (window.remaining() < size) {
+                window.force();
+                windowStart += window.position();
+                window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, Math.max(WINDOW, size));
+            }
+            GameJournal.write(window, records, base, overflowBody);
+            games++;
+        }
+
+        private long finish() throws IOException {
+            window.force();
+            channel.truncate(windowStart + window.position());
+            channel.force(true);
+            return games;
+        }
+    }
+}
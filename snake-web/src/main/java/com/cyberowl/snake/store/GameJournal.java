@@ -0,0 +1,271 @@
+package com.cyberowl.snake.store;
+
+import com.cyberowl.snake.journal.RingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only files of {@link OffHeapGameStore} entries, each a record, its overflowing body and a CRC32C
+ * of both. Journals and snapshots share the entry format; a reader stops at the first entry that is cut
+ * short or fails its checksum, the tail a crash mid-append leaves.
+ * <p>
+ * Entries of one game carry its version, readers keep the highest one seen, so the order in which
+ * concurrent commits reach the file does not matter.
+ * <p>
+ * Creates and commits only put their entry in a {@link RingBuffer}: a single writer thread drains it and
+ * writes the entries with one {@link FileChannel#write} per batch, as the validation journal does. A full
+ * ring drops the entry, counted in {@link #dropped()}, rather than hold the request: the game is then only
+ * durable from the next snapshot.
+ */
+@Slf4j
+final class GameJournal implements Closeable {
+    static final String PREFIX = "journal-";
+    static final String SUFFIX = ".log";
+
+    private static final int CHECKSUM = 4;
+    private static final long WINDOW = 64L << 20;
+    private static final int CAPACITY = 1 << 16;
+    private static final int BATCH_ENTRIES = 4096;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final Path directory;
+    private final RingBuffer<byte[]> ring = new RingBuffer<>(CAPACITY);
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile long handled;
+    private volatile boolean closed;
+
+    // Writer thread only
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private int buffered;
+
+    // Writer thread and roll, under the journal lock
+    private long id;
+    private FileChannel channel;
+
+    GameJournal(Path directory, long id) throws IOException {
+        this.directory = directory;
+        this.id = id;
+        this.channel = open(directory, id);
+        this.writer = new Thread(this::run, "game-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    static Path path(Path directory, long id) {
+        return directory.resolve(PREFIX + id + SUFFIX);
+    }
+
+    /**
+     * Queues one entry for the writer thread
+     *
+     * @return false if the ring is full or the journal closed, the entry is then dropped
+     */
+    boolean append(byte[] entry) {
+        if (closed || !ring.offer(entry)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        queued.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Waits for the writer thread to hand every entry queued so far to the file
+     */
+    void flush() {
+        long target = queued.get();
+        while (handled < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+    }
+
+    /**
+     * Entries dropped on a full ring or lost to a write failure since the start
+     */
+    long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Closes the current file, once it holds every entry queued before, and appends to the next one from now on
+     *
+     * @return the id of the new file
+     */
+    long roll() throws IOException {
+        flush();
+        synchronized (this) {
+            channel.force(false);
+            channel.close();
+            id++;
+            channel = open(directory, id);
+            return id;
+        }
+    }
+
+    /**
+     * Writes and forces what was queued before, appends racing it are dropped
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the game journal", e);
+        }
+        synchronized (this) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            // Read before draining, so the last drain takes everything queued before close
+            boolean stop = closed;
+            int drained = ring.drain(this::encode, BATCH_ENTRIES);
+            if (drained > 0) {
+                write();
+                handled += drained;
+                continue;
+            }
+            if (stop) {
+                break;
+            }
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+    }
+
+    private void encode(byte[] entry) {
+        int size = entry.length + CHECKSUM;
+        if (size > buffer.remaining()) {
+            write();
+        }
+        ByteBuffer target = size > buffer.capacity() ? ByteBuffer.allocate(size) : buffer;
+        target.put(entry).putInt(checksum(ByteBuffer.wrap(entry)));
+        if (target == buffer) {
+            buffered++;
+            return;
+        }
+        target.flip();
+        write(target, 1);
+    }
+
+    private void write() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            write(buffer, buffered);
+        } finally {
+            buffer.clear();
+            buffered = 0;
+        }
+    }
+
+    // A partial write would hide every later entry of the file from readers, so the next go to a new one
+    private synchronized void write(ByteBuffer bytes, int entries) {
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            dropped.addAndGet(entries);
+            log.error("Writing {} entries to game journal {} failed, games are durable from the next snapshot",
+                    entries, id, e);
+            try {
+                channel.close();
+                id++;
+                channel = open(directory, id);
+            } catch (IOException rollFailure) {
+                log.error("Starting game journal {} failed", id, rollFailure);
+            }
+        }
+    }
+
+    /**
+     * Writes one entry to {@code buffer}, which must have room for {@link #entrySize}
+     */
+    static void write(ByteBuffer buffer, ByteBuffer records, int base, byte[] overflowBody) {
+        int start = buffer.position();
+        buffer.put(records.slice(base, OffHeapGameStore.RECORD));
+        if (overflowBody != null) {
+            buffer.put(overflowBody);
+        }
+        buffer.putInt(checksum(buffer.slice(start, buffer.position() - start)));
+    }
+
+    static int entrySize(byte[] overflowBody) {
+        return OffHeapGameStore.RECORD + (overflowBody != null ? overflowBody.length : 0) + CHECKSUM;
+    }
+
+    /**
+     * Hands every valid entry from {@code start} to {@code sink}, through read-only mapped windows
+     *
+     * @return the position after the last valid entry
+     */
+    static long read(FileChannel channel, long start, OffHeapGameStore.RecordSink sink) throws IOException {
+        long size = channel.size();
+        long position = start;
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+        while (position + OffHeapGameStore.RECORD + CHECKSUM <= size) {
+            if (window == null || position + OffHeapGameStore.RECORD > windowStart + window.capacity()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW, size - position));
+            }
+            int base = (int) (position - windowStart);
+            long overflow = OffHeapGameStore.overflowBytes(window, base);
+            long end = position + OffHeapGameStore.RECORD + overflow + CHECKSUM;
+            if (end > size || overflow > Integer.MAX_VALUE / 2) {
+                break;
+            }
+            if (end > windowStart + window.capacity()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Math.max(WINDOW, end - position), size - position));
+                base = 0;
+            }
+            int length = OffHeapGameStore.RECORD + (int) overflow;
+            if (checksum(window.slice(base, length)) != window.getInt(base + length)) {
+                break;
+            }
+            byte[] overflowBody = null;
+            if (overflow > 0) {
+                overflowBody = new byte[(int) overflow];
+                window.get(base + OffHeapGameStore.RECORD, overflowBody);
+            }
+            sink.accept(window, base, overflowBody);
+            position = end;
+        }
+        return position;
+    }
+
+    private static FileChannel open(Path directory, long id) throws IOException {
+        return FileChannel.open(path(directory, id),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static int checksum(ByteBuffer bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
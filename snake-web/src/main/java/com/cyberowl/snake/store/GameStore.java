@@ -0,0 +1,32 @@
+package com.cyberowl.snake.store;
+
+import com.cyberowl.snake.model.State;
+
+/**
+ * Server-side states of the games created by {@code /new}, each with a version bumped by every commit.
+ * <p>
+ * A commit only succeeds on top of the version it was started from, so two validations racing on one game
+ * cannot both apply their ticks: the loser is told, it never waits. Implementations never hand out nor keep
+ * a state instance the caller can still mutate.
+ */
+public interface GameStore {
+    /**
+     * Holds a new game at version 0 and sets that version on {@code state}
+     *
+     * @return false if the store is full, the game is then not held
+     */
+    boolean create(State state);
+
+    /**
+     * @return a copy of the latest committed state with its version, null for a game not held
+     */
+    State load(String gameId);
+
+    /**
+     * Replaces the game with {@code state} as version {@code expectedVersion + 1}, set on {@code state},
+     * provided {@code expectedVersion} is still the latest
+     *
+     * @return false if another commit came first or the game is no longer held
+     */
+    boolean commit(State state, long expectedVersion);
+}
@@ -0,0 +1,147 @@
+package com.cyberowl.snake.store;
+
+import com.cyberowl.snake.model.Fruit;
+import com.cyberowl.snake.model.Snake;
+import com.cyberowl.snake.model.State;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link GameStore} on a {@link ConcurrentHashMap} of immutable versioned entries, a commit being a
+ * {@code replace(gameId, expected, next)}: games in different bins never contend, and a stale commit fails
+ * at once instead of waiting for the one that won.
+ * <p>
+ * Holds at most {@code maxGames}. Games not committed for {@code idleNanos} are swept by a background thread,
+ * never by the request creating a game; while the store is full, new games are not held and their validations
+ * stay stateless.
+ */
+@Slf4j
+public final class InMemoryGameStore implements GameStore, AutoCloseable {
+    private final int maxGames;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> games = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public InMemoryGameStore(int maxGames, long idleNanos) {
+        this(maxGames, idleNanos, Duration.ZERO);
+    }
+
+    /**
+     * @param sweepInterval time between background sweeps of idle games, zero for none
+     */
+    public InMemoryGameStore(int maxGames, long idleNanos, Duration sweepInterval) {
+        this(maxGames, idleNanos, System::nanoTime, sweepInterval);
+    }
+
+    InMemoryGameStore(int maxGames, long idleNanos, LongSupplier nanoClock, Duration sweepInterval) {
+        if (maxGames < 1 || idleNanos < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Max games must be positive and idle time non-negative. Provided max games = %d, idle = %d ns",
+                    maxGames, idleNanos));
+        }
+        this.maxGames = maxGames;
+        this.idleNanos = idleNanos;
+        this.nanoClock = nanoClock;
+        if (sweepInterval.isZero()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "game-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = sweepInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledSweep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean create(State state) {
+        if (games.size() >= maxGames) {
+            log.warn("Game store full, game {} is not held server-side", state.getGameId());
+            return false;
+        }
+        state.setVersion(0L);
+        games.put(state.getGameId(), new Entry(0, copy(state), nanoClock.getAsLong()));
+        return true;
+    }
+
+    @Override
+    public State load(String gameId) {
+        Entry entry = games.get(gameId);
+        if (entry == null) {
+            return null;
+        }
+        State state = copy(entry.state());
+        state.setVersion(entry.version());
+        return state;
+    }
+
+    @Override
+    public boolean commit(State state, long expectedVersion) {
+        Entry current = games.get(state.getGameId());
+        if (current == null || current.version() != expectedVersion) {
+            return false;
+        }
+        Entry next = new Entry(expectedVersion + 1, copy(state), nanoClock.getAsLong());
+        if (!games.replace(state.getGameId(), current, next)) {
+            return false;
+        }
+        state.setVersion(next.version());
+        return true;
+    }
+
+    /**
+     * Stops background sweeps
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    int size() {
+        return games.size();
+    }
+
+    // Drops the games idle for idleNanos, run off the request threads
+    void sweep() {
+        long now = nanoClock.getAsLong();
+        games.values().removeIf(entry -> now - entry.committedAt() >= idleNanos);
+    }
+
+    private void scheduledSweep() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("Sweep of idle games failed, retried on the next schedule", e);
+        }
+    }
+
+    // Coordinates and velocities are records, only the containers are mutable
+    private static State copy(State state) {
+        Snake snake = state.getSnake();
+        return State.builder()
+                .gameId(state.getGameId())
+                .width(state.getWidth())
+                .height(state.getHeight())
+                .score(state.getScore())
+                .fruit(Fruit.generateFixedPosition(state.getFruit().getCoordinate().x(), state.getFruit().getCoordinate().y()))
+                .snake(new Snake(snake.getCoordinate(), snake.getVelocity(), new ArrayList<>(snake.getBody())))
+                .build();
+    }
+
+    // Compared by identity in replace, State has no equals
+    private record Entry(long version, State state, long committedAt) {
+    }
+}
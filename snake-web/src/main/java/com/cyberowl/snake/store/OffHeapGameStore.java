@@ -0,0 +1,542 @@
+package com.cyberowl.snake.store;
+
+import com.cyberowl.snake.engine.SnakeEnvironment;
+import com.cyberowl.snake.model.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link GameStore} keeping each game in a fixed-size record of direct memory, so millions of resident games
+ * cost the heap nothing but the buffers' headers and the GC never traces them.
+ * <p>
+ * Games are spread over independent segments by gameId hash. A segment is an open addressing (linear probing,
+ * backward shift deletion) table whose slots are the records themselves, keyed by the 128 bits of the gameId
+ * UUID, and guarded by its own {@link StampedLock}: loads are optimistic reads retried under the read lock
+ * only when a write overlapped, commits hold the write lock for the version check and one record write.
+ * Games in different segments never contend, and a stale commit still fails without waiting on the winner.
+ * <p>
+ * Record layout, {@value #RECORD} bytes: gameId (2 longs, all zero for an empty slot) | version | last commit
+ * nanos | width | height | score | head x, y | fruit x, y | body length | velocity action (1 byte) | body, one
+ * nibble per segment holding the {@link SnakeEnvironment} action from the previous segment to it. Bodies
+ * longer than {@value #INLINE_SEGMENTS} segments are kept whole in an on-heap overflow map, only long snakes
+ * pay for it. Only UUID gameIds, the ones {@code /new} issues, are held.
+ * <p>
+ * Segments are filled to three quarters at most, 10M games take about 2 GB of direct memory
+ * ({@code -XX:MaxDirectMemorySize}). Each segment has an eighth of headroom over its share of
+ * {@code maxGames}. Games idle for {@code idleNanos} are reclaimed by a background thread, never by the request
+ * creating a game: it takes a segment's write lock for {@value #RECLAIM_SLOTS} slots at a time, so commits to
+ * the segment wait for one chunk at most. A full segment does not hold new games meanwhile.
+ */
+@Slf4j
+public final class OffHeapGameStore implements GameStore, AutoCloseable {
+    static final int RECORD = 128;
+
+    private static final int MSB = 0;
+    private static final int LSB = 8;
+    private static final int VERSION = 16;
+    private static final int COMMITTED_AT = 24;
+    private static final int WIDTH = 32;
+    private static final int HEIGHT = 36;
+    private static final int SCORE = 40;
+    private static final int HEAD_X = 44;
+    private static final int HEAD_Y = 48;
+    private static final int FRUIT_X = 52;
+    private static final int FRUIT_Y = 56;
+    private static final int BODY_LENGTH = 60;
+    private static final int VELOCITY = 64;
+    private static final int BODY = 65;
+    static final int INLINE_SEGMENTS = (RECORD - BODY) * 2;
+
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final int RECLAIM_SLOTS = 1024;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService scheduler;
+
+    public OffHeapGameStore(int maxGames, long idleNanos) {
+        this(maxGames, idleNanos, Duration.ZERO);
+    }
+
+    /**
+     * @param sweepInterval time between background reclaims of idle games, zero for none
+     */
+    public OffHeapGameStore(int maxGames, long idleNanos, Duration sweepInterval) {
+        this(maxGames, idleNanos, System::nanoTime, sweepInterval);
+    }
+
+    OffHeapGameStore(int maxGames, long idleNanos, LongSupplier nanoClock, Duration sweepInterval) {
+        if (maxGames < 1 || idleNanos < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Max games must be positive and idle time non-negative. Provided max games = %d, idle = %d ns",
+                    maxGames, idleNanos));
+        }
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && (long) segmentCount * 1024 < maxGames) {
+            segmentCount <<= 1;
+        }
+        // An eighth of headroom for the hash skew between segments
+        int average = (maxGames + segmentCount - 1) / segmentCount;
+        int perSegment = average + average / 8 + 16;
+        int capacity = MIN_SEGMENT_CAPACITY;
+        while ((long) capacity * 3 < (long) perSegment * 4) {
+            capacity <<= 1;
+        }
+        if ((long) capacity * RECORD > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many games for the off-heap store: " + maxGames);
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(capacity, perSegment);
+        }
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        this.idleNanos = idleNanos;
+        this.nanoClock = nanoClock;
+        if (sweepInterval.isZero()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "game-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = sweepInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledReclaim, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean create(State state) {
+        UUID uuid = parseUuid(state.getGameId());
+        if (uuid == null) {
+            return false;
+        }
+        long hash = hash(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        Segment segment = segment(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = segment.find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), hash);
+            if (slot < 0) {
+                if (segment.size >= segment.maxSize) {
+                    log.warn("Off-heap game store segment full, game {} is not held server-side", state.getGameId());
+                    return false;
+                }
+                segment.write(-slot - 1, uuid, 0, state);
+                segment.size++;
+            } else {
+                segment.write(slot, uuid, 0, state);
+            }
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+        state.setVersion(0L);
+        return true;
+    }
+
+    @Override
+    public State load(String gameId) {
+        UUID uuid = parseUuid(gameId);
+        if (uuid == null) {
+            return null;
+        }
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        Segment segment = segment(hash);
+        byte[] record = new byte[RECORD];
+
+        long stamp = segment.lock.tryOptimisticRead();
+        boolean found = segment.read(msb, lsb, hash, record);
+        byte[] body = found ? segment.overflow.get(gameId) : null;
+        if (!segment.lock.validate(stamp)) {
+            stamp = segment.lock.readLock();
+            try {
+                found = segment.read(msb, lsb, hash, record);
+                body = found ? segment.overflow.get(gameId) : null;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return found ? decode(gameId, ByteBuffer.wrap(record), body) : null;
+    }
+
+    @Override
+    public boolean commit(State state, long expectedVersion) {
+        UUID uuid = parseUuid(state.getGameId());
+        if (uuid == null) {
+            return false;
+        }
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        Segment segment = segment(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = segment.find(msb, lsb, hash);
+            if (slot < 0 || segment.records.getLong(slot * RECORD + VERSION) != expectedVersion) {
+                return false;
+            }
+            segment.write(slot, uuid, expectedVersion + 1, state);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+        state.setVersion(expectedVersion + 1);
+        return true;
+    }
+
+    /**
+     * Hands every held game to {@code sink} as its record and overflowing body, segment by segment. Each
+     * segment is copied whole under an optimistic read, retried under the read lock only if a write
+     * overlapped, so commits are at most held up for one segment copy and loads never are. Games of a
+     * segment are consistent with each other, segments are copied at different times.
+     */
+    void forEachRecord(RecordSink sink) throws IOException {
+        ByteBuffer scratch = ByteBuffer.allocateDirect(segments[0].records.capacity());
+        for (Segment segment : segments) {
+            Map<String, byte[]> overflowCopy = segment.copyTo(scratch);
+            for (int base = 0; base < scratch.capacity(); base += RECORD) {
+                long msb = scratch.getLong(base + MSB);
+                long lsb = scratch.getLong(base + LSB);
+                if (msb != 0 || lsb != 0) {
+                    byte[] body = overflowBytes(scratch, base) > 0 ? overflowCopy.get(new UUID(msb, lsb).toString()) : null;
+                    sink.accept(scratch, base, body);
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts back a game read from a snapshot or journal, unless the store already holds a later version of it
+     *
+     * @return false if the game was not restored
+     */
+    boolean restore(ByteBuffer source, int base, byte[] overflowBody) {
+        long msb = source.getLong(base + MSB);
+        long lsb = source.getLong(base + LSB);
+        long hash = hash(msb, lsb);
+        Segment segment = segment(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = segment.find(msb, lsb, hash);
+            if (slot >= 0 && segment.records.getLong(slot * RECORD + VERSION) >= source.getLong(base + VERSION)) {
+                return false;
+            }
+            if (slot < 0) {
+                if (segment.size >= segment.maxSize) {
+                    return false;
+                }
+                slot = -slot - 1;
+                segment.size++;
+            }
+            int target = slot * RECORD;
+            segment.records.put(target, source, base, RECORD);
+            // Commit times are nanoTime of the previous process, the idle timeout restarts from now
+            segment.records.putLong(target + COMMITTED_AT, nanoClock.getAsLong());
+            String gameId = new UUID(msb, lsb).toString();
+            if (overflowBody != null) {
+                segment.overflow.put(gameId, overflowBody);
+            } else {
+                segment.overflow.remove(gameId);
+            }
+            return true;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return the record of {@code state} at its current version followed by its overflowing body, the
+     * layout of {@link #forEachRecord} and {@link #restore}
+     */
+    static byte[] encode(State state) {
+        UUID uuid = parseUuid(state.getGameId());
+        if (uuid == null) {
+            throw new IllegalArgumentException("Only UUID game IDs are held off-heap: " + state.getGameId());
+        }
+        byte[] body = encodeBody(state.getSnake());
+        boolean overflowing = state.getSnake().getBody().size() > INLINE_SEGMENTS;
+        byte[] entry = new byte[RECORD + (overflowing ? body.length : 0)];
+        ByteBuffer buffer = ByteBuffer.wrap(entry);
+        writeRecord(buffer, 0, uuid, state.getVersion(), 0, state, overflowing ? null : body);
+        if (overflowing) {
+            buffer.put(RECORD, body);
+        }
+        return entry;
+    }
+
+    /**
+     * @return the bytes of overflowing body following the record at {@code base}, 0 for an inline body
+     */
+    static int overflowBytes(ByteBuffer record, int base) {
+        int bodyLength = record.getInt(base + BODY_LENGTH);
+        return bodyLength > INLINE_SEGMENTS ? (bodyLength + 1) >>> 1 : 0;
+    }
+
+    /**
+     * Stops background reclaims
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Drops the games idle for idleNanos, run off the request threads
+    void reclaim() {
+        long idleBefore = nanoClock.getAsLong() - idleNanos;
+        for (Segment segment : segments) {
+            for (int from = 0; from <= segment.mask; from += RECLAIM_SLOTS) {
+                long stamp = segment.lock.writeLock();
+                try {
+                    segment.reclaim(from, Math.min(from + RECLAIM_SLOTS, segment.mask + 1), idleBefore);
+                } finally {
+                    segment.lock.unlockWrite(stamp);
+                }
+            }
+        }
+    }
+
+    private void scheduledReclaim() {
+        try {
+            reclaim();
+        } catch (RuntimeException e) {
+            log.error("Reclaim of idle games failed, retried on the next schedule", e);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private Segment segment(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    private static State decode(String gameId, ByteBuffer record, byte[] overflowBody) {
+        int headX = record.getInt(HEAD_X);
+        int headY = record.getInt(HEAD_Y);
+        int action = record.get(VELOCITY);
+        int bodyLength = record.getInt(BODY_LENGTH);
+        List<Coordinate> body = new ArrayList<>(bodyLength);
+        int x = headX;
+        int y = headY;
+        for (int i = 0; i < bodyLength; i++) {
+            int packed = overflowBody != null ? overflowBody[i >>> 1] : record.get(BODY + (i >>> 1));
+            int step = (i & 1) == 0 ? packed & 0xF : (packed >>> 4) & 0xF;
+            x += SnakeEnvironment.actionVelX(step);
+            y += SnakeEnvironment.actionVelY(step);
+            body.add(new Coordinate(x, y));
+        }
+        State state = State.builder()
+                .gameId(gameId)
+                .width(record.getInt(WIDTH))
+                .height(record.getInt(HEIGHT))
+                .score(record.getInt(SCORE))
+                .fruit(Fruit.generateFixedPosition(record.getInt(FRUIT_X), record.getInt(FRUIT_Y)))
+                .snake(new Snake(new Coordinate(headX, headY),
+                        new Velocity(SnakeEnvironment.actionVelX(action), SnakeEnvironment.actionVelY(action)), body))
+                .build();
+        state.setVersion(record.getLong(VERSION));
+        return state;
+    }
+
+    // Inline body only when given, an overflowing one is stored next to the record
+    private static void writeRecord(ByteBuffer records, int base, UUID uuid, long version, long committedAt,
+                                    State state, byte[] inlineBody) {
+        Snake snake = state.getSnake();
+        records.putLong(base + MSB, uuid.getMostSignificantBits());
+        records.putLong(base + LSB, uuid.getLeastSignificantBits());
+        records.putLong(base + VERSION, version);
+        records.putLong(base + COMMITTED_AT, committedAt);
+        records.putInt(base + WIDTH, state.getWidth());
+        records.putInt(base + HEIGHT, state.getHeight());
+        records.putInt(base + SCORE, state.getScore());
+        records.putInt(base + HEAD_X, snake.getCoordinate().x());
+        records.putInt(base + HEAD_Y, snake.getCoordinate().y());
+        records.putInt(base + FRUIT_X, state.getFruit().getCoordinate().x());
+        records.putInt(base + FRUIT_Y, state.getFruit().getCoordinate().y());
+        records.putInt(base + BODY_LENGTH, snake.getBody().size());
+        records.put(base + VELOCITY, (byte) SnakeEnvironment.action(snake.getVelocity().velX(), snake.getVelocity().velY()));
+        if (inlineBody != null) {
+            records.put(base + BODY, inlineBody, 0, inlineBody.length);
+        }
+    }
+
+    // Nibble per segment: the action leading from the previous segment (the head for the first) to it
+    private static byte[] encodeBody(Snake snake) {
+        List<Coordinate> body = snake.getBody();
+        byte[] packed = new byte[(body.size() + 1) >>> 1];
+        Coordinate previous = snake.getCoordinate();
+        for (int i = 0; i < body.size(); i++) {
+            Coordinate segment = body.get(i);
+            int action = SnakeEnvironment.action(segment.x() - previous.x(), segment.y() - previous.y());
+            if (action < 0) {
+                throw new IllegalArgumentException("Body segment " + i + " is not adjacent to the previous one");
+            }
+            packed[i >>> 1] |= (byte) ((i & 1) == 0 ? action : action << 4);
+            previous = segment;
+        }
+        return packed;
+    }
+
+    private static long hash(long msb, long lsb) {
+        long hash = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    // Canonical UUID strings only, so a load never aliases two spellings of one game
+    private static UUID parseUuid(String gameId) {
+        if (gameId == null || gameId.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(gameId);
+            boolean empty = uuid.getMostSignificantBits() == 0 && uuid.getLeastSignificantBits() == 0;
+            return !empty && uuid.toString().equals(gameId) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private final Map<String, byte[]> overflow = new ConcurrentHashMap<>();
+        private final ByteBuffer records;
+        private final int mask;
+        private final int maxSize;
+        private int size;
+
+        private Segment(int capacity, int maxSize) {
+            this.records = ByteBuffer.allocateDirect(capacity * RECORD);
+            this.mask = capacity - 1;
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * @return the slot holding the game, or {@code -slot - 1} for the empty slot ending its probe
+         */
+        private int find(long msb, long lsb, long hash) {
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++, slot = (slot + 1) & mask) {
+                long slotMsb = records.getLong(slot * RECORD + MSB);
+                long slotLsb = records.getLong(slot * RECORD + LSB);
+                if (slotMsb == msb && slotLsb == lsb) {
+                    return slot;
+                }
+                if (slotMsb == 0 && slotLsb == 0) {
+                    return -slot - 1;
+                }
+            }
+            // Only reachable by an optimistic read torn by concurrent shifts, which validation then discards
+            return -1;
+        }
+
+        // Copies the record into record, may see a torn record unless the caller validates its stamp
+        private boolean read(long msb, long lsb, long hash, byte[] record) {
+            int slot = find(msb, lsb, hash);
+            if (slot < 0) {
+                return false;
+            }
+            records.get(slot * RECORD, record, 0, RECORD);
+            return true;
+        }
+
+        private void write(int slot, UUID uuid, long version, State state) {
+            byte[] body = encodeBody(state.getSnake());
+            if (state.getSnake().getBody().size() > INLINE_SEGMENTS) {
+                writeRecord(records, slot * RECORD, uuid, version, nanoClock.getAsLong(), state, null);
+                overflow.put(state.getGameId(), body);
+            } else {
+                writeRecord(records, slot * RECORD, uuid, version, nanoClock.getAsLong(), state, body);
+                overflow.remove(state.getGameId());
+            }
+        }
+
+        // Optimistic copy of the whole segment, then under the read lock if a write overlapped
+        private Map<String, byte[]> copyTo(ByteBuffer scratch) {
+            long stamp = lock.tryOptimisticRead();
+            scratch.put(0, records, 0, records.capacity());
+            Map<String, byte[]> overflowCopy = Map.copyOf(overflow);
+            if (lock.validate(stamp)) {
+                return overflowCopy;
+            }
+            stamp = lock.readLock();
+            try {
+                scratch.put(0, records, 0, records.capacity());
+                return Map.copyOf(overflow);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // Under the write lock. Backward shift can move a later game into the slot just freed, so it is rechecked
+        private void reclaim(int from, int to, long idleBefore) {
+            int slot = from;
+            while (slot < to) {
+                int base = slot * RECORD;
+                if (isOccupied(slot) && records.getLong(base + COMMITTED_AT) - idleBefore <= 0) {
+                    overflow.remove(new UUID(records.getLong(base + MSB), records.getLong(base + LSB)).toString());
+                    remove(slot);
+                } else {
+                    slot++;
+                }
+            }
+        }
+
+        private void remove(int slot) {
+            size--;
+            int hole = slot;
+            for (int next = (hole + 1) & mask; isOccupied(next); next = (next + 1) & mask) {
+                int home = (int) hash(records.getLong(next * RECORD + MSB), records.getLong(next * RECORD + LSB)) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    copySlot(next, hole);
+                    hole = next;
+                }
+            }
+            records.putLong(hole * RECORD + MSB, 0);
+            records.putLong(hole * RECORD + LSB, 0);
+        }
+
+        private boolean isOccupied(int slot) {
+            return records.getLong(slot * RECORD + MSB) != 0 || records.getLong(slot * RECORD + LSB) != 0;
+        }
+
+        private void copySlot(int from, int to) {
+            records.put(to * RECORD, records, from * RECORD, RECORD);
+        }
+    }
+
+    interface RecordSink {
+        /**
+         * @param records      buffer holding the record at {@code base}, only valid during the call
+         * @param overflowBody the body when it does not fit in the record, otherwise null
+         */
+        void accept(ByteBuffer records, int base, byte[] overflowBody) throws IOException;
+    }
+}
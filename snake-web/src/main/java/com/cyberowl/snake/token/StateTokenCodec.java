@@ -0,0 +1,267 @@
+package com.cyberowl.snake.token;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.exception.InvalidStateException;
+import com.cyberowl.snake.model.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact signed binary form of a State, so any instance holding the secret can trust a
+ * client-held game without sticky sessions or shared storage.
+ * <p>
+ * Layout: version | gameId (16 byte UUID, or length prefixed UTF-8) | varints width, height,
+ * score, fruit index, snake x, snake y | velocity code | varints fruit x, fruit y | varint body length,
+ * one direction nibble per body segment (relative to the previous segment) | truncated HMAC-SHA256,
+ * all Base64url encoded without padding. Version 1 tokens carry no body section. A fruit index other than
+ * {@code score / POINTS_PER_FRUIT} is rejected on decode.
+ */
+public class StateTokenCodec {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte HEAD_ONLY_FORMAT_VERSION = 1;
+    private static final byte UUID_GAME_ID = 0;
+    private static final byte TEXT_GAME_ID = 1;
+    private static final int TAG_LENGTH = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public StateTokenCodec(byte[] secret) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("State token secret must not be empty");
+        }
+        this.key = new SecretKeySpec(secret.clone(), HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String encode(State state) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(FORMAT_VERSION);
+        writeGameId(out, state.getGameId());
+        writeVarInt(out, state.getWidth());
+        writeVarInt(out, state.getHeight());
+        writeVarInt(out, state.getScore());
+        writeVarInt(out, state.getScore() / SnakeConstants.POINTS_PER_FRUIT);
+        Snake snake = state.getSnake();
+        writeVarInt(out, snake.getCoordinate().x());
+        writeVarInt(out, snake.getCoordinate().y());
+        out.write(velocityCode(snake.getVelocity()));
+        writeVarInt(out, state.getFruit().getCoordinate().x());
+        writeVarInt(out, state.getFruit().getCoordinate().y());
+        writeBody(out, snake.getCoordinate(), snake.getBody());
+
+        byte[] payload = out.toByteArray();
+        byte[] token = Arrays.copyOf(payload, payload.length + TAG_LENGTH);
+        System.arraycopy(tag(payload, payload.length), 0, token, payload.length, TAG_LENGTH);
+        return ENCODER.encodeToString(token);
+    }
+
+    public State decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+        }
+        int payloadLength = bytes.length - TAG_LENGTH;
+        if (payloadLength <= 0) {
+            throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+        }
+        byte[] expected = tag(bytes, payloadLength);
+        byte[] provided = Arrays.copyOfRange(bytes, payloadLength, bytes.length);
+        // Constant time comparison, a timing side channel would let clients forge tags byte by byte
+        if (!MessageDigest.isEqual(expected, provided)) {
+            throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+        }
+
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes, 0, payloadLength);
+            byte version = in.get();
+            if (version != FORMAT_VERSION && version != HEAD_ONLY_FORMAT_VERSION) {
+                throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+            }
+            String gameId = readGameId(in);
+            int width = readVarInt(in);
+            int height = readVarInt(in);
+            int score = readVarInt(in);
+            // Signed, so a mismatch is a token issued while fruits were worth other points: its fruit is not the one
+            // of the sequence its score leads to
+            if (readVarInt(in) != score / SnakeConstants.POINTS_PER_FRUIT) {
+                throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+            }
+            Coordinate snakeCoordinate = new Coordinate(readVarInt(in), readVarInt(in));
+            Velocity snakeVelocity = velocity(in.get());
+            Fruit fruit = Fruit.generateFixedPosition(readVarInt(in), readVarInt(in));
+            List<Coordinate> body = version == FORMAT_VERSION ? readBody(in, snakeCoordinate) : List.of();
+            if (in.hasRemaining()) {
+                throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+            }
+            return State.builder()
+                    .gameId(gameId)
+                    .width(width)
+                    .height(height)
+                    .score(score)
+                    .fruit(fruit)
+                    .snake(new Snake(snakeCoordinate, snakeVelocity, body))
+                    .build();
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+        }
+    }
+
+    private byte[] tag(byte[] payload, int length) {
+        Mac mac = macs.get();
+        mac.update(payload, 0, length);
+        return Arrays.copyOf(mac.doFinal(), TAG_LENGTH);
+    }
+
+    // UUID game IDs (the ones newGame issues) take 16 bytes instead of 36 characters
+    private static void writeGameId(ByteArrayOutputStream out, String gameId) {
+        UUID uuid = parseUuid(gameId);
+        if (uuid != null) {
+            out.write(UUID_GAME_ID);
+            writeLong(out, uuid.getMostSignificantBits());
+            writeLong(out, uuid.getLeastSignificantBits());
+        } else {
+            byte[] text = gameId.getBytes(StandardCharsets.UTF_8);
+            out.write(TEXT_GAME_ID);
+            writeVarInt(out, text.length);
+            out.write(text, 0, text.length);
+        }
+    }
+
+    private static String readGameId(ByteBuffer in) {
+        byte kind = in.get();
+        if (kind == UUID_GAME_ID) {
+            return new UUID(in.getLong(), in.getLong()).toString();
+        }
+        if (kind != TEXT_GAME_ID) {
+            throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+        }
+        byte[] text = new byte[readVarInt(in)];
+        in.get(text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    private static UUID parseUuid(String gameId) {
+        try {
+            UUID uuid = UUID.fromString(gameId);
+            return uuid.toString().equals(gameId) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    // Unsigned LEB128, every encoded field is non-negative
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+    }
+
+    // Each segment is adjacent to the previous one, so it fits a direction code nibble, two per byte
+    private static void writeBody(ByteArrayOutputStream out, Coordinate head, List<Coordinate> body) {
+        writeVarInt(out, body.size());
+        Coordinate previous = head;
+        int pending = -1;
+        for (Coordinate segment : body) {
+            int code = directionCode(segment.x() - previous.x(), segment.y() - previous.y());
+            if (pending < 0) {
+                pending = code;
+            } else {
+                out.write((pending << 4) | code);
+                pending = -1;
+            }
+            previous = segment;
+        }
+        if (pending >= 0) {
+            out.write(pending << 4);
+        }
+    }
+
+    private static List<Coordinate> readBody(ByteBuffer in, Coordinate head) {
+        int length = readVarInt(in);
+        if (length < 0 || length > 2 * in.remaining()) {
+            throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+        }
+        List<Coordinate> body = new ArrayList<>(length);
+        Coordinate previous = head;
+        int packed = 0;
+        for (int i = 0; i < length; i++) {
+            if ((i & 1) == 0) {
+                packed = in.get() & 0xFF;
+            }
+            int code = (i & 1) == 0 ? packed >>> 4 : packed & 0x0F;
+            if (code > 8 || code == 4) {
+                throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+            }
+            previous = new Coordinate(previous.x() + code / 3 - 1, previous.y() + code % 3 - 1);
+            body.add(previous);
+        }
+        return body;
+    }
+
+    private static int directionCode(int dx, int dy) {
+        if (Math.abs(dx) > 1 || Math.abs(dy) > 1) {
+            throw new IllegalArgumentException("Snake body segments must be adjacent");
+        }
+        return (dx + 1) * 3 + (dy + 1);
+    }
+
+    private static int velocityCode(Velocity velocity) {
+        return directionCode(velocity.velX(), velocity.velY());
+    }
+
+    private static Velocity velocity(byte code) {
+        if (code < 0 || code > 8 || code == 4) {
+            throw new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+        }
+        return new Velocity(code / 3 - 1, code % 3 - 1);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + HMAC_ALGORITHM, e);
+        }
+    }
+}
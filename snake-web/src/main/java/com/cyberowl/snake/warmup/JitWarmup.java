@@ -0,0 +1,285 @@
+package com.cyberowl.snake.warmup;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.model.Coordinate;
+import com.cyberowl.snake.model.Snake;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.model.Velocity;
+import com.cyberowl.snake.service.SnakeService;
+import com.cyberowl.snake.service.impl.SnakeServiceImpl;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm-up of the validate code run once the application is ready, before which the {@code warmup} health
+ * contributor of the readiness group is out of service, so no traffic is routed to a cold instance.
+ * <p>
+ * Synthetic games are posted over HTTP to {@code /validate} on the local port of the running server, servlet
+ * or reactive: the connector, the filters, the handler mapping, the message converters, Bean Validation, the
+ * controller and the exception handler serve them as they serve a client. One in four fails, by game over,
+ * fruit not reached, invalid state or constraint violation, to compile the error paths as well; a status
+ * other than the expected one fails the warm-up. The games are stateless ones drawn with the server's fruit
+ * sequence, so nothing is stored, but the validations are journaled when the journal is enabled and the
+ * request latencies recorded, as for any client.
+ * <p>
+ * The requests carry the {@value SnakeConstants#WARMUP_HEADER} header with a token drawn per instance, by
+ * which the {@link WarmupRequestFilter} of the servlet stack exempts them from the rate limit and drops their
+ * logs. The reactive stack has no rate limit and logs them as usual.
+ * <p>
+ * Iterations run by rounds until, past {@code minIterations}, the JIT compilers spent no time over
+ * {@code quietRounds} rounds in a row, or until {@code maxDuration}. The warm-up's own logs are dropped
+ * below ERROR meanwhile; requests of clients served meanwhile log as usual.
+ */
+@Slf4j
+public class JitWarmup implements HealthIndicator {
+    private static final String VALIDATE_PATH = "/api/v1/snake/validate";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    public enum Phase {
+        DISABLED, PENDING, RUNNING, DONE
+    }
+
+    /**
+     * @param roundIterations iterations between two looks at the JIT compilation time
+     * @param quietRounds     rounds in a row without compilation once settled
+     */
+    public record Settings(boolean enabled, int minIterations, int roundIterations, int quietRounds,
+                           Duration maxDuration) {
+    }
+
+    private final SnakeService service;
+    private final ObjectMapper objectMapper;
+    private final String host;
+    private final Settings settings;
+    private final byte[] token = UUID.randomUUID().toString().getBytes(StandardCharsets.US_ASCII);
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+
+    private volatile int port = -1;
+    private volatile Phase phase;
+    private volatile long iterations;
+    private volatile long nanos;
+    private volatile String stoppedBy;
+
+    /**
+     * @param address the address the server is bound to, null when bound to all of them: the loopback one is
+     *                then used
+     */
+    public JitWarmup(FruitSequence fruitSequence, ObjectMapper objectMapper, InetAddress address,
+                     MeterRegistry meterRegistry, Settings settings) {
+        // Draws and solves the warm-up games, with the server's fruit sequence so that it accepts them
+        this.service = new SnakeServiceImpl(fruitSequence, event -> {
+        }, new InMemoryGameStore(1, 0));
+        this.objectMapper = objectMapper;
+        InetAddress target = address == null || address.isAnyLocalAddress()
+                ? InetAddress.getLoopbackAddress() : address;
+        // An IPv6 literal is bracketed in a URI
+        String literal = target.getHostAddress();
+        this.host = literal.contains(":") ? "[" + literal + "]" : literal;
+        this.settings = settings;
+        this.phase = settings.enabled() ? Phase.PENDING : Phase.DISABLED;
+        Gauge.builder("snake.warmup.iterations", this, JitWarmup::iterations)
+                .description("Iterations run by the JIT warm-up")
+                .register(meterRegistry);
+        TimeGauge.builder("snake.warmup.duration", this, TimeUnit.NANOSECONDS, JitWarmup::nanos)
+                .description("Time spent by the JIT warm-up")
+                .register(meterRegistry);
+    }
+
+    // The management server, when on a port of its own, is initialized too: only the application's is taken
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (phase == Phase.PENDING) {
+            Thread thread = new Thread(this::run, "jit-warmup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Runs the warm-up on the calling thread, readiness is reported once it returns whether it failed or not
+     */
+    public void run() {
+        if (phase != Phase.PENDING) {
+            return;
+        }
+        phase = Phase.RUNNING;
+        log.info("JIT warm-up started on port {}, readiness is reported once it ends.", port);
+        long start = System.nanoTime();
+        Runnable unmute = WarmupLogFilter.mute();
+        try {
+            if (port <= 0) {
+                throw new IllegalStateException("No web server port to warm up");
+            }
+            stoppedBy = warmUp(start, HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(TIMEOUT)
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stoppedBy = "failure";
+            log.error("JIT warm-up interrupted after {} iterations.", iterations);
+        } catch (Exception e) {
+            stoppedBy = "failure";
+            log.error("JIT warm-up failed after {} iterations.", iterations, e);
+        } finally {
+            unmute.run();
+            nanos = System.nanoTime() - start;
+            phase = Phase.DONE;
+        }
+        log.info("JIT warm-up ran {} iterations in {} ms, stopped by {}.",
+                iterations, TimeUnit.NANOSECONDS.toMillis(nanos), stoppedBy);
+    }
+
+    /**
+     * Whether a {@value SnakeConstants#WARMUP_HEADER} header value is the token of this warm-up's requests
+     */
+    public boolean isWarmupRequest(String header) {
+        return header != null && phase == Phase.RUNNING
+                && MessageDigest.isEqual(token, header.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String warmUp(long start, HttpClient client) throws Exception {
+        URI uri = URI.create("http://" + host + ":" + port + VALIDATE_PATH);
+        String header = new String(token, StandardCharsets.US_ASCII);
+        long deadline = start + settings.maxDuration().toNanos();
+        long compilationMillis = compilationMillis();
+        int quietRounds = 0;
+        while (true) {
+            for (int i = 0; i < settings.roundIterations(); i++) {
+                iteration(client, uri, header, iterations);
+                iterations++;
+            }
+            nanos = System.nanoTime() - start;
+            long millis = compilationMillis();
+            quietRounds = millis == compilationMillis ? quietRounds + 1 : 0;
+            compilationMillis = millis;
+            if (iterations >= settings.minIterations() && quietRounds >= settings.quietRounds()) {
+                return "settled";
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return "max-duration";
+            }
+        }
+    }
+
+    // Without compilation time monitoring every round looks quiet, the warm-up then stops at minIterations
+    private long compilationMillis() {
+        return compilation != null && compilation.isCompilationTimeMonitoringSupported()
+                ? compilation.getTotalCompilationTime() : -1;
+    }
+
+    private void iteration(HttpClient client, URI uri, String header, long iteration) throws Exception {
+        int size = 8 + (int) (iteration & 7);
+        State state = service.newGame(size, size, false).state();
+        List<Tick> ticks = service.solve(state).ticks();
+
+        int expected = switch ((int) (iteration & 15)) {
+            case 3 -> HttpStatus.I_AM_A_TEAPOT.value();
+            // One tick short of the fruit, no tick at all when it was next to the head
+            case 7 -> ticks.size() > 1 ? HttpStatus.NOT_FOUND.value() : HttpStatus.BAD_REQUEST.value();
+            case 11, 15 -> HttpStatus.BAD_REQUEST.value();
+            default -> HttpStatus.OK.value();
+        };
+        ValidateMoveRequest request = switch ((int) (iteration & 15)) {
+            case 3 -> new ValidateMoveRequest(state, List.of(reverse(state)));
+            case 7 -> new ValidateMoveRequest(state, ticks.subList(0, ticks.size() - 1));
+            case 11 -> new ValidateMoveRequest(withDetachedBody(state), ticks);
+            case 15 -> new ValidateMoveRequest(state, null);
+            default -> new ValidateMoveRequest(state, ticks, (iteration & 1) == 0);
+        };
+        HttpRequest post = HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(SnakeConstants.WARMUP_HEADER, header)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)))
+                .build();
+        int status = send(client, post);
+        if (status != expected) {
+            throw new IllegalStateException(String.format("Warm-up iteration %d answered %d, expected %d",
+                    iteration, status, expected));
+        }
+    }
+
+    // The games are stateless, a request is replayed once when the server closed its kept-alive connection
+    private static int send(HttpClient client, HttpRequest post) throws IOException, InterruptedException {
+        try {
+            return client.send(post, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return client.send(post, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+
+    private static Tick reverse(State state) {
+        Velocity velocity = state.getSnake().getVelocity();
+        return new Tick(new Velocity(-velocity.velX(), -velocity.velY()));
+    }
+
+    // A body segment two cells away from the head
+    private static State withDetachedBody(State state) {
+        Snake snake = state.getSnake();
+        Coordinate head = snake.getCoordinate();
+        return state.toBuilder()
+                .snake(new Snake(head, snake.getVelocity(), List.of(new Coordinate(head.x() + 2, head.y()))))
+                .build();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = switch (phase) {
+            case DISABLED, DONE -> Health.up();
+            case PENDING, RUNNING -> Health.outOfService();
+        };
+        health.withDetail("phase", phase).withDetail("iterations", iterations)
+                .withDetail("durationMs", TimeUnit.NANOSECONDS.toMillis(nanos));
+        return stoppedBy != null ? health.withDetail("stoppedBy", stoppedBy).build() : health.build();
+    }
+
+    public Phase phase() {
+        return phase;
+    }
+
+    public long iterations() {
+        return iterations;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+}
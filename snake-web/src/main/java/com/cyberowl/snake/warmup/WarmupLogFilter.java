@@ -0,0 +1,80 @@
+package com.cyberowl.snake.warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Drops the logs below ERROR of the warm-up thread and of the Reactor tasks it schedules, and of the threads
+ * serving its requests, while requests of clients served meanwhile log as usual. A no-op unless Logback is
+ * the logging backend.
+ */
+final class WarmupLogFilter extends TurboFilter {
+    private static final ThreadLocal<Boolean> MUTED = new ThreadLocal<>();
+    private static final String HOOK = "jit-warmup";
+
+    /**
+     * Mutes the calling thread until the returned handle is run, on the same thread
+     */
+    static Runnable mute() {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return () -> {
+            };
+        }
+        WarmupLogFilter filter = new WarmupLogFilter();
+        filter.start();
+        context.addTurboFilter(filter);
+        Schedulers.onScheduleHook(HOOK, WarmupLogFilter::propagate);
+        MUTED.set(Boolean.TRUE);
+        return () -> {
+            MUTED.remove();
+            Schedulers.resetOnScheduleHook(HOOK);
+            context.getTurboFilterList().remove(filter);
+        };
+    }
+
+    /**
+     * Mutes the calling thread too until the returned handle is run, on the same thread, while the warm-up
+     * runs: no filter is installed otherwise
+     */
+    static Runnable muteThread() {
+        boolean muted = MUTED.get() != null;
+        MUTED.set(Boolean.TRUE);
+        return () -> {
+            if (!muted) {
+                MUTED.remove();
+            }
+        };
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        return MUTED.get() != null && level != null && !level.isGreaterOrEqual(Level.ERROR)
+                ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+
+    // A task scheduled by a muted thread runs muted, whichever worker picks it up
+    private static Runnable propagate(Runnable task) {
+        if (MUTED.get() == null) {
+            return task;
+        }
+        return () -> {
+            boolean muted = MUTED.get() != null;
+            MUTED.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                if (!muted) {
+                    MUTED.remove();
+                }
+            }
+        };
+    }
+}
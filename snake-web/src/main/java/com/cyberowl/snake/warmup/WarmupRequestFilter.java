@@ -0,0 +1,40 @@
+package com.cyberowl.snake.warmup;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.limit.RateLimitFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Recognizes the requests of the running {@link JitWarmup} by their token, ahead of every other filter: they
+ * are exempted from the rate limit, the warm-up posting faster than a client may, and served with their logs
+ * below ERROR dropped. Any other request goes through untouched.
+ */
+public class WarmupRequestFilter extends OncePerRequestFilter {
+    private final JitWarmup warmup;
+
+    public WarmupRequestFilter(JitWarmup warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!warmup.isWarmupRequest(request.getHeader(SnakeConstants.WARMUP_HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(RateLimitFilter.EXEMPT_ATTRIBUTE, Boolean.TRUE);
+        Runnable unmute = WarmupLogFilter.muteThread();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            unmute.run();
+        }
+    }
+}
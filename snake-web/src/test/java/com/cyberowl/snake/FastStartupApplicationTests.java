@@ -0,0 +1,34 @@
+package com.cyberowl.snake;
+
+import com.cyberowl.snake.spectator.SpectatorHub;
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("fast-startup")
+class FastStartupApplicationTests {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void contextLoads_withStoreOnlyCreatedEagerly() {
+        assertTrue(context.getBeanFactory().containsSingleton("gameStore"));
+        assertFalse(context.getBeanFactory().containsSingleton(beanName(SpectatorHub.class)));
+    }
+
+    @Test
+    void contextLoads_withoutOpenApiScanning() {
+        assertEquals(0, context.getBeanNamesForType(OpenApiWebMvcResource.class).length);
+    }
+
+    private String beanName(Class<?> type) {
+        return context.getBeanNamesForType(type)[0];
+    }
+}
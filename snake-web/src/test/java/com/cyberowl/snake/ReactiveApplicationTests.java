@@ -0,0 +1,25 @@
+package com.cyberowl.snake;
+
+import com.cyberowl.snake.controller.SnakeController;
+import com.cyberowl.snake.reactive.ReactiveSnakeController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+class ReactiveApplicationTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contextLoads_withReactiveControllerOnly() {
+        assertEquals(1, context.getBeanNamesForType(ReactiveSnakeController.class).length);
+        assertEquals(0, context.getBeanNamesForType(SnakeController.class).length);
+    }
+}
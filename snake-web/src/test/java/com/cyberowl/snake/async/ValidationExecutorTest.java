@@ -0,0 +1,90 @@
+package com.cyberowl.snake.async;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationExecutorTest {
+    private static final int HEAVY_TICKS = 100;
+
+    private ThreadPoolExecutor light;
+    private ThreadPoolExecutor heavy;
+    private ValidationExecutor validationExecutor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        light = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        heavy = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        validationExecutor = new ValidationExecutor(light, heavy, HEAVY_TICKS, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        light.shutdownNow();
+        heavy.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1,LIGHT", "99,LIGHT", "100,HEAVY", "1000000,HEAVY"})
+    void costClass_shouldSplitOnHeavyTicks(int ticks, ValidationExecutor.CostClass expected) {
+        assertEquals(expected, validationExecutor.costClass(ticks));
+    }
+
+    @Test
+    void submit_shouldCompleteWithValidationResult() throws Exception {
+        CompletableFuture<String> result = validationExecutor.submit(1, () -> Thread.currentThread().getName());
+
+        assertNotEquals(Thread.currentThread().getName(), result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_shouldRejectWithRetryAfter_whenQueueIsFull() {
+        // One running and one queued heavy validation fill the heavy pool
+        validationExecutor.submit(HEAVY_TICKS, this::awaitRelease);
+        validationExecutor.submit(HEAVY_TICKS, this::awaitRelease);
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> validationExecutor.submit(HEAVY_TICKS, this::awaitRelease));
+
+        assertEquals(SnakeConstants.VALIDATION_QUEUE_FULL, ex.getMessage());
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+    }
+
+    @Test
+    void submit_shouldKeepServingLightValidations_whenHeavyPoolIsFull() throws Exception {
+        validationExecutor.submit(HEAVY_TICKS, this::awaitRelease);
+        validationExecutor.submit(HEAVY_TICKS, this::awaitRelease);
+
+        assertEquals("light", validationExecutor.submit(1, () -> "light").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_shouldCompleteExceptionally_whenValidationFails() {
+        CompletableFuture<String> result = validationExecutor.submit(1, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    private String awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "released";
+    }
+}
@@ -0,0 +1,66 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.model.Coordinate;
+import com.cyberowl.snake.model.Fruit;
+import com.cyberowl.snake.model.Snake;
+import com.cyberowl.snake.model.Velocity;
+import com.cyberowl.snake.store.GameStore;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import com.cyberowl.snake.store.OffHeapGameStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load then commit of one game, as a validation does, with 16 threads over {@code games} games. With many
+ * games commits on different games must not slow each other down; with a single game most commits lose the
+ * race and fail fast, they never queue behind the winner.
+ * <p>
+ * Run with {@code -prof gc} to compare the heap cost of resident games; the off-heap store at 10M games
+ * ({@code -p store=off-heap -p games=10000000}) needs about 2 GB of direct memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx3g", "-XX:MaxDirectMemorySize=3g"})
+@Threads(16)
+@State(Scope.Benchmark)
+public class GameStoreBenchmark {
+    @Param({"on-heap", "off-heap"})
+    private String store;
+
+    @Param({"1", "1000", "1000000"})
+    private int games;
+
+    private GameStore gameStore;
+    private String[] gameIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long idle = TimeUnit.HOURS.toNanos(1);
+        gameStore = store.equals("off-heap") ? new OffHeapGameStore(games, idle) : new InMemoryGameStore(games, idle);
+        gameIds = new String[games];
+        for (int i = 0; i < games; i++) {
+            gameIds[i] = UUID.randomUUID().toString();
+            gameStore.create(com.cyberowl.snake.model.State.builder()
+                    .gameId(gameIds[i])
+                    .width(100)
+                    .height(100)
+                    .score(0)
+                    .fruit(Fruit.generateFixedPosition(50, 50))
+                    .snake(new Snake(new Coordinate(0, 0), new Velocity(1, 0), List.of()))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public boolean loadAndCommit() {
+        com.cyberowl.snake.model.State state = gameStore.load(gameIds[ThreadLocalRandom.current().nextInt(games)]);
+        state.setScore(state.getScore() + 1);
+        return gameStore.commit(state, state.getVersion());
+    }
+}
@@ -0,0 +1,79 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.model.Coordinate;
+import com.cyberowl.snake.model.Fruit;
+import com.cyberowl.snake.model.Snake;
+import com.cyberowl.snake.model.Velocity;
+import com.cyberowl.snake.store.DurableGameStore;
+import com.cyberowl.snake.store.OffHeapGameStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time for a restarted instance to be serving again: map the snapshot of {@code games} games, restore them
+ * and replay a journal of 10% more commits.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-XX:MaxDirectMemorySize=3g"})
+@State(Scope.Benchmark)
+public class GameStoreRecoveryBenchmark {
+    private static final long IDLE = TimeUnit.HOURS.toNanos(1);
+
+    @Param({"1000000"})
+    private int games;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("game-store-recovery");
+        DurableGameStore store = new DurableGameStore(new OffHeapGameStore(games, IDLE), directory, Duration.ZERO);
+        String[] gameIds = new String[games];
+        for (int i = 0; i < games; i++) {
+            gameIds[i] = UUID.randomUUID().toString();
+            store.create(state(gameIds[i], 0));
+        }
+        store.snapshot();
+        for (int i = 0; i < games / 10; i++) {
+            store.commit(state(gameIds[i], 1), 0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public DurableGameStore recover() throws IOException {
+        return new DurableGameStore(new OffHeapGameStore(games, IDLE), directory, Duration.ZERO);
+    }
+
+    private static com.cyberowl.snake.model.State state(String gameId, int score) {
+        return com.cyberowl.snake.model.State.builder()
+                .gameId(gameId)
+                .width(100)
+                .height(100)
+                .score(score)
+                .fruit(Fruit.generateFixedPosition(50, 50))
+                .snake(new Snake(new Coordinate(10, 10), new Velocity(1, 0),
+                        List.of(new Coordinate(9, 10), new Coordinate(8, 10))))
+                .build();
+    }
+}
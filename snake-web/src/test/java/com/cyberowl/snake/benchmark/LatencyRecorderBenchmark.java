@@ -0,0 +1,45 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.latency.LatencyRecorder;
+import com.cyberowl.snake.latency.Phase;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording the five phases of a request with 8 threads sharing the recorders, intervals rotated
+ * every 100 ms meanwhile as the endpoint would. Run with {@code -prof gc}: the allocation rate per operation
+ * stays at 0.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LatencyRecorderBenchmark {
+    private static final Phase[] PHASES = Phase.values();
+
+    private LatencyRecorder recorder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        recorder = new LatencyRecorder(Duration.ofSeconds(60), Duration.ofMillis(100));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        recorder.close();
+    }
+
+    @Benchmark
+    public void recordRequest() {
+        long nanos = ThreadLocalRandom.current().nextLong(10_000, 10_000_000);
+        for (Phase phase : PHASES) {
+            recorder.record(phase, nanos);
+        }
+    }
+}
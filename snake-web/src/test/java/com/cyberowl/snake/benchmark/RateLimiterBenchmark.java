@@ -0,0 +1,60 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.limit.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of one rate limit decision with 64 threads: all on one hot key (the abusive client in a tight loop,
+ * every decision a CAS on the same word), one key per thread, and spread over 10,000 keys. The rate is high
+ * enough that buckets admit, so the CAS path is measured rather than the cheaper refusal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+    private static final int KEYS = 10_000;
+
+    private final RateLimiter limiter = new RateLimiter(1e9, 1_000_000, 2 * KEYS);
+    private final String[] keys = new String[KEYS];
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+        String key;
+
+        @Setup(Level.Trial)
+        public void setUp(RateLimiterBenchmark benchmark) {
+            key = "client-" + benchmark.threads.getAndIncrement();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "game-" + i;
+        }
+    }
+
+    @Benchmark
+    public long hotKey() {
+        return limiter.tryAcquire("hot");
+    }
+
+    @Benchmark
+    public long keyPerThread(ThreadKey threadKey) {
+        return limiter.tryAcquire(threadKey.key);
+    }
+
+    @Benchmark
+    public long spreadKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+}
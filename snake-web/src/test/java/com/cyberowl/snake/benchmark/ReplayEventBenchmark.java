@@ -0,0 +1,81 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.jfr.ReplayEvent;
+import com.cyberowl.snake.model.Coordinate;
+import com.cyberowl.snake.model.Fruit;
+import com.cyberowl.snake.model.Snake;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.model.Velocity;
+import com.cyberowl.snake.service.impl.SnakeServiceImpl;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the replay Flight Recorder event on a 20 tick validation, without any recording, then with one
+ * recording the event: the first figure is what the service pays in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReplayEventBenchmark {
+    private static final int TICKS = 20;
+
+    @Param({"false", "true"})
+    private boolean recording;
+
+    private Recording jfr;
+    private SnakeServiceImpl service;
+    private List<Tick> ticks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The service logs every validation at INFO, which would cost more than the validation itself
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.cyberowl.snake"))
+                .setLevel(ch.qos.logback.classic.Level.ERROR);
+        service = new SnakeServiceImpl(new FruitSequence("benchmark".getBytes(StandardCharsets.UTF_8)), event -> {
+        }, new InMemoryGameStore(1, 0));
+        ticks = new ArrayList<>();
+        for (int i = 0; i < TICKS; i++) {
+            ticks.add(new Tick(new Velocity(1, 0)));
+        }
+        if (recording) {
+            jfr = new Recording();
+            jfr.enable(ReplayEvent.class);
+            jfr.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (jfr != null) {
+            jfr.close();
+        }
+    }
+
+    // The validation updates the state it replays, so each one gets its own
+    @Benchmark
+    public ValidateMoveResponse validateMove() {
+        com.cyberowl.snake.model.State state = com.cyberowl.snake.model.State.builder()
+                .gameId("benchmark")
+                .width(100)
+                .height(100)
+                .score(0)
+                .fruit(Fruit.generateFixedPosition(TICKS, 0))
+                .snake(new Snake(new Coordinate(0, 0), new Velocity(1, 0)))
+                .build();
+        return service.validateMove(new ValidateMoveRequest(state, ticks));
+    }
+}
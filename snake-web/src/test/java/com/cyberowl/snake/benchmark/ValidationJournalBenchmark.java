@@ -0,0 +1,87 @@
+package com.cyberowl.snake.benchmark;
+
+import com.cyberowl.snake.journal.ValidationJournal;
+import com.cyberowl.snake.model.Coordinate;
+import com.cyberowl.snake.model.Fruit;
+import com.cyberowl.snake.model.Snake;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.model.Velocity;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost the journal adds to a validating thread, 4 of them appending a 20 tick validation of a 30 segment
+ * snake. The writer thread runs for real, so once it falls behind the time also includes waiting for a
+ * free slot: the figure is what a request pays under sustained load, not just the enqueue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ValidationJournalBenchmark {
+
+    @Param({"NONE", "BATCH"})
+    private ValidationJournal.Fsync fsync;
+
+    private Path directory;
+    private ValidationJournal journal;
+    private com.cyberowl.snake.model.State before;
+    private com.cyberowl.snake.model.State after;
+    private List<Tick> ticks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("validation-journal");
+        journal = new ValidationJournal(directory, 65536, fsync, Duration.ofMillis(100), 64L << 20);
+        String gameId = UUID.randomUUID().toString();
+        before = state(gameId, 0);
+        after = state(gameId, 20);
+        ticks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ticks.add(new Tick(new Velocity(1, 0)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean append() {
+        return journal.append(before, ticks, after);
+    }
+
+    private static com.cyberowl.snake.model.State state(String gameId, int headX) {
+        List<Coordinate> body = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            body.add(new Coordinate(headX + 30 - i, 10));
+        }
+        return com.cyberowl.snake.model.State.builder()
+                .gameId(gameId)
+                .width(100)
+                .height(100)
+                .score(1)
+                .fruit(Fruit.generateFixedPosition(50, 50))
+                .snake(new Snake(new Coordinate(headX + 30, 10), new Velocity(1, 0), body))
+                .build();
+    }
+}
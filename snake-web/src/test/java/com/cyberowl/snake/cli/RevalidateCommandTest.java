@@ -0,0 +1,165 @@
+package com.cyberowl.snake.cli;
+
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.journal.ValidationJournal;
+import com.cyberowl.snake.journal.ValidationJournalReader;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.model.Velocity;
+import com.cyberowl.snake.service.impl.SnakeServiceImpl;
+import com.cyberowl.snake.spectator.StateChangedEvent;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevalidateCommandTest {
+    private static final String SECRET = "test-secret";
+    private static final FruitSequence fruitSequence = new FruitSequence(SECRET.getBytes(StandardCharsets.UTF_8));
+    private static final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @ParameterizedTest
+    @ValueSource(ints = {64, 1000, 4 << 20})
+    void run_shouldReplayEveryJournalEntry_whateverTheChunkSize(int chunkSize) throws Exception {
+        Path journal = journal(30, 2);
+
+        int status = run("--threads", "3", "--chunk-size", String.valueOf(chunkSize), "--secret", SECRET, journal.toString());
+
+        assertEquals(RevalidateCommand.OK, status, output.toString());
+        assertTrue(output.toString().contains("VALID              60"), output.toString());
+        assertTrue(output.toString().contains("Discrepancies: 0"));
+    }
+
+    @Test
+    void run_shouldReportJournalEntriesReplayedUnderAnotherSecret() throws Exception {
+        Path journal = journal(20, 1);
+
+        int status = run("--secret", "rotated-secret", journal.toString());
+
+        // A fruit drawn under the other secret lands on the recorded cell once in about 170 entries
+        assertEquals(RevalidateCommand.DISCREPANCIES, status);
+        assertFalse(output.toString().contains("Discrepancies: 0"), output.toString());
+    }
+
+    @Test
+    void run_shouldReportTornJournalTail() throws Exception {
+        Path journal = journal(4, 1);
+        Path segment = ValidationJournalReader.segments(journal).get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 500));
+        }
+
+        int status = run("--chunk-size", "100", "--secret", SECRET, segment.toString());
+
+        assertEquals(RevalidateCommand.DISCREPANCIES, status);
+        assertTrue(output.toString().contains("VALID              4"), output.toString());
+        assertTrue(output.toString().contains("Unreadable from " + segment + "@" + size), output.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 200, 4 << 20})
+    void run_shouldTallyJsonLines(int chunkSize) throws Exception {
+        SnakeServiceImpl service = service(event -> {
+        });
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            State state = service.newGame(10, 10, false).state();
+            List<Tick> ticks = service.solve(state).ticks();
+            String request = objectMapper.writeValueAsString(Map.of("state", state, "ticks", ticks));
+            State after = service.validateMove(new ValidateMoveRequest(objectMapper.readValue(
+                    objectMapper.writeValueAsString(state), State.class), ticks)).state();
+            lines.add(i % 2 == 0 ? request : withExpected(state, ticks, after));
+        }
+        State state = service.newGame(10, 10, false).state();
+        // Into its own neck on the first tick, then a line recorded with a state it never reached
+        lines.add(objectMapper.writeValueAsString(Map.of("state", state, "ticks", List.of(new Tick(new Velocity(-1, 0))))));
+        State wrong = service.newGame(10, 10, false).state();
+        lines.add(withExpected(state, service.solve(state).ticks(), wrong));
+        lines.add("");
+        lines.add("{not json");
+        Path file = directory.resolve("games.jsonl");
+        Files.writeString(file, String.join("\n", lines));
+
+        int status = run("--format", "jsonl", "--threads", "2", "--chunk-size", String.valueOf(chunkSize),
+                "--secret", SECRET, file.toString());
+
+        String summary = output.toString();
+        assertEquals(RevalidateCommand.DISCREPANCIES, status, summary);
+        assertTrue(summary.contains("Re-validated 13 records"), summary);
+        assertTrue(summary.contains("VALID              10"), summary);
+        assertTrue(summary.contains("GAME_OVER          1"), summary);
+        assertTrue(summary.contains("MISMATCH           1"), summary);
+        assertTrue(summary.contains("MALFORMED          1"), summary);
+        assertTrue(summary.contains("Discrepancies: 1"), summary);
+        assertTrue(summary.contains(state.getGameId() + " MISMATCH"), summary);
+    }
+
+    @Test
+    void run_shouldRejectMissingSecret() throws Exception {
+        assertEquals(RevalidateCommand.USAGE, RevalidateCommand.run(new String[]{"file"}, null, new PrintStream(output)));
+        assertTrue(output.toString().contains("fruit secret"));
+    }
+
+    @Test
+    void run_shouldRejectUnknownFormat() throws Exception {
+        assertEquals(RevalidateCommand.USAGE, run("--format", "csv", "--secret", SECRET, "file"));
+    }
+
+    private int run(String... args) throws IOException, InterruptedException {
+        return RevalidateCommand.run(args, null, new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    private String withExpected(State state, List<Tick> ticks, State expected) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("state", state);
+        line.put("ticks", ticks);
+        line.put("continuous", false);
+        line.put("expected", expected);
+        return objectMapper.writeValueAsString(line);
+    }
+
+    private Path journal(int games, int fruits) throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        ValidationJournal journal = new ValidationJournal(journalDirectory, 1024, ValidationJournal.Fsync.NONE, Duration.ZERO, 64L << 20);
+        SnakeServiceImpl service = service(event -> journal.onStateChanged((StateChangedEvent) event));
+        for (int game = 0; game < games; game++) {
+            State state = service.newGame(12, 12, false).state();
+            for (int fruit = 0; fruit < fruits; fruit++) {
+                state = service.validateMove(new ValidateMoveRequest(state, service.solve(state).ticks())).state();
+            }
+        }
+        journal.close();
+        return journalDirectory;
+    }
+
+    private static SnakeServiceImpl service(org.springframework.context.ApplicationEventPublisher publisher) {
+        return new SnakeServiceImpl(fruitSequence, publisher, new InMemoryGameStore(1, 0));
+    }
+}
@@ -1,14 +1,18 @@
 package com.cyberowl.snake.controller;
 
+import com.cyberowl.snake.async.ValidationExecutor;
 import com.cyberowl.snake.constants.SnakeConstants;
 import com.cyberowl.snake.dto.NewGameResponse;
+import com.cyberowl.snake.dto.SolveResponse;
 import com.cyberowl.snake.dto.ValidateMoveRequest;
 import com.cyberowl.snake.dto.ValidateMoveResponse;
 import com.cyberowl.snake.exception.FruitNotReachedException;
 import com.cyberowl.snake.exception.GameOverException;
+import com.cyberowl.snake.exception.ServiceUnavailableException;
 import com.cyberowl.snake.model.*;
 import com.cyberowl.snake.service.SnakeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -20,20 +24,28 @@ import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
@@ -45,6 +57,8 @@ class SnakeControllerTest {
 
     private static final String NEW_GAME_ENDPOINT = "/api/v1/snake/new";
     private static final String VALIDATE_MOVE_ENDPOINT = "/api/v1/snake/validate";
+    private static final String VALIDATE_MOVE_ASYNC_ENDPOINT = "/api/v1/snake/validate/async";
+    private static final String SOLVE_ENDPOINT = "/api/v1/snake/solve";
 
     private static final String correlationId = UUID.randomUUID().toString();
     private static final int GRID_WIDTH = 5;
@@ -56,6 +70,9 @@ class SnakeControllerTest {
     @MockBean
     private SnakeService snakeService;
 
+    @MockBean
+    private ValidationExecutor validationExecutor;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -180,8 +197,7 @@ class SnakeControllerTest {
 
     private NewGameResponse createExpectedNewGameResponse(int width, int height) {
         String gameId = UUID.randomUUID().toString();
-        GridSize gridSize = new GridSize(width, height);
-        Fruit fruit = Fruit.generateRandomPosition(gridSize, 1);
+        Fruit fruit = Fruit.generateFixedPosition(width, height);
         Snake snake = new Snake(new Coordinate(0, 0), new Velocity(1, 0));
 
         State expectedState = State.builder()
@@ -229,6 +245,39 @@ class SnakeControllerTest {
         verify(snakeService).validateMove(argThat(this::isValidRequest));
     }
 
+    @Test
+    void validateMove_shouldPassContinuousFlagAndReturnFruitTicks() throws Exception {
+        ValidateMoveRequest request = createMoveRequest();
+        ValidateMoveRequest continuousRequest = new ValidateMoveRequest(request.getState(), request.getTicks(), true);
+        ValidateMoveResponse baseResponse = createExpectedMoveResponse();
+        ValidateMoveResponse expectedResponse = new ValidateMoveResponse(baseResponse.state(), baseResponse.ticks(),
+                SnakeConstants.POINTS_PER_FRUIT, List.of(1));
+
+        when(snakeService.validateMove(argThat(ValidateMoveRequest::isContinuous))).thenReturn(expectedResponse);
+
+        mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(continuousRequest))
+                        .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scoreDelta").value(SnakeConstants.POINTS_PER_FRUIT))
+                .andExpect(jsonPath("$.fruitTicks", hasSize(1)))
+                .andExpect(jsonPath("$.fruitTicks[0]").value(1));
+    }
+
+    @Test
+    void validateMove_shouldOmitContinuousFields_whenNotContinuous() throws Exception {
+        when(snakeService.validateMove(ArgumentMatchers.any(ValidateMoveRequest.class))).thenReturn(createExpectedMoveResponse());
+
+        mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createMoveRequest()))
+                        .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scoreDelta").doesNotExist())
+                .andExpect(jsonPath("$.fruitTicks").doesNotExist());
+    }
+
     @Nested
     class ValidateMoveInvalidInputTests {
 
@@ -264,6 +313,7 @@ class SnakeControllerTest {
                     Arguments.of("Null Snake", new ValidateMoveRequest(createStateWithNullSnake(), createValidTicks()), "state.snake", "Snake cannot be null"),
                     Arguments.of("Invalid Snake Coordinate", new ValidateMoveRequest(createStateWithInvalidSnakeCoordinate(), createValidTicks()), "state.snake.coordinate", SnakeConstants.INVALID_COORDINATE),
                     Arguments.of("Invalid Snake Velocity", new ValidateMoveRequest(createStateWithInvalidSnakeVelocity(), createValidTicks()), "state.snake.velocity", SnakeConstants.INVALID_VELOCITY),
+                    Arguments.of("Invalid Snake Body", new ValidateMoveRequest(createStateWithInvalidSnakeBody(), createValidTicks()), "state.snake.body[0]", SnakeConstants.INVALID_COORDINATE),
                     Arguments.of("Empty Ticks", new ValidateMoveRequest(createValidState(), Collections.emptyList()), "ticks", "Ticks cannot be empty"),
                     Arguments.of("Null Tick Velocity", new ValidateMoveRequest(createValidState(), createTicksWithNullVelocity()), "ticks[0].velocity", SnakeConstants.INVALID_VELOCITY),
                     Arguments.of("Invalid Tick Velocity", new ValidateMoveRequest(createValidState(), createTicksWithInvalidVelocity()), "ticks", SnakeConstants.INVALID_VELOCITY)
@@ -335,6 +385,125 @@ class SnakeControllerTest {
         verify(snakeService).validateMove(ArgumentMatchers.any(ValidateMoveRequest.class));
     }
 
+    @Nested
+    class ValidateMoveAsyncTests {
+
+        @BeforeEach
+        void runValidationsOnCallerThread() {
+            when(validationExecutor.submit(anyInt(), ArgumentMatchers.<Supplier<ValidateMoveResponse>>any()))
+                    .thenAnswer(invocation -> CompletableFuture.supplyAsync(invocation.getArgument(1), Runnable::run));
+        }
+
+        @Test
+        void validateMoveAsync_shouldReturnValidMoveResponse_whenValidRequest() throws Exception {
+            ValidateMoveResponse expectedResponse = createExpectedMoveResponse();
+            when(snakeService.validateMove(argThat(SnakeControllerTest.this::isValidRequest))).thenReturn(expectedResponse);
+
+            MvcResult mvcResult = mockMvc.perform(post(VALIDATE_MOVE_ASYNC_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createMoveRequest()))
+                            .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                    .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.state.gameId").value(expectedResponse.state().getGameId()))
+                    .andExpect(jsonPath("$.ticks", hasSize(2)))
+                    .andExpect(header().string(SnakeConstants.CORRELATION_ID_HEADER, correlationId));
+
+            verify(validationExecutor).submit(eq(2), ArgumentMatchers.any());
+        }
+
+        @Test
+        void validateMoveAsync_shouldReturnTeapot_whenGameIsOver() throws Exception {
+            when(snakeService.validateMove(ArgumentMatchers.any(ValidateMoveRequest.class)))
+                    .thenThrow(new GameOverException(SnakeConstants.GAME_OVER));
+
+            MvcResult mvcResult = mockMvc.perform(post(VALIDATE_MOVE_ASYNC_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createGameOverMoveRequest()))
+                            .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                    .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isIAmATeapot())
+                    .andExpect(jsonPath("$.message").value(SnakeConstants.GAME_OVER));
+        }
+
+        @Test
+        void validateMoveAsync_shouldShedLoadWithRetryAfter_whenQueueIsFull() throws Exception {
+            doThrow(new ServiceUnavailableException(SnakeConstants.VALIDATION_QUEUE_FULL, Duration.ofMillis(1500)))
+                    .when(validationExecutor).submit(anyInt(), ArgumentMatchers.any());
+
+            mockMvc.perform(post(VALIDATE_MOVE_ASYNC_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createMoveRequest()))
+                            .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                    .andExpect(jsonPath("$.message").value(SnakeConstants.VALIDATION_QUEUE_FULL));
+
+            verify(snakeService, never()).validateMove(ArgumentMatchers.any());
+        }
+
+        @Test
+        void validateMoveAsync_shouldReturnBadRequest_whenTicksEmpty() throws Exception {
+            mockMvc.perform(post(VALIDATE_MOVE_ASYNC_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ValidateMoveRequest(createValidState(), Collections.emptyList())))
+                            .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                    .andExpect(status().isBadRequest());
+
+            verify(validationExecutor, never()).submit(anyInt(), ArgumentMatchers.any());
+        }
+    }
+
+    @Test
+    void solve_shouldReturnStateAndTicks_whenValidState() throws Exception {
+        ValidateMoveRequest request = createMoveRequest();
+        SolveResponse expectedResponse = new SolveResponse(request.getState(), List.of(new Tick(new Velocity(1, -1))));
+
+        when(snakeService.solve(ArgumentMatchers.any(State.class))).thenReturn(expectedResponse);
+
+        mockMvc.perform(post(SOLVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request.getState()))
+                        .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state.gameId").value(request.getState().getGameId()))
+                .andExpect(jsonPath("$.ticks", hasSize(1)))
+                .andExpect(jsonPath("$.ticks[0].velocity.velX").value(1))
+                .andExpect(jsonPath("$.ticks[0].velocity.velY").value(-1))
+                .andExpect(header().string(SnakeConstants.CORRELATION_ID_HEADER, correlationId));
+
+        verify(snakeService).solve(argThat(state -> state.getGameId().equals(request.getState().getGameId())));
+    }
+
+    @Test
+    void solve_shouldReturnBadRequest_whenInvalidState() throws Exception {
+        mockMvc.perform(post(SOLVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createStateWithNullSnake()))
+                        .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(SnakeConstants.VALIDATION_ERROR));
+    }
+
+    @Test
+    void solve_shouldReturnNotFound_whenNoPath() throws Exception {
+        when(snakeService.solve(ArgumentMatchers.any(State.class)))
+                .thenThrow(new FruitNotReachedException(SnakeConstants.NO_PATH_TO_FRUIT));
+
+        mockMvc.perform(post(SOLVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createValidState()))
+                        .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(SnakeConstants.NO_PATH_TO_FRUIT));
+    }
+
     private ValidateMoveRequest createMoveRequest() {
         State initialState = State.builder()
                 .gameId(SnakeControllerTest.correlationId)
@@ -388,7 +557,7 @@ class SnakeControllerTest {
                 .width(GRID_WIDTH)
                 .height(GRID_HEIGHT)
                 .score(1)
-                .fruit(Fruit.generateRandomPosition(GRID_WIDTH, GRID_HEIGHT, 0))
+                .fruit(Fruit.generateFixedPosition(GRID_WIDTH, 0))
                 .snake(new Snake(new Coordinate(1, 1), new Velocity(0, -1)))
                 .build();
         List<Tick> ticks = List.of(
@@ -417,6 +586,12 @@ class SnakeControllerTest {
                 .build();
     }
 
+    private static State createStateWithInvalidSnakeBody() {
+        State state = createValidState();
+        state.setSnake(new Snake(new Coordinate(0, 0), new Velocity(1, 0), List.of(new Coordinate(-1, 0))));
+        return state;
+    }
+
     private static State createStateWithNullGameId() {
         return State.builder()
                 .gameId(null)
@@ -0,0 +1,48 @@
+package com.cyberowl.snake.controller;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.exception.ServiceUnavailableException;
+import com.cyberowl.snake.spectator.SpectatorHub;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SpectatorController.class)
+class SpectatorControllerTest {
+
+    private static final String SPECTATE_ENDPOINT = "/api/v1/snake/spectate/{gameId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SpectatorHub spectatorHub;
+
+    @Test
+    void spectate_shouldOpenEventStream() throws Exception {
+        when(spectatorHub.subscribe("game-1")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get(SPECTATE_ENDPOINT, "game-1").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(spectatorHub).subscribe("game-1");
+    }
+
+    @Test
+    void spectate_shouldReturnServiceUnavailable_whenTooManySpectators() throws Exception {
+        when(spectatorHub.subscribe("game-1")).thenThrow(new ServiceUnavailableException(SnakeConstants.TOO_MANY_SPECTATORS));
+
+        mockMvc.perform(get(SPECTATE_ENDPOINT, "game-1").accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value(SnakeConstants.TOO_MANY_SPECTATORS));
+    }
+}
@@ -0,0 +1,160 @@
+package com.cyberowl.snake.controller;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.dto.NewGameResponse;
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.dto.ValidateTokenRequest;
+import com.cyberowl.snake.exception.GameOverException;
+import com.cyberowl.snake.model.*;
+import com.cyberowl.snake.service.SnakeService;
+import com.cyberowl.snake.token.StateTokenCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StateTokenController.class)
+class StateTokenControllerTest {
+
+    private static final String NEW_GAME_ENDPOINT = "/api/v1/snake/token/new";
+    private static final String VALIDATE_MOVE_ENDPOINT = "/api/v1/snake/token/validate";
+
+    private static final String correlationId = UUID.randomUUID().toString();
+    private static final int GRID_WIDTH = 5;
+    private static final int GRID_HEIGHT = 5;
+
+    @TestConfiguration
+    static class TokenConfig {
+        @Bean
+        StateTokenCodec stateTokenCodec() {
+            return new StateTokenCodec("test-secret".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SnakeService snakeService;
+
+    @Autowired
+    private StateTokenCodec stateTokenCodec;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void newGame_shouldReturnTokenForNewState() throws Exception {
+        State state = createState(0, 1, 1);
+        when(snakeService.newGame(GRID_WIDTH, GRID_HEIGHT, false)).thenReturn(new NewGameResponse(state));
+
+        MvcResult result = mockMvc.perform(get(NEW_GAME_ENDPOINT)
+                        .param("w", String.valueOf(GRID_WIDTH))
+                        .param("h", String.valueOf(GRID_HEIGHT))
+                        .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isString())
+                .andExpect(jsonPath("$.state.gameId").value(state.getGameId()))
+                .andExpect(header().string(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                .andReturn();
+
+        String token = objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+        assertEquals(state.getGameId(), stateTokenCodec.decode(token).getGameId());
+    }
+
+    @Test
+    void validateMove_shouldReplayDecodedStateAndReturnNewToken() throws Exception {
+        State state = createState(0, 1, 1);
+        State next = createState(1, 3, 3);
+        next.getSnake().updateCoordinate(new Coordinate(1, 1));
+        List<Tick> ticks = List.of(new Tick(new Velocity(1, 0)), new Tick(new Velocity(0, -1)));
+        when(snakeService.validateMove(argThat(request -> request.getState().getGameId().equals(state.getGameId())), eq(true)))
+                .thenReturn(new ValidateMoveResponse(next, ticks));
+
+        MvcResult result = mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ValidateTokenRequest(stateTokenCodec.encode(state), ticks, false)))
+                        .header(SnakeConstants.CORRELATION_ID_HEADER, correlationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score").value(1))
+                .andExpect(jsonPath("$.fruit.coordinate.x").value(3))
+                .andExpect(jsonPath("$.snake.coordinate.x").value(1))
+                .andExpect(jsonPath("$.ticks").doesNotExist())
+                .andExpect(jsonPath("$.fruitTicks").doesNotExist())
+                .andReturn();
+
+        String token = objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+        assertEquals(1, stateTokenCodec.decode(token).getScore());
+        verify(snakeService).validateMove(argThat(request -> !request.isContinuous()), eq(true));
+    }
+
+    @Test
+    void validateMove_shouldReturnBadRequest_whenTokenTampered() throws Exception {
+        String token = stateTokenCodec.encode(createState(0, 1, 1));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ValidateTokenRequest(tampered,
+                                List.of(new Tick(new Velocity(1, 0))), false))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(SnakeConstants.INVALID_STATE_CD))
+                .andExpect(jsonPath("$.message").value(SnakeConstants.INVALID_STATE_TOKEN));
+    }
+
+    @Test
+    void validateMove_shouldReturnBadRequest_whenTokenOrTicksMissing() throws Exception {
+        mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ValidateTokenRequest("", Collections.emptyList(), false))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.token").value("Token is required"))
+                .andExpect(jsonPath("$.details.ticks").value("Ticks cannot be empty"));
+    }
+
+    @Test
+    void validateMove_shouldReturnTeapot_whenGameIsOver() throws Exception {
+        when(snakeService.validateMove(ArgumentMatchers.any(ValidateMoveRequest.class), eq(true)))
+                .thenThrow(new GameOverException(SnakeConstants.GAME_OVER));
+
+        mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ValidateTokenRequest(stateTokenCodec.encode(createState(0, 1, 1)),
+                                List.of(new Tick(new Velocity(-1, 0))), false))))
+                .andExpect(status().isIAmATeapot())
+                .andExpect(jsonPath("$.message").value(SnakeConstants.GAME_OVER));
+    }
+
+    private static State createState(int score, int fruitX, int fruitY) {
+        return State.builder()
+                .gameId(correlationId)
+                .width(GRID_WIDTH)
+                .height(GRID_HEIGHT)
+                .score(score)
+                .fruit(Fruit.generateFixedPosition(fruitX, fruitY))
+                .snake(new Snake(new Coordinate(0, 0), new Velocity(1, 0)))
+                .build();
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Stream;
@@ -171,6 +173,41 @@ class GlobalExceptionHandlerTest {
 
             assertErrorResponse(response, HttpStatus.I_AM_A_TEAPOT, SnakeConstants.GAME_OVER_CD);
         }
+
+        @Test
+        void handleInvalidStateException() {
+            InvalidStateException ex = new InvalidStateException(SnakeConstants.INVALID_STATE_TOKEN);
+            ResponseEntity<ErrorResponse> response = exceptionHandler.handleInvalidStateException(ex, mockRequest);
+
+            assertErrorResponse(response, HttpStatus.BAD_REQUEST, SnakeConstants.INVALID_STATE_CD);
+        }
+    }
+
+    @Test
+    void handleVersionConflictException() {
+        VersionConflictException ex = new VersionConflictException(SnakeConstants.VERSION_CONFLICT);
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleVersionConflictException(ex, mockRequest);
+
+        assertErrorResponse(response, HttpStatus.CONFLICT, SnakeConstants.VERSION_CONFLICT_CD);
+    }
+
+    @Test
+    void handleServiceUnavailableException() {
+        ServiceUnavailableException ex = new ServiceUnavailableException(SnakeConstants.TOO_MANY_SPECTATORS);
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleServiceUnavailableException(ex, mockRequest);
+
+        assertErrorResponse(response, HttpStatus.SERVICE_UNAVAILABLE, SnakeConstants.SERVICE_UNAVAILABLE_CD);
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void handleServiceUnavailableException_shouldSetRetryAfterInWholeSeconds() {
+        ServiceUnavailableException ex = new ServiceUnavailableException(SnakeConstants.VALIDATION_QUEUE_FULL,
+                Duration.ofMillis(200));
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleServiceUnavailableException(ex, mockRequest);
+
+        assertErrorResponse(response, HttpStatus.SERVICE_UNAVAILABLE, SnakeConstants.SERVICE_UNAVAILABLE_CD);
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
     }
 
     @Test
@@ -0,0 +1,81 @@
+package com.cyberowl.snake.jfr;
+
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingEndpointTest {
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(Duration.ofMinutes(1), 16 << 20);
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void close() {
+        endpoint.close();
+    }
+
+    @Test
+    void start_shouldRunRecordingUntilStopped() throws Exception {
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(null);
+
+        assertEquals(WebEndpointResponse.STATUS_OK, started.getStatus());
+        assertEquals(RecordingState.RUNNING, started.getBody().get("state"));
+        assertEquals(RecordingState.STOPPED, endpoint.stop().get("state"));
+    }
+
+    @Test
+    void start_shouldReplaceRunningRecording() throws Exception {
+        Object first = endpoint.start("default").getBody().get("id");
+
+        Object second = endpoint.start("profile").getBody().get("id");
+
+        assertNotEquals(first, second);
+        assertEquals(second, endpoint.stop().get("id"));
+    }
+
+    @Test
+    void start_shouldAnswerBadRequest_forUnknownSettings() throws Exception {
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, endpoint.start("unknown").getStatus());
+        assertEquals("NONE", endpoint.stop().get("state"));
+    }
+
+    @Test
+    void dump_shouldWriteRecordedSnakeEvents() throws Exception {
+        endpoint.start(null);
+        ReplayEvent event = ReplayEvent.start("game");
+        assertNotNull(event);
+        event.finish(ReplayEvent.VALID, 3, 3, 1);
+        endpoint.stop();
+
+        WebEndpointResponse<Resource> dump = endpoint.dump();
+
+        assertEquals(WebEndpointResponse.STATUS_OK, dump.getStatus());
+        Path file = directory.resolve("dump.jfr");
+        Files.write(file, dump.getBody().getContentAsByteArray());
+        assertTrue(RecordingFile.readAllEvents(file).stream()
+                .anyMatch(recorded -> recorded.getEventType().getName().equals("com.cyberowl.snake.Replay")
+                        && recorded.getString("gameId").equals("game")));
+    }
+
+    @Test
+    void dump_shouldAnswerNotFound_withoutRecording() throws Exception {
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.dump().getStatus());
+    }
+
+    @Test
+    void replayEvent_shouldNotBeCreated_withoutRecording() {
+        assertNull(ReplayEvent.start("game"));
+    }
+}
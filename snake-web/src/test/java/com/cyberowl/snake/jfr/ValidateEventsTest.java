@@ -0,0 +1,129 @@
+package com.cyberowl.snake.jfr;
+
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.model.Velocity;
+import com.cyberowl.snake.service.SnakeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "snake.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class ValidateEventsTest {
+    private static final String VALIDATE_MOVE_ENDPOINT = "/api/v1/snake/validate";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SnakeService snakeService;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void validate_shouldRecordRequestPhasesAndReplay() throws Exception {
+        State state = snakeService.newGame(10, 10, false).state();
+        List<Tick> ticks = snakeService.solve(state).ticks();
+
+        List<RecordedEvent> events = record(() -> mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ValidateMoveRequest(state, ticks))))
+                .andExpect(status().isOk()));
+
+        RecordedEvent request = single(events, "com.cyberowl.snake.ValidateRequest");
+        assertEquals(VALIDATE_MOVE_ENDPOINT, request.getString("path"));
+        assertEquals(state.getGameId(), request.getString("gameId"));
+        assertEquals(ticks.size(), request.getInt("ticks"));
+        assertEquals(ticks.size(), request.getInt("ticksProcessed"));
+        assertEquals(ReplayEvent.VALID, request.getString("outcome"));
+        assertEquals(200, request.getInt("status"));
+        for (String phase : List.of("binding", "validation", "replay", "serialization")) {
+            assertTrue(request.getDuration(phase).compareTo(Duration.ZERO) > 0, phase);
+        }
+
+        RecordedEvent replay = single(events, "com.cyberowl.snake.Replay");
+        assertEquals(state.getGameId(), replay.getString("gameId"));
+        assertEquals(ReplayEvent.VALID, replay.getString("outcome"));
+        assertEquals(1, replay.getInt("fruits"));
+    }
+
+    @Test
+    void validate_shouldRecordGameOverAtTheTickThatEndedIt() throws Exception {
+        State state = snakeService.newGame(10, 10, false).state();
+        List<Tick> ticks = List.of(new Tick(new Velocity(0, 1)), new Tick(new Velocity(0, 1)));
+
+        List<RecordedEvent> events = record(() -> mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ValidateMoveRequest(state, ticks))))
+                .andExpect(status().isIAmATeapot()));
+
+        RecordedEvent request = single(events, "com.cyberowl.snake.ValidateRequest");
+        assertEquals("GAME_OVER", request.getString("outcome"));
+        assertEquals(418, request.getInt("status"));
+        assertEquals(1, request.getInt("ticksProcessed"));
+        RecordedEvent replay = single(events, "com.cyberowl.snake.Replay");
+        assertEquals("GAME_OVER", replay.getString("outcome"));
+        assertEquals(1, replay.getInt("ticks"));
+        assertEquals(1, replay.getInt("ticksProcessed"));
+        assertEquals(2, request.getInt("ticks"));
+    }
+
+    @Test
+    void validate_shouldRecordBindingOnly_whenBodyIsInvalid() throws Exception {
+        List<RecordedEvent> events = record(() -> mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ticks\":[]}"))
+                .andExpect(status().isBadRequest()));
+
+        RecordedEvent request = single(events, "com.cyberowl.snake.ValidateRequest");
+        assertEquals("VALIDATION_ERROR", request.getString("outcome"));
+        assertTrue(request.getDuration("binding").compareTo(Duration.ZERO) > 0);
+        assertEquals(Duration.ZERO, request.getDuration("replay"));
+        assertTrue(events.stream().noneMatch(event -> event.getEventType().getName().equals("com.cyberowl.snake.Replay")));
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private List<RecordedEvent> record(Action action) throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable(ValidateRequestEvent.class);
+            recording.enable(ReplayEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            Path file = directory.resolve("recording.jfr");
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        }
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.cyberowl.snake.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 3, 100})
+    void constructor_shouldRejectCapacityNotPowerOfTwo(int capacity) {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(capacity));
+    }
+
+    @Test
+    void offer_shouldFail_whenFullUntilDrained() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+
+        List<Integer> taken = new ArrayList<>();
+        assertEquals(2, ring.drain(taken::add, 2));
+        assertTrue(ring.offer(4));
+        assertTrue(ring.offer(5));
+        assertFalse(ring.offer(6));
+        assertEquals(4, ring.drain(taken::add, 10));
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), taken);
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void drain_shouldTakeEveryElementOfEveryProducerInOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        RingBuffer<long[]> ring = new RingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!ring.offer(element)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] next = new long[producers];
+        int taken = 0;
+        start.countDown();
+        while (taken < producers * perProducer) {
+            taken += ring.drain(element -> {
+                assertEquals(next[(int) element[0]]++, element[1]);
+            }, 16);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (long count : next) {
+            assertEquals(perProducer, count);
+        }
+    }
+}
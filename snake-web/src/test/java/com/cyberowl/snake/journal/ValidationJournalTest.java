@@ -0,0 +1,239 @@
+package com.cyberowl.snake.journal;
+
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.model.*;
+import com.cyberowl.snake.service.impl.SnakeServiceImpl;
+import com.cyberowl.snake.spectator.StateChangedEvent;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationJournalTest {
+    private static final FruitSequence fruitSequence = new FruitSequence("test-secret".getBytes(StandardCharsets.UTF_8));
+    private static final long SEGMENT = 64L << 20;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(ValidationJournal.Fsync.class)
+    void verifyAll_shouldReplayEveryJournaledValidation(ValidationJournal.Fsync fsync) throws IOException {
+        ValidationJournal journal = new ValidationJournal(directory, 1024, fsync, Duration.ofMillis(1), SEGMENT);
+        play(journal, 20, 3);
+        journal.close();
+
+        assertEquals(20 * 3, journal.journaled());
+        assertEquals(0, journal.failed());
+        assertEquals(new ValidationJournalVerifier.Result(20 * 3, 0, 0), new ValidationJournalVerifier(fruitSequence).verifyAll(directory));
+    }
+
+    @Test
+    void read_shouldReturnEntriesAsValidated() throws IOException {
+        ValidationJournal journal = new ValidationJournal(directory, 16, ValidationJournal.Fsync.BATCH, Duration.ZERO, SEGMENT);
+        State before = state("game", 0, new Coordinate(3, 3), List.of(new Coordinate(2, 3), new Coordinate(2, 2)));
+        before.setVersion(7L);
+        State after = state("game", 1, new Coordinate(4, 3), List.of(new Coordinate(3, 3), new Coordinate(2, 3), new Coordinate(2, 2)));
+        List<Tick> ticks = List.of(new Tick(new Velocity(1, 0)), new Tick(new Velocity(-1, -1)));
+        assertTrue(journal.append(before, ticks, after));
+        journal.close();
+
+        List<JournalEntry> entries = readAll();
+
+        assertEquals(1, entries.size());
+        JournalEntry entry = entries.get(0);
+        assertEquals(7L, entry.before().getVersion());
+        assertNull(entry.after().getVersion());
+        assertEquals(before.getSnake().getBody(), entry.before().getSnake().getBody());
+        assertEquals(after.getSnake().getBody(), entry.after().getSnake().getBody());
+        assertEquals(new Coordinate(4, 3), entry.after().getSnake().getCoordinate());
+        assertEquals(List.of(new Velocity(1, 0), new Velocity(-1, -1)),
+                entry.ticks().stream().map(Tick::getVelocity).toList());
+        assertEquals(1, entry.after().getScore());
+    }
+
+    @Test
+    void verify_shouldFlagStateThatReplaysDifferently() throws IOException {
+        ValidationJournal journal = new ValidationJournal(directory, 16, ValidationJournal.Fsync.NONE, Duration.ZERO, SEGMENT);
+        List<StateChangedEvent> events = new ArrayList<>();
+        SnakeServiceImpl service = new SnakeServiceImpl(fruitSequence, event -> events.add((StateChangedEvent) event), new InMemoryGameStore(1, 0));
+        State state = service.newGame(10, 10, false).state();
+        List<Tick> ticks = service.solve(state).ticks();
+        service.validateMove(new ValidateMoveRequest(state, ticks));
+        StateChangedEvent event = events.get(0);
+        journal.onStateChanged(event);
+        // Same validation claiming one more point
+        State forged = state(event.state().getGameId(), event.state().getScore() + 1, event.state().getSnake().getCoordinate(),
+                event.state().getSnake().getBody());
+        forged.setFruit(event.state().getFruit());
+        journal.append(event.before(), event.ticks(), forged);
+        journal.close();
+
+        assertEquals(new ValidationJournalVerifier.Result(2, 1, 0), new ValidationJournalVerifier(fruitSequence).verifyAll(directory));
+    }
+
+    @Test
+    void read_shouldStopAtTornTail() throws IOException {
+        ValidationJournal journal = new ValidationJournal(directory, 16, ValidationJournal.Fsync.BATCH, Duration.ZERO, SEGMENT);
+        play(journal, 2, 1);
+        journal.close();
+        Path segment = ValidationJournalReader.segments(directory).get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 100));
+            channel.write(ByteBuffer.wrap(new byte[40]));
+        }
+
+        assertEquals(size, ValidationJournalReader.read(segment, entry -> {
+        }));
+        assertEquals(new ValidationJournalVerifier.Result(2, 0, 1), new ValidationJournalVerifier(fruitSequence).verifyAll(directory));
+    }
+
+    @Test
+    void read_shouldStopAtCorruptedEntry() throws IOException {
+        ValidationJournal journal = new ValidationJournal(directory, 16, ValidationJournal.Fsync.BATCH, Duration.ZERO, SEGMENT);
+        play(journal, 3, 1);
+        journal.close();
+        Path segment = ValidationJournalReader.segments(directory).get(0);
+        long second = firstEntrySize(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), second + 20);
+        }
+
+        assertEquals(1, readAll().size());
+    }
+
+    @Test
+    void append_shouldRollSegmentsAndKeepOrder() throws IOException {
+        ValidationJournal journal = new ValidationJournal(directory, 16, ValidationJournal.Fsync.BATCH, Duration.ZERO, 1);
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            State after = state("game-" + i, 1, new Coordinate(1, 0), List.of());
+            gameIds.add(after.getGameId());
+            journal.append(state(after.getGameId(), 0, new Coordinate(0, 0), List.of()), List.of(new Tick(new Velocity(1, 0))), after);
+            waitForJournaled(journal, i + 1);
+        }
+        journal.close();
+
+        assertTrue(ValidationJournalReader.segments(directory).size() >= 5);
+        assertEquals(gameIds, readAll().stream().map(entry -> entry.after().getGameId()).toList());
+    }
+
+    @Test
+    void constructor_shouldStartNewSegmentAfterExistingOnes() throws IOException {
+        ValidationJournal first = new ValidationJournal(directory, 16, ValidationJournal.Fsync.BATCH, Duration.ZERO, SEGMENT);
+        play(first, 1, 1);
+        first.close();
+
+        ValidationJournal second = new ValidationJournal(directory, 16, ValidationJournal.Fsync.BATCH, Duration.ZERO, SEGMENT);
+        play(second, 1, 1);
+        second.close();
+
+        assertEquals(List.of(1L, 2L), ValidationJournalReader.segments(directory).stream()
+                .map(ValidationJournalReader::segmentId).toList());
+        assertEquals(2, readAll().size());
+    }
+
+    @Test
+    void append_shouldCountEntriesThatCannotBeEncoded() throws IOException {
+        ValidationJournal journal = new ValidationJournal(directory, 16, ValidationJournal.Fsync.BATCH, Duration.ZERO, SEGMENT);
+        State broken = state("game", 0, new Coordinate(0, 0), List.of(new Coordinate(5, 5)));
+        journal.append(broken, List.of(new Tick(new Velocity(1, 0))), state("game", 1, new Coordinate(1, 0), List.of()));
+        play(journal, 1, 1);
+        journal.close();
+
+        assertEquals(1, journal.failed());
+        assertEquals(1, journal.journaled());
+        assertEquals(1, readAll().size());
+    }
+
+    @Test
+    void append_shouldDropAndCount_insteadOfWaiting_whenRingIsFull() throws IOException {
+        ValidationJournal journal = new ValidationJournal(directory, 2, ValidationJournal.Fsync.BATCH, Duration.ZERO, SEGMENT);
+        int appends = 10_000;
+        int dropped = 0;
+        for (int i = 0; i < appends; i++) {
+            State after = state("game-" + i, 1, new Coordinate(1, 0), List.of());
+            if (!journal.append(state(after.getGameId(), 0, new Coordinate(0, 0), List.of()), List.of(new Tick(new Velocity(1, 0))), after)) {
+                dropped++;
+            }
+        }
+        journal.close();
+
+        assertEquals(dropped, journal.failed());
+        assertEquals(appends - dropped, journal.journaled());
+        assertEquals(appends - dropped, readAll().size());
+    }
+
+    @Test
+    void append_shouldBeRejected_whenClosed() throws IOException {
+        ValidationJournal journal = new ValidationJournal(directory, 16, ValidationJournal.Fsync.BATCH, Duration.ZERO, SEGMENT);
+        journal.close();
+
+        assertFalse(journal.append(state("game", 0, new Coordinate(0, 0), List.of()), List.of(),
+                state("game", 0, new Coordinate(0, 0), List.of())));
+    }
+
+    // Plays games validation after validation, every event going to the journal
+    private static void play(ValidationJournal journal, int games, int fruits) {
+        SnakeServiceImpl service = new SnakeServiceImpl(fruitSequence,
+                event -> journal.onStateChanged((StateChangedEvent) event), new InMemoryGameStore(games, 0));
+        for (int game = 0; game < games; game++) {
+            State state = service.newGame(12, 12, game % 2 == 0).state();
+            for (int fruit = 0; fruit < fruits; fruit++) {
+                List<Tick> ticks = service.solve(state).ticks();
+                state = service.validateMove(new ValidateMoveRequest(state, ticks, game % 3 == 0)).state();
+            }
+        }
+    }
+
+    private List<JournalEntry> readAll() throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        for (Path segment : ValidationJournalReader.segments(directory)) {
+            ValidationJournalReader.read(segment, entries::add);
+        }
+        return entries;
+    }
+
+    private static long firstEntrySize(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            return JournalCodec.FRAME + length.getInt(0);
+        }
+    }
+
+    private static void waitForJournaled(ValidationJournal journal, long entries) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (journal.journaled() < entries) {
+            assertTrue(System.nanoTime() < deadline, "journal writer stalled");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static State state(String gameId, int score, Coordinate head, List<Coordinate> body) {
+        return State.builder()
+                .gameId(gameId)
+                .width(10)
+                .height(10)
+                .score(score)
+                .fruit(Fruit.generateFixedPosition(5, 5))
+                .snake(new Snake(head, new Velocity(1, 0), body))
+                .build();
+    }
+}
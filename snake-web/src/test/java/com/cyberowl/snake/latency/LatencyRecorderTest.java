@@ -0,0 +1,71 @@
+package com.cyberowl.snake.latency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+    private final LatencyRecorder recorder = new LatencyRecorder(Duration.ofSeconds(1), Duration.ZERO);
+
+    @AfterEach
+    void close() {
+        recorder.close();
+    }
+
+    @Test
+    void rotate_shouldMoveRecordedValuesToIntervalAndCumulative() {
+        recorder.record(Phase.REPLAY, TimeUnit.MILLISECONDS.toNanos(2));
+        recorder.record(Phase.REPLAY, TimeUnit.MILLISECONDS.toNanos(4));
+        recorder.rotate();
+        recorder.record(Phase.REPLAY, TimeUnit.MILLISECONDS.toNanos(8));
+        recorder.rotate();
+
+        LatencyRecorder.PhaseStats replay = recorder.snapshot().phases().get("replay");
+        assertEquals(1, replay.interval().count());
+        assertEquals(8.0, replay.interval().maxMs(), 0.01);
+        assertEquals(3, replay.cumulative().count());
+        assertEquals(4.0, replay.cumulative().p50Ms(), 0.01);
+        assertNotNull(recorder.snapshot().intervalStart());
+    }
+
+    @Test
+    void snapshot_shouldBeEmpty_untilRotated() {
+        recorder.record(Phase.TOTAL, 5_000);
+
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+
+        assertNull(snapshot.intervalStart());
+        assertEquals(0, snapshot.phases().get("total").interval().count());
+        assertEquals(0, snapshot.phases().get("total").cumulative().count());
+    }
+
+    @Test
+    void record_shouldClampValuesAboveHighestTrackable() {
+        recorder.record(Phase.TOTAL, TimeUnit.SECONDS.toNanos(5));
+        recorder.rotate();
+
+        assertEquals(1000.0, recorder.snapshot().phases().get("total").interval().maxMs(), 1.0);
+    }
+
+    @Test
+    void record_shouldSkipPhasesNotReached() {
+        RequestTimings timings = RequestTimings.start();
+        timings.writing("VALIDATION_ERROR");
+        timings.finish();
+
+        recorder.record(timings);
+        recorder.rotate();
+
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+        assertEquals(0, snapshot.phases().get("parse").interval().count());
+        assertEquals(0, snapshot.phases().get("validate").interval().count());
+        assertEquals(0, snapshot.phases().get("replay").interval().count());
+        assertEquals(1, snapshot.phases().get("serialize").interval().count());
+        assertEquals(1, snapshot.phases().get("total").interval().count());
+        assertNull(RequestTimings.current());
+    }
+}
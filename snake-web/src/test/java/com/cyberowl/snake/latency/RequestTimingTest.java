@@ -0,0 +1,91 @@
+package com.cyberowl.snake.latency;
+
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.model.State;
+import com.cyberowl.snake.model.Tick;
+import com.cyberowl.snake.service.SnakeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"snake.rate-limit.enabled=false", "snake.latency.interval=0s"})
+@AutoConfigureMockMvc
+class RequestTimingTest {
+    private static final String VALIDATE_MOVE_ENDPOINT = "/api/v1/snake/validate";
+    private static final String SERVER_TIMING = "[a-z]+;dur=\\d+\\.\\d{3}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SnakeService snakeService;
+
+    @Autowired
+    private LatencyRecorder latencyRecorder;
+
+    @Test
+    void validate_shouldSendPhasesAsServerTiming() throws Exception {
+        State state = snakeService.newGame(10, 10, false).state();
+        List<Tick> ticks = snakeService.solve(state).ticks();
+
+        String serverTiming = mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ValidateMoveRequest(state, ticks))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(RequestTimingAdvice.SERVER_TIMING);
+
+        assertNotNull(serverTiming);
+        List<String> metrics = List.of(serverTiming.split(", "));
+        assertEquals(List.of("parse", "validate", "replay", "handler"),
+                metrics.stream().map(metric -> metric.substring(0, metric.indexOf(';'))).toList());
+        assertTrue(metrics.stream().allMatch(metric -> metric.matches(SERVER_TIMING)), serverTiming);
+    }
+
+    @Test
+    void newGame_shouldSendHandlerTimeOnly() throws Exception {
+        mockMvc.perform(get("/api/v1/snake/new").param("w", "10").param("h", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestTimingAdvice.SERVER_TIMING, matchesPattern("handler;dur=\\d+\\.\\d{3}")));
+    }
+
+    @Test
+    void latencyEndpoint_shouldReportValidatePhases() throws Exception {
+        latencyRecorder.rotate();
+        mockMvc.perform(post(VALIDATE_MOVE_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ticks\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string(RequestTimingAdvice.SERVER_TIMING, startsWith("parse;dur=")));
+        mockMvc.perform(get("/api/v1/snake/new").param("w", "10").param("h", "10"))
+                .andExpect(status().isOk());
+        latencyRecorder.rotate();
+
+        mockMvc.perform(get("/actuator/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interval").value("PT0S"))
+                .andExpect(jsonPath("$.intervalStart").isNotEmpty())
+                .andExpect(jsonPath("$.phases.parse.interval.count").value(1))
+                .andExpect(jsonPath("$.phases.validate.interval.count").value(1))
+                .andExpect(jsonPath("$.phases.replay.interval.count").value(0))
+                .andExpect(jsonPath("$.phases.total.interval.count").value(1))
+                .andExpect(jsonPath("$.phases.total.interval.p99Ms").value(greaterThan(0.0)))
+                .andExpect(jsonPath("$.phases.total.cumulative.count").value(greaterThanOrEqualTo(1)));
+    }
+}
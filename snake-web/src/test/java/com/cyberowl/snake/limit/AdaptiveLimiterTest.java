@@ -0,0 +1,86 @@
+package com.cyberowl.snake.limit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+    private static final long RTT = 10_000_000L;
+
+    @Test
+    void tryAcquire_shouldRejectOnceLimitIsInFlight() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10, 1.5);
+
+        assertEquals(1, limiter.tryAcquire());
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+
+        limiter.release(2, RTT, false);
+        assertEquals(2, limiter.tryAcquire());
+    }
+
+    @Test
+    void release_shouldGrowLimit_whileLatencyIsFlatAndLimitIsUsed() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, 1.5);
+
+        for (int i = 0; i < 50; i++) {
+            sampleAtLimit(limiter, RTT);
+        }
+
+        assertTrue(limiter.limit() > 20, "limit " + limiter.limit());
+        assertTrue(limiter.limit() <= 100);
+    }
+
+    @Test
+    void release_shouldNotGrowLimit_whenMostOfItIsUnused() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, 1.5);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(1, RTT, false);
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void release_shouldShrinkLimit_whenLatencyRisesAboveTolerance() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(50, 1, 100, 1.5);
+        for (int i = 0; i < 20; i++) {
+            sampleAtLimit(limiter, RTT);
+        }
+        int before = limiter.limit();
+
+        for (int i = 0; i < 100; i++) {
+            sampleAtLimit(limiter, 5 * RTT);
+        }
+
+        assertTrue(limiter.limit() < before / 2, before + " -> " + limiter.limit());
+    }
+
+    @Test
+    void release_shouldBackOff_whenRequestIsDropped() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(50, 10, 100, 1.5);
+
+        limiter.release(limiter.tryAcquire(), RTT, true);
+        assertEquals((int) (50 * AdaptiveLimiter.BACKOFF_RATIO), limiter.limit());
+
+        for (int i = 0; i < 100; i++) {
+            limiter.release(limiter.tryAcquire(), RTT, true);
+        }
+        assertEquals(10, limiter.limit());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,0,10,1.5", "5,1,4,1.5", "5,6,10,1.5", "5,1,10,0.5"})
+    void constructor_shouldRejectInvalidLimits(int initial, int min, int max, double tolerance) {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimiter(initial, min, max, tolerance));
+    }
+
+    private static void sampleAtLimit(AdaptiveLimiter limiter, long rtt) {
+        limiter.tryAcquire();
+        limiter.release(limiter.limit(), rtt, false);
+    }
+}
@@ -0,0 +1,183 @@
+package com.cyberowl.snake.limit;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+    private static final String VALIDATE = "/api/v1/snake/validate";
+    private static final String NEW = "/api/v1/snake/new";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void doFilter_shouldRejectWithServiceUnavailable_whenLimitReached() throws Exception {
+        AdaptiveLimiter validateLimiter = new AdaptiveLimiter(1, 1, 1, 1.5);
+        ConcurrencyLimitFilter filter = filter(new AdaptiveLimiter(1, 1, 1, 1.5), validateLimiter);
+        validateLimiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(VALIDATE), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains(SnakeConstants.OVERLOADED));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("snake.limit.rejected").tag("endpoint", "validate").counter().count());
+        assertEquals(0.0, meterRegistry.get("snake.limit.rejected").tag("endpoint", "new").counter().count());
+    }
+
+    @Test
+    void doFilter_shouldLimitNewAndValidateSeparately() throws Exception {
+        AdaptiveLimiter validateLimiter = new AdaptiveLimiter(1, 1, 1, 1.5);
+        ConcurrencyLimitFilter filter = filter(new AdaptiveLimiter(1, 1, 1, 1.5), validateLimiter);
+        validateLimiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(NEW), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_shouldPassThroughUnlimitedPaths() throws Exception {
+        AdaptiveLimiter validateLimiter = new AdaptiveLimiter(1, 1, 1, 1.5);
+        ConcurrencyLimitFilter filter = filter(new AdaptiveLimiter(1, 1, 1, 1.5), validateLimiter);
+        validateLimiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/api/v1/snake/spectate/game-1"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_shouldHoldPermitUntilAsyncRequestCompletes() throws Exception {
+        AdaptiveLimiter validateLimiter = new AdaptiveLimiter(1, 1, 1, 1.5);
+        ConcurrencyLimitFilter filter = filter(new AdaptiveLimiter(1, 1, 1, 1.5), validateLimiter);
+        MockHttpServletRequest request = request(VALIDATE + "/async");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        assertEquals(1, validateLimiter.inFlight());
+
+        request.getAsyncContext().complete();
+        assertEquals(0, validateLimiter.inFlight());
+    }
+
+    @Test
+    void doFilter_shouldPublishLimitGauges() throws Exception {
+        // Gauges only hold weak references, the limiters must outlive the assertions
+        AdaptiveLimiter newLimiter = new AdaptiveLimiter(7, 1, 10, 1.5);
+        AdaptiveLimiter validateLimiter = new AdaptiveLimiter(3, 1, 10, 1.5);
+        filter(newLimiter, validateLimiter);
+        validateLimiter.tryAcquire();
+
+        assertEquals(7.0, meterRegistry.get("snake.limit.limit").tag("endpoint", "new").gauge().value());
+        assertEquals(3.0, meterRegistry.get("snake.limit.limit").tag("endpoint", "validate").gauge().value());
+        assertEquals(1.0, meterRegistry.get("snake.limit.inflight").tag("endpoint", "validate").gauge().value());
+        assertEquals(0, newLimiter.inFlight());
+    }
+
+    /**
+     * Local load generator: 32 closed-loop clients against a simulated server whose latency grows with the
+     * requests it serves beyond a capacity of 4, ramped up one client at a time so the limiter first sees
+     * the unloaded latency. Unlimited, the latency would settle at 8 times the base one.
+     */
+    @Test
+    void doFilter_shouldKeepLatencyBounded_underOverload() throws Exception {
+        int clients = 32;
+        int capacity = 4;
+        long baseNanos = 10_000_000L;
+        AdaptiveLimiter validateLimiter = new AdaptiveLimiter(clients, 1, 64, 1.5);
+        ConcurrencyLimitFilter filter = filter(new AdaptiveLimiter(1, 1, 1, 1.5), validateLimiter);
+        AtomicInteger active = new AtomicInteger();
+        FilterChain server = (req, res) -> {
+            int serving = active.incrementAndGet();
+            try {
+                sleepNanos(baseNanos * Math.max(capacity, serving) / capacity);
+            } finally {
+                active.decrementAndGet();
+            }
+        };
+
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Long> latencies = new ArrayList<>();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread client = new Thread(() -> {
+                while (running.get()) {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    long start = System.nanoTime();
+                    try {
+                        filter.doFilter(request(VALIDATE), response, server);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    if (response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+                        rejected.incrementAndGet();
+                        sleepNanos(1_000_000L);
+                    } else if (measuring.get()) {
+                        synchronized (latencies) {
+                            latencies.add(System.nanoTime() - start);
+                        }
+                    }
+                }
+            });
+            client.start();
+            threads.add(client);
+            Thread.sleep(50);
+        }
+        Thread.sleep(1000);
+        measuring.set(true);
+        Thread.sleep(1500);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        long p99 = sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+        assertTrue(rejected.get() > 0);
+        assertTrue(validateLimiter.limit() < clients / 2, "limit " + validateLimiter.limit());
+        assertTrue(p99 < 5 * baseNanos, "p99 " + p99 / 1_000_000 + " ms");
+    }
+
+    private ConcurrencyLimitFilter filter(AdaptiveLimiter newLimiter, AdaptiveLimiter validateLimiter) {
+        return new ConcurrencyLimitFilter(newLimiter, validateLimiter, meterRegistry, objectMapper);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRequestURI(uri);
+        return request;
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000L, (int) (nanos % 1_000_000L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.cyberowl.snake.limit;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private static final String VALIDATE = "/api/v1/snake/validate";
+    private static final String BODY = "{\"state\":{\"gameId\" : \"game-1\",\"width\":10,\"height\":10},\"ticks\":[]}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void doFilter_shouldRejectWithTooManyRequests_whenClientBucketIsEmpty() throws Exception {
+        RateLimitFilter filter = filter(1, 100);
+        filter.doFilter(request(VALIDATE, "client-1", BODY), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(VALIDATE, "client-1", "{}"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains(SnakeConstants.TOO_MANY_REQUESTS_CD));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("snake.ratelimit.rejected").tag("key", "client").counter().count());
+    }
+
+    @Test
+    void doFilter_shouldRejectPerGame_acrossClients() throws Exception {
+        RateLimitFilter filter = filter(100, 1);
+        filter.doFilter(request(VALIDATE, "client-1", BODY), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(VALIDATE, "client-2", BODY), response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, meterRegistry.get("snake.ratelimit.rejected").tag("key", "game").counter().count());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"gameId\":\"decoy\",\"state\":{\"width\":10,\"gameId\":\"game-1\"},\"ticks\":[]}",
+            "{\"ticks\":[{\"gameId\":\"decoy\"}],\"state\":{\"snake\":{\"gameId\":\"decoy\"},\"gameId\":\"game-1\"}}",
+    })
+    void doFilter_shouldLimitGameOfState_notDecoys(String body) throws Exception {
+        RateLimitFilter filter = filter(100, 1);
+        filter.doFilter(request(VALIDATE, "client-1", BODY), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(VALIDATE, "client-1", body), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"state\":{\"gameId\":\"game-\\u0031\",\"width\":10},\"ticks\":[]}",
+            "{\"state\":{\"game\\u0049d\":\"game-1\",\"width\":10},\"ticks\":[]}",
+            "{\"state\":{\"gameId\":1},\"ticks\":[]}",
+            "{\"state\":{\"gameId\":\"game-1",
+            "[]",
+    })
+    void doFilter_shouldRejectWithBadRequest_whenGameIdIsUnreadable(String body) throws Exception {
+        RateLimitFilter filter = filter(100, 100);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(VALIDATE, "client-1", body), response, chain);
+
+        assertEquals(400, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains(SnakeConstants.VALIDATION_ERROR_CD));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_shouldRejectWithBadRequest_whenStateIsPastPeekedBytes() throws Exception {
+        String body = "{\"ticks\":[" + "{\"velocity\":{\"velX\":1,\"velY\":0}},".repeat(100)
+                + "{\"velocity\":{\"velX\":1,\"velY\":0}}],\"state\":{\"gameId\":\"game-1\"}}";
+        RateLimitFilter filter = filter(100, 100);
+        MockHttpServletRequest request = request(VALIDATE, "client-1", body);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(400, response.getStatus());
+        assertNull(chain.getRequest());
+        // Nothing past the peeked bytes was read
+        assertEquals(body.length() - 1024, request.getInputStream().readAllBytes().length);
+    }
+
+    @Test
+    void doFilter_shouldIgnoreCallerHeaders_unlessTrusted() throws Exception {
+        RateLimitFilter filter = filter(1, 100);
+        MockHttpServletRequest first = request(VALIDATE, "client-1", BODY);
+        first.addHeader(SnakeConstants.GAME_ID_HEADER, "game-2");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(VALIDATE, "client-2", BODY), response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, meterRegistry.get("snake.ratelimit.rejected").tag("key", "client").counter().count());
+    }
+
+    @Test
+    void doFilter_shouldPreferGameIdHeader_whenTrusted() throws Exception {
+        RateLimitFilter filter = filter(100, 1, true);
+        MockHttpServletRequest first = request(VALIDATE, "client-1", BODY);
+        first.addHeader(SnakeConstants.GAME_ID_HEADER, "game-2");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(VALIDATE, "client-1", BODY), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_shouldReplayPeekedBodyToHandler() throws Exception {
+        String body = BODY + " ".repeat(5000);
+        RateLimitFilter filter = filter(100, 100);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(VALIDATE, "client-1", body), new MockHttpServletResponse(), chain);
+
+        byte[] replayed = chain.getRequest().getInputStream().readAllBytes();
+        assertEquals(body, new String(replayed, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void doFilter_shouldUseRemoteAddress_withoutClientHeader() throws Exception {
+        RateLimitFilter filter = filter(1, 100);
+        MockHttpServletRequest first = request(VALIDATE, null, "{}");
+        first.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest other = request(VALIDATE, null, "{}");
+        other.setRemoteAddr("10.0.0.2");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(other, response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/v1/snake/new", "/api/v1/snake/spectate/game-1"})
+    void doFilter_shouldPassThroughUnlimitedPaths(String uri) throws Exception {
+        RateLimitFilter filter = filter(1, 1);
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request(uri, "client-1", BODY), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"state\":{\"gameId\":\"game-1\"}}",
+            "{ \"ticks\": [{\"a\":[1, \"}\\\"\"]}], \"state\": { \"width\" : 10, \"gameId\"\n:\t\"game-1\" } }",
+            "{\"gameId\":\"decoy\",\"state\":{\"snake\":{\"gameId\":\"decoy\"},\"gameId\":\"game-1\"}}",
+    })
+    void nestedStringField_shouldFindGameIdOfState(String body) throws Exception {
+        PeekedBodyRequest.Field field = peek(body).nestedStringField("state", "gameId", 64);
+
+        assertEquals(new PeekedBodyRequest.Field("game-1", true), field);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"state\":{\"width\":10}}",
+            "{\"state\":{\"gameId\":\"\"}}",
+            "{\"gameId\":\"game-1\",\"ticks\":[]}",
+            "{}",
+    })
+    void nestedStringField_shouldReturnAbsent_whenNoGameId(String body) throws Exception {
+        assertSame(PeekedBodyRequest.Field.ABSENT, peek(body).nestedStringField("state", "gameId", 64));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"state\":{\"gameId\":\"ga\\\"me\"}}",
+            "{\"state\":{\"game\\u0049d\":\"game-1\"}}",
+            "{\"st\\u0061te\":{\"gameId\":\"game-1\"}}",
+            "{\"state\":{\"gameId\":12}}",
+            "{\"state\":null}",
+            "{\"state\":{\"gameId\":\"truncated",
+            "{\"ticks\":[{\"velocity\":",
+            "[]",
+    })
+    void nestedStringField_shouldReturnUnreadable_whenNoPlainValue(String body) throws Exception {
+        assertSame(PeekedBodyRequest.Field.UNREADABLE, peek(body).nestedStringField("state", "gameId", 64));
+    }
+
+    @Test
+    void nestedStringField_shouldReturnUnreadable_whenValueTooLong() throws Exception {
+        String body = "{\"state\":{\"gameId\":\"" + "g".repeat(65) + "\"}}";
+
+        assertSame(PeekedBodyRequest.Field.UNREADABLE, peek(body).nestedStringField("state", "gameId", 64));
+    }
+
+    private static PeekedBodyRequest peek(String body) throws Exception {
+        return PeekedBodyRequest.peek(request(VALIDATE, null, body), 1024);
+    }
+
+    private RateLimitFilter filter(int clientBurst, int gameBurst) {
+        return filter(clientBurst, gameBurst, false);
+    }
+
+    private RateLimitFilter filter(int clientBurst, int gameBurst, boolean trustedHeaders) {
+        return new RateLimitFilter(new RateLimiter(1, clientBurst, 100), new RateLimiter(1, gameBurst, 100),
+                1024, trustedHeaders, meterRegistry, objectMapper);
+    }
+
+    private static MockHttpServletRequest request(String uri, String client, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        if (client != null) {
+            request.addHeader(SnakeConstants.CLIENT_ID_HEADER, client);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
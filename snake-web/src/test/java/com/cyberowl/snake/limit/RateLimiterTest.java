@@ -0,0 +1,119 @@
+package com.cyberowl.snake.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenReportWaitForNextToken() {
+        RateLimiter limiter = new RateLimiter(10, 3, 10, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(RateLimiter.ALLOWED, limiter.tryAcquire("game"));
+        }
+        long wait = limiter.tryAcquire("game");
+
+        assertTrue(wait > 0 && wait <= SECOND / 10, "wait " + wait);
+        clock.addAndGet(wait);
+        assertEquals(RateLimiter.ALLOWED, limiter.tryAcquire("game"));
+        assertNotEquals(RateLimiter.ALLOWED, limiter.tryAcquire("game"));
+    }
+
+    @Test
+    void tryAcquire_shouldRefillAtRateUpToBurst() {
+        RateLimiter limiter = new RateLimiter(10, 3, 10, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("game");
+        }
+
+        clock.addAndGet(10 * SECOND);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(RateLimiter.ALLOWED, limiter.tryAcquire("game"));
+        }
+        assertNotEquals(RateLimiter.ALLOWED, limiter.tryAcquire("game"));
+    }
+
+    @Test
+    void tryAcquire_shouldKeepKeysIndependent() {
+        RateLimiter limiter = new RateLimiter(1, 1, 10, clock::get);
+
+        assertEquals(RateLimiter.ALLOWED, limiter.tryAcquire("a"));
+        assertNotEquals(RateLimiter.ALLOWED, limiter.tryAcquire("a"));
+        assertEquals(RateLimiter.ALLOWED, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void tryAcquire_shouldEvictIdleBuckets_whenTableIsFull() {
+        RateLimiter limiter = new RateLimiter(1, 1, 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        clock.addAndGet(2 * SECOND);
+        assertEquals(RateLimiter.ALLOWED, limiter.tryAcquire("c"));
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_shouldLetUntrackedKeysThrough_whenTableIsFullOfBusyBuckets() {
+        RateLimiter limiter = new RateLimiter(1, 1, 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertEquals(RateLimiter.ALLOWED, limiter.tryAcquire("c"));
+        assertEquals(RateLimiter.ALLOWED, limiter.tryAcquire("c"));
+        assertEquals(2, limiter.size());
+        assertNotEquals(RateLimiter.ALLOWED, limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void tryAcquire_shouldAdmitExactlyBurst_underContention() throws Exception {
+        RateLimiter limiter = new RateLimiter(1e-3, 1000, 10, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tryAcquire("hot") == RateLimiter.ALLOWED) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1000, allowed.get());
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 1, 0));
+    }
+}
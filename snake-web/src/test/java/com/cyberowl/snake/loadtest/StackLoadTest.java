@@ -0,0 +1,156 @@
+package com.cyberowl.snake.loadtest;
+
+import com.cyberowl.snake.SnakeApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Side-by-side load test of the servlet (Tomcat) and reactive (Netty) stacks, e.g.
+ * {@code mvn -Ploadtest verify -DskipTests -Dloadtest.concurrency=512 -Dloadtest.seconds=30}.
+ * <p>
+ * Each stack is started in-process on a random port and driven by the same closed loop of
+ * {@code loadtest.concurrency} requests in flight: {@code loadtest.heavy-percent} of them are /validate
+ * replays of {@code loadtest.heavy-ticks} ticks, the others /new. Latency percentiles are printed per
+ * endpoint, the /new ones showing whether heavy replays hold up cheap requests.
+ */
+public class StackLoadTest {
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 256);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private static final int HEAVY_TICKS = Integer.getInteger("loadtest.heavy-ticks", 100_000);
+    private static final int HEAVY_PERCENT = Integer.getInteger("loadtest.heavy-percent", 5);
+
+    public static void main(String[] args) throws Exception {
+        String heavyBody = heavyValidation(HEAVY_TICKS);
+        System.out.printf("concurrency=%d seconds=%d heavy-ticks=%d heavy-percent=%d%n",
+                CONCURRENCY, SECONDS, HEAVY_TICKS, HEAVY_PERCENT);
+        System.out.printf("%-9s %-9s %10s %9s %9s %9s %9s %8s%n",
+                "stack", "endpoint", "requests", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (String stack : new String[]{"servlet", "reactive"}) {
+            try (ConfigurableApplicationContext context = start(stack)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                Driver driver = new Driver("http://localhost:" + port + "/api/v1/snake", heavyBody);
+                driver.run(WARMUP_SECONDS);
+                driver.reset();
+                driver.run(SECONDS);
+                driver.report(stack);
+            }
+        }
+        // Client and scheduler threads outlive the contexts
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext start(String stack) {
+        return new SpringApplicationBuilder(SnakeApplication.class)
+                .profiles(stack.equals("reactive") ? "reactive" : "default")
+                .bannerMode(Banner.Mode.OFF)
+                .properties("server.port=0", "logging.level.root=WARN",
+                        "snake.fruit.secret=load-test", "snake.token.secret=load-test",
+                        // Every load test request comes from one client
+                        "snake.rate-limit.enabled=false")
+                .run();
+    }
+
+    // The snake runs along row 0 of a 1-high grid and eats the fruit on the last tick
+    private static String heavyValidation(int ticks) {
+        StringBuilder body = new StringBuilder(ticks * 36 + 256)
+                .append("{\"state\":{\"gameId\":\"load\",\"width\":").append(ticks).append(",\"height\":1,\"score\":0,")
+                .append("\"fruit\":{\"coordinate\":{\"x\":").append(ticks).append(",\"y\":0}},")
+                .append("\"snake\":{\"coordinate\":{\"x\":0,\"y\":0},\"velocity\":{\"velX\":1,\"velY\":0},\"body\":[]}},")
+                .append("\"ticks\":[");
+        for (int i = 0; i < ticks; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"velocity\":{\"velX\":1,\"velY\":0}}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private static final class Driver {
+        private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        private final String baseUrl;
+        private final String heavyBody;
+        private Recorder light = new Recorder();
+        private Recorder heavy = new Recorder();
+
+        private Driver(String baseUrl, String heavyBody) {
+            this.baseUrl = baseUrl;
+            this.heavyBody = heavyBody;
+        }
+
+        private void run(int seconds) throws InterruptedException {
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            long end = System.nanoTime() + seconds * 1_000_000_000L;
+            while (System.nanoTime() < end) {
+                inFlight.acquire();
+                boolean isHeavy = ThreadLocalRandom.current().nextInt(100) < HEAVY_PERCENT;
+                HttpRequest request = isHeavy
+                        ? HttpRequest.newBuilder(URI.create(baseUrl + "/validate"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(heavyBody)).build()
+                        : HttpRequest.newBuilder(URI.create(baseUrl + "/new?w=10&h=10")).GET().build();
+                Recorder recorder = isHeavy ? heavy : light;
+                long start = System.nanoTime();
+                CompletableFuture<HttpResponse<Void>> response = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+                response.whenComplete((result, error) -> {
+                    recorder.record(System.nanoTime() - start, error == null && result.statusCode() == 200);
+                    inFlight.release();
+                });
+            }
+            inFlight.acquire(CONCURRENCY);
+        }
+
+        private void reset() {
+            light = new Recorder();
+            heavy = new Recorder();
+        }
+
+        private void report(String stack) {
+            light.print(stack, "/new");
+            heavy.print(stack, "/validate");
+        }
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1 << 16];
+        private final AtomicInteger errors = new AtomicInteger();
+        private int count;
+
+        private synchronized void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        private synchronized void print(String stack, String endpoint) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-9s %-9s %10d %9.2f %9.2f %9.2f %9.2f %8d%n", stack, endpoint, count,
+                    percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 99.9),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6, errors.get());
+        }
+
+        private static double percentile(long[] sorted, double percent) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percent / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
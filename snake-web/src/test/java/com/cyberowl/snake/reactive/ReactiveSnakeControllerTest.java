@@ -0,0 +1,177 @@
+package com.cyberowl.snake.reactive;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.dto.NewGameResponse;
+import com.cyberowl.snake.dto.SolveResponse;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.exception.FruitNotReachedException;
+import com.cyberowl.snake.model.*;
+import com.cyberowl.snake.service.SnakeService;
+import com.cyberowl.snake.service.impl.SnakeServiceImpl;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveSnakeController.class)
+class ReactiveSnakeControllerTest {
+
+    private static final String NEW_GAME_ENDPOINT = "/api/v1/snake/new";
+    private static final String VALIDATE_MOVE_ENDPOINT = "/api/v1/snake/validate";
+    private static final String SOLVE_ENDPOINT = "/api/v1/snake/solve";
+    private static final String CORRELATION_ID = "reactive-correlation-id";
+    private static final String STATE = "{\"gameId\":\"g\",\"width\":5,\"height\":5,\"score\":0,"
+            + "\"fruit\":{\"coordinate\":{\"x\":2,\"y\":0}},"
+            + "\"snake\":{\"coordinate\":{\"x\":0,\"y\":0},\"velocity\":{\"velX\":1,\"velY\":0},\"body\":[]}}";
+    private static final String RIGHT = "{\"velocity\":{\"velX\":1,\"velY\":0}}";
+
+    private final SnakeServiceImpl rules = new SnakeServiceImpl(
+            new FruitSequence("test-secret".getBytes(StandardCharsets.UTF_8)), event -> {
+    }, new InMemoryGameStore(100, 0));
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private SnakeService snakeService;
+
+    @BeforeEach
+    void setUp() {
+        // STATE is made up around the moves under test, its fruit is not the one of the game sequence
+        when(snakeService.startValidation(any(State.class)))
+                .thenAnswer(invocation -> rules.startValidation(invocation.getArgument(0), true));
+    }
+
+    @Test
+    void newGame_shouldReturnNewGameResponse() {
+        when(snakeService.newGame(5, 5)).thenReturn(rules.newGame(5, 5));
+
+        webTestClient.get().uri(NEW_GAME_ENDPOINT + "?w=5&h=5")
+                .header(SnakeConstants.CORRELATION_ID_HEADER, CORRELATION_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(SnakeConstants.CORRELATION_ID_HEADER, CORRELATION_ID)
+                .expectBody(NewGameResponse.class)
+                .value(response -> assertEquals(5, response.state().getWidth()));
+    }
+
+    @Test
+    void newGame_shouldReturnBadRequest_whenWidthBelowOne() {
+        webTestClient.get().uri(NEW_GAME_ENDPOINT + "?w=0&h=5")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errorCode").isEqualTo(SnakeConstants.VALIDATION_ERROR_CD);
+    }
+
+    @Test
+    void validateMove_shouldApplyStreamedTicks() {
+        webTestClient.post().uri(VALIDATE_MOVE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(SnakeConstants.CORRELATION_ID_HEADER, CORRELATION_ID)
+                .bodyValue("{\"state\":" + STATE + ",\"ticks\":[" + RIGHT + "," + RIGHT + "],\"continuous\":true}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(SnakeConstants.CORRELATION_ID_HEADER, CORRELATION_ID)
+                .expectBody()
+                .jsonPath("$.state.score").isEqualTo(1)
+                .jsonPath("$.state.snake.coordinate.x").isEqualTo(2)
+                .jsonPath("$.fruitTicks[0]").isEqualTo(1);
+    }
+
+    @Test
+    void validateMove_shouldReplayOnBoundedElasticScheduler() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(snakeService.startValidation(any(State.class))).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return rules.startValidation(invocation.getArgument(0), true);
+        });
+
+        webTestClient.post().uri(VALIDATE_MOVE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"state\":" + STATE + ",\"ticks\":[" + RIGHT + "," + RIGHT + "]}")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertTrue(thread.get().startsWith("boundedElastic-"), thread.get());
+    }
+
+    @Test
+    void validateMove_shouldReturnNotFound_whenFruitNotReached() {
+        webTestClient.post().uri(VALIDATE_MOVE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"state\":" + STATE + ",\"ticks\":[" + RIGHT + "]}")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo(SnakeConstants.FRUIT_NOT_REACHED);
+    }
+
+    @Test
+    void validateMove_shouldReturnTeapot_whenGameIsOver() {
+        webTestClient.post().uri(VALIDATE_MOVE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"state\":" + STATE + ",\"ticks\":[{\"velocity\":{\"velX\":-1,\"velY\":0}}]}")
+                .exchange()
+                .expectStatus().isEqualTo(418)
+                .expectBody().jsonPath("$.message").isEqualTo(SnakeConstants.GAME_OVER);
+    }
+
+    @Test
+    void validateMove_shouldReturnBadRequest_whenTicksEmpty() {
+        webTestClient.post().uri(VALIDATE_MOVE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"state\":" + STATE + ",\"ticks\":[]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo(SnakeConstants.VALIDATION_ERROR_CD)
+                .jsonPath("$.details.ticks").isEqualTo("Ticks cannot be empty");
+    }
+
+    @Test
+    void solve_shouldReturnTicks() {
+        when(snakeService.solve(any(State.class)))
+                .thenAnswer(invocation -> new SolveResponse(invocation.getArgument(0), List.of(new Tick(new Velocity(1, 0)))));
+
+        webTestClient.post().uri(SOLVE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(STATE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.ticks[0].velocity.velX").isEqualTo(1);
+    }
+
+    @Test
+    void solve_shouldReturnNotFound_whenNoPath() {
+        when(snakeService.solve(any(State.class))).thenThrow(new FruitNotReachedException(SnakeConstants.NO_PATH_TO_FRUIT));
+
+        webTestClient.post().uri(SOLVE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(STATE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo(SnakeConstants.NO_PATH_TO_FRUIT);
+    }
+
+    @Test
+    void solve_shouldReturnBadRequest_whenSnakeMissing() {
+        webTestClient.post().uri(SOLVE_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"gameId\":\"g\",\"width\":5,\"height\":5,\"score\":0,\"fruit\":{\"coordinate\":{\"x\":2,\"y\":0}}}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errorCode").isEqualTo(SnakeConstants.VALIDATION_ERROR_CD);
+    }
+}
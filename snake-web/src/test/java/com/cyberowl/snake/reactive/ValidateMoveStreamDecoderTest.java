@@ -0,0 +1,183 @@
+package com.cyberowl.snake.reactive;
+
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.exception.FruitNotReachedException;
+import com.cyberowl.snake.exception.GameOverException;
+import com.cyberowl.snake.model.*;
+import com.cyberowl.snake.service.MoveValidation;
+import com.cyberowl.snake.service.impl.SnakeServiceImpl;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidateMoveStreamDecoderTest {
+    private static final FruitSequence fruitSequence = new FruitSequence("test-secret".getBytes(StandardCharsets.UTF_8));
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    // The state is made up around the moves under test, its fruit is not the one of the game sequence
+    private final SnakeServiceImpl snakeService = new SnakeServiceImpl(fruitSequence, event -> {
+    }, new InMemoryGameStore(100, 0)) {
+        @Override
+        public MoveValidation startValidation(State state) {
+            return startValidation(state, true);
+        }
+    };
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 64, 4096})
+    void decode_shouldMatchServletValidation_whateverTheChunkSize(int chunkSize) throws IOException {
+        String body = "{\"state\":" + stateJson() + ",\"ticks\":" + ticksJson(1, 1, 1, 1) + "}";
+
+        ValidateMoveResponse streamed = decode(body, chunkSize);
+
+        assertEquals(json(expected(false)), json(streamed));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"continuous\":true,\"state\":%s,\"ticks\":%s}",
+            "{\"state\":%s,\"ticks\":%s,\"continuous\":true}",
+            "{\"ticks\":%2$s,\"continuous\":true,\"state\":%1$s}",
+            "{\"unknown\":[{\"a\":1}],\"ticks\":%2$s,\"state\":%1$s,\"continuous\":true}",
+    })
+    void decode_shouldAcceptFieldsInAnyOrder(String template) throws IOException {
+        String body = String.format(template, stateJson(), ticksJson(1, 1, 1, 1));
+
+        ValidateMoveResponse streamed = decode(body, 5);
+
+        assertEquals(json(expected(true)), json(streamed));
+        assertNotNull(streamed.fruitTicks());
+    }
+
+    @Test
+    void decode_shouldStopAtFirstFruit_whenNotContinuous() throws IOException {
+        // The move after the fruit leaves the grid, without continuous mode it is never applied
+        String body = "{\"state\":" + stateJson() + ",\"ticks\":" + ticksJson(1, 1, 1, 1, 1, 1, 1) + "}";
+
+        ValidateMoveResponse streamed = decode(body, 3);
+
+        assertEquals(1, streamed.state().getScore());
+        assertEquals(7, streamed.ticks().size());
+    }
+
+    @Test
+    void decode_shouldFailOnTheTickEndingTheGame_beforeTheBodyEnds() throws IOException {
+        ValidateMoveStreamDecoder decoder = decoder();
+        String head = "{\"state\":" + stateJson() + ",\"ticks\":" + ticksJson(-1);
+
+        assertThrows(GameOverException.class, () -> decoder.feed(bytes(head)));
+    }
+
+    @Test
+    void decode_shouldThrowFruitNotReached_whenNoFruitEaten() throws IOException {
+        ValidateMoveStreamDecoder decoder = decoder();
+        decoder.feed(bytes("{\"state\":" + stateJson() + ",\"ticks\":" + ticksJson(1) + "}"));
+
+        assertThrows(FruitNotReachedException.class, decoder::complete);
+    }
+
+    @Test
+    void decode_shouldReportMissingStateAndTicks() throws IOException {
+        ValidateMoveStreamDecoder decoder = decoder();
+        decoder.feed(bytes("{\"ticks\":[]}"));
+
+        InvalidRequestBodyException ex = assertThrows(InvalidRequestBodyException.class, decoder::complete);
+
+        assertEquals("State cannot be null", ex.getErrors().get("state"));
+        assertEquals("Ticks cannot be empty", ex.getErrors().get("ticks"));
+    }
+
+    @Test
+    void decode_shouldReportInvalidTickVelocity() {
+        ValidateMoveStreamDecoder decoder = decoder();
+        String body = "{\"state\":" + stateJson() + ",\"ticks\":[{\"velocity\":{\"velX\":0,\"velY\":0}}]}";
+
+        InvalidRequestBodyException ex = assertThrows(InvalidRequestBodyException.class, () -> decoder.feed(bytes(body)));
+
+        assertTrue(ex.getErrors().keySet().stream().allMatch(field -> field.startsWith("ticks[0]")));
+    }
+
+    @Test
+    void decode_shouldRejectTruncatedBody() throws IOException {
+        ValidateMoveStreamDecoder decoder = decoder();
+        decoder.feed(bytes("{\"state\":" + stateJson() + ",\"ticks\":" + ticksJson(1, 1)));
+
+        InvalidRequestBodyException ex = assertThrows(InvalidRequestBodyException.class, decoder::complete);
+
+        assertTrue(ex.getErrors().containsKey("body"));
+    }
+
+    @Test
+    void decode_shouldRejectNonObjectBody() {
+        ValidateMoveStreamDecoder decoder = decoder();
+
+        assertThrows(InvalidRequestBodyException.class, () -> decoder.feed(bytes("[1,2]")));
+    }
+
+    private ValidateMoveResponse decode(String body, int chunkSize) throws IOException {
+        ValidateMoveStreamDecoder decoder = decoder();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        for (int from = 0; from < bytes.length; from += chunkSize) {
+            decoder.feed(ByteBuffer.wrap(bytes, from, Math.min(chunkSize, bytes.length - from)));
+        }
+        return decoder.complete();
+    }
+
+    private ValidateMoveResponse expected(boolean continuous) throws IOException {
+        State state = objectMapper.readValue(stateJson(), State.class);
+        List<Tick> ticks = List.of(objectMapper.readValue(ticksJson(1, 1, 1, 1), Tick[].class));
+        return snakeService.validateMove(new ValidateMoveRequest(state, ticks, continuous), true);
+    }
+
+    private ValidateMoveStreamDecoder decoder() {
+        return new ValidateMoveStreamDecoder(objectMapper, validator, snakeService);
+    }
+
+    private String json(ValidateMoveResponse response) throws IOException {
+        return objectMapper.writeValueAsString(response);
+    }
+
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Head at (0,0) moving right, fruit two cells ahead
+    private String stateJson() {
+        State state = State.builder()
+                .gameId("stream-game")
+                .width(5)
+                .height(5)
+                .score(0)
+                .fruit(Fruit.generateFixedPosition(2, 0))
+                .snake(new Snake(new Coordinate(0, 0), new Velocity(1, 0)))
+                .build();
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String ticksJson(int... velXs) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < velXs.length; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"velocity\":{\"velX\":").append(velXs[i]).append(",\"velY\":0}}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,834 @@
+package com.cyberowl.snake.service;
+
+import com.cyberowl.snake.constants.SnakeConstants;
+import com.cyberowl.snake.dto.NewGameResponse;
+import com.cyberowl.snake.dto.SolveResponse;
+import com.cyberowl.snake.dto.ValidateMoveRequest;
+import com.cyberowl.snake.dto.ValidateMoveResponse;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.cyberowl.snake.engine.PackedCoordinate;
+import com.cyberowl.snake.exception.FruitNotReachedException;
+import com.cyberowl.snake.exception.GameOverException;
+import com.cyberowl.snake.exception.InvalidStateException;
+import com.cyberowl.snake.exception.VersionConflictException;
+import com.cyberowl.snake.model.*;
+import com.cyberowl.snake.service.impl.SnakeServiceImpl;
+import com.cyberowl.snake.spectator.StateChangedEvent;
+import com.cyberowl.snake.store.InMemoryGameStore;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class SnakeServiceImplTest {
+
+    private static final String correlationId = UUID.randomUUID().toString();
+    private static final int GRID_WIDTH = 5;
+    private static final int GRID_HEIGHT = 5;
+
+    private static final FruitSequence fruitSequence = new FruitSequence("test-secret".getBytes(StandardCharsets.UTF_8));
+
+    private SnakeServiceImpl snakeServiceImpl;
+    private List<Object> publishedEvents;
+    private InMemoryGameStore gameStore;
+
+    @BeforeEach
+    void setUp() {
+        publishedEvents = new ArrayList<>();
+        gameStore = new InMemoryGameStore(100, 0);
+        snakeServiceImpl = new SnakeServiceImpl(fruitSequence, publishedEvents::add, gameStore);
+    }
+
+    @Nested
+    class NewGameTests {
+        @ParameterizedTest
+        @CsvSource({"1,1", "5,10", "15,15", "50,75", "100,100", "1000,1000"})
+        void newGame_shouldInitializeCorrectly(int width, int height) {
+            NewGameResponse response = snakeServiceImpl.newGame(width, height);
+
+            assertNotNull(response.state().getGameId());
+            assertEquals(width, response.state().getWidth());
+            assertEquals(height, response.state().getHeight());
+            assertEquals(SnakeConstants.INITIAL_SCORE, response.state().getScore());
+            assertNotNull(response.state().getFruit());
+            assertNotNull(response.state().getSnake());
+            assertEquals(SnakeConstants.INITIAL_SNAKE_POSITION, response.state().getSnake().getCoordinate());
+            assertEquals(SnakeConstants.INITIAL_SNAKE_VELOCITY, response.state().getSnake().getVelocity());
+        }
+
+        @Test
+        void newGame_shouldGenerateFruitWithinBoundaries() {
+            int width = GRID_WIDTH, height = GRID_HEIGHT;
+            NewGameResponse response = snakeServiceImpl.newGame(width, height);
+
+            Coordinate fruitCoordinate = response.state().getFruit().getCoordinate();
+            assertTrue(fruitCoordinate.x() >= 1 && fruitCoordinate.x() <= width);
+            assertTrue(fruitCoordinate.y() >= 1 && fruitCoordinate.y() <= height);
+        }
+
+        @Test
+        void newGame_shouldDrawFirstFruitFromGameSequence() {
+            NewGameResponse response = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT);
+            long fruit = fruitSequence.fruitAt(response.state().getGameId(), 0, GRID_WIDTH, GRID_HEIGHT, 1);
+
+            assertEquals(new Coordinate(PackedCoordinate.x(fruit), PackedCoordinate.y(fruit)),
+                    response.state().getFruit().getCoordinate());
+        }
+
+        @Test
+        void newGame_shouldGenerateUniqueFruitPositions() {
+            int iterations = 1000;
+            Set<Coordinate> fruitPositions = new HashSet<>();
+
+            for (int i = 0; i < iterations; i++) {
+                NewGameResponse response = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT);
+                fruitPositions.add(response.state().getFruit().getCoordinate());
+            }
+
+            int uniquePositions = fruitPositions.size();
+            int totalPositions = GRID_WIDTH * GRID_HEIGHT;
+            double coveragePercentage = (uniquePositions * 100.0) / totalPositions;
+
+            log.info("Unique fruit positions: {}/{} ({}%)",
+                    uniquePositions, totalPositions, String.format("%.2f", coveragePercentage));
+
+            assertTrue(uniquePositions > 1, "Multiple unique fruit positions should be generated");
+            assertTrue(coveragePercentage > 50, "At least 50% of possible positions should be covered");
+        }
+    }
+
+    @Nested
+    class ValidateMoveTests {
+        @Test
+        void validateMove_shouldHandleValidMoves_Minimum1x1GridFruitReached() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 1);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(0, -1))
+            );
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+            ValidateMoveResponse response = validate(request);
+
+            assertEquals(SnakeConstants.POINTS_PER_FRUIT, response.state().getScore());
+            assertEquals(new Coordinate(1, 1), response.state().getSnake().getCoordinate());
+            assertEquals(new Velocity(0, -1), response.state().getSnake().getVelocity());
+        }
+
+        @Test
+        void validateMove_shouldHandleValidMoves_5x5GridOffCenterFruitReached() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 2, 3);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(0, -1)),
+                    new Tick(new Velocity(0, -1)),
+                    new Tick(new Velocity(1, -1))
+            );
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+            ValidateMoveResponse response = validate(request);
+
+            assertEquals(SnakeConstants.POINTS_PER_FRUIT, response.state().getScore());
+            assertEquals(new Coordinate(2, 3), response.state().getSnake().getCoordinate());
+            assertEquals(new Velocity(1, -1), response.state().getSnake().getVelocity());
+        }
+
+        @Test
+        void validateMove_shouldHandleValidMoves_5x5GridFurthestFruitReached() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 5, 5);
+            List<Tick> ticks = List.of(
+                    // Wrong moves to fruit
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(1, -1)),
+                    new Tick(new Velocity(0, -1)),
+                    new Tick(new Velocity(-1, 0)),
+                    new Tick(new Velocity(0, 1)),
+                    new Tick(new Velocity(-1, 1)),
+                    // Wrong moves, then L-movement to correct moves
+
+                    // Right moves to fruit
+                    new Tick(new Velocity(1, -1)),
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(0, -1)),
+                    // L-movement
+                    new Tick(new Velocity(1, 1)),
+                    new Tick(new Velocity(-1, -1)),
+                    new Tick(new Velocity(1, -1)),
+                    new Tick(new Velocity(-1, 1)),
+                    new Tick(new Velocity(-1, -1)),
+                    new Tick(new Velocity(1, 1)),
+                    // Normal movement
+                    new Tick(new Velocity(1, -1)),
+                    new Tick(new Velocity(0, -1)),
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(1, -1))
+            );
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+            ValidateMoveResponse response = validate(request);
+
+            assertEquals(SnakeConstants.POINTS_PER_FRUIT, response.state().getScore());
+            assertEquals(new Coordinate(5, 5), response.state().getSnake().getCoordinate());
+            assertEquals(new Velocity(1, -1), response.state().getSnake().getVelocity());
+        }
+
+        @Test
+        void validateMove_shouldThrowGameOverException_whenReverseDirection() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 2);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(-1, 0))
+            );
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+
+            assertThrows(GameOverException.class, () -> validate(request));
+        }
+
+        @Test
+        void validateMove_shouldThrowGameOverException_whenMovingOutOfLeftBound() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 2, 2);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(0, -1)),
+                    new Tick(new Velocity(-1, 1)),
+                    new Tick(new Velocity(-1, 0))
+            );
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+
+            assertThrows(GameOverException.class, () -> validate(request));
+        }
+
+        @Test
+        void validateMove_shouldThrowGameOverException_whenMovingOutOfRightBound() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 2, 2);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, -1)),
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(1, 1)),
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(1, -1)),
+                    new Tick(new Velocity(1, 0))
+            );
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+
+            assertThrows(GameOverException.class, () -> validate(request));
+        }
+
+        @Test
+        void validateMove_shouldThrowGameOverException_whenMovingOutOfUpperBound() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 2, 2);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, -1)),
+                    new Tick(new Velocity(0, -1)),
+                    new Tick(new Velocity(-1, -1)),
+                    new Tick(new Velocity(0, -1)),
+                    new Tick(new Velocity(1, -1)),
+                    new Tick(new Velocity(0, -1))
+            );
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+
+            assertThrows(GameOverException.class, () -> validate(request));
+        }
+
+        @Test
+        void validateMove_shouldThrowGameOverException_whenMovingOutOfLowerBound() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 2, 2);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(0, 1)),
+                    new Tick(new Velocity(1, 0))
+            );
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+
+            assertThrows(GameOverException.class, () -> validate(request));
+        }
+
+        @Test
+        void validateMove_shouldThrowFruitNotReachedException_whenFruitNotReached() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 2, 1);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(0, -1)),
+                    new Tick(new Velocity(0, -1))
+            );
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+
+            assertThrows(FruitNotReachedException.class, () -> validate(request));
+        }
+    }
+
+    @Nested
+    class StateChangedEventTests {
+        @Test
+        void validateMove_shouldPublishOnlyAppliedTicks() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 0);
+            List<Tick> ticks = List.of(new Tick(new Velocity(1, 0)), new Tick(new Velocity(0, -1)));
+
+            ValidateMoveResponse response = validate(new ValidateMoveRequest(initialState, ticks));
+
+            assertEquals(1, publishedEvents.size());
+            StateChangedEvent event = (StateChangedEvent) publishedEvents.get(0);
+            assertSame(response.state(), event.state());
+            assertEquals(ticks.subList(0, 1), event.ticks());
+            assertEquals(List.of(response.state().getFruit().getCoordinate()), event.fruits());
+        }
+
+        @Test
+        void validateMove_shouldPublishStateBeforeReplay() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 0);
+            List<Tick> ticks = List.of(new Tick(new Velocity(1, 0)));
+
+            validate(new ValidateMoveRequest(initialState, ticks));
+
+            StateChangedEvent event = (StateChangedEvent) publishedEvents.get(0);
+            assertEquals(0, event.before().getScore());
+            assertEquals(new Coordinate(0, 0), event.before().getSnake().getCoordinate());
+            assertEquals(new Coordinate(1, 0), event.state().getSnake().getCoordinate());
+        }
+
+        @Test
+        void validateMove_shouldPublishEveryFruitOfContinuousReplay() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 0);
+            List<Tick> ticks = List.of(new Tick(new Velocity(1, 0)), new Tick(new Velocity(0, -1)));
+
+            validate(new ValidateMoveRequest(initialState, ticks, true));
+
+            StateChangedEvent event = (StateChangedEvent) publishedEvents.get(0);
+            assertEquals(ticks, event.ticks());
+            assertEquals(event.state().getScore(), event.fruits().size());
+        }
+
+        @Test
+        void validateMove_shouldNotPublishWhenMoveIsRejected() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 5, 5);
+            List<Tick> ticks = List.of(new Tick(new Velocity(1, 0)));
+
+            assertThrows(FruitNotReachedException.class,
+                    () -> validate(new ValidateMoveRequest(initialState, ticks)));
+            assertTrue(publishedEvents.isEmpty());
+        }
+    }
+
+    @Nested
+    class SolveTests {
+        @ParameterizedTest
+        @CsvSource({"1,1", "5,5", "10,15", "100,3"})
+        void solve_shouldReturnTicksAcceptedByValidateMove(int width, int height) {
+            State state = snakeServiceImpl.newGame(width, height).state();
+
+            SolveResponse response = snakeServiceImpl.solve(state);
+
+            Coordinate fruit = state.getFruit().getCoordinate();
+            assertEquals(Math.max(fruit.x(), fruit.y()), response.ticks().size());
+            assertSame(state, response.state());
+            ValidateMoveResponse validated = validate(new ValidateMoveRequest(state, response.ticks()));
+            assertEquals(1, validated.state().getScore());
+        }
+
+        @Test
+        void solve_shouldPathAroundSnakeBody() {
+            State state = State.builder()
+                    .gameId(correlationId)
+                    .width(GRID_WIDTH)
+                    .height(GRID_HEIGHT)
+                    .score(3)
+                    .fruit(Fruit.generateFixedPosition(0, 0))
+                    .snake(new Snake(new Coordinate(3, 0), new Velocity(1, 0),
+                            List.of(new Coordinate(2, 0), new Coordinate(2, 1), new Coordinate(2, 2))))
+                    .build();
+
+            SolveResponse response = snakeServiceImpl.solve(state);
+
+            ValidateMoveResponse validated = validate(new ValidateMoveRequest(state, response.ticks()));
+            assertEquals(4, validated.state().getScore());
+        }
+
+        @Test
+        void solve_shouldThrowFruitNotReachedException_whenFruitIsWalledOff() {
+            State state = State.builder()
+                    .gameId(correlationId)
+                    .width(2)
+                    .height(2)
+                    .score(5)
+                    .fruit(Fruit.generateFixedPosition(0, 0))
+                    .snake(new Snake(new Coordinate(2, 0), new Velocity(0, 1), List.of(new Coordinate(1, 0),
+                            new Coordinate(1, 1), new Coordinate(0, 1), new Coordinate(0, 2), new Coordinate(1, 2))))
+                    .build();
+
+            FruitNotReachedException exception = assertThrows(FruitNotReachedException.class,
+                    () -> snakeServiceImpl.solve(state));
+            assertEquals(SnakeConstants.NO_PATH_TO_FRUIT, exception.getMessage());
+        }
+
+        @Test
+        void solve_shouldThrowGameOverException_whenSnakeOutOfBounds() {
+            State state = State.builder()
+                    .gameId(correlationId)
+                    .width(GRID_WIDTH)
+                    .height(GRID_HEIGHT)
+                    .score(0)
+                    .fruit(Fruit.generateFixedPosition(1, 1))
+                    .snake(new Snake(new Coordinate(GRID_WIDTH + 1, 0), new Velocity(1, 0)))
+                    .build();
+
+            assertThrows(GameOverException.class, () -> snakeServiceImpl.solve(state));
+        }
+    }
+
+    @Nested
+    class ContinuousValidateMoveTests {
+        @Test
+        void validateMove_shouldKeepReplayingAfterEachFruit() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 1);
+            List<Tick> ticks = new ArrayList<>(List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(0, -1))
+            ));
+            Coordinate secondFruit = sequenceFruit(1, List.of(new Coordinate(1, 1), new Coordinate(1, 0)));
+            List<Tick> path = pathTo(new Coordinate(1, 1), new Velocity(0, -1), secondFruit);
+            ticks.addAll(path);
+            List<Coordinate> visited = new ArrayList<>(List.of(new Coordinate(1, 0), new Coordinate(1, 1)));
+            for (Tick tick : path) {
+                Coordinate last = visited.get(visited.size() - 1);
+                visited.add(new Coordinate(last.x() + tick.getVelocity().velX(), last.y() - tick.getVelocity().velY()));
+            }
+            // Three segments after the second fruit: the head and the two cells before it
+            List<Coordinate> finalSnake = visited.subList(visited.size() - 3, visited.size());
+
+            ValidateMoveResponse response = validate(new ValidateMoveRequest(initialState, ticks, true));
+
+            assertEquals(2 * SnakeConstants.POINTS_PER_FRUIT, response.state().getScore());
+            assertEquals(2 * SnakeConstants.POINTS_PER_FRUIT, response.scoreDelta());
+            assertEquals(List.of(1, ticks.size() - 1), response.fruitTicks());
+            assertEquals(secondFruit, response.state().getSnake().getCoordinate());
+            assertEquals(sequenceFruit(2, finalSnake), response.state().getFruit().getCoordinate());
+            assertEquals(List.of(finalSnake.get(1), finalSnake.get(0)), response.state().getSnake().getBody());
+        }
+
+        @Test
+        void validateMove_shouldReturnFinalStateWhenTrailingTicksMissFruit() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 0);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(0, -1)),
+                    new Tick(new Velocity(0, -1))
+            );
+            ValidateMoveResponse response = validate(new ValidateMoveRequest(initialState, ticks, true));
+
+            assertEquals(new Coordinate(1, 2), response.state().getSnake().getCoordinate());
+            assertEquals(0, response.fruitTicks().get(0));
+            assertEquals(response.fruitTicks().size() * SnakeConstants.POINTS_PER_FRUIT, response.state().getScore());
+        }
+
+        @Test
+        void validateMove_shouldThrowFruitNotReachedException_whenNoFruitReached() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 5, 5);
+            List<Tick> ticks = List.of(new Tick(new Velocity(1, 0)));
+
+            assertThrows(FruitNotReachedException.class,
+                    () -> validate(new ValidateMoveRequest(initialState, ticks, true)));
+        }
+
+        @Test
+        void validateMove_shouldThrowGameOverException_whenInvalidMoveAfterFruit() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 0);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(-1, 0))
+            );
+
+            assertThrows(GameOverException.class,
+                    () -> validate(new ValidateMoveRequest(initialState, ticks, true)));
+        }
+
+        @Test
+        void validateMove_shouldSpawnNextFruitFromGameSequence() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 1);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(0, -1))
+            );
+
+            ValidateMoveResponse response = validate(new ValidateMoveRequest(initialState, ticks));
+
+            assertEquals(sequenceFruit(1, List.of(new Coordinate(1, 1), new Coordinate(1, 0))),
+                    response.state().getFruit().getCoordinate());
+        }
+    }
+
+    @Nested
+    class SnakeBodyTests {
+        @Test
+        void validateMove_shouldGrowSnakeWhenFruitReached() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 2, 0);
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, 0)),
+                    new Tick(new Velocity(1, 0))
+            );
+
+            ValidateMoveResponse response = validate(new ValidateMoveRequest(initialState, ticks));
+
+            assertEquals(new Coordinate(2, 0), response.state().getSnake().getCoordinate());
+            assertEquals(List.of(new Coordinate(1, 0)), response.state().getSnake().getBody());
+        }
+
+        @Test
+        void validateMove_shouldMoveBodyAlongWithHead() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 4, 2);
+            initialState.setSnake(new Snake(new Coordinate(2, 0), new Velocity(1, 0),
+                    List.of(new Coordinate(1, 0), new Coordinate(0, 0))));
+            List<Tick> ticks = List.of(
+                    new Tick(new Velocity(1, -1)),
+                    new Tick(new Velocity(1, -1))
+            );
+
+            ValidateMoveResponse response = validate(new ValidateMoveRequest(initialState, ticks));
+
+            assertEquals(new Coordinate(4, 2), response.state().getSnake().getCoordinate());
+            assertEquals(List.of(new Coordinate(3, 1), new Coordinate(2, 0), new Coordinate(1, 0)),
+                    response.state().getSnake().getBody());
+        }
+
+        @Test
+        void validateMove_shouldThrowGameOverException_whenSnakeHitsItself() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 5, 5);
+            initialState.setSnake(new Snake(new Coordinate(2, 2), new Velocity(0, 1), List.of(
+                    new Coordinate(2, 3), new Coordinate(1, 3), new Coordinate(1, 2), new Coordinate(1, 1), new Coordinate(2, 1))));
+            List<Tick> ticks = List.of(new Tick(new Velocity(-1, 0)));
+
+            assertThrows(GameOverException.class, () -> validate(new ValidateMoveRequest(initialState, ticks)));
+        }
+
+        @Test
+        void validateMove_shouldThrowInvalidStateException_whenBodyIsNotContiguous() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 5, 5);
+            initialState.setSnake(new Snake(new Coordinate(2, 2), new Velocity(1, 0), List.of(new Coordinate(0, 2))));
+            List<Tick> ticks = List.of(new Tick(new Velocity(1, 0)));
+
+            assertThrows(InvalidStateException.class, () -> validate(new ValidateMoveRequest(initialState, ticks)));
+        }
+
+        @Test
+        void validateMove_shouldThrowGameOverException_whenHeadOutOfBounds() {
+            State initialState = createInitialState(GRID_WIDTH, GRID_HEIGHT, 5, 5);
+            initialState.setSnake(new Snake(new Coordinate(GRID_WIDTH + 1, 0), new Velocity(1, 0)));
+            List<Tick> ticks = List.of(new Tick(new Velocity(0, -1)));
+
+            assertThrows(GameOverException.class, () -> validate(new ValidateMoveRequest(initialState, ticks)));
+        }
+    }
+
+    @Nested
+    class FruitPlacementTests {
+        @Test
+        void validateMove_shouldNeverSpawnFruitOnSnake() {
+            // 2 x 1 grid (6 cells) with a 4 segment snake eating its fifth: a single free cell left
+            for (int attempt = 0; attempt < 50; attempt++) {
+                State initialState = State.builder()
+                        .gameId(UUID.randomUUID().toString())
+                        .width(2)
+                        .height(1)
+                        .score(4)
+                        .fruit(Fruit.generateFixedPosition(2, 1))
+                        .snake(new Snake(new Coordinate(2, 0), new Velocity(1, 0),
+                                List.of(new Coordinate(1, 0), new Coordinate(0, 0), new Coordinate(0, 1))))
+                        .build();
+                List<Tick> ticks = List.of(new Tick(new Velocity(0, -1)));
+
+                ValidateMoveResponse response = validate(new ValidateMoveRequest(initialState, ticks));
+
+                assertEquals(new Coordinate(1, 1), response.state().getFruit().getCoordinate());
+            }
+        }
+
+        @Test
+        void validateMove_shouldKeepFruitWhenSnakeCoversWholeGrid() {
+            State initialState = State.builder()
+                    .gameId(correlationId)
+                    .width(1)
+                    .height(1)
+                    .score(2)
+                    .fruit(Fruit.generateFixedPosition(0, 1))
+                    .snake(new Snake(new Coordinate(1, 1), new Velocity(0, -1),
+                            List.of(new Coordinate(1, 0), new Coordinate(0, 0))))
+                    .build();
+            List<Tick> ticks = List.of(new Tick(new Velocity(-1, 0)));
+
+            ValidateMoveResponse response = validate(new ValidateMoveRequest(initialState, ticks));
+
+            assertEquals(3, response.state().getScore());
+            assertEquals(new Coordinate(0, 1), response.state().getFruit().getCoordinate());
+        }
+    }
+
+    @Nested
+    class ServerSideGameTests {
+        @Test
+        void newGame_shouldHoldGameAtVersionZero() {
+            State state = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT).state();
+
+            assertEquals(0L, state.getVersion());
+            assertEquals(0L, gameStore.load(state.getGameId()).getVersion());
+        }
+
+        @Test
+        void newGame_shouldNotHoldGame_whenNotServerSide() {
+            State state = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT, false).state();
+
+            assertNull(state.getVersion());
+            assertNull(gameStore.load(state.getGameId()));
+        }
+
+        @Test
+        void validateMove_shouldCommitNextVersion() {
+            State state = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT).state();
+            List<Tick> ticks = pathTo(state.getSnake().getCoordinate(), state.getSnake().getVelocity(),
+                    state.getFruit().getCoordinate());
+
+            ValidateMoveResponse response = snakeServiceImpl.validateMove(new ValidateMoveRequest(state, ticks));
+
+            assertEquals(1L, response.state().getVersion());
+            State stored = gameStore.load(state.getGameId());
+            assertEquals(1L, stored.getVersion());
+            assertEquals(1, stored.getScore());
+            assertEquals(response.state().getSnake().getCoordinate(), stored.getSnake().getCoordinate());
+        }
+
+        @Test
+        void validateMove_shouldReplayStoredState_notTheOneSent() {
+            State state = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT).state();
+            List<Tick> ticks = pathTo(state.getSnake().getCoordinate(), state.getSnake().getVelocity(),
+                    state.getFruit().getCoordinate());
+            state.setScore(100);
+
+            ValidateMoveResponse response = snakeServiceImpl.validateMove(new ValidateMoveRequest(state, ticks));
+
+            assertEquals(1, response.state().getScore());
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {1L, 7L})
+        void validateMove_shouldThrowVersionConflict_whenVersionIsNotLatest(Long version) {
+            State state = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT).state();
+            List<Tick> ticks = pathTo(state.getSnake().getCoordinate(), state.getSnake().getVelocity(),
+                    state.getFruit().getCoordinate());
+            state.setVersion(version);
+
+            VersionConflictException exception = assertThrows(VersionConflictException.class,
+                    () -> snakeServiceImpl.validateMove(new ValidateMoveRequest(state, ticks)));
+
+            assertEquals(SnakeConstants.VERSION_CONFLICT, exception.getMessage());
+            assertEquals(0L, gameStore.load(state.getGameId()).getVersion());
+        }
+
+        @Test
+        void validateMove_shouldThrowInvalidState_whenVersionIsMissing() {
+            State state = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT).state();
+            List<Tick> ticks = pathTo(state.getSnake().getCoordinate(), state.getSnake().getVelocity(),
+                    state.getFruit().getCoordinate());
+            state.setVersion(null);
+
+            InvalidStateException exception = assertThrows(InvalidStateException.class,
+                    () -> snakeServiceImpl.validateMove(new ValidateMoveRequest(state, ticks)));
+
+            assertEquals(SnakeConstants.MISSING_VERSION, exception.getMessage());
+            assertEquals(0L, gameStore.load(state.getGameId()).getVersion());
+        }
+
+        @Test
+        void validateMove_shouldThrowInvalidState_whenGameIsNoLongerHeld() {
+            SnakeServiceImpl otherInstance = new SnakeServiceImpl(fruitSequence, publishedEvents::add, new InMemoryGameStore(1, 0));
+            State state = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT).state();
+            List<Tick> ticks = pathTo(state.getSnake().getCoordinate(), state.getSnake().getVelocity(),
+                    state.getFruit().getCoordinate());
+
+            InvalidStateException exception = assertThrows(InvalidStateException.class,
+                    () -> otherInstance.validateMove(new ValidateMoveRequest(state, ticks)));
+
+            assertEquals(SnakeConstants.GAME_EXPIRED, exception.getMessage());
+            assertTrue(publishedEvents.isEmpty());
+        }
+
+        @Test
+        void newGame_shouldStartStatelessGame_whenStoreIsFull() {
+            SnakeServiceImpl fullStore = new SnakeServiceImpl(fruitSequence, publishedEvents::add, new InMemoryGameStore(1, 0));
+            fullStore.newGame(GRID_WIDTH, GRID_HEIGHT);
+            State state = fullStore.newGame(GRID_WIDTH, GRID_HEIGHT).state();
+            List<Tick> ticks = pathTo(state.getSnake().getCoordinate(), state.getSnake().getVelocity(),
+                    state.getFruit().getCoordinate());
+
+            ValidateMoveResponse response = fullStore.validateMove(new ValidateMoveRequest(state, ticks));
+
+            assertNull(state.getVersion());
+            assertEquals(SnakeConstants.POINTS_PER_FRUIT, response.state().getScore());
+        }
+
+        @Test
+        void complete_shouldThrowVersionConflict_forTheSecondOfTwoRacingValidations() {
+            State state = snakeServiceImpl.newGame(GRID_WIDTH, GRID_HEIGHT).state();
+            List<Tick> ticks = pathTo(state.getSnake().getCoordinate(), state.getSnake().getVelocity(),
+                    state.getFruit().getCoordinate());
+            MoveValidation first = snakeServiceImpl.startValidation(state);
+            MoveValidation second = snakeServiceImpl.startValidation(state);
+            ticks.forEach(first::accept);
+            ticks.forEach(second::accept);
+
+            first.complete();
+
+            assertThrows(VersionConflictException.class, second::complete);
+            State stored = gameStore.load(state.getGameId());
+            assertEquals(1L, stored.getVersion());
+            assertEquals(1, stored.getScore());
+            assertEquals(1, publishedEvents.size());
+        }
+    }
+
+    @Nested
+    class StatelessGameTests {
+        @Test
+        void validateMove_shouldAcceptSequenceFruits_ofGameNotHeld() {
+            State state = sequenceState();
+            ValidateMoveResponse first = snakeServiceImpl.validateMove(new ValidateMoveRequest(state, pathTo(state)));
+            State next = first.state();
+
+            ValidateMoveResponse second = snakeServiceImpl.validateMove(new ValidateMoveRequest(next, pathTo(next)));
+
+            assertEquals(2 * SnakeConstants.POINTS_PER_FRUIT, second.state().getScore());
+        }
+
+        @Test
+        void validateMove_shouldThrowInvalidState_whenFruitIsNotFromSequence() {
+            State state = sequenceState();
+            Coordinate fruit = state.getFruit().getCoordinate();
+            state.setFruit(Fruit.generateFixedPosition(fruit.x() == 1 ? 2 : 1, fruit.y()));
+
+            InvalidStateException exception = assertThrows(InvalidStateException.class,
+                    () -> snakeServiceImpl.validateMove(new ValidateMoveRequest(state, pathTo(state))));
+
+            assertEquals(SnakeConstants.FRUIT_MISMATCH, exception.getMessage());
+            assertTrue(publishedEvents.isEmpty());
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {-1, 1})
+        void validateMove_shouldThrowInvalidState_whenScoreDoesNotMatchFruit(int offset) {
+            State state = sequenceState();
+            State next = snakeServiceImpl.validateMove(new ValidateMoveRequest(state, pathTo(state))).state();
+            next.setScore(next.getScore() + offset * SnakeConstants.POINTS_PER_FRUIT);
+
+            assertThrows(InvalidStateException.class,
+                    () -> snakeServiceImpl.validateMove(new ValidateMoveRequest(next, pathTo(next))));
+        }
+
+        @Test
+        void validateMove_shouldThrowInvalidState_whenScoreIsNegative() {
+            State state = sequenceState();
+            state.setScore(-SnakeConstants.POINTS_PER_FRUIT);
+
+            assertThrows(InvalidStateException.class,
+                    () -> snakeServiceImpl.validateMove(new ValidateMoveRequest(state, pathTo(state))));
+        }
+
+        @Test
+        void validateMove_shouldTakeFruitAsSent_whenTrusted() {
+            State state = createInitialState(GRID_WIDTH, GRID_HEIGHT, 1, 0);
+
+            ValidateMoveResponse response = snakeServiceImpl.validateMove(
+                    new ValidateMoveRequest(state, List.of(new Tick(new Velocity(1, 0)))), true);
+
+            assertEquals(SnakeConstants.POINTS_PER_FRUIT, response.state().getScore());
+        }
+
+        // Start of a game not held by the store, with its first fruit
+        private State sequenceState() {
+            long fruit = fruitSequence.fruitAt(correlationId, 0, GRID_WIDTH, GRID_HEIGHT, 1);
+            return createInitialState(GRID_WIDTH, GRID_HEIGHT, PackedCoordinate.x(fruit), PackedCoordinate.y(fruit));
+        }
+
+        private static List<Tick> pathTo(State state) {
+            return SnakeServiceImplTest.pathTo(state.getSnake().getCoordinate(), state.getSnake().getVelocity(),
+                    state.getFruit().getCoordinate());
+        }
+    }
+
+    @Nested
+    class EdgeCaseTests {
+        @Test
+        void validateMove_shouldHandleLongSequenceOfMoves() {
+            State initialState = createInitialState(1000, 1000, 1000, 1000);
+            List<Tick> ticks = IntStream.range(0, 1000)
+                    .mapToObj(i -> new Tick(new Velocity(1, -1)))
+                    .toList();
+            ValidateMoveRequest request = new ValidateMoveRequest(initialState, ticks);
+            ValidateMoveResponse response = validate(request);
+
+            assertEquals(new Coordinate(1000, 1000), response.state().getSnake().getCoordinate());
+        }
+    }
+
+    // Made-up states are replayed as trusted, their fruit is placed for the moves under test, not drawn from the sequence
+    private ValidateMoveResponse validate(ValidateMoveRequest request) {
+        return snakeServiceImpl.validateMove(request, true);
+    }
+
+    // Rejection sampling over the game's fruit stream, as placed while the snake covers less than half the grid
+    private static Coordinate sequenceFruit(int index, Collection<Coordinate> snakeCells) {
+        SplittableRandom random = fruitSequence.random(fruitSequence.gameSeed(correlationId), index);
+        long stride = GRID_WIDTH + 1;
+        long cells = stride * (GRID_HEIGHT + 1);
+        while (true) {
+            long cell = random.nextLong(cells);
+            Coordinate coordinate = new Coordinate((int) (cell % stride), (int) (cell / stride));
+            if (!snakeCells.contains(coordinate)) {
+                return coordinate;
+            }
+        }
+    }
+
+    // Chebyshev path in grid space, detouring diagonally when the direct step would reverse the snake
+    private static List<Tick> pathTo(Coordinate from, Velocity velocity, Coordinate to) {
+        List<Tick> ticks = new ArrayList<>();
+        int x = from.x(), y = from.y();
+        Velocity current = velocity;
+        while (x != to.x() || y != to.y()) {
+            int stepX = Integer.signum(to.x() - x);
+            int stepY = Integer.signum(to.y() - y);
+            if (stepX == -current.velX() && -stepY == -current.velY()) {
+                if (stepX == 0) {
+                    stepX = x > 0 ? -1 : 1;
+                } else {
+                    stepY = y > 0 ? -1 : 1;
+                }
+            }
+            current = new Velocity(stepX, -stepY);
+            ticks.add(new Tick(current));
+            x += stepX;
+            y += stepY;
+        }
+        return ticks;
+    }
+
+    private State createInitialState(int width, int height,
+                                     int fruitX, int fruitY) {
+        return State.builder()
+                .gameId(correlationId)
+                .width(width)
+                .height(height)
+                .score(0)
+                .fruit(Fruit.generateFixedPosition(fruitX, fruitY))
+                .snake(new Snake(new Coordinate(0, 0), new Velocity(1, 0)))
+                .build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.cyberowl.snake.spectator;
+
+import com.cyberowl.snake.exception.ServiceUnavailableException;
+import com.cyberowl.snake.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorHubTest {
+    private static final String GAME_ID = "game-1";
+
+    private static final Duration IDLE = Duration.ofMinutes(5);
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final AtomicLong clock = new AtomicLong();
+    private SpectatorHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new SpectatorHub(new ObjectMapper(), tasks::add, 3, 4, 8, 3, Duration.ofMinutes(1), IDLE, clock::get,
+                Duration.ZERO);
+    }
+
+    @Test
+    void publish_shouldLeaveEncodingAndFanOutToTheExecutor() {
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(GAME_ID, sink);
+
+        hub.onStateChanged(event(1));
+
+        assertTrue(sink.frames.isEmpty());
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(1, sink.frames.size());
+    }
+
+    @Test
+    void publish_shouldShareOneEncodedFrameAcrossSubscribers() {
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        hub.subscribe(GAME_ID, first);
+        hub.subscribe(GAME_ID, second);
+
+        hub.onStateChanged(event(3));
+        runTasks();
+
+        assertEquals(1, first.frames.size());
+        assertSame(first.frames.get(0), second.frames.get(0));
+        assertTrue(json(first.frames.get(0)).contains("\"score\":3"));
+    }
+
+    @Test
+    void publish_shouldSendKeyFrameEveryIntervalAndDeltasInBetween() {
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(GAME_ID, sink);
+
+        for (int score = 0; score < 4; score++) {
+            hub.onStateChanged(event(score));
+            runTasks();
+        }
+
+        assertEquals(List.of(Frame.KEY, Frame.DELTA, Frame.DELTA, Frame.KEY),
+                sink.frames.stream().map(Frame::event).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L), sink.frames.stream().map(Frame::seq).toList());
+    }
+
+    @Test
+    void delta_shouldCarryMovesAndEatenFruitsOnly() {
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(GAME_ID, sink);
+        hub.onStateChanged(event(0));
+
+        hub.onStateChanged(new StateChangedEvent(state(0), state(1),
+                List.of(new Tick(new Velocity(1, 0)), new Tick(new Velocity(1, -1))), List.of(new Coordinate(4, 2))));
+        hub.onStateChanged(new StateChangedEvent(state(0), state(1), List.of(new Tick(new Velocity(0, 1))), List.of()));
+        runTasks();
+
+        assertEquals("{\"seq\":2,\"moves\":\"65\",\"score\":1,\"fruits\":[[4,2]]}", json(sink.frames.get(1)));
+        assertEquals("{\"seq\":3,\"moves\":\"4\"}", json(sink.frames.get(2)));
+        assertTrue(sink.frames.get(2).data().length * 4 < sink.frames.get(0).data().length);
+    }
+
+    @Test
+    void subscribe_shouldSendLatestKeyFrameToLateJoiner() {
+        hub.subscribe(GAME_ID, new RecordingSink());
+        hub.onStateChanged(event(1));
+        hub.onStateChanged(event(2));
+        runTasks();
+        RecordingSink late = new RecordingSink();
+
+        hub.subscribe(GAME_ID, late);
+        runTasks();
+
+        assertEquals(1, late.frames.size());
+        assertTrue(late.frames.get(0).isKey());
+        assertEquals(2, late.frames.get(0).seq());
+        assertTrue(json(late.frames.get(0)).contains("\"score\":2"));
+    }
+
+    @Test
+    void publish_shouldResyncSlowSubscriberWithKeyFrameAfterDroppedFrames() {
+        RecordingSink slow = new RecordingSink();
+        Subscriber subscriber = hub.subscribe(GAME_ID, slow);
+
+        // Nothing drained: a queue of 4 keeps the last 4 frames, the gap is covered by the latest key frame
+        for (int score = 0; score < 6; score++) {
+            hub.onStateChanged(event(score));
+        }
+        runTasks();
+        hub.onStateChanged(event(6));
+        runTasks();
+
+        assertEquals(2, subscriber.droppedFrames());
+        assertEquals(List.of(6L, 7L), slow.frames.stream().map(Frame::seq).toList());
+        assertTrue(slow.frames.get(0).isKey());
+        assertTrue(json(slow.frames.get(0)).contains("\"score\":5"));
+    }
+
+    @Test
+    void publish_shouldCloseSubscriberFallingTooFarBehind() {
+        RecordingSink slow = new RecordingSink();
+        Subscriber subscriber = hub.subscribe(GAME_ID, slow);
+
+        for (int score = 0; score < 20; score++) {
+            hub.onStateChanged(event(score));
+        }
+        runTasks();
+
+        assertTrue(subscriber.isClosed());
+        assertTrue(slow.closed);
+        assertEquals(0, hub.subscriberCount(GAME_ID));
+    }
+
+    @Test
+    void publish_shouldCloseSubscriberWhenWriteFails() {
+        RecordingSink broken = new RecordingSink();
+        broken.failing = true;
+        RecordingSink healthy = new RecordingSink();
+        hub.subscribe(GAME_ID, broken);
+        hub.subscribe(GAME_ID, healthy);
+
+        hub.onStateChanged(event(1));
+        runTasks();
+
+        assertTrue(broken.closed);
+        assertEquals(1, healthy.frames.size());
+        assertEquals(1, hub.subscriberCount(GAME_ID));
+    }
+
+    @Test
+    void unsubscribe_shouldKeepChannel_soTheNextSpectatorCarriesOnFromTheLatestKeyFrame() {
+        Subscriber first = hub.subscribe(GAME_ID, new RecordingSink());
+        hub.onStateChanged(event(1));
+        runTasks();
+        first.close();
+        hub.onStateChanged(event(2));
+        runTasks();
+        RecordingSink next = new RecordingSink();
+
+        hub.subscribe(GAME_ID, next);
+        hub.onStateChanged(event(3));
+        runTasks();
+
+        assertEquals(List.of(2L, 3L), next.frames.stream().map(Frame::seq).toList());
+        assertTrue(next.frames.get(0).isKey());
+        assertTrue(json(next.frames.get(0)).contains("\"score\":2"));
+        assertEquals(Frame.DELTA, next.frames.get(1).event());
+    }
+
+    @Test
+    void sweep_shouldDropChannelsIdleWithoutSpectators_only() {
+        hub.subscribe(GAME_ID, new RecordingSink()).close();
+        hub.subscribe("watched", new RecordingSink());
+        clock.addAndGet(IDLE.toNanos() / 2);
+        hub.subscribe("recent", new RecordingSink()).close();
+        clock.addAndGet(IDLE.toNanos() / 2);
+
+        hub.sweep();
+
+        assertEquals(2, hub.channelCount());
+        assertEquals(1, hub.subscriberCount("watched"));
+        hub.onStateChanged(new StateChangedEvent(state(0), state(1), List.of(), List.of()));
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void subscribe_shouldRejectSubscribersBeyondLimit() {
+        for (int i = 0; i < 3; i++) {
+            hub.subscribe(GAME_ID, new RecordingSink());
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> hub.subscribe(GAME_ID, new RecordingSink()));
+        assertEquals(0, hub.subscriberCount("other-game"));
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static String json(Frame frame) {
+        return new String(frame.data(), StandardCharsets.UTF_8);
+    }
+
+    private static StateChangedEvent event(int score) {
+        return new StateChangedEvent(state(score - 1), state(score), List.of(new Tick(new Velocity(1, 0))), List.of());
+    }
+
+    private static State state(int score) {
+        return State.builder()
+                .gameId(GAME_ID)
+                .width(5)
+                .height(5)
+                .score(score)
+                .fruit(Fruit.generateFixedPosition(1, 1))
+                .snake(new Snake(new Coordinate(0, 0), new Velocity(1, 0)))
+                .build();
+    }
+
+    private static class RecordingSink implements FrameSink {
+        private final List<Frame> frames = new ArrayList<>();
+        private boolean failing;
+        private boolean closed;
+
+        @Override
+        public void send(Frame frame) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            frames.add(frame);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cyberowl.snake.startup;
+
+import com.cyberowl.snake.SnakeApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the OpenAPI spec of the service to the given file, run by the fast-startup build to put it in
+ * {@code static/openapi.json} so that the fast-startup profile serves it without scanning the controllers.
+ * <p>
+ * The application is started with the default profile on a random port and the spec read from springdoc's
+ * /v3/api-docs, without its servers entry which names that port.
+ */
+public class OpenApiSpecWriter {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: OpenApiSpecWriter <output file>");
+            System.exit(2);
+        }
+        Path output = Path.of(args[0]);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SnakeApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("server.port=0", "logging.level.root=WARN",
+                        "snake.fruit.secret=openapi", "snake.token.secret=openapi")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v3/api-docs")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("/v3/api-docs answered " + response.statusCode());
+            }
+            ObjectMapper mapper = new ObjectMapper();
+            ObjectNode spec = (ObjectNode) mapper.readTree(response.body());
+            spec.remove("servers");
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            mapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), spec);
+            System.out.println("OpenAPI spec written to " + output);
+        }
+    }
+}
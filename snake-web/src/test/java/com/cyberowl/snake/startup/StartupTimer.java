@@ -0,0 +1,114 @@
+package com.cyberowl.snake.startup;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup time of the packaged service, run by {@code mvn -Pfast-startup verify -pl snake-web -am}.
+ * <p>
+ * The extracted jar in {@code startup.directory} is started {@code startup.runs} times as is, then with the
+ * AOT-processed context, the AppCDS archive and the fast-startup profile. A run lasts from the process launch
+ * to the first UP answer of /actuator/health, so JVM startup is included. Medians are printed and written to
+ * {@code startup.report} to be tracked from build to build.
+ */
+public class StartupTimer {
+    private static final Path DIRECTORY = Path.of(System.getProperty("startup.directory", "target/fast-startup"));
+    private static final String JAR = System.getProperty("startup.jar", "snake-web-0.0.1-SNAPSHOT.jar");
+    private static final String ARCHIVE = System.getProperty("startup.archive", "application.jsa");
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final Path REPORT = Path.of(System.getProperty("startup.report", "target/startup-time.json"));
+    private static final Duration TIMEOUT = Duration.ofSeconds(Integer.getInteger("startup.timeout-seconds", 120));
+
+    private static final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    public static void main(String[] args) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String jar = DIRECTORY.resolve(JAR).toString();
+        List<Variant> variants = List.of(
+                new Variant("baseline", List.of(java, "-jar", jar)),
+                new Variant("fast-startup", List.of(java, "-XX:SharedArchiveFile=" + DIRECTORY.resolve(ARCHIVE),
+                        "-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-startup", "-jar", jar)));
+
+        System.out.printf("runs=%d jar=%s%n", RUNS, jar);
+        System.out.printf("%-13s %10s %10s %10s%n", "variant", "median ms", "min ms", "max ms");
+        StringBuilder report = new StringBuilder("{");
+        for (Variant variant : variants) {
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = variant.time(run);
+            }
+            Arrays.sort(millis);
+            long median = millis[RUNS / 2];
+            System.out.printf("%-13s %10d %10d %10d%n", variant.name, median, millis[0], millis[RUNS - 1]);
+            report.append(report.length() == 1 ? "" : ",")
+                    .append("\"").append(variant.name).append("\":{\"medianMs\":").append(median)
+                    .append(",\"minMs\":").append(millis[0]).append(",\"maxMs\":").append(millis[RUNS - 1])
+                    .append(",\"runsMs\":").append(Arrays.toString(millis).replace(" ", "")).append("}");
+        }
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        Files.writeString(REPORT, report.append("}\n"));
+        System.out.println("Startup times written to " + REPORT);
+    }
+
+    private record Variant(String name, List<String> command) {
+
+        // Milliseconds from the launch to the first UP health, the process output goes to a log beside the jar
+        long time(int run) throws IOException, InterruptedException {
+            int port = freePort();
+            List<String> command = new ArrayList<>(this.command);
+            command.addAll(List.of("--server.port=" + port,
+                    "--snake.fruit.secret=startup", "--snake.token.secret=startup"));
+            Path log = DIRECTORY.resolve("startup-" + name + "-" + run + ".log");
+            HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                    .timeout(Duration.ofSeconds(1)).build();
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+            try {
+                while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                    if (!process.isAlive()) {
+                        throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+                    }
+                    if (isUp(health)) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                    Thread.sleep(10);
+                }
+                throw new IllegalStateException(name + " not up after " + TIMEOUT + ", see " + log);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+    }
+
+    private static boolean isUp(HttpRequest health) throws IOException, InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(health, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 && response.body().contains("\"UP\"");
+        } catch (ConnectException | HttpTimeoutException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
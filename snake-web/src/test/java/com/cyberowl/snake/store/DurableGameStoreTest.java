@@ -0,0 +1,192 @@
+package com.cyberowl.snake.store;
+
+import com.cyberowl.snake.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableGameStoreTest {
+    private static final long IDLE = Duration.ofMinutes(30).toNanos();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recover_shouldRestoreSnapshotAndJournal_afterCrash() throws IOException {
+        DurableGameStore store = open();
+        for (int i = 0; i < 100; i++) {
+            store.create(state(uuid(i), 0, List.of()));
+        }
+        store.commit(state(uuid(1), 1, List.of()), 0);
+        store.snapshot();
+        store.commit(state(uuid(1), 2, List.of(new Coordinate(6, 4))), 1);
+        store.commit(state(uuid(2), 5, longBody(400)), 0);
+        store.create(state(uuid(100), 0, List.of()));
+        store.flush();
+        // Crash: no close, no final snapshot
+
+        DurableGameStore recovered = open();
+
+        for (int i = 0; i <= 100; i++) {
+            assertNotNull(recovered.load(uuid(i)), "game " + i);
+        }
+        State first = recovered.load(uuid(1));
+        assertEquals(2L, first.getVersion());
+        assertEquals(2, first.getScore());
+        assertEquals(List.of(new Coordinate(6, 4)), first.getSnake().getBody());
+        State second = recovered.load(uuid(2));
+        assertEquals(1L, second.getVersion());
+        assertEquals(longBody(400), second.getSnake().getBody());
+        assertEquals(0L, recovered.load(uuid(3)).getVersion());
+    }
+
+    @Test
+    void recover_shouldKeepCommittingVersions_afterRestart() throws IOException {
+        DurableGameStore store = open();
+        store.create(state(uuid(1), 0, List.of()));
+        store.commit(state(uuid(1), 1, List.of()), 0);
+        store.flush();
+
+        DurableGameStore recovered = open();
+
+        assertFalse(recovered.commit(state(uuid(1), 2, List.of()), 0));
+        assertTrue(recovered.commit(state(uuid(1), 2, List.of()), 1));
+        recovered.flush();
+        assertEquals(2L, open().load(uuid(1)).getVersion());
+    }
+
+    @Test
+    void recover_shouldStopAtTornJournalTail() throws IOException {
+        DurableGameStore store = open();
+        store.create(state(uuid(1), 0, List.of()));
+        store.create(state(uuid(2), 0, List.of()));
+        store.flush();
+        Path journal = only(GameJournal.PREFIX);
+        long size = Files.size(journal);
+        // Half-written third entry, then a flipped bit in the second
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[60]));
+        }
+
+        DurableGameStore recovered = open();
+
+        assertNotNull(recovered.load(uuid(1)));
+        assertNotNull(recovered.load(uuid(2)));
+        assertEquals(size, Files.size(journal));
+
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), size - 10);
+        }
+        DurableGameStore corrupted = open();
+        assertNotNull(corrupted.load(uuid(1)));
+        assertNull(corrupted.load(uuid(2)));
+    }
+
+    @Test
+    void snapshot_shouldDropOlderJournalsAndSnapshots() throws IOException {
+        DurableGameStore store = open();
+        store.create(state(uuid(1), 0, List.of()));
+        store.snapshot();
+        store.commit(state(uuid(1), 1, List.of()), 0);
+        Path snapshot = store.snapshot();
+
+        assertEquals(List.of(snapshot), files(DurableGameStore.SNAPSHOT_PREFIX));
+        assertEquals(1, files(GameJournal.PREFIX).size());
+        assertEquals(1L, open().load(uuid(1)).getVersion());
+    }
+
+    @Test
+    void recover_shouldIgnoreUnfinishedSnapshot() throws IOException {
+        DurableGameStore store = open();
+        store.create(state(uuid(1), 0, List.of()));
+        store.flush();
+        Files.write(directory.resolve(DurableGameStore.SNAPSHOT_PREFIX + 99 + DurableGameStore.TEMPORARY_SUFFIX), new byte[100]);
+
+        DurableGameStore recovered = open();
+
+        assertNotNull(recovered.load(uuid(1)));
+        assertTrue(files(DurableGameStore.SNAPSHOT_PREFIX).isEmpty());
+    }
+
+    @Test
+    void recover_shouldFail_whenSnapshotIsCorrupt() throws IOException {
+        DurableGameStore store = open();
+        store.create(state(uuid(1), 0, List.of()));
+        store.create(state(uuid(2), 0, List.of()));
+        Path snapshot = store.snapshot();
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), Files.size(snapshot) - 10);
+        }
+
+        IOException exception = assertThrows(IOException.class, this::open);
+
+        assertTrue(exception.getMessage().contains(snapshot.getFileName().toString()), exception.getMessage());
+    }
+
+    @Test
+    void close_shouldLeaveNothingToReplay() throws IOException {
+        DurableGameStore store = open();
+        store.create(state(uuid(1), 0, List.of()));
+
+        store.close();
+
+        assertEquals(1, files(DurableGameStore.SNAPSHOT_PREFIX).size());
+        for (Path journal : files(GameJournal.PREFIX)) {
+            assertEquals(0, Files.size(journal));
+        }
+        assertNotNull(open().load(uuid(1)));
+    }
+
+    private DurableGameStore open() throws IOException {
+        return new DurableGameStore(new OffHeapGameStore(1000, IDLE), directory, Duration.ZERO);
+    }
+
+    private Path only(String prefix) throws IOException {
+        List<Path> files = files(prefix);
+        assertEquals(1, files.size());
+        return files.get(0);
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).toList();
+        }
+    }
+
+    private static String uuid(int i) {
+        return new UUID(0x4000L | ((long) i << 16), i + 1).toString();
+    }
+
+    // Straight body to the right of a head at (5, 4)
+    private static List<Coordinate> longBody(int length) {
+        List<Coordinate> body = new ArrayList<>(length);
+        for (int i = 1; i <= length; i++) {
+            body.add(new Coordinate(5 + i, 4));
+        }
+        return body;
+    }
+
+    private static State state(String gameId, int score, List<Coordinate> body) {
+        return State.builder()
+                .gameId(gameId)
+                .width(1000)
+                .height(8)
+                .score(score)
+                .fruit(Fruit.generateFixedPosition(2, 3))
+                .snake(new Snake(new Coordinate(5, 4), new Velocity(-1, 0), body))
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.cyberowl.snake.store;
+
+import com.cyberowl.snake.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryGameStoreTest {
+    private static final long IDLE = TimeUnit.MINUTES.toNanos(30);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void create_shouldHoldCopyAtVersionZero() {
+        InMemoryGameStore store = new InMemoryGameStore(10, IDLE, clock::get, Duration.ZERO);
+        State state = state("game-1", 0);
+
+        assertTrue(store.create(state));
+        state.getSnake().updateCoordinate(new Coordinate(3, 3));
+
+        State loaded = store.load("game-1");
+        assertEquals(0L, state.getVersion());
+        assertEquals(0L, loaded.getVersion());
+        assertEquals(new Coordinate(0, 0), loaded.getSnake().getCoordinate());
+    }
+
+    @Test
+    void load_shouldReturnIndependentCopies() {
+        InMemoryGameStore store = new InMemoryGameStore(10, IDLE, clock::get, Duration.ZERO);
+        store.create(state("game-1", 0));
+
+        store.load("game-1").setScore(5);
+
+        assertEquals(0, store.load("game-1").getScore());
+        assertNull(store.load("game-2"));
+    }
+
+    @Test
+    void commit_shouldBumpVersion_onlyFromLatest() {
+        InMemoryGameStore store = new InMemoryGameStore(10, IDLE, clock::get, Duration.ZERO);
+        store.create(state("game-1", 0));
+        State next = state("game-1", 1);
+
+        assertTrue(store.commit(next, 0));
+        assertEquals(1L, next.getVersion());
+        assertFalse(store.commit(state("game-1", 2), 0));
+        assertFalse(store.commit(state("game-2", 1), 0));
+
+        State loaded = store.load("game-1");
+        assertEquals(1L, loaded.getVersion());
+        assertEquals(1, loaded.getScore());
+    }
+
+    @Test
+    void sweep_shouldDropIdleGames_andFreeRoomForNewOnes() {
+        InMemoryGameStore store = new InMemoryGameStore(2, IDLE, clock::get, Duration.ZERO);
+        store.create(state("game-1", 0));
+        store.create(state("game-2", 0));
+        clock.addAndGet(IDLE / 2);
+        store.commit(state("game-2", 1), 0);
+
+        store.sweep();
+        assertFalse(store.create(state("game-3", 0)));
+        clock.addAndGet(IDLE / 2);
+        assertFalse(store.create(state("game-3", 0)));
+        store.sweep();
+        assertTrue(store.create(state("game-3", 0)));
+
+        assertNull(store.load("game-1"));
+        assertNotNull(store.load("game-2"));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void commit_shouldLetExactlyOneWriterWinEachVersion_underContention() throws Exception {
+        InMemoryGameStore store = new InMemoryGameStore(10, IDLE, clock::get, Duration.ZERO);
+        store.create(state("game-1", 0));
+        int threads = 8;
+        int attempts = 1000;
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < attempts; i++) {
+                        State loaded = store.load("game-1");
+                        loaded.setScore(loaded.getScore() + 1);
+                        if (store.commit(loaded, loaded.getVersion())) {
+                            wins.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        State loaded = store.load("game-1");
+        assertEquals(wins.get(), loaded.getVersion());
+        assertEquals(wins.get(), loaded.getScore());
+    }
+
+    @Test
+    void sweep_shouldRunInBackground_untilClosed() throws Exception {
+        try (InMemoryGameStore store = new InMemoryGameStore(1, 0, Duration.ofMillis(10))) {
+            store.create(state("game-1", 0));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (store.size() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertEquals(0, store.size());
+            assertTrue(store.create(state("game-2", 0)));
+        }
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryGameStore(0, IDLE));
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryGameStore(1, -1));
+    }
+
+    private static State state(String gameId, int score) {
+        return State.builder()
+                .gameId(gameId)
+                .width(5)
+                .height(5)
+                .score(score)
+                .fruit(Fruit.generateFixedPosition(2, 2))
+                .snake(new Snake(new Coordinate(0, 0), new Velocity(1, 0), List.of()))
+                .build();
+    }
+}
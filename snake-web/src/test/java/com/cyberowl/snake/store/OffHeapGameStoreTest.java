@@ -0,0 +1,231 @@
+package com.cyberowl.snake.store;
+
+import com.cyberowl.snake.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapGameStoreTest {
+    private static final long IDLE = TimeUnit.MINUTES.toNanos(30);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void create_shouldHoldGameAtVersionZero() {
+        OffHeapGameStore store = new OffHeapGameStore(10, IDLE, clock::get, Duration.ZERO);
+        State state = state(uuid(1), 0, List.of());
+
+        assertTrue(store.create(state));
+
+        State loaded = store.load(uuid(1));
+        assertEquals(0L, state.getVersion());
+        assertEquals(0L, loaded.getVersion());
+        assertEquals(10, loaded.getWidth());
+        assertEquals(8, loaded.getHeight());
+        assertEquals(new Coordinate(5, 4), loaded.getSnake().getCoordinate());
+        assertEquals(new Velocity(-1, 1), loaded.getSnake().getVelocity());
+        assertEquals(new Coordinate(2, 3), loaded.getFruit().getCoordinate());
+        assertTrue(loaded.getSnake().getBody().isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, OffHeapGameStore.INLINE_SEGMENTS, OffHeapGameStore.INLINE_SEGMENTS + 1, 500})
+    void commit_shouldRoundTripBodies_inlineAndOverflowing(int length) {
+        OffHeapGameStore store = new OffHeapGameStore(10, IDLE, clock::get, Duration.ZERO);
+        store.create(state(uuid(1), 0, List.of()));
+        List<Coordinate> body = zigzag(length);
+
+        assertTrue(store.commit(state(uuid(1), 3, body), 0));
+
+        State loaded = store.load(uuid(1));
+        assertEquals(body, loaded.getSnake().getBody());
+        assertEquals(3, loaded.getScore());
+        assertEquals(1L, loaded.getVersion());
+    }
+
+    @Test
+    void commit_shouldDropOverflow_whenBodyFitsInlineAgain() {
+        OffHeapGameStore store = new OffHeapGameStore(10, IDLE, clock::get, Duration.ZERO);
+        store.create(state(uuid(1), 0, zigzag(500)));
+
+        store.commit(state(uuid(1), 0, zigzag(3)), 0);
+
+        assertEquals(zigzag(3), store.load(uuid(1)).getSnake().getBody());
+    }
+
+    @Test
+    void commit_shouldBumpVersion_onlyFromLatest() {
+        OffHeapGameStore store = new OffHeapGameStore(10, IDLE, clock::get, Duration.ZERO);
+        store.create(state(uuid(1), 0, List.of()));
+        State next = state(uuid(1), 1, List.of());
+
+        assertTrue(store.commit(next, 0));
+        assertEquals(1L, next.getVersion());
+        assertFalse(store.commit(state(uuid(1), 2, List.of()), 0));
+        assertFalse(store.commit(state(uuid(2), 1, List.of()), 0));
+        assertEquals(1, store.load(uuid(1)).getScore());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"game-1", "00000000-0000-0000-0000-000000000000", "1-1-1-1-1"})
+    void create_shouldNotHoldNonCanonicalUuids(String gameId) {
+        OffHeapGameStore store = new OffHeapGameStore(10, IDLE, clock::get, Duration.ZERO);
+
+        assertFalse(store.create(state(gameId, 0, List.of())));
+        assertNull(store.load(gameId));
+    }
+
+    @Test
+    void reclaim_shouldDropIdleGames_andFreeRoomForNewOnes() {
+        OffHeapGameStore store = new OffHeapGameStore(2, IDLE, clock::get, Duration.ZERO);
+        store.create(state(uuid(0), 0, zigzag(500)));
+        clock.addAndGet(IDLE / 2);
+        int held = 1;
+        while (store.create(state(uuid(held), 0, List.of()))) {
+            held++;
+        }
+
+        clock.addAndGet(IDLE / 2);
+        assertFalse(store.create(state(uuid(held), 0, List.of())));
+        store.reclaim();
+        assertTrue(store.create(state(uuid(held), 0, List.of())));
+
+        assertNull(store.load(uuid(0)));
+        for (int i = 1; i <= held; i++) {
+            assertNotNull(store.load(uuid(i)), "game " + i);
+        }
+        assertEquals(held, store.size());
+    }
+
+    @Test
+    void reclaim_shouldRunInBackground_acrossChunks_untilClosed() throws Exception {
+        try (OffHeapGameStore store = new OffHeapGameStore(10_000, 0, System::nanoTime, Duration.ofMillis(10))) {
+            int created = 0;
+            while (created < 5_000 && store.create(state(uuid(created), 0, List.of()))) {
+                created++;
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (store.size() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertEquals(0, store.size());
+            assertTrue(store.create(state(uuid(created), 0, List.of())));
+        }
+    }
+
+    @Test
+    void reclaim_shouldKeepProbeChainsReachable() {
+        OffHeapGameStore store = new OffHeapGameStore(1000, IDLE, clock::get, Duration.ZERO);
+        int held = 0;
+        while (held < 500 && store.create(state(uuid(held), 0, List.of()))) {
+            held++;
+        }
+        clock.addAndGet(IDLE / 2);
+        int idle = held;
+        while (store.create(state(uuid(held), 0, List.of()))) {
+            held++;
+        }
+        clock.addAndGet(IDLE / 2);
+
+        store.reclaim();
+        assertTrue(store.create(state(uuid(held), 0, List.of())));
+
+        for (int i = idle; i <= held; i++) {
+            assertNotNull(store.load(uuid(i)), "game " + i);
+        }
+        assertEquals(held - idle + 1, store.size());
+    }
+
+    @Test
+    void commit_shouldLetExactlyOneWriterWinEachVersion_underContention() throws Exception {
+        OffHeapGameStore store = new OffHeapGameStore(10_000, IDLE, clock::get, Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            store.create(state(uuid(i), 0, List.of()));
+        }
+        int threads = 8;
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < 1000; i++) {
+                        State loaded = store.load(uuid(i % 4));
+                        loaded.setScore(loaded.getScore() + 1);
+                        if (store.commit(loaded, loaded.getVersion())) {
+                            wins.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        long versions = 0;
+        for (int i = 0; i < 4; i++) {
+            State loaded = store.load(uuid(i));
+            assertEquals(loaded.getVersion(), loaded.getScore());
+            versions += loaded.getVersion();
+        }
+        assertEquals(wins.get(), versions);
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapGameStore(0, IDLE));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapGameStore(1, -1));
+    }
+
+    private static String uuid(int i) {
+        return new UUID(0x4000L | ((long) i << 16), i).toString();
+    }
+
+    // Body behind a head at (5, 4), using every direction
+    private static List<Coordinate> zigzag(int length) {
+        List<Coordinate> body = new ArrayList<>(length);
+        int[][] steps = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {1, 0}, {1, -1}, {0, -1}, {-1, -1}};
+        int x = 5;
+        int y = 4;
+        for (int i = 0; i < length; i++) {
+            x += steps[i % steps.length][0];
+            y += steps[i % steps.length][1];
+            body.add(new Coordinate(x, y));
+        }
+        return body;
+    }
+
+    private static State state(String gameId, int score, List<Coordinate> body) {
+        return State.builder()
+                .gameId(gameId)
+                .width(10)
+                .height(8)
+                .score(score)
+                .fruit(Fruit.generateFixedPosition(2, 3))
+                .snake(new Snake(new Coordinate(5, 4), new Velocity(-1, 1), body))
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.cyberowl.snake.token;
+
+import com.cyberowl.snake.exception.InvalidStateException;
+import com.cyberowl.snake.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateTokenCodecTest {
+
+    private final StateTokenCodec codec = new StateTokenCodec("secret".getBytes(StandardCharsets.UTF_8));
+
+    @ParameterizedTest
+    @CsvSource({"1, 1, 0, 0, 0, 1, 0, 1, 1",
+            "5, 5, 3, 2, 4, -1, 1, 5, 0",
+            "1000, 1000, 999, 1000, 1000, 0, -1, 0, 1000",
+            "2147483646, 2147483646, 2147483647, 2147483646, 0, 1, 1, 2147483646, 2147483646"})
+    void encode_shouldRoundTrip(int width, int height, int score, int snakeX, int snakeY,
+                                int velX, int velY, int fruitX, int fruitY) {
+        State state = createState(UUID.randomUUID().toString(), width, height, score, snakeX, snakeY, velX, velY, fruitX, fruitY);
+
+        State decoded = codec.decode(codec.encode(state));
+
+        assertEquals(state.getGameId(), decoded.getGameId());
+        assertEquals(width, decoded.getWidth());
+        assertEquals(height, decoded.getHeight());
+        assertEquals(score, decoded.getScore());
+        assertEquals(new Coordinate(snakeX, snakeY), decoded.getSnake().getCoordinate());
+        assertEquals(new Velocity(velX, velY), decoded.getSnake().getVelocity());
+        assertEquals(new Coordinate(fruitX, fruitY), decoded.getFruit().getCoordinate());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"game-1", "3F1C2A4E-7B1D-4A8E-9C55-2F6F0D7F3A11", "ünïcødé"})
+    void encode_shouldRoundTripNonCanonicalGameIds(String gameId) {
+        State state = createState(gameId, 5, 5, 0, 0, 0, 1, 0, 1, 1);
+
+        assertEquals(gameId, codec.decode(codec.encode(state)).getGameId());
+    }
+
+    @Test
+    void encode_shouldRoundTripSnakeBody() {
+        State state = createState(UUID.randomUUID().toString(), 10, 10, 3, 5, 5, 1, 0, 1, 1);
+        List<Coordinate> body = List.of(new Coordinate(4, 5), new Coordinate(3, 4), new Coordinate(3, 3),
+                new Coordinate(4, 2), new Coordinate(5, 3));
+        state.setSnake(new Snake(new Coordinate(5, 5), new Velocity(1, 0), body));
+
+        assertEquals(body, codec.decode(codec.encode(state)).getSnake().getBody());
+    }
+
+    @Test
+    void encode_shouldBeCompact() {
+        State state = createState(UUID.randomUUID().toString(), 100, 100, 10, 50, 50, 1, 0, 20, 20);
+
+        assertTrue(codec.encode(state).length() < 64);
+    }
+
+    @Test
+    void decode_shouldRejectTamperedPayload() {
+        byte[] token = Base64.getUrlDecoder().decode(codec.encode(createState(UUID.randomUUID().toString(), 5, 5, 0, 0, 0, 1, 0, 1, 1)));
+        token[20] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+
+        assertThrows(InvalidStateException.class, () -> codec.decode(tampered));
+    }
+
+    @Test
+    void decode_shouldRejectTokenSignedWithOtherSecret() {
+        StateTokenCodec other = new StateTokenCodec("other".getBytes(StandardCharsets.UTF_8));
+        String token = other.encode(createState(UUID.randomUUID().toString(), 5, 5, 0, 0, 0, 1, 0, 1, 1));
+
+        assertThrows(InvalidStateException.class, () -> codec.decode(token));
+    }
+
+    @Test
+    void decode_shouldRejectFruitIndexNotMatchingScore() throws Exception {
+        byte[] token = Base64.getUrlDecoder().decode(codec.encode(createState("game-1", 5, 5, 3, 0, 0, 1, 0, 1, 1)));
+        byte[] payload = Arrays.copyOf(token, token.length - 16);
+        // version, text id kind, length and 6 bytes, then width, height, score and the fruit index
+        assertEquals(3, payload[12]);
+        payload[12] = 2;
+
+        assertThrows(InvalidStateException.class, () -> codec.decode(sign(payload)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "AAAA", "not base64 !", "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"})
+    void decode_shouldRejectMalformedTokens(String token) {
+        assertThrows(InvalidStateException.class, () -> codec.decode(token));
+    }
+
+    @Test
+    void constructor_shouldRejectEmptySecret() {
+        assertThrows(IllegalArgumentException.class, () -> new StateTokenCodec(new byte[0]));
+    }
+
+    // Signed as the codec does, with its secret
+    private static String sign(byte[] payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("secret".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] token = Arrays.copyOf(payload, payload.length + 16);
+        System.arraycopy(mac.doFinal(payload), 0, token, payload.length, 16);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    private static State createState(String gameId, int width, int height, int score, int snakeX, int snakeY,
+                                     int velX, int velY, int fruitX, int fruitY) {
+        return State.builder()
+                .gameId(gameId)
+                .width(width)
+                .height(height)
+                .score(score)
+                .fruit(Fruit.generateFixedPosition(fruitX, fruitY))
+                .snake(new Snake(new Coordinate(snakeX, snakeY), new Velocity(velX, velY)))
+                .build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.cyberowl.snake.warmup;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.cyberowl.snake.engine.FruitSequence;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JitWarmupTest {
+    private static final FruitSequence fruitSequence = new FruitSequence("test-secret".getBytes(StandardCharsets.UTF_8));
+    private static final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // The client rate limit lets one request through, the warm-up posts far more
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "snake.warmup.enabled=true",
+            "snake.warmup.min-iterations=64",
+            "snake.warmup.round-iterations=16",
+            "snake.warmup.quiet-rounds=0",
+            "snake.rate-limit.enabled=true",
+            "snake.rate-limit.client.rate=0.001",
+            "snake.rate-limit.client.burst=1"
+    })
+    class Servlet {
+        @Autowired
+        private JitWarmup warmup;
+
+        @Autowired
+        private MeterRegistry registry;
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void health_shouldBeUp_onceWarmedUpPastTheRateLimit() throws Exception {
+            awaitDone(warmup);
+
+            assertEquals(Status.UP, warmup.health().getStatus());
+            assertEquals("settled", warmup.health().getDetails().get("stoppedBy"));
+            assertEquals(64, warmup.iterations());
+            assertEquals(64, registry.get("snake.warmup.iterations").gauge().value());
+            assertTrue(registry.get("snake.warmup.duration").timeGauge().value() > 0);
+
+            // The token is only honoured while the warm-up runs
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/snake/validate"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                    .build();
+            client.send(post, HttpResponse.BodyHandlers.discarding());
+            assertEquals(429, client.send(post, HttpResponse.BodyHandlers.discarding()).statusCode());
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "snake.warmup.enabled=true",
+            "snake.warmup.min-iterations=64",
+            "snake.warmup.round-iterations=16",
+            "snake.warmup.quiet-rounds=0"
+    })
+    @ActiveProfiles("reactive")
+    class Reactive {
+        @Autowired
+        private JitWarmup warmup;
+
+        @Autowired
+        private FruitSequence serverFruitSequence;
+
+        @Autowired
+        private ReactiveWebServerApplicationContext context;
+
+        @Test
+        void health_shouldBeUp_onceWarmedUp() throws Exception {
+            awaitDone(warmup);
+
+            assertEquals(Status.UP, warmup.health().getStatus());
+            assertEquals("settled", warmup.health().getDetails().get("stoppedBy"));
+            assertEquals(64, warmup.iterations());
+        }
+
+        // The server's fruit sequence, a warm-up of the test's one would fail
+        @Test
+        void run_shouldStopAtMaxDuration_whenCompilationDoesNotSettle() {
+            JitWarmup other = new JitWarmup(serverFruitSequence, objectMapper, null, meterRegistry,
+                    new JitWarmup.Settings(true, Integer.MAX_VALUE, 16, 0, Duration.ZERO));
+            other.onWebServerInitialized(new ReactiveWebServerInitializedEvent(context.getWebServer(), context));
+
+            other.run();
+
+            assertEquals("max-duration", other.health().getDetails().get("stoppedBy"));
+            assertEquals(16, other.iterations());
+        }
+    }
+
+    @Test
+    void run_shouldMuteOnlyItsOwnLogs() throws Exception {
+        Logger logger = (Logger) LoggerFactory.getLogger("com.cyberowl.snake");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            Runnable unmute = WarmupLogFilter.mute();
+            Thread other = new Thread(() -> LoggerFactory.getLogger(JitWarmupTest.class).info("request"));
+            other.start();
+            other.join();
+            Thread served = new Thread(() -> {
+                Runnable unmuteServed = WarmupLogFilter.muteThread();
+                LoggerFactory.getLogger(JitWarmupTest.class).info("warm-up request");
+                unmuteServed.run();
+                LoggerFactory.getLogger(JitWarmupTest.class).info("next request");
+            });
+            served.start();
+            served.join();
+            logger.info("muted");
+            logger.error("kept");
+            unmute.run();
+            logger.info("unmuted");
+
+            assertEquals(List.of("request", "next request", "kept", "unmuted"),
+                    appender.list.stream().map(ILoggingEvent::getMessage).toList());
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+
+    @Test
+    void run_shouldFail_withoutWebServer() {
+        JitWarmup warmup = warmup(new JitWarmup.Settings(true, 64, 16, 0, Duration.ofMinutes(1)));
+
+        warmup.run();
+
+        assertEquals(Status.UP, warmup.health().getStatus());
+        assertEquals("failure", warmup.health().getDetails().get("stoppedBy"));
+        assertEquals(0, warmup.iterations());
+    }
+
+    @Test
+    void health_shouldBeUp_whenDisabled() {
+        JitWarmup warmup = warmup(new JitWarmup.Settings(false, 64, 16, 0, Duration.ofMinutes(1)));
+
+        warmup.run();
+
+        assertEquals(Status.UP, warmup.health().getStatus());
+        assertEquals(JitWarmup.Phase.DISABLED, warmup.phase());
+        assertEquals(0, warmup.iterations());
+    }
+
+    @Test
+    void isWarmupRequest_shouldRejectAnyToken_whenNotRunning() {
+        JitWarmup warmup = warmup(new JitWarmup.Settings(true, 64, 16, 0, Duration.ofMinutes(1)));
+
+        assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+        assertFalse(warmup.isWarmupRequest(null));
+        assertFalse(warmup.isWarmupRequest("guess"));
+    }
+
+    private JitWarmup warmup(JitWarmup.Settings settings) {
+        return new JitWarmup(fruitSequence, objectMapper, null, meterRegistry, settings);
+    }
+
+    private static void awaitDone(JitWarmup warmup) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofMinutes(1).toNanos();
+        while (warmup.phase() != JitWarmup.Phase.DONE && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        assertEquals(JitWarmup.Phase.DONE, warmup.phase());
+    }
+}